@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.dubbo;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.adapter.dubbo.config.DubboAdapterGlobalConfig;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.WeakIdentityCache;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+
+/**
+ * <p>Resource names of a Dubbo invoker, which are resolved once for the invoker and each method signature,
+ * rather than being built on every invocation.</p>
+ * <p>
+ * The resolved names are bound to the resource name prefix and the group-and-version flag, and will be
+ * resolved again if the configuration changes.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class DubboResourceNameCache {
+
+    /**
+     * Invokers may be destroyed and created again when providers change, so the invokers are weakly referenced,
+     * and the names of a destroyed invoker are dropped once the invoker is collected.
+     */
+    private static final WeakIdentityCache<Invoker<?>, DubboResourceNameCache> CACHE = new WeakIdentityCache<>();
+
+    private final String prefix;
+    private final boolean useGroupAndVersion;
+    private final String interfaceResourceName;
+    private final ConcurrentMap<MethodSignature, String> methodResourceNames = new ConcurrentHashMap<>();
+
+    private DubboResourceNameCache(Invoker<?> invoker, String prefix, boolean useGroupAndVersion) {
+        this.prefix = prefix;
+        this.useGroupAndVersion = useGroupAndVersion;
+        this.interfaceResourceName = DubboUtils.getInterfaceName(invoker, prefix);
+    }
+
+    /**
+     * Get the cached resource names of the invoker with provided resource name prefix.
+     *
+     * @param invoker the Dubbo invoker
+     * @param prefix  resource name prefix, may be null
+     * @return the resource names of the invoker
+     */
+    static DubboResourceNameCache of(Invoker<?> invoker, String prefix) {
+        boolean useGroupAndVersion = DubboAdapterGlobalConfig.getDubboInterfaceGroupAndVersionEnabled();
+        DubboResourceNameCache names = CACHE.get(invoker);
+        if (names == null || !names.matches(prefix, useGroupAndVersion)) {
+            names = new DubboResourceNameCache(invoker, prefix, useGroupAndVersion);
+            CACHE.put(invoker, names);
+        }
+        return names;
+    }
+
+    private boolean matches(String prefix, boolean useGroupAndVersion) {
+        return this.useGroupAndVersion == useGroupAndVersion && StringUtil.equals(this.prefix, prefix);
+    }
+
+    String getInterfaceResourceName() {
+        return interfaceResourceName;
+    }
+
+    String getMethodResourceName(Invoker<?> invoker, Invocation invocation) {
+        MethodSignature signature = new MethodSignature(invocation.getMethodName(), invocation.getParameterTypes());
+        String name = methodResourceNames.get(signature);
+        if (name == null) {
+            name = DubboUtils.getMethodResourceName(invoker, invocation, prefix);
+            methodResourceNames.put(signature, name);
+        }
+        return name;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static final class MethodSignature {
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        MethodSignature(String methodName, Class<?>[] parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature that = (MethodSignature)o;
+            return StringUtil.equals(methodName, that.methodName)
+                && Arrays.equals(parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (methodName == null ? 0 : methodName.hashCode()) + Arrays.hashCode(parameterTypes);
+        }
+    }
+}
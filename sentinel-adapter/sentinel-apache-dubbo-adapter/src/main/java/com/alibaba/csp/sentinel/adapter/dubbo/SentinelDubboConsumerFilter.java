@@ -51,12 +51,12 @@ public class SentinelDubboConsumerFilter extends BaseSentinelDubboFilter {
 
     @Override
     String getMethodName(Invoker invoker, Invocation invocation, String prefix) {
-        return DubboUtils.getMethodResourceName(invoker, invocation, prefix);
+        return DubboResourceNameCache.of(invoker, prefix).getMethodResourceName(invoker, invocation);
     }
 
     @Override
     String getInterfaceName(Invoker invoker, String prefix) {
-        return DubboUtils.getInterfaceName(invoker, prefix);
+        return DubboResourceNameCache.of(invoker, prefix).getInterfaceResourceName();
     }
 
     @Override
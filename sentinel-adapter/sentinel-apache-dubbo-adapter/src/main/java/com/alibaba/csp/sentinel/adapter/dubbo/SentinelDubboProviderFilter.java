@@ -50,12 +50,12 @@ public class SentinelDubboProviderFilter extends BaseSentinelDubboFilter {
 
     @Override
     String getMethodName(Invoker invoker, Invocation invocation, String prefix) {
-        return DubboUtils.getMethodResourceName(invoker, invocation, prefix);
+        return DubboResourceNameCache.of(invoker, prefix).getMethodResourceName(invoker, invocation);
     }
 
     @Override
     String getInterfaceName(Invoker invoker, String prefix) {
-        return DubboUtils.getInterfaceName(invoker, prefix);
+        return DubboResourceNameCache.of(invoker, prefix).getInterfaceResourceName();
     }
 
     @Override
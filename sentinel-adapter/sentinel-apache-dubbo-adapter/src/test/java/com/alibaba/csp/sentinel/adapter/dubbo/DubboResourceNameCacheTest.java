@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.dubbo;
+
+import com.alibaba.csp.sentinel.DubboTestUtil;
+import com.alibaba.csp.sentinel.adapter.dubbo.provider.DemoService;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static com.alibaba.csp.sentinel.adapter.dubbo.config.DubboAdapterGlobalConfig.DUBBO_INTERFACE_GROUP_VERSION_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class DubboResourceNameCacheTest {
+
+    @Before
+    public void setUp() {
+        DubboResourceNameCache.clearCache();
+        SentinelConfig.setConfig(DUBBO_INTERFACE_GROUP_VERSION_ENABLED, "false");
+    }
+
+    @After
+    public void tearDown() {
+        DubboResourceNameCache.clearCache();
+        SentinelConfig.setConfig(DUBBO_INTERFACE_GROUP_VERSION_ENABLED, "false");
+    }
+
+    @Test
+    public void testResolveOnce() throws NoSuchMethodException {
+        Invoker invoker = DubboTestUtil.getDefaultMockInvoker();
+        Method method = DemoService.class.getDeclaredMethod("sayHello", String.class, int.class);
+        Invocation invocation = DubboTestUtil.getMockInvocation(method);
+
+        DubboResourceNameCache names = DubboResourceNameCache.of(invoker, "dubbo:provider:");
+        assertEquals("dubbo:provider:" + DemoService.class.getName(), names.getInterfaceResourceName());
+        String methodResourceName = names.getMethodResourceName(invoker, invocation);
+        assertEquals(DubboUtils.getMethodResourceName(invoker, invocation, "dubbo:provider:"), methodResourceName);
+
+        clearInvocations(invoker);
+        DubboResourceNameCache cached = DubboResourceNameCache.of(invoker, "dubbo:provider:");
+        assertSame(names, cached);
+        assertSame(methodResourceName, cached.getMethodResourceName(invoker, invocation));
+        // The invoker is only read when resolving the names for the first time.
+        verify(invoker, never()).getInterface();
+    }
+
+    @Test
+    public void testResolveAgainWhenConfigChanged() throws NoSuchMethodException {
+        Invoker invoker = DubboTestUtil.getDefaultMockInvoker();
+        Method method = DemoService.class.getDeclaredMethod("sayHello", String.class, int.class);
+        Invocation invocation = DubboTestUtil.getMockInvocation(method);
+
+        DubboResourceNameCache names = DubboResourceNameCache.of(invoker, null);
+        assertEquals(DemoService.class.getName(), names.getInterfaceResourceName());
+
+        names = DubboResourceNameCache.of(invoker, "dubbo:consumer:");
+        assertEquals("dubbo:consumer:" + DemoService.class.getName(), names.getInterfaceResourceName());
+
+        SentinelConfig.setConfig(DUBBO_INTERFACE_GROUP_VERSION_ENABLED, "true");
+        names = DubboResourceNameCache.of(invoker, "dubbo:consumer:");
+        assertEquals("dubbo:consumer:" + DemoService.class.getName() + ":1.0.0:grp1",
+            names.getInterfaceResourceName());
+        assertEquals("dubbo:consumer:" + DemoService.class.getName() + ":1.0.0:grp1:sayHello(java.lang.String,int)",
+            names.getMethodResourceName(invoker, invocation));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Index of API matchers by the literal prefixes of their path predicates, so that matching a request
+ * does not need to test every API definition.</p>
+ * <p>
+ * All path predicates are compiled into one {@link ApiPathTrie}: exact patterns are keyed by themselves,
+ * ant-style patterns by the path before the first wildcard segment, and regex patterns by their leading
+ * literal characters. A request path walks the trie once to pick out the candidate matchers, and only
+ * the candidates are tested, so the matching result is the same as testing all matchers.
+ * Patterns without any literal prefix (e.g. {@code /**} or {@code .*}) are tested for every request.
+ * </p>
+ * <p>The index is immutable, so it should be rebuilt when API definitions change.</p>
+ *
+ * @param <T> type of the request
+ * @param <M> type of the API matcher
+ * @since 1.8.2
+ */
+public class ApiMatcherIndex<T, M extends AbstractApiMatcher<T>> {
+
+    private final ApiPathTrie<M> trie = new ApiPathTrie<M>();
+    private final int size;
+
+    public ApiMatcherIndex(Collection<M> matchers) {
+        int count = 0;
+        if (matchers != null) {
+            for (M matcher : matchers) {
+                if (matcher != null) {
+                    index(matcher);
+                    count++;
+                }
+            }
+        }
+        this.size = count;
+    }
+
+    private void index(M matcher) {
+        if (matcher.getApiDefinition().getPredicateItems() == null) {
+            return;
+        }
+        for (ApiPredicateItem item : matcher.getApiDefinition().getPredicateItems()) {
+            // Only path predicates are supported by the API matchers.
+            if (!(item instanceof ApiPathPredicateItem)) {
+                continue;
+            }
+            String pattern = ((ApiPathPredicateItem)item).getPattern();
+            if (StringUtil.isBlank(pattern)) {
+                continue;
+            }
+            switch (((ApiPathPredicateItem)item).getMatchStrategy()) {
+                case SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX:
+                    trie.put(normalizePath(regexLiteralPrefix(pattern)), matcher, false);
+                    break;
+                case SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX:
+                    trie.put(normalizePath(antLiteralPrefix(pattern)), matcher, false);
+                    break;
+                default:
+                    trie.put(normalizePath(pattern), matcher, true);
+            }
+        }
+    }
+
+    /**
+     * Pick the names of API definitions that match the request.
+     *
+     * @param request the request
+     * @param paths   paths of the request that the matchers may test, e.g. servlet path and request URI
+     * @return names of matching API definitions
+     */
+    public Set<String> pickMatchingApiNames(T request, String... paths) {
+        Set<String> apis = new HashSet<>();
+        if (size == 0) {
+            return apis;
+        }
+        List<M> candidates = new ArrayList<>();
+        for (String path : paths) {
+            if (path != null) {
+                trie.collect(normalizePath(path), candidates);
+            }
+        }
+        for (M matcher : candidates) {
+            if (!apis.contains(matcher.getApiName()) && matcher.test(request)) {
+                apis.add(matcher.getApiName());
+            }
+        }
+        return apis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ant path matcher ignores empty path segments, so consecutive separators are collapsed
+     * for both keys and paths.
+     */
+    static String normalizePath(String path) {
+        if (!path.contains("//")) {
+            return path;
+        }
+        StringBuilder sb = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c != '/' || sb.length() == 0 || sb.charAt(sb.length() - 1) != '/') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * An ant-style pattern only matches paths starting with the characters before its first wildcard.
+     * The trailing separator is excluded since {@code /foo/**} also matches {@code /foo}.
+     */
+    static String antLiteralPrefix(String pattern) {
+        int end = pattern.length();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                end = i;
+                break;
+            }
+        }
+        if (end > 0 && pattern.charAt(end - 1) == '/') {
+            end--;
+        }
+        return pattern.substring(0, end);
+    }
+
+    /**
+     * A fully matched regex only matches strings starting with its leading literal characters.
+     */
+    static String regexLiteralPrefix(String pattern) {
+        int start = pattern.startsWith("^") ? 1 : 0;
+        int end = start;
+        while (end < pattern.length() && "\\^$.|?*+()[]{}".indexOf(pattern.charAt(end)) < 0) {
+            end++;
+        }
+        // The literal character before a quantifier is optional.
+        if (end < pattern.length() && end > start && "?*{".indexOf(pattern.charAt(end)) >= 0) {
+            end--;
+        }
+        // An alternation at the top level may not start with the literal prefix.
+        if (pattern.indexOf('|') >= 0) {
+            return "";
+        }
+        return pattern.substring(start, end);
+    }
+}
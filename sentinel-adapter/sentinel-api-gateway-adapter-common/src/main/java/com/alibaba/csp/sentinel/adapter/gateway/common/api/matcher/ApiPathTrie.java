@@ -0,0 +1,139 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A radix tree of path keys. A lookup walks the tree along the path once, and collects the values
+ * of all keys that are prefixes of the path, as well as the values of the key that equals the path.
+ *
+ * @param <V> type of the values
+ * @since 1.8.2
+ */
+class ApiPathTrie<V> {
+
+    private final Node<V> root = new Node<V>("");
+
+    /**
+     * Add a value to the key.
+     *
+     * @param key   path key
+     * @param value the value
+     * @param exact whether the value is only collected when the path equals the key,
+     *              otherwise it's collected when the key is a prefix of the path
+     */
+    void put(String key, V value, boolean exact) {
+        Node<V> node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            Node<V> child = node.children == null ? null : node.children.get(key.charAt(pos));
+            if (child == null) {
+                child = new Node<V>(key.substring(pos));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, pos);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            pos += common;
+        }
+        node.add(value, exact);
+    }
+
+    private Node<V> split(Node<V> parent, Node<V> child, int at) {
+        Node<V> middle = new Node<V>(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        parent.addChild(middle);
+        middle.addChild(child);
+        return middle;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Collect the values whose key is a prefix of the path (or equals the path for exact values).
+     *
+     * @param path   request path
+     * @param result the list to collect values into
+     */
+    void collect(String path, List<V> result) {
+        Node<V> node = root;
+        int pos = 0;
+        while (true) {
+            if (node.prefixValues != null) {
+                result.addAll(node.prefixValues);
+            }
+            if (pos == path.length()) {
+                if (node.exactValues != null) {
+                    result.addAll(node.exactValues);
+                }
+                return;
+            }
+            Node<V> child = node.children == null ? null : node.children.get(path.charAt(pos));
+            if (child == null || !path.startsWith(child.label, pos)) {
+                return;
+            }
+            pos += child.label.length();
+            node = child;
+        }
+    }
+
+    private static final class Node<V> {
+        String label;
+        Map<Character, Node<V>> children;
+        List<V> prefixValues;
+        List<V> exactValues;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void addChild(Node<V> child) {
+            if (children == null) {
+                children = new HashMap<Character, Node<V>>(4);
+            }
+            children.put(child.label.charAt(0), child);
+        }
+
+        void add(V value, boolean exact) {
+            if (exact) {
+                if (exactValues == null) {
+                    exactValues = new ArrayList<V>(1);
+                }
+                exactValues.add(value);
+            } else {
+                if (prefixValues == null) {
+                    prefixValues = new ArrayList<V>(1);
+                }
+                prefixValues.add(value);
+            }
+        }
+    }
+}
@@ -15,13 +15,8 @@
  */
 package com.alibaba.csp.sentinel.adapter.gateway.common.param;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
-
 import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
 import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
-import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
 import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayRuleManager;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -49,127 +44,75 @@ public class GatewayParamParser<T> {
      * @return the parameter array
      */
     public Object[] parseParameterFor(String resource, T request, Predicate<GatewayFlowRule> rulePredicate) {
+        return parseParameterFor(resource, request, rulePredicate, null);
+    }
+
+    /**
+     * Parse parameters for given resource from the request entity on condition of the rule predicate.
+     * Request items that have been extracted for other resources of the same request are reused from the cache.
+     *
+     * @param resource      valid resource name
+     * @param request       valid request
+     * @param rulePredicate rule predicate indicating the rules to refer
+     * @param itemCache     request items extracted for the same request, nullable
+     * @return the parameter array
+     * @since 1.8.2
+     */
+    public Object[] parseParameterFor(String resource, T request, Predicate<GatewayFlowRule> rulePredicate,
+                                      RequestItemCache itemCache) {
         if (StringUtil.isEmpty(resource) || request == null || rulePredicate == null) {
             return new Object[0];
         }
-        Set<GatewayFlowRule> gatewayRules = new HashSet<>();
-        Set<Boolean> predSet = new HashSet<>();
-        boolean hasNonParamRule = false;
-        for (GatewayFlowRule rule : GatewayRuleManager.getRulesForResource(resource)) {
-            if (rule.getParamItem() != null) {
-                gatewayRules.add(rule);
-                predSet.add(rulePredicate.test(rule));
-            } else {
-                hasNonParamRule = true;
-            }
-        }
-        if (!hasNonParamRule && gatewayRules.isEmpty()) {
+        GatewayParamPlan plan = GatewayRuleManager.getParamPlan(resource);
+        if (plan == null) {
             return new Object[0];
         }
-        if (predSet.size() > 1 || predSet.contains(false)) {
-            return new Object[0];
+        for (GatewayFlowRule rule : plan.getParamRules()) {
+            if (!rulePredicate.test(rule)) {
+                return new Object[0];
+            }
         }
-        int size = hasNonParamRule ? gatewayRules.size() + 1 : gatewayRules.size();
-        Object[] arr = new Object[size];
-        for (GatewayFlowRule rule : gatewayRules) {
-            GatewayParamFlowItem paramItem = rule.getParamItem();
-            int idx = paramItem.getIndex();
-            String param = parseInternal(paramItem, request);
-            arr[idx] = param;
+        GatewayParamPlan.Extractor[] extractors = plan.getExtractors();
+        Object[] arr = new Object[plan.getParamCount()];
+        for (int i = 0; i < extractors.length; i++) {
+            GatewayParamPlan.Extractor extractor = extractors[i];
+            if (extractor != null) {
+                arr[i] = extractor.match(extractItem(extractor, request, itemCache));
+            }
         }
-        if (hasNonParamRule) {
-            arr[size - 1] = SentinelGatewayConstants.GATEWAY_DEFAULT_PARAM;
+        if (plan.hasNonParamRule()) {
+            arr[arr.length - 1] = SentinelGatewayConstants.GATEWAY_DEFAULT_PARAM;
         }
         return arr;
     }
 
-    private String parseInternal(GatewayParamFlowItem item, T request) {
-        switch (item.getParseStrategy()) {
+    private String extractItem(GatewayParamPlan.Extractor extractor, T request, RequestItemCache itemCache) {
+        if (itemCache == null) {
+            return extractItem(extractor.parseStrategy, extractor.fieldName, request);
+        }
+        int idx = itemCache.indexOf(extractor.parseStrategy, extractor.fieldName);
+        if (idx >= 0) {
+            return itemCache.valueAt(idx);
+        }
+        String value = extractItem(extractor.parseStrategy, extractor.fieldName, request);
+        itemCache.put(extractor.parseStrategy, extractor.fieldName, value);
+        return value;
+    }
+
+    private String extractItem(int parseStrategy, String fieldName, T request) {
+        switch (parseStrategy) {
             case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_CLIENT_IP:
-                return parseClientIp(item, request);
+                return requestItemParser.getRemoteAddress(request);
             case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HOST:
-                return parseHost(item, request);
             case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER:
-                return parseHeader(item, request);
+                // TODO: what if the header has multiple values?
+                return requestItemParser.getHeader(request, fieldName);
             case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM:
-                return parseUrlParameter(item, request);
+                return requestItemParser.getUrlParam(request, fieldName);
             case SentinelGatewayConstants.PARAM_PARSE_STRATEGY_COOKIE:
-                return parseCookie(item, request);
+                return requestItemParser.getCookieValue(request, fieldName);
             default:
                 return null;
         }
     }
-
-    private String parseClientIp(/*@Valid*/ GatewayParamFlowItem item, T request) {
-        String clientIp = requestItemParser.getRemoteAddress(request);
-        String pattern = item.getPattern();
-        if (StringUtil.isEmpty(pattern)) {
-            return clientIp;
-        }
-        return parseWithMatchStrategyInternal(item.getMatchStrategy(), clientIp, pattern);
-    }
-
-    private String parseHeader(/*@Valid*/ GatewayParamFlowItem item, T request) {
-        String headerKey = item.getFieldName();
-        String pattern = item.getPattern();
-        // TODO: what if the header has multiple values?
-        String headerValue = requestItemParser.getHeader(request, headerKey);
-        if (StringUtil.isEmpty(pattern)) {
-            return headerValue;
-        }
-        // Match value according to regex pattern or exact mode.
-        return parseWithMatchStrategyInternal(item.getMatchStrategy(), headerValue, pattern);
-    }
-
-    private String parseHost(/*@Valid*/ GatewayParamFlowItem item, T request) {
-        String pattern = item.getPattern();
-        String host = requestItemParser.getHeader(request, "Host");
-        if (StringUtil.isEmpty(pattern)) {
-            return host;
-        }
-        // Match value according to regex pattern or exact mode.
-        return parseWithMatchStrategyInternal(item.getMatchStrategy(), host, pattern);
-    }
-
-    private String parseUrlParameter(/*@Valid*/ GatewayParamFlowItem item, T request) {
-        String paramName = item.getFieldName();
-        String pattern = item.getPattern();
-        String param = requestItemParser.getUrlParam(request, paramName);
-        if (StringUtil.isEmpty(pattern)) {
-            return param;
-        }
-        // Match value according to regex pattern or exact mode.
-        return parseWithMatchStrategyInternal(item.getMatchStrategy(), param, pattern);
-    }
-
-    private String parseCookie(/*@Valid*/ GatewayParamFlowItem item, T request) {
-        String cookieName = item.getFieldName();
-        String pattern = item.getPattern();
-        String param = requestItemParser.getCookieValue(request, cookieName);
-        if (StringUtil.isEmpty(pattern)) {
-            return param;
-        }
-        // Match value according to regex pattern or exact mode.
-        return parseWithMatchStrategyInternal(item.getMatchStrategy(), param, pattern);
-    }
-
-    private String parseWithMatchStrategyInternal(int matchStrategy, String value, String pattern) {
-        if (value == null) {
-            return null;
-        }
-        switch (matchStrategy) {
-            case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_EXACT:
-                return value.equals(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
-            case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_CONTAINS:
-                return value.contains(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
-            case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX:
-                Pattern regex = GatewayRegexCache.getRegexPattern(pattern);
-                if (regex == null) {
-                    return value;
-                }
-                return regex.matcher(value).matches() ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
-            default:
-                return value;
-        }
-    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.param;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Parameter extraction plan of a gateway resource, compiled from its gateway rules when rules are loaded.</p>
+ * <p>
+ * The plan holds the parameter extractors in the order of the parameter indexes, with the match strategies
+ * (including regex patterns) resolved in advance, so {@link GatewayParamParser} only needs to fill
+ * an array of the fixed size for each request.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class GatewayParamPlan {
+
+    static final int NO_MATCH_STRATEGY = -1;
+
+    private final GatewayFlowRule[] paramRules;
+    private final Extractor[] extractors;
+    private final boolean hasNonParamRule;
+
+    private GatewayParamPlan(GatewayFlowRule[] paramRules, Extractor[] extractors, boolean hasNonParamRule) {
+        this.paramRules = paramRules;
+        this.extractors = extractors;
+        this.hasNonParamRule = hasNonParamRule;
+    }
+
+    /**
+     * Compile the extraction plan from the gateway rules of a resource.
+     * The parameter index of the rules should have been generated.
+     *
+     * @param rules valid gateway rules of the same resource
+     * @return the extraction plan, or null if there are no rules
+     */
+    public static GatewayParamPlan compile(Collection<GatewayFlowRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return null;
+        }
+        List<GatewayFlowRule> paramRules = new ArrayList<>();
+        boolean hasNonParamRule = false;
+        for (GatewayFlowRule rule : rules) {
+            if (rule.getParamItem() != null) {
+                paramRules.add(rule);
+            } else {
+                hasNonParamRule = true;
+            }
+        }
+        // The size is kept the same as the number of parameter rules, as the last position is for non-param rules.
+        Extractor[] extractors = new Extractor[paramRules.size()];
+        for (GatewayFlowRule rule : paramRules) {
+            GatewayParamFlowItem item = rule.getParamItem();
+            Integer idx = item.getIndex();
+            if (idx != null && idx >= 0 && idx < extractors.length) {
+                extractors[idx] = new Extractor(item);
+            }
+        }
+        return new GatewayParamPlan(paramRules.toArray(new GatewayFlowRule[0]), extractors, hasNonParamRule);
+    }
+
+    GatewayFlowRule[] getParamRules() {
+        return paramRules;
+    }
+
+    Extractor[] getExtractors() {
+        return extractors;
+    }
+
+    boolean hasNonParamRule() {
+        return hasNonParamRule;
+    }
+
+    int getParamCount() {
+        return hasNonParamRule ? extractors.length + 1 : extractors.length;
+    }
+
+    /**
+     * Extractor of a parameter, which extracts the request item then applies the match strategy.
+     */
+    static final class Extractor {
+
+        final int parseStrategy;
+        final String fieldName;
+        final int matchStrategy;
+        final String pattern;
+        final Pattern regex;
+
+        Extractor(/*@Valid*/ GatewayParamFlowItem item) {
+            this.parseStrategy = item.getParseStrategy();
+            this.fieldName = parseStrategy == SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HOST
+                ? "Host" : item.getFieldName();
+            this.pattern = item.getPattern();
+            if (StringUtil.isEmpty(pattern)) {
+                this.matchStrategy = NO_MATCH_STRATEGY;
+                this.regex = null;
+            } else if (item.getMatchStrategy() == SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX) {
+                this.regex = GatewayRegexCache.getRegexPattern(pattern);
+                // Invalid regex patterns match all values.
+                this.matchStrategy = regex == null ? NO_MATCH_STRATEGY : item.getMatchStrategy();
+            } else {
+                this.matchStrategy = item.getMatchStrategy();
+                this.regex = null;
+            }
+        }
+
+        String match(String value) {
+            if (value == null) {
+                return null;
+            }
+            switch (matchStrategy) {
+                case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_EXACT:
+                    return value.equals(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+                case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_CONTAINS:
+                    return value.contains(pattern) ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+                case SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX:
+                    return regex.matcher(value).matches() ? value : SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM;
+                default:
+                    return value;
+            }
+        }
+    }
+}
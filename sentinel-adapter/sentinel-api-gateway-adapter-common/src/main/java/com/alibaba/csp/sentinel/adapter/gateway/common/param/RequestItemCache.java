@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.param;
+
+/**
+ * <p>Request items (e.g. headers, URL parameters and cookies) that have been extracted from a request.</p>
+ * <p>
+ * A request may enter several gateway resources (the route and the matching APIs). The cache should be
+ * created once per request and passed to {@link GatewayParamParser}, so that each request item is only
+ * extracted once. The cache is not thread-safe and should not be shared between requests.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class RequestItemCache {
+
+    private int[] strategies = new int[4];
+    private String[] keys = new String[4];
+    private String[] values = new String[4];
+    private int size;
+
+    int indexOf(int parseStrategy, String key) {
+        for (int i = 0; i < size; i++) {
+            if (strategies[i] == parseStrategy && (keys[i] == key || keys[i] != null && keys[i].equals(key))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    String valueAt(int index) {
+        return values[index];
+    }
+
+    void put(int parseStrategy, String key, String value) {
+        if (size == strategies.length) {
+            int capacity = size * 2;
+            int[] newStrategies = new int[capacity];
+            String[] newKeys = new String[capacity];
+            String[] newValues = new String[capacity];
+            System.arraycopy(strategies, 0, newStrategies, 0, size);
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            strategies = newStrategies;
+            keys = newKeys;
+            values = newValues;
+        }
+        strategies[size] = parseStrategy;
+        keys[size] = key;
+        values[size] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.rule;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.datasource.Converter;
+import com.alibaba.csp.sentinel.datasource.json.AbstractJsonRuleConverter;
+import com.alibaba.csp.sentinel.datasource.json.JsonReader;
+
+/**
+ * <p>Streaming JSON converter of {@link GatewayFlowRule} sets, which can be registered to
+ * {@link GatewayRuleManager#register2Property}.</p>
+ * <p>
+ * Note that the converter requires {@code sentinel-datasource-extension}.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class GatewayFlowRuleJsonConverter implements Converter<String, Set<GatewayFlowRule>> {
+
+    private final ListConverter listConverter = new ListConverter();
+
+    @Override
+    public Set<GatewayFlowRule> convert(String source) {
+        List<GatewayFlowRule> rules = listConverter.convert(source);
+        return rules == null ? null : new LinkedHashSet<>(rules);
+    }
+
+    private static class ListConverter extends AbstractJsonRuleConverter<GatewayFlowRule> {
+
+        @Override
+        protected GatewayFlowRule newRule() {
+            return new GatewayFlowRule();
+        }
+
+        @Override
+        protected boolean readField(JsonReader reader, String name, GatewayFlowRule rule) {
+            switch (name) {
+                case "resource":
+                    rule.setResource(reader.nextString());
+                    return true;
+                case "resourceMode":
+                    rule.setResourceMode(reader.nextInt());
+                    return true;
+                case "grade":
+                    rule.setGrade(reader.nextInt());
+                    return true;
+                case "count":
+                    rule.setCount(reader.nextDouble());
+                    return true;
+                case "intervalSec":
+                    rule.setIntervalSec(reader.nextLong());
+                    return true;
+                case "controlBehavior":
+                    rule.setControlBehavior(reader.nextInt());
+                    return true;
+                case "burst":
+                    rule.setBurst(reader.nextInt());
+                    return true;
+                case "maxQueueingTimeoutMs":
+                    rule.setMaxQueueingTimeoutMs(reader.nextInt());
+                    return true;
+                case "paramItem":
+                    rule.setParamItem(readParamItem(reader));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static GatewayParamFlowItem readParamItem(JsonReader reader) {
+            GatewayParamFlowItem item = new GatewayParamFlowItem();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.nextNull()) {
+                    continue;
+                }
+                switch (name) {
+                    case "parseStrategy":
+                        item.setParseStrategy(reader.nextInt());
+                        break;
+                    case "fieldName":
+                        item.setFieldName(reader.nextString());
+                        break;
+                    case "pattern":
+                        item.setPattern(reader.nextString());
+                        break;
+                    case "matchStrategy":
+                        item.setMatchStrategy(reader.nextInt());
+                        break;
+                    default:
+                        // The index is generated by the rule manager.
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return item;
+        }
+
+        @Override
+        protected boolean isValid(GatewayFlowRule rule) {
+            return GatewayRuleManager.isValidRule(rule);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.adapter.gateway.common.rule;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamPlan;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayRegexCache;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
@@ -45,6 +46,11 @@ public final class GatewayRuleManager {
 
     private static final Map<String, List<ParamFlowRule>> CONVERTED_PARAM_RULE_MAP = new ConcurrentHashMap<>();
 
+    /**
+     * Parameter extraction plan map: (resource, plan)
+     */
+    private static volatile Map<String, GatewayParamPlan> paramPlanMap = new HashMap<>();
+
     private static final GatewayRulePropertyListener LISTENER = new GatewayRulePropertyListener();
     private static final Set<Integer> FIELD_REQUIRED_SET = new HashSet<>(
             Arrays.asList(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM,
@@ -114,6 +120,20 @@ public final class GatewayRuleManager {
         return CONVERTED_PARAM_RULE_MAP.get(resourceName);
     }
 
+    /**
+     * Get the parameter extraction plan compiled from the gateway rules of the resource.
+     *
+     * @param resourceName valid resource name
+     * @return the parameter extraction plan, or null if there are no rules for the resource
+     * @since 1.8.2
+     */
+    public static GatewayParamPlan getParamPlan(String resourceName) {
+        if (resourceName == null) {
+            return null;
+        }
+        return paramPlanMap.get(resourceName);
+    }
+
     public static boolean isValidRule(GatewayFlowRule rule) {
         if (rule == null || StringUtil.isBlank(rule.getResource()) || rule.getResourceMode() < 0
                 || rule.getGrade() < 0 || rule.getCount() < 0 || rule.getBurst() < 0 || rule.getControlBehavior() < 0) {
@@ -180,6 +200,7 @@ public final class GatewayRuleManager {
             if (conf == null || conf.isEmpty()) {
                 applyToConvertedParamMap(new HashSet<ParamFlowRule>());
                 GATEWAY_RULE_MAP.clear();
+                paramPlanMap = new HashMap<>();
                 return;
             }
             Map<String, Set<GatewayFlowRule>> gatewayRuleMap = new ConcurrentHashMap<>();
@@ -234,6 +255,13 @@ public final class GatewayRuleManager {
 
             GATEWAY_RULE_MAP.clear();
             GATEWAY_RULE_MAP.putAll(gatewayRuleMap);
+
+            // Compile the parameter extraction plans after the parameter indexes have been generated.
+            Map<String, GatewayParamPlan> planMap = new HashMap<>();
+            for (Map.Entry<String, Set<GatewayFlowRule>> e : gatewayRuleMap.entrySet()) {
+                planMap.put(e.getKey(), GatewayParamPlan.compile(e.getValue()));
+            }
+            paramPlanMap = planMap;
         }
 
         private void applyToConvertedParamMap(Set<ParamFlowRule> paramFlowRules) {
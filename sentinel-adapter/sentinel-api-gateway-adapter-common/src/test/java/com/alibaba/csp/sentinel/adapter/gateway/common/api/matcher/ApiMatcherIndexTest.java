@@ -0,0 +1,155 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ApiMatcherIndexTest {
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals("/foo", ApiMatcherIndex.antLiteralPrefix("/foo/**"));
+        assertEquals("/foo/ba", ApiMatcherIndex.antLiteralPrefix("/foo/ba*"));
+        assertEquals("/foo/", ApiMatcherIndex.antLiteralPrefix("/foo//{id}"));
+        assertEquals("", ApiMatcherIndex.antLiteralPrefix("/**"));
+        assertEquals("/foo/bar", ApiMatcherIndex.antLiteralPrefix("/foo/bar"));
+
+        assertEquals("/foo/", ApiMatcherIndex.regexLiteralPrefix("^/foo/\\d+"));
+        assertEquals("/fo", ApiMatcherIndex.regexLiteralPrefix("/foo?/bar"));
+        assertEquals("/foo", ApiMatcherIndex.regexLiteralPrefix("/foo+"));
+        assertEquals("", ApiMatcherIndex.regexLiteralPrefix("/foo|/bar"));
+        assertEquals("", ApiMatcherIndex.regexLiteralPrefix(".*"));
+
+        assertEquals("/a/b/", ApiMatcherIndex.normalizePath("//a//b/"));
+    }
+
+    @Test
+    public void testPickMatchingApiNames() {
+        List<PathApiMatcher> matchers = Arrays.asList(
+            newMatcher("exact", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT, "/foo/bar"),
+            newMatcher("ant", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX, "/foo/**"),
+            newMatcher("ant_all", SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX, "/**"),
+            newMatcher("regex", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX, "^/foo/\\d+"),
+            newMatcher("regex_alt", SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX, "/baz|/foo/bar"),
+            newMatcher("multi", SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT, "/a/b", "/c/d")
+        );
+        ApiMatcherIndex<String, PathApiMatcher> index = new ApiMatcherIndex<>(matchers);
+        assertEquals(6, index.size());
+
+        assertEquals(set("exact", "ant", "ant_all", "regex_alt"), index.pickMatchingApiNames("/foo/bar", "/foo/bar"));
+        assertEquals(set("ant", "ant_all", "regex"), index.pickMatchingApiNames("/foo/123", "/foo/123"));
+        assertEquals(set("ant", "ant_all"), index.pickMatchingApiNames("/foo", "/foo"));
+        assertEquals(set("ant_all", "multi"), index.pickMatchingApiNames("/c/d", "/c/d"));
+        assertEquals(set("ant_all"), index.pickMatchingApiNames("/foobar", "/foobar"));
+        assertTrue(new ApiMatcherIndex<String, PathApiMatcher>(null).pickMatchingApiNames("/foo", "/foo").isEmpty());
+    }
+
+    @Test
+    public void testSameResultAsTestingAllMatchers() {
+        List<PathApiMatcher> matchers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            matchers.add(newMatcher("exact_" + i, SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT,
+                "/svc" + i + "/item"));
+            matchers.add(newMatcher("ant_" + i, SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX,
+                "/svc" + i + "/**"));
+            matchers.add(newMatcher("regex_" + i, SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX,
+                "/svc" + i + "/v\\d+/.*"));
+        }
+        ApiMatcherIndex<String, PathApiMatcher> index = new ApiMatcherIndex<>(matchers);
+
+        List<String> paths = Arrays.asList("/", "/svc1", "/svc1/item", "/svc12/item", "/svc12/v2/x",
+            "/svc12//v2/x", "/svc4/v/x", "/svc49/v10/", "/other", "svc1/item");
+        for (String path : paths) {
+            Set<String> expected = new HashSet<>();
+            for (PathApiMatcher matcher : matchers) {
+                if (matcher.test(path)) {
+                    expected.add(matcher.getApiName());
+                }
+            }
+            assertEquals(path, expected, index.pickMatchingApiNames(path, path));
+        }
+    }
+
+    private static Set<String> set(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static PathApiMatcher newMatcher(String apiName, int strategy, String... patterns) {
+        Set<ApiPredicateItem> items = new HashSet<>();
+        for (String pattern : patterns) {
+            items.add(new ApiPathPredicateItem().setPattern(pattern).setMatchStrategy(strategy));
+        }
+        return new PathApiMatcher(new ApiDefinition(apiName).setPredicateItems(items));
+    }
+
+    /**
+     * Matches request paths, where ant-style patterns are translated into regular expressions.
+     */
+    private static class PathApiMatcher extends AbstractApiMatcher<String> {
+
+        PathApiMatcher(ApiDefinition apiDefinition) {
+            super(apiDefinition);
+        }
+
+        @Override
+        protected void initializeMatchers() {
+            for (ApiPredicateItem item : apiDefinition.getPredicateItems()) {
+                final ApiPathPredicateItem pathItem = (ApiPathPredicateItem)item;
+                switch (pathItem.getMatchStrategy()) {
+                    case SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX:
+                        matchers.add(regex(Pattern.compile(pathItem.getPattern())));
+                        break;
+                    case SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX:
+                        String regex = pathItem.getPattern().replace("/**", "\u0000").replace("*", "[^/]*")
+                            .replace("\u0000", "(/.*)?");
+                        matchers.add(regex(Pattern.compile(regex)));
+                        break;
+                    default:
+                        matchers.add(new Predicate<String>() {
+                            @Override
+                            public boolean test(String path) {
+                                return path.equals(pathItem.getPattern());
+                            }
+                        });
+                }
+            }
+        }
+
+        private static Predicate<String> regex(final Pattern pattern) {
+            return new Predicate<String>() {
+                @Override
+                public boolean test(String path) {
+                    return pattern.matcher(path).matches();
+                }
+            };
+        }
+    }
+}
@@ -36,6 +36,8 @@ import org.junit.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -305,6 +307,51 @@ public class GatewayParamParserTest {
             .isEqualTo(SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM);
     }
 
+    @Test
+    public void testParseParametersWithItemCache() {
+        RequestItemParser<Object> itemParser = mock(RequestItemParser.class);
+        GatewayParamParser<Object> paramParser = new GatewayParamParser<>(itemParser);
+        // Create a fake request.
+        Object request = new Object();
+
+        // Prepare gateway rules.
+        Set<GatewayFlowRule> rules = new HashSet<>();
+        final String routeId1 = "my_test_route_C";
+        final String api1 = "my_test_route_D";
+        final String paramName = "p";
+        GatewayFlowRule routeRule1 = new GatewayFlowRule(routeId1)
+            .setCount(10)
+            .setIntervalSec(1)
+            .setParamItem(new GatewayParamFlowItem()
+                .setParseStrategy(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM)
+                .setFieldName(paramName)
+            );
+        GatewayFlowRule apiRule1 = new GatewayFlowRule(api1)
+            .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
+            .setCount(5)
+            .setIntervalSec(1)
+            .setParamItem(new GatewayParamFlowItem()
+                .setParseStrategy(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_URL_PARAM)
+                .setFieldName(paramName)
+                .setPattern("\\d+")
+                .setMatchStrategy(SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX)
+            );
+        rules.add(routeRule1);
+        rules.add(apiRule1);
+        GatewayRuleManager.loadRules(rules);
+
+        mockSingleUrlParam(itemParser, paramName, "abc");
+        RequestItemCache itemCache = new RequestItemCache();
+        Object[] params = paramParser.parseParameterFor(routeId1, request, routeIdPredicate, itemCache);
+        assertThat(params).containsExactly("abc");
+        params = paramParser.parseParameterFor(api1, request, apiNamePredicate, itemCache);
+        assertThat(params).containsExactly(SentinelGatewayConstants.GATEWAY_NOT_MATCH_PARAM);
+
+        // The URL parameter should be extracted only once for the request.
+        verify(itemParser, times(1)).getUrlParam(request, paramName);
+        assertThat(itemCache.size()).isEqualTo(1);
+    }
+
     private void mockClientHostAddress(/*@Mock*/ RequestItemParser parser, String address) {
         when(parser.getRemoteAddress(any())).thenReturn(address);
     }
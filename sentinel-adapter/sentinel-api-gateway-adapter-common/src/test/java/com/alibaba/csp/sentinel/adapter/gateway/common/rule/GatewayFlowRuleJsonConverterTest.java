@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.gateway.common.rule;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.fastjson.JSON;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GatewayFlowRuleJsonConverterTest {
+
+    @Test
+    public void testConvert() {
+        Set<GatewayFlowRule> rules = new LinkedHashSet<>();
+        rules.add(new GatewayFlowRule("route_a").setCount(10).setIntervalSec(2).setBurst(3));
+        rules.add(new GatewayFlowRule("api_b").setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
+            .setCount(5).setControlBehavior(2).setMaxQueueingTimeoutMs(100)
+            .setParamItem(new GatewayParamFlowItem()
+                .setParseStrategy(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER)
+                .setFieldName("X-Uid").setPattern("u.*")
+                .setMatchStrategy(SentinelGatewayConstants.PARAM_MATCH_STRATEGY_REGEX)));
+        // Invalid rule.
+        rules.add(new GatewayFlowRule("").setCount(1));
+        String json = JSON.toJSONString(rules);
+
+        Set<GatewayFlowRule> converted = new GatewayFlowRuleJsonConverter().convert(json);
+        // Compare the string forms, as GatewayParamFlowItem does not override equals.
+        Set<String> expected = new HashSet<>();
+        for (GatewayFlowRule rule : JSON.parseArray(json, GatewayFlowRule.class)) {
+            if (GatewayRuleManager.isValidRule(rule)) {
+                expected.add(rule.toString());
+            }
+        }
+        Set<String> actual = new HashSet<>();
+        for (GatewayFlowRule rule : converted) {
+            actual.add(rule.toString());
+        }
+        assertEquals(2, expected.size());
+        assertEquals(expected, actual);
+        assertNull(new GatewayFlowRuleJsonConverter().convert(""));
+    }
+}
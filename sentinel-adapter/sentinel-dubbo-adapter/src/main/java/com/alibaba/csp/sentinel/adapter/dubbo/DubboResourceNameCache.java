@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.dubbo;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.WeakIdentityCache;
+import com.alibaba.dubbo.rpc.Invocation;
+import com.alibaba.dubbo.rpc.Invoker;
+
+/**
+ * <p>Resource names of a Dubbo invoker, which are resolved once for the invoker and each method signature,
+ * rather than being built on every invocation.</p>
+ * <p>
+ * The names are resolved by the filter, and are bound to the resource name prefix, so they will be
+ * resolved again if the prefix changes. If the filter overrides the resolution of method resource names
+ * (which may then depend on the invocation, e.g. its arguments or attachments), the method resource names
+ * are resolved by the filter on every invocation.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class DubboResourceNameCache {
+
+    /**
+     * Invokers may be destroyed and created again when providers change, so the invokers are weakly referenced,
+     * and the names of a destroyed invoker are dropped once the invoker is collected. The cached names
+     * must not reference the invoker.
+     */
+    private static final WeakIdentityCache<Invoker<?>, DubboResourceNameCache> CACHE
+        = new WeakIdentityCache<Invoker<?>, DubboResourceNameCache>();
+
+    private final AbstractDubboFilter filter;
+    private final String prefix;
+    private final String interfaceResourceName;
+    private final boolean methodNamesCacheable;
+    private final ConcurrentMap<MethodSignature, String> methodResourceNames
+        = new ConcurrentHashMap<MethodSignature, String>();
+
+    private DubboResourceNameCache(AbstractDubboFilter filter, Invoker<?> invoker, String prefix) {
+        this.filter = filter;
+        this.prefix = prefix;
+        this.interfaceResourceName = filter.getInterfaceName(invoker, prefix);
+        this.methodNamesCacheable = !overridesMethodResourceName(filter.getClass());
+    }
+
+    /**
+     * Whether the filter class overrides any of the methods that resolve method resource names.
+     */
+    static boolean overridesMethodResourceName(Class<?> filterClass) {
+        for (Class<?> c = filterClass; c != null && c != AbstractDubboFilter.class; c = c.getSuperclass()) {
+            if (declares(c, Invoker.class, Invocation.class) || declares(c, Invoker.class, Invocation.class,
+                String.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean declares(Class<?> c, Class<?>... parameterTypes) {
+        try {
+            c.getDeclaredMethod("getMethodResourceName", parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get the cached resource names of the invoker with provided resource name prefix.
+     *
+     * @param filter  the filter that resolves the resource names
+     * @param invoker the Dubbo invoker
+     * @param prefix  resource name prefix, may be null
+     * @return the resource names of the invoker
+     */
+    static DubboResourceNameCache of(AbstractDubboFilter filter, Invoker<?> invoker, String prefix) {
+        DubboResourceNameCache names = CACHE.get(invoker);
+        if (names == null || names.filter != filter || !StringUtil.equals(names.prefix, prefix)) {
+            names = new DubboResourceNameCache(filter, invoker, prefix);
+            CACHE.put(invoker, names);
+        }
+        return names;
+    }
+
+    String getInterfaceResourceName() {
+        return interfaceResourceName;
+    }
+
+    String getMethodResourceName(Invoker<?> invoker, Invocation invocation) {
+        if (!methodNamesCacheable) {
+            return filter.getMethodResourceName(invoker, invocation, prefix);
+        }
+        MethodSignature signature = new MethodSignature(invocation.getMethodName(), invocation.getParameterTypes());
+        String name = methodResourceNames.get(signature);
+        if (name == null) {
+            name = filter.getMethodResourceName(invoker, invocation, prefix);
+            methodResourceNames.put(signature, name);
+        }
+        return name;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static final class MethodSignature {
+
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        MethodSignature(String methodName, Class<?>[] parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature that = (MethodSignature)o;
+            return StringUtil.equals(methodName, that.methodName)
+                && Arrays.equals(parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (methodName == null ? 0 : methodName.hashCode()) + Arrays.hashCode(parameterTypes);
+        }
+    }
+}
@@ -55,8 +55,9 @@ public class SentinelDubboConsumerFilter extends AbstractDubboFilter implements
         Entry methodEntry = null;
         try {
             String prefix = DubboAdapterGlobalConfig.getDubboConsumerPrefix();
-            String interfaceResourceName = getInterfaceName(invoker, prefix);
-            String methodResourceName = getMethodResourceName(invoker, invocation, prefix);
+            DubboResourceNameCache names = DubboResourceNameCache.of(this, invoker, prefix);
+            String interfaceResourceName = names.getInterfaceResourceName();
+            String methodResourceName = names.getMethodResourceName(invoker, invocation);
             interfaceEntry = SphU.entry(interfaceResourceName, ResourceTypeConstants.COMMON_RPC, EntryType.OUT);
             methodEntry = SphU.entry(methodResourceName, ResourceTypeConstants.COMMON_RPC,
                 EntryType.OUT, invocation.getArguments());
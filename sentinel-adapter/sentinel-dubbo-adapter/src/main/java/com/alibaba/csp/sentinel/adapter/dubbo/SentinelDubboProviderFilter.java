@@ -62,8 +62,9 @@ public class SentinelDubboProviderFilter extends AbstractDubboFilter implements
         Entry methodEntry = null;
         try {
             String prefix = DubboAdapterGlobalConfig.getDubboProviderPrefix();
-            String methodResourceName = getMethodResourceName(invoker, invocation, prefix);
-            String interfaceName = getInterfaceName(invoker, prefix);
+            DubboResourceNameCache names = DubboResourceNameCache.of(this, invoker, prefix);
+            String methodResourceName = names.getMethodResourceName(invoker, invocation);
+            String interfaceName = names.getInterfaceResourceName();
             ContextUtil.enter(methodResourceName, origin);
             interfaceEntry = SphU.entry(interfaceName, ResourceTypeConstants.COMMON_RPC, EntryType.IN);
             methodEntry = SphU.entry(methodResourceName, ResourceTypeConstants.COMMON_RPC,
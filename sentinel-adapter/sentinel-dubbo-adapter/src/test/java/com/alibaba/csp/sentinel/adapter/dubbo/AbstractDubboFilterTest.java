@@ -13,6 +13,9 @@ import org.junit.Test;
 import java.lang.reflect.Method;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -86,4 +89,42 @@ public class AbstractDubboFilterTest {
         assertEquals("my:dubbo:consumer:com.alibaba.csp.sentinel.adapter.dubbo.provider.DemoService:sayHello(java.lang.String,int)", resourceName);
 
     }
+
+    @Test
+    public void testOverriddenResourceNameNotCached() {
+        Invoker invoker = mock(Invoker.class);
+        when(invoker.getInterface()).thenReturn(DemoService.class);
+        Invocation invocation = mock(Invocation.class);
+        Method method = DemoService.class.getMethods()[0];
+        when(invocation.getMethodName()).thenReturn(method.getName());
+        when(invocation.getParameterTypes()).thenReturn(method.getParameterTypes());
+        when(invocation.getAttachment("group")).thenReturn("a", "b");
+
+        // The resource name depends on the attachment of each invocation.
+        AbstractDubboFilter customFilter = new SentinelDubboProviderFilter() {
+            @Override
+            protected String getMethodResourceName(Invoker<?> invoker, Invocation invocation, String prefix) {
+                return invocation.getAttachment("group") + ":" + super.getMethodResourceName(invoker, invocation,
+                    prefix);
+            }
+        };
+        assertTrue(DubboResourceNameCache.overridesMethodResourceName(customFilter.getClass()));
+        assertFalse(DubboResourceNameCache.overridesMethodResourceName(SentinelDubboProviderFilter.class));
+        assertFalse(DubboResourceNameCache.overridesMethodResourceName(filter.getClass()));
+
+        try {
+            DubboResourceNameCache names = DubboResourceNameCache.of(customFilter, invoker, "");
+            assertEquals("a:com.alibaba.csp.sentinel.adapter.dubbo.provider.DemoService:sayHello(java.lang.String,int)",
+                names.getMethodResourceName(invoker, invocation));
+            assertEquals("b:com.alibaba.csp.sentinel.adapter.dubbo.provider.DemoService:sayHello(java.lang.String,int)",
+                names.getMethodResourceName(invoker, invocation));
+
+            // The names resolved by the default resolution are cached.
+            names = DubboResourceNameCache.of(filter, invoker, "");
+            assertSame(names.getMethodResourceName(invoker, invocation),
+                names.getMethodResourceName(invoker, invocation));
+        } finally {
+            DubboResourceNameCache.clearCache();
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.motan;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.adapter.motan.config.MotanAdapterGlobalConfig;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.WeakIdentityCache;
+import com.weibo.api.motan.rpc.Caller;
+import com.weibo.api.motan.rpc.Request;
+
+/**
+ * <p>Resource names of a Motan caller, which are resolved once for the caller and each method signature,
+ * rather than being built on every invocation.</p>
+ * <p>
+ * The resolved names are bound to the resource name prefix and the group-and-version flag, and will be
+ * resolved again if the configuration changes.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class MotanResourceNameCache {
+
+    /**
+     * Callers may be destroyed and created again when providers change, so the callers are weakly referenced,
+     * and the names of a destroyed caller are dropped once the caller is collected.
+     */
+    private static final WeakIdentityCache<Caller<?>, MotanResourceNameCache> CACHE = new WeakIdentityCache<>();
+
+    private final String prefix;
+    private final boolean useGroupAndVersion;
+    private final String interfaceResourceName;
+    private final ConcurrentMap<MethodSignature, String> methodResourceNames = new ConcurrentHashMap<>();
+
+    private MotanResourceNameCache(Caller<?> caller, String prefix, boolean useGroupAndVersion) {
+        this.prefix = prefix;
+        this.useGroupAndVersion = useGroupAndVersion;
+        this.interfaceResourceName = MotanUtils.getInterfaceName(caller, prefix);
+    }
+
+    /**
+     * Get the cached resource names of the caller with provided resource name prefix.
+     *
+     * @param caller the Motan caller
+     * @param prefix resource name prefix, may be null
+     * @return the resource names of the caller
+     */
+    static MotanResourceNameCache of(Caller<?> caller, String prefix) {
+        boolean useGroupAndVersion = MotanAdapterGlobalConfig.getMotanInterfaceGroupAndVersionEnabled();
+        MotanResourceNameCache names = CACHE.get(caller);
+        if (names == null || !names.matches(prefix, useGroupAndVersion)) {
+            names = new MotanResourceNameCache(caller, prefix, useGroupAndVersion);
+            CACHE.put(caller, names);
+        }
+        return names;
+    }
+
+    private boolean matches(String prefix, boolean useGroupAndVersion) {
+        return this.useGroupAndVersion == useGroupAndVersion && StringUtil.equals(this.prefix, prefix);
+    }
+
+    String getInterfaceResourceName() {
+        return interfaceResourceName;
+    }
+
+    String getMethodResourceName(Caller<?> caller, Request request) {
+        MethodSignature signature = new MethodSignature(request.getMethodName(), request.getParamtersDesc());
+        String name = methodResourceNames.get(signature);
+        if (name == null) {
+            name = MotanUtils.getMethodResourceName(caller, request, prefix);
+            methodResourceNames.put(signature, name);
+        }
+        return name;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static final class MethodSignature {
+
+        private final String methodName;
+        private final String parametersDesc;
+
+        MethodSignature(String methodName, String parametersDesc) {
+            this.methodName = methodName;
+            this.parametersDesc = parametersDesc;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature that = (MethodSignature)o;
+            return StringUtil.equals(methodName, that.methodName)
+                && StringUtil.equals(parametersDesc, that.parametersDesc);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (methodName == null ? 0 : methodName.hashCode())
+                + (parametersDesc == null ? 0 : parametersDesc.hashCode());
+        }
+    }
+}
@@ -44,8 +44,9 @@ public class SentinelMotanConsumerFilter implements Filter {
         Entry interfaceEntry = null;
         Entry methodEntry = null;
         String prefix = MotanAdapterGlobalConfig.getMotanConsumerPrefix();
-        String interfaceResourceName = MotanUtils.getInterfaceName(caller, prefix);
-        String methodResourceName = MotanUtils.getMethodResourceName(caller, request, prefix);
+        MotanResourceNameCache names = MotanResourceNameCache.of(caller, prefix);
+        String interfaceResourceName = names.getInterfaceResourceName();
+        String methodResourceName = names.getMethodResourceName(caller, request);
         try {
             interfaceEntry = SphU.entry(interfaceResourceName, ResourceTypeConstants.COMMON_RPC, EntryType.OUT);
             methodEntry = SphU.entry(methodResourceName, ResourceTypeConstants.COMMON_RPC, EntryType.OUT,
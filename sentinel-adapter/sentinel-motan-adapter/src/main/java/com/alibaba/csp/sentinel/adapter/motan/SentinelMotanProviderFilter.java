@@ -48,8 +48,9 @@ public class SentinelMotanProviderFilter implements Filter {
         Map<String, String> attachment = request.getAttachments();
         String origin = attachment.getOrDefault(MotanAdapterGlobalConfig.APPLICATION, MotanAdapterGlobalConfig.MOTAN);
         String prefix = MotanAdapterGlobalConfig.getMotanProviderPrefix();
-        String interfaceResourceName = MotanUtils.getInterfaceName(caller, prefix);
-        String methodResourceName = MotanUtils.getMethodResourceName(caller, request, prefix);
+        MotanResourceNameCache names = MotanResourceNameCache.of(caller, prefix);
+        String interfaceResourceName = names.getInterfaceResourceName();
+        String methodResourceName = names.getMethodResourceName(caller, request);
         try {
             ContextUtil.enter(methodResourceName, origin);
             interfaceEntry = SphU.entry(interfaceResourceName, ResourceTypeConstants.COMMON_RPC, EntryType.IN);
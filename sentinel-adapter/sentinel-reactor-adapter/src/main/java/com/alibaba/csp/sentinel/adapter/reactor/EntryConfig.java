@@ -34,6 +34,7 @@ public class EntryConfig {
     private final int acquireCount;
     private final Object[] args;
     private final ContextConfig contextConfig;
+    private final boolean contextOnNext;
 
     public EntryConfig(String resourceName) {
         this(resourceName, EntryType.OUT);
@@ -66,6 +67,19 @@ public class EntryConfig {
 
     public EntryConfig(String resourceName, int resourceType, EntryType entryType, int acquireCount, Object[] args,
                        ContextConfig contextConfig) {
+        this(resourceName, resourceType, entryType, acquireCount, args, contextConfig, true);
+    }
+
+    /**
+     * @param contextOnNext whether to run the downstream {@code onNext} signals within the Sentinel context
+     *                      of the entry. It could be disabled for high-volume streams when the downstream operators
+     *                      don't enter resources synchronously, which saves the context switching of every element.
+     *                      The context is always available to the downstream Sentinel operators
+     *                      via the Reactor context
+     * @since 1.8.2
+     */
+    public EntryConfig(String resourceName, int resourceType, EntryType entryType, int acquireCount, Object[] args,
+                       ContextConfig contextConfig, boolean contextOnNext) {
         AssertUtil.assertNotBlank(resourceName, "resourceName cannot be blank");
         AssertUtil.notNull(entryType, "entryType cannot be null");
         AssertUtil.isTrue(acquireCount > 0, "acquireCount should be positive");
@@ -76,6 +90,7 @@ public class EntryConfig {
         this.args = args;
         // Constructed ContextConfig should be valid here. Null is allowed here.
         this.contextConfig = contextConfig;
+        this.contextOnNext = contextOnNext;
     }
 
     public String getResourceName() {
@@ -105,6 +120,13 @@ public class EntryConfig {
         return resourceType;
     }
 
+    /**
+     * @since 1.8.2
+     */
+    public boolean isContextOnNext() {
+        return contextOnNext;
+    }
+
     @Override
     public String toString() {
         return "EntryConfig{" +
@@ -114,6 +136,7 @@ public class EntryConfig {
             ", acquireCount=" + acquireCount +
             ", args=" + Arrays.toString(args) +
             ", contextConfig=" + contextConfig +
+            ", contextOnNext=" + contextOnNext +
             '}';
     }
 }
@@ -44,6 +44,18 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
     private volatile AsyncEntry currentEntry;
     private final AtomicBoolean entryExited = new AtomicBoolean(false);
 
+    /**
+     * The Reactor context with the Sentinel context of the entry, which is built once when the entry is created.
+     */
+    private volatile Context entryContext;
+
+    /**
+     * The element to emit within the Sentinel context. As the signals are serialized and the element is taken
+     * before being emitted, the same emitter is reused for all elements.
+     */
+    private T nextValue;
+    private final Runnable nextEmitter = this::emitNext;
+
     public SentinelReactorSubscriber(EntryConfig entryConfig,
                                      CoreSubscriber<? super T> actual,
                                      boolean unary) {
@@ -59,15 +71,11 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
 
     @Override
     public Context currentContext() {
-        if (currentEntry == null || entryExited.get()) {
-            return actual.currentContext();
-        }
-        com.alibaba.csp.sentinel.context.Context sentinelContext = currentEntry.getAsyncContext();
-        if (sentinelContext == null) {
+        Context context = entryContext;
+        if (context == null || entryExited.get()) {
             return actual.currentContext();
         }
-        return actual.currentContext()
-            .put(SentinelReactorConstants.SENTINEL_CONTEXT_KEY, currentEntry.getAsyncContext());
+        return context;
     }
 
     private void doWithContextOrCurrent(Supplier<Optional<com.alibaba.csp.sentinel.context.Context>> contextSupplier,
@@ -92,6 +100,10 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
             AsyncEntry entry = SphU.asyncEntry(entryConfig.getResourceName(), entryConfig.getResourceType(),
                 entryConfig.getEntryType(), entryConfig.getAcquireCount(), entryConfig.getArgs());
             this.currentEntry = entry;
+            if (entry.getAsyncContext() != null) {
+                this.entryContext = actual.currentContext()
+                    .put(SentinelReactorConstants.SENTINEL_CONTEXT_KEY, entry.getAsyncContext());
+            }
             actual.onSubscribe(this);
         } catch (BlockException ex) {
             // Mark as completed (exited) explicitly.
@@ -119,8 +131,15 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
             tryCompleteEntry();
             return;
         }
-        doWithContextOrCurrent(() -> Optional.ofNullable(currentEntry).map(AsyncEntry::getAsyncContext),
-            () -> actual.onNext(value));
+        AsyncEntry entry = currentEntry;
+        com.alibaba.csp.sentinel.context.Context sentinelContext = entry == null ? null : entry.getAsyncContext();
+        if (sentinelContext == null || !entryConfig.isContextOnNext() || ContextUtil.getContext() == sentinelContext) {
+            // No need to switch the context.
+            actual.onNext(value);
+        } else {
+            nextValue = value;
+            ContextUtil.runOnContext(sentinelContext, nextEmitter);
+        }
 
         if (unary) {
             // For some cases of unary operator (Mono), we have to do this during onNext hook.
@@ -130,6 +149,12 @@ public class SentinelReactorSubscriber<T> extends InheritableBaseSubscriber<T> {
         }
     }
 
+    private void emitNext() {
+        T value = nextValue;
+        nextValue = null;
+        actual.onNext(value);
+    }
+
     @Override
     protected void hookOnComplete() {
         tryCompleteEntry();
@@ -2,7 +2,12 @@ package com.alibaba.csp.sentinel.adapter.reactor;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.context.Context;
+import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.slots.block.BlockException;
 import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
@@ -11,6 +16,7 @@ import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
 
 import org.junit.Test;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.junit.Assert.*;
@@ -69,6 +75,48 @@ public class FluxSentinelOperatorTestIntegrationTest {
         FlowRuleManager.loadRules(new ArrayList<>());
     }
 
+    @Test
+    public void testEmitValuesWithinSentinelContext() {
+        String resourceName = createResourceName("testEmitValuesWithinSentinelContext");
+        List<Context> contexts = new ArrayList<>();
+        StepVerifier.create(Flux.just(1, 2, 3)
+            .transform(new SentinelReactorTransformer<>(resourceName))
+            .doOnNext(e -> contexts.add(ContextUtil.getContext())))
+            .expectNext(1, 2, 3)
+            .verifyComplete();
+
+        assertEquals(3, contexts.size());
+        assertNotNull(contexts.get(0));
+        assertTrue(contexts.get(0).isAsync());
+        assertSame(contexts.get(0), contexts.get(2));
+        assertNotSame(contexts.get(0), ContextUtil.getContext());
+    }
+
+    @Test
+    public void testEmitValuesWithoutSentinelContext() {
+        String resourceName = createResourceName("testEmitValuesWithoutSentinelContext");
+        EntryConfig entryConfig = new EntryConfig(resourceName, ResourceTypeConstants.COMMON, EntryType.OUT, 1,
+            new Object[0], null, false);
+        List<Context> contexts = new ArrayList<>();
+        StepVerifier.create(Flux.just(1, 2)
+            .flatMap(e -> Mono.subscriberContext()
+                .map(c -> c.hasKey(SentinelReactorConstants.SENTINEL_CONTEXT_KEY)))
+            .transform(new SentinelReactorTransformer<>(entryConfig))
+            .doOnNext(e -> contexts.add(ContextUtil.getContext())))
+            .expectNext(true, true)
+            .verifyComplete();
+
+        // The Sentinel context is still carried by the Reactor context, but not switched for each element.
+        assertEquals(2, contexts.size());
+        for (Context context : contexts) {
+            assertTrue(context == null || !context.isAsync());
+        }
+
+        ClusterNode cn = ClusterBuilderSlot.getClusterNode(resourceName);
+        assertNotNull(cn);
+        assertEquals(1, cn.passQps(), 0.01);
+    }
+
     private String createResourceName(String resourceName) {
         return "reactor_test_flux_" + resourceName;
     }
@@ -28,7 +28,6 @@ import com.alipay.sofa.rpc.filter.AutoActive;
 import com.alipay.sofa.rpc.filter.FilterInvoker;
 
 import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getInterfaceResourceName;
-import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getMethodResourceName;
 import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getMethodArguments;
 
 /**
@@ -54,7 +53,7 @@ public class SentinelSofaRpcConsumerFilter extends AbstractSofaRpcFilter {
         }
 
         String interfaceResourceName = getInterfaceResourceName(request);
-        String methodResourceName = getMethodResourceName(request);
+        String methodResourceName = SofaRpcResourceNameCache.getMethodResourceName(request);
 
         Entry interfaceEntry = null;
         Entry methodEntry = null;
@@ -30,7 +30,6 @@ import com.alipay.sofa.rpc.filter.FilterInvoker;
 
 import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getApplicationName;
 import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getInterfaceResourceName;
-import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getMethodResourceName;
 import static com.alibaba.csp.sentinel.adapter.sofa.rpc.SofaRpcUtils.getMethodArguments;
 
 /**
@@ -61,7 +60,7 @@ public class SentinelSofaRpcProviderFilter extends AbstractSofaRpcFilter {
 
         String callerApp = getApplicationName(request);
         String interfaceResourceName = getInterfaceResourceName(request);
-        String methodResourceName = getMethodResourceName(request);
+        String methodResourceName = SofaRpcResourceNameCache.getMethodResourceName(request);
 
         Entry interfaceEntry = null;
         Entry methodEntry = null;
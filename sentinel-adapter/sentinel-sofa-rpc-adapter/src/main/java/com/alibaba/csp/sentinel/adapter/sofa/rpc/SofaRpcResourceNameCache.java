@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.sofa.rpc;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alipay.sofa.rpc.core.request.SofaRequest;
+
+/**
+ * <p>Method resource names of SOFARPC requests, which are resolved once for each method signature
+ * rather than being built on every invocation.</p>
+ *
+ * @since 1.8.2
+ */
+final class SofaRpcResourceNameCache {
+
+    /**
+     * The cache stops growing when it holds too many methods (e.g. generic invocations of many services),
+     * and the names of other methods are then built on every invocation, so the hot methods cached
+     * earlier are never evicted.
+     */
+    static final int MAX_METHOD_COUNT = 8192;
+
+    private static final ConcurrentMap<MethodSignature, String> CACHE = new ConcurrentHashMap<>();
+
+    static String getMethodResourceName(SofaRequest request) {
+        MethodSignature signature = new MethodSignature(request.getInterfaceName(), request.getMethodName(),
+            request.getMethodArgSigs());
+        String name = CACHE.get(signature);
+        if (name == null) {
+            name = SofaRpcUtils.getMethodResourceName(request);
+            if (CACHE.size() < MAX_METHOD_COUNT) {
+                CACHE.put(signature, name);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Only for internal test.
+     */
+    static void clearCache() {
+        CACHE.clear();
+    }
+
+    private SofaRpcResourceNameCache() {}
+
+    private static final class MethodSignature {
+
+        private final String interfaceName;
+        private final String methodName;
+        private final String[] argSigs;
+
+        MethodSignature(String interfaceName, String methodName, String[] argSigs) {
+            this.interfaceName = interfaceName;
+            this.methodName = methodName;
+            this.argSigs = argSigs;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature that = (MethodSignature)o;
+            return StringUtil.equals(interfaceName, that.interfaceName)
+                && StringUtil.equals(methodName, that.methodName)
+                && Arrays.equals(argSigs, that.argSigs);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = interfaceName == null ? 0 : interfaceName.hashCode();
+            result = 31 * result + (methodName == null ? 0 : methodName.hashCode());
+            return 31 * result + Arrays.hashCode(argSigs);
+        }
+    }
+}
@@ -17,18 +17,17 @@ package com.alibaba.csp.sentinel.adapter.gateway.sc;
 
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamParser;
+import com.alibaba.csp.sentinel.adapter.gateway.common.param.RequestItemCache;
 import com.alibaba.csp.sentinel.adapter.gateway.sc.callback.GatewayCallbackManager;
 import com.alibaba.csp.sentinel.adapter.reactor.ContextConfig;
 import com.alibaba.csp.sentinel.adapter.reactor.EntryConfig;
 import com.alibaba.csp.sentinel.adapter.reactor.SentinelReactorTransformer;
 import com.alibaba.csp.sentinel.adapter.gateway.sc.api.GatewayApiMatcherManager;
-import com.alibaba.csp.sentinel.adapter.gateway.sc.api.matcher.WebExchangeApiMatcher;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -63,10 +62,11 @@ public class SentinelGatewayFilter implements GatewayFilter, GlobalFilter, Order
         Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
 
         Mono<Void> asyncResult = chain.filter(exchange);
+        RequestItemCache itemCache = new RequestItemCache();
         if (route != null) {
             String routeId = route.getId();
             Object[] params = paramParser.parseParameterFor(routeId, exchange,
-                r -> r.getResourceMode() == SentinelGatewayConstants.RESOURCE_MODE_ROUTE_ID);
+                r -> r.getResourceMode() == SentinelGatewayConstants.RESOURCE_MODE_ROUTE_ID, itemCache);
             String origin = Optional.ofNullable(GatewayCallbackManager.getRequestOriginParser())
                 .map(f -> f.apply(exchange))
                 .orElse("");
@@ -79,7 +79,7 @@ public class SentinelGatewayFilter implements GatewayFilter, GlobalFilter, Order
         Set<String> matchingApis = pickMatchingApiDefinitions(exchange);
         for (String apiName : matchingApis) {
             Object[] params = paramParser.parseParameterFor(apiName, exchange,
-                r -> r.getResourceMode() == SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME);
+                r -> r.getResourceMode() == SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME, itemCache);
             asyncResult = asyncResult.transform(
                 new SentinelReactorTransformer<>(new EntryConfig(apiName, ResourceTypeConstants.COMMON_API_GATEWAY,
                     EntryType.IN, 1, params))
@@ -94,11 +94,8 @@ public class SentinelGatewayFilter implements GatewayFilter, GlobalFilter, Order
     }
 
     Set<String> pickMatchingApiDefinitions(ServerWebExchange exchange) {
-        return GatewayApiMatcherManager.getApiMatcherMap().values()
-            .stream()
-            .filter(m -> m.test(exchange))
-            .map(WebExchangeApiMatcher::getApiName)
-            .collect(Collectors.toSet());
+        return GatewayApiMatcherManager.getApiMatcherIndex()
+            .pickMatchingApiNames(exchange, exchange.getRequest().getPath().value());
     }
 
     @Override
@@ -23,8 +23,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiMatcherIndex;
 import com.alibaba.csp.sentinel.adapter.gateway.sc.api.matcher.WebExchangeApiMatcher;
 
+import org.springframework.web.server.ServerWebExchange;
+
 /**
  * @author Eric Zhao
  * @since 1.6.0
@@ -32,11 +35,21 @@ import com.alibaba.csp.sentinel.adapter.gateway.sc.api.matcher.WebExchangeApiMat
 public final class GatewayApiMatcherManager {
 
     private static final Map<String, WebExchangeApiMatcher> API_MATCHER_MAP = new ConcurrentHashMap<>();
+    private static volatile ApiMatcherIndex<ServerWebExchange, WebExchangeApiMatcher> apiMatcherIndex
+        = new ApiMatcherIndex<>(Collections.emptyList());
 
     public static Map<String, WebExchangeApiMatcher> getApiMatcherMap() {
         return Collections.unmodifiableMap(API_MATCHER_MAP);
     }
 
+    /**
+     * @return the index of all API matchers, which is rebuilt when API definitions change
+     * @since 1.8.2
+     */
+    public static ApiMatcherIndex<ServerWebExchange, WebExchangeApiMatcher> getApiMatcherIndex() {
+        return apiMatcherIndex;
+    }
+
     public static Optional<WebExchangeApiMatcher> getMatcher(final String apiName) {
         return Optional.ofNullable(apiName)
             .map(e -> API_MATCHER_MAP.get(apiName));
@@ -52,14 +65,19 @@ public final class GatewayApiMatcherManager {
     static synchronized void loadApiDefinitions(/*@Valid*/ Set<ApiDefinition> definitions) {
         if (definitions == null || definitions.isEmpty()) {
             API_MATCHER_MAP.clear();
-            return;
+        } else {
+            definitions.forEach(GatewayApiMatcherManager::addApiDefinition);
         }
-        definitions.forEach(GatewayApiMatcherManager::addApiDefinition);
+        rebuildApiMatcherIndex();
     }
 
     static void addApiDefinition(ApiDefinition definition) {
         API_MATCHER_MAP.put(definition.getApiName(), new WebExchangeApiMatcher(definition));
     }
 
+    private static void rebuildApiMatcherIndex() {
+        apiMatcherIndex = new ApiMatcherIndex<>(API_MATCHER_MAP.values());
+    }
+
     private GatewayApiMatcherManager() {}
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.spring.webmvc;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.AbstractUrlHandlerMapping;
+import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+/**
+ * <p>Collects the URL patterns (route templates) declared in Spring Web MVC handler mappings,
+ * e.g. {@code /foo/{id}} of {@code @GetMapping("/foo/{id}")}.</p>
+ * <p>
+ * {@link SentinelWebInterceptor} already uses the matched pattern as the resource name. The collected templates
+ * are useful for filters running before the dispatcher (e.g. the {@code RouteTemplateUrlCleaner} of the
+ * Sentinel servlet adapter), so that they can unify URLs to the same templates without declaring them again.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class HandlerMappingRouteTemplates {
+
+    /**
+     * Collect the URL patterns of the given handler mappings, in the order of the mappings.
+     * Only {@link RequestMappingInfoHandlerMapping} and {@link AbstractUrlHandlerMapping} are supported.
+     *
+     * @param handlerMappings handler mappings, e.g. all {@link HandlerMapping} beans of the context
+     * @return the URL patterns
+     */
+    public static Set<String> collect(Collection<? extends HandlerMapping> handlerMappings) {
+        Set<String> templates = new LinkedHashSet<>();
+        if (handlerMappings == null) {
+            return templates;
+        }
+        for (HandlerMapping handlerMapping : handlerMappings) {
+            collect(handlerMapping, templates);
+        }
+        return templates;
+    }
+
+    private static void collect(HandlerMapping handlerMapping, Set<String> templates) {
+        if (handlerMapping instanceof RequestMappingInfoHandlerMapping) {
+            for (RequestMappingInfo info : ((RequestMappingInfoHandlerMapping) handlerMapping).getHandlerMethods()
+                .keySet()) {
+                PatternsRequestCondition condition = info.getPatternsCondition();
+                if (condition != null) {
+                    templates.addAll(condition.getPatterns());
+                }
+            }
+        } else if (handlerMapping instanceof AbstractUrlHandlerMapping) {
+            templates.addAll(((AbstractUrlHandlerMapping) handlerMapping).getHandlerMap().keySet());
+        }
+    }
+
+    private HandlerMappingRouteTemplates() {}
+}
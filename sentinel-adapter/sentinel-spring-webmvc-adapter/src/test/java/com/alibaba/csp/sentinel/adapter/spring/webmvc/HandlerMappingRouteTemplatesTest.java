@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2019 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.spring.webmvc;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestApplication.class)
+public class HandlerMappingRouteTemplatesTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void testCollect() {
+        Map<String, HandlerMapping> handlerMappings = applicationContext.getBeansOfType(HandlerMapping.class);
+        Set<String> templates = HandlerMappingRouteTemplates.collect(handlerMappings.values());
+        assertTrue(templates.contains("/hello"));
+        assertTrue(templates.contains("/foo/{id}"));
+        assertTrue(templates.contains("/exclude/{id}"));
+
+        assertTrue(HandlerMappingRouteTemplates.collect(null).isEmpty());
+        assertTrue(HandlerMappingRouteTemplates.collect(Collections.<HandlerMapping>emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.servlet.callback;
+
+import java.util.Collection;
+
+import com.alibaba.csp.sentinel.adapter.servlet.util.RouteTemplateMatcher;
+
+/**
+ * <p>{@link UrlCleaner} that unifies URLs to the declared route templates,
+ * e.g. {@code /users/1/orders} and {@code /users/2/orders} to {@code /users/{id}/orders}.</p>
+ * <p>
+ * See {@link RouteTemplateMatcher} for the supported template syntax. URLs that do not match any template are
+ * kept as they are, or excluded (cleaned to the empty string) if {@code excludeUnmatched} is set.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class RouteTemplateUrlCleaner implements UrlCleaner {
+
+    private final RouteTemplateMatcher matcher;
+    private final boolean excludeUnmatched;
+
+    public RouteTemplateUrlCleaner(Collection<String> templates) {
+        this(templates, false);
+    }
+
+    public RouteTemplateUrlCleaner(Collection<String> templates, boolean excludeUnmatched) {
+        this.matcher = new RouteTemplateMatcher(templates);
+        this.excludeUnmatched = excludeUnmatched;
+    }
+
+    @Override
+    public String clean(String originUrl) {
+        String template = matcher.match(originUrl);
+        if (template != null) {
+            return template;
+        }
+        return excludeUnmatched ? "" : originUrl;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.servlet.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>Matches URL paths against declared route templates (e.g. {@code /users/{id}/orders}).</p>
+ * <p>
+ * The templates are compiled into a tree keyed by path segments, so a path is mapped to its template in
+ * a single pass over the path, without splitting or copying it. The following segments are supported:
+ * </p>
+ * <ul>
+ * <li>literal segments, e.g. {@code orders}, which take precedence over the others;</li>
+ * <li>variable segments, e.g. {@code {id}}, {@code *} or {@code {name}.{ext}}, which match any single segment;</li>
+ * <li>a trailing {@code **}, which matches all the remaining segments (including none).</li>
+ * </ul>
+ * <p>
+ * Empty segments are ignored, so {@code /users//1/} is matched the same as {@code /users/1}.
+ * A {@code **} that is not the last segment is treated as a single-segment variable.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class RouteTemplateMatcher {
+
+    private static final String CATCH_ALL = "**";
+
+    private final Node root;
+    private final int size;
+
+    public RouteTemplateMatcher(Collection<String> templates) {
+        MutableNode root = new MutableNode();
+        int size = 0;
+        if (templates != null) {
+            for (String template : templates) {
+                if (StringUtil.isNotBlank(template) && root.add(template.trim())) {
+                    size++;
+                }
+            }
+        }
+        this.root = root.freeze();
+        this.size = size;
+    }
+
+    /**
+     * Get the template that matches the path.
+     *
+     * @param path URL path, without the query string
+     * @return the matching template, or null if no template matches
+     */
+    public String match(String path) {
+        if (path == null) {
+            return null;
+        }
+        return match(root, path, skipSlashes(path, 0));
+    }
+
+    /**
+     * @return the number of distinct templates
+     */
+    public int size() {
+        return size;
+    }
+
+    private static String match(Node node, String path, int start) {
+        int length = path.length();
+        if (start >= length) {
+            return node.template != null ? node.template : node.catchAllTemplate;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int next = skipSlashes(path, end);
+        Node child = node.findLiteral(path, start, end);
+        if (child != null) {
+            String template = match(child, path, next);
+            if (template != null) {
+                return template;
+            }
+        }
+        if (node.variableChild != null) {
+            String template = match(node.variableChild, path, next);
+            if (template != null) {
+                return template;
+            }
+        }
+        return node.catchAllTemplate;
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') {
+            index++;
+        }
+        return index;
+    }
+
+    private static int hash(String s, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        // Spread the higher bits, as the table is indexed by the lower bits.
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0;
+    }
+
+    /**
+     * Node of the compiled tree. Literal children are kept in an open-addressing table,
+     * so that they can be looked up by a region of the path.
+     */
+    private static final class Node {
+
+        private final String template;
+        private final String catchAllTemplate;
+        private final Node variableChild;
+        private final String[] keys;
+        private final int[] hashes;
+        private final Node[] children;
+
+        Node(String template, String catchAllTemplate, Node variableChild, Map<String, Node> literalChildren) {
+            this.template = template;
+            this.catchAllTemplate = catchAllTemplate;
+            this.variableChild = variableChild;
+            if (literalChildren.isEmpty()) {
+                this.keys = null;
+                this.hashes = null;
+                this.children = null;
+                return;
+            }
+            int capacity = Integer.highestOneBit(literalChildren.size() * 2 - 1) << 1;
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.children = new Node[capacity];
+            for (Map.Entry<String, Node> e : literalChildren.entrySet()) {
+                String key = e.getKey();
+                int h = hash(key, 0, key.length());
+                int index = h & (capacity - 1);
+                while (keys[index] != null) {
+                    index = (index + 1) & (capacity - 1);
+                }
+                keys[index] = key;
+                hashes[index] = h;
+                children[index] = e.getValue();
+            }
+        }
+
+        Node findLiteral(String path, int start, int end) {
+            if (keys == null) {
+                return null;
+            }
+            int length = end - start;
+            int h = hash(path, start, end);
+            int mask = keys.length - 1;
+            for (int index = h & mask; keys[index] != null; index = (index + 1) & mask) {
+                String key = keys[index];
+                if (hashes[index] == h && key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return children[index];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class MutableNode {
+
+        private String template;
+        private String catchAllTemplate;
+        private MutableNode variableChild;
+        private final Map<String, MutableNode> literalChildren = new LinkedHashMap<>();
+
+        /**
+         * @return true if the template was added, false if a template of the same shape already exists
+         */
+        boolean add(String template) {
+            List<String> segments = new ArrayList<>();
+            for (String segment : template.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+            MutableNode node = this;
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                if (CATCH_ALL.equals(segment) && i == segments.size() - 1) {
+                    if (node.catchAllTemplate != null) {
+                        return false;
+                    }
+                    node.catchAllTemplate = template;
+                    return true;
+                }
+                if (isVariable(segment)) {
+                    if (node.variableChild == null) {
+                        node.variableChild = new MutableNode();
+                    }
+                    node = node.variableChild;
+                } else {
+                    MutableNode child = node.literalChildren.get(segment);
+                    if (child == null) {
+                        child = new MutableNode();
+                        node.literalChildren.put(segment, child);
+                    }
+                    node = child;
+                }
+            }
+            if (node.template != null) {
+                return false;
+            }
+            node.template = template;
+            return true;
+        }
+
+        Node freeze() {
+            Map<String, Node> children = new LinkedHashMap<>();
+            for (Map.Entry<String, MutableNode> e : literalChildren.entrySet()) {
+                children.put(e.getKey(), e.getValue().freeze());
+            }
+            return new Node(template, catchAllTemplate, variableChild == null ? null : variableChild.freeze(),
+                children);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.adapter.servlet.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.adapter.servlet.callback.RouteTemplateUrlCleaner;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RouteTemplateMatcherTest {
+
+    @Test
+    public void testMatch() {
+        RouteTemplateMatcher matcher = new RouteTemplateMatcher(Arrays.asList(
+            "/users/{id}/orders",
+            "/users/{id}",
+            "/users/me",
+            "/users/me/orders/{orderId}",
+            "/files/**",
+            "/static/*.js",
+            "/",
+            "/users/{userId}"
+        ));
+        assertEquals(7, matcher.size());
+
+        assertEquals("/users/{id}/orders", matcher.match("/users/1/orders"));
+        assertEquals("/users/{id}/orders", matcher.match("/users/me/orders"));
+        assertEquals("/users/{id}", matcher.match("/users/1"));
+        assertEquals("/users/me", matcher.match("/users/me"));
+        assertEquals("/users/me/orders/{orderId}", matcher.match("/users/me/orders/42"));
+        assertEquals("/files/**", matcher.match("/files"));
+        assertEquals("/files/**", matcher.match("/files/a/b/c.txt"));
+        assertEquals("/static/*.js", matcher.match("/static/app.js"));
+        assertEquals("/", matcher.match("/"));
+        assertEquals("/", matcher.match(""));
+
+        // Empty segments are ignored.
+        assertEquals("/users/{id}/orders", matcher.match("//users/1//orders/"));
+
+        assertNull(matcher.match("/users/1/orders/2"));
+        assertNull(matcher.match("/user"));
+        assertNull(matcher.match("/static/a/b.js"));
+        assertNull(matcher.match(null));
+    }
+
+    @Test
+    public void testBacktrackToVariableSegment() {
+        RouteTemplateMatcher matcher = new RouteTemplateMatcher(Arrays.asList(
+            "/a/b/c", "/a/{x}/d", "/a/**", "/**"
+        ));
+        assertEquals("/a/b/c", matcher.match("/a/b/c"));
+        // The literal branch of "b" does not match, so the variable branch is tried.
+        assertEquals("/a/{x}/d", matcher.match("/a/b/d"));
+        assertEquals("/a/**", matcher.match("/a/b/e"));
+        assertEquals("/**", matcher.match("/z"));
+    }
+
+    @Test
+    public void testManyLiteralSegments() {
+        List<String> templates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            templates.add("/svc" + i + "/items/{id}");
+        }
+        RouteTemplateMatcher matcher = new RouteTemplateMatcher(templates);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("/svc" + i + "/items/{id}", matcher.match("/svc" + i + "/items/" + i));
+        }
+        assertNull(matcher.match("/svc100/items/1"));
+    }
+
+    @Test
+    public void testUrlCleaner() {
+        RouteTemplateUrlCleaner cleaner = new RouteTemplateUrlCleaner(Collections.singletonList("/foo/{id}"));
+        assertEquals("/foo/{id}", cleaner.clean("/foo/1"));
+        assertEquals("/bar/1", cleaner.clean("/bar/1"));
+
+        RouteTemplateUrlCleaner excludingCleaner = new RouteTemplateUrlCleaner(
+            Collections.singletonList("/foo/{id}"), true);
+        assertEquals("/foo/{id}", excludingCleaner.clean("/foo/1"));
+        assertEquals("", excludingCleaner.clean("/bar/1"));
+    }
+}
@@ -22,8 +22,11 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiMatcherIndex;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.api.matcher.RequestContextApiMatcher;
 
+import com.netflix.zuul.context.RequestContext;
+
 /**
  * @author Eric Zhao
  * @since 1.6.0
@@ -31,11 +34,21 @@ import com.alibaba.csp.sentinel.adapter.gateway.zuul.api.matcher.RequestContextA
 public final class ZuulGatewayApiMatcherManager {
 
     private static final Map<String, RequestContextApiMatcher> API_MATCHER_MAP = new ConcurrentHashMap<>();
+    private static volatile ApiMatcherIndex<RequestContext, RequestContextApiMatcher> apiMatcherIndex
+        = new ApiMatcherIndex<>(Collections.<RequestContextApiMatcher>emptyList());
 
     public static Map<String, RequestContextApiMatcher> getApiMatcherMap() {
         return Collections.unmodifiableMap(API_MATCHER_MAP);
     }
 
+    /**
+     * @return the index of all API matchers, which is rebuilt when API definitions change
+     * @since 1.8.2
+     */
+    public static ApiMatcherIndex<RequestContext, RequestContextApiMatcher> getApiMatcherIndex() {
+        return apiMatcherIndex;
+    }
+
     public static RequestContextApiMatcher getMatcher(final String apiName) {
         if (apiName == null) {
             return null;
@@ -54,11 +67,12 @@ public final class ZuulGatewayApiMatcherManager {
     static synchronized void loadApiDefinitions(/*@Valid*/ Set<ApiDefinition> definitions) {
         if (definitions == null || definitions.isEmpty()) {
             API_MATCHER_MAP.clear();
-            return;
-        }
-        for (ApiDefinition definition : definitions) {
-            addApiDefinition(definition);
+        } else {
+            for (ApiDefinition definition : definitions) {
+                addApiDefinition(definition);
+            }
         }
+        apiMatcherIndex = new ApiMatcherIndex<>(API_MATCHER_MAP.values());
     }
 
     static void addApiDefinition(ApiDefinition definition) {
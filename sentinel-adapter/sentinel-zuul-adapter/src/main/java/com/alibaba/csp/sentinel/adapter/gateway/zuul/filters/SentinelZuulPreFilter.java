@@ -18,7 +18,6 @@ package com.alibaba.csp.sentinel.adapter.gateway.zuul.filters;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.Set;
 
 import com.alibaba.csp.sentinel.AsyncEntry;
@@ -26,10 +25,10 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamParser;
+import com.alibaba.csp.sentinel.adapter.gateway.common.param.RequestItemCache;
 import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.RequestContextItemParser;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.api.ZuulGatewayApiMatcherManager;
-import com.alibaba.csp.sentinel.adapter.gateway.zuul.api.matcher.RequestContextApiMatcher;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.callback.ZuulGatewayCallbackManager;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.constants.ZuulConstant;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul.fallback.BlockResponse;
@@ -89,14 +88,14 @@ public class SentinelZuulPreFilter extends ZuulFilter {
     }
 
     private void doSentinelEntry(String resourceName, final int resType, RequestContext requestContext,
-                                 Deque<EntryHolder> holders) throws BlockException {
+                                 RequestItemCache itemCache, Deque<EntryHolder> holders) throws BlockException {
         Object[] params = paramParser.parseParameterFor(resourceName, requestContext,
             new Predicate<GatewayFlowRule>() {
                 @Override
                 public boolean test(GatewayFlowRule r) {
                     return r.getResourceMode() == resType;
                 }
-            });
+            }, itemCache);
         AsyncEntry entry = SphU.asyncEntry(resourceName, ResourceTypeConstants.COMMON_API_GATEWAY,
                 EntryType.IN, params);
         EntryHolder holder = new EntryHolder(entry, params);
@@ -110,11 +109,12 @@ public class SentinelZuulPreFilter extends ZuulFilter {
         String routeId = (String)ctx.get(ZuulConstant.PROXY_ID_KEY);
 
         Deque<EntryHolder> holders = new ArrayDeque<>();
+        RequestItemCache itemCache = new RequestItemCache();
         String fallBackRoute = routeId;
         try {
             if (StringUtil.isNotBlank(routeId)) {
                 ContextUtil.enter(GATEWAY_CONTEXT_ROUTE_PREFIX + routeId, origin);
-                doSentinelEntry(routeId, RESOURCE_MODE_ROUTE_ID, ctx, holders);
+                doSentinelEntry(routeId, RESOURCE_MODE_ROUTE_ID, ctx, itemCache, holders);
             }
 
             Set<String> matchingApis = pickMatchingApiDefinitions(ctx);
@@ -123,7 +123,7 @@ public class SentinelZuulPreFilter extends ZuulFilter {
             }
             for (String apiName : matchingApis) {
                 fallBackRoute = apiName;
-                doSentinelEntry(apiName, RESOURCE_MODE_CUSTOM_API_NAME, ctx, holders);
+                doSentinelEntry(apiName, RESOURCE_MODE_CUSTOM_API_NAME, ctx, itemCache, holders);
             }
         } catch (BlockException ex) {
             ZuulBlockFallbackProvider zuulBlockFallbackProvider = ZuulBlockFallbackManager.getFallbackProvider(
@@ -153,12 +153,9 @@ public class SentinelZuulPreFilter extends ZuulFilter {
     }
 
     private Set<String> pickMatchingApiDefinitions(RequestContext requestContext) {
-        Set<String> apis = new HashSet<>();
-        for (RequestContextApiMatcher matcher : ZuulGatewayApiMatcherManager.getApiMatcherMap().values()) {
-            if (matcher.test(requestContext)) {
-                apis.add(matcher.getApiName());
-            }
-        }
-        return apis;
+        // Exact patterns are matched against the servlet path, while others against the request URI.
+        HttpServletRequest request = requestContext.getRequest();
+        return ZuulGatewayApiMatcherManager.getApiMatcherIndex()
+            .pickMatchingApiNames(requestContext, request.getServletPath(), request.getRequestURI());
     }
 }
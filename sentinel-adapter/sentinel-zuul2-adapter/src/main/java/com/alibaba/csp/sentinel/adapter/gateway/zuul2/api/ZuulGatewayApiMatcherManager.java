@@ -22,8 +22,11 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiMatcherIndex;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.matcher.HttpRequestMessageApiMatcher;
 
+import com.netflix.zuul.message.http.HttpRequestMessage;
+
 /**
  * @author wavesZh
  * @since 1.7.2
@@ -31,11 +34,21 @@ import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.matcher.HttpRequestMes
 public final class ZuulGatewayApiMatcherManager {
 
     private static final Map<String, HttpRequestMessageApiMatcher> API_MATCHER_MAP = new ConcurrentHashMap<>();
+    private static volatile ApiMatcherIndex<HttpRequestMessage, HttpRequestMessageApiMatcher> apiMatcherIndex
+        = new ApiMatcherIndex<>(Collections.<HttpRequestMessageApiMatcher>emptyList());
 
     public static Map<String, HttpRequestMessageApiMatcher> getApiMatcherMap() {
         return Collections.unmodifiableMap(API_MATCHER_MAP);
     }
 
+    /**
+     * @return the index of all API matchers, which is rebuilt when API definitions change
+     * @since 1.8.2
+     */
+    public static ApiMatcherIndex<HttpRequestMessage, HttpRequestMessageApiMatcher> getApiMatcherIndex() {
+        return apiMatcherIndex;
+    }
+
     public static HttpRequestMessageApiMatcher getMatcher(final String apiName) {
         if (apiName == null) {
             return null;
@@ -54,11 +67,12 @@ public final class ZuulGatewayApiMatcherManager {
     static synchronized void loadApiDefinitions(/*@Valid*/ Set<ApiDefinition> definitions) {
         if (definitions == null || definitions.isEmpty()) {
             API_MATCHER_MAP.clear();
-            return;
-        }
-        for (ApiDefinition definition : definitions) {
-            addApiDefinition(definition);
+        } else {
+            for (ApiDefinition definition : definitions) {
+                addApiDefinition(definition);
+            }
         }
+        apiMatcherIndex = new ApiMatcherIndex<>(API_MATCHER_MAP.values());
     }
 
     static void addApiDefinition(ApiDefinition definition) {
@@ -17,7 +17,6 @@ package com.alibaba.csp.sentinel.adapter.gateway.zuul2.filters.inbound;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -27,9 +26,9 @@ import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.ResourceTypeConstants;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.adapter.gateway.common.param.GatewayParamParser;
+import com.alibaba.csp.sentinel.adapter.gateway.common.param.RequestItemCache;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.HttpRequestMessageItemParser;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.ZuulGatewayApiMatcherManager;
-import com.alibaba.csp.sentinel.adapter.gateway.zuul2.api.matcher.HttpRequestMessageApiMatcher;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.constants.SentinelZuul2Constants;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.filters.EntryHolder;
 import com.alibaba.csp.sentinel.adapter.gateway.zuul2.filters.endpoint.SentinelZuulEndpoint;
@@ -124,12 +123,13 @@ public class SentinelZuulInboundFilter extends HttpInboundFilter {
     private Observable<HttpRequestMessage> apply(HttpRequestMessage request) {
         SessionContext context = request.getContext();
         Deque<EntryHolder> holders = new ArrayDeque<>();
+        RequestItemCache itemCache = new RequestItemCache();
         String routeId = routeExtractor.apply(request);
         String fallBackRoute = routeId;
         try {
             if (StringUtil.isNotBlank(routeId)) {
                 ContextUtil.enter(GATEWAY_CONTEXT_ROUTE_PREFIX + routeId);
-                doSentinelEntry(routeId, RESOURCE_MODE_ROUTE_ID, request, holders);
+                doSentinelEntry(routeId, RESOURCE_MODE_ROUTE_ID, request, itemCache, holders);
             }
             Set<String> matchingApis = pickMatchingApiDefinitions(request);
             if (!matchingApis.isEmpty() && ContextUtil.getContext() == null) {
@@ -137,7 +137,7 @@ public class SentinelZuulInboundFilter extends HttpInboundFilter {
             }
             for (String apiName : matchingApis) {
                 fallBackRoute = apiName;
-                doSentinelEntry(apiName, RESOURCE_MODE_CUSTOM_API_NAME, request, holders);
+                doSentinelEntry(apiName, RESOURCE_MODE_CUSTOM_API_NAME, request, itemCache, holders);
             }
             return Observable.just(request);
         } catch (BlockException t) {
@@ -159,20 +159,16 @@ public class SentinelZuulInboundFilter extends HttpInboundFilter {
         }
     }
 
-    private void doSentinelEntry(String resourceName, final int resType, HttpRequestMessage input, Deque<EntryHolder> holders) throws BlockException {
-        Object[] params = paramParser.parseParameterFor(resourceName, input, r -> r.getResourceMode() == resType);
+    private void doSentinelEntry(String resourceName, final int resType, HttpRequestMessage input,
+                                 RequestItemCache itemCache, Deque<EntryHolder> holders) throws BlockException {
+        Object[] params = paramParser.parseParameterFor(resourceName, input, r -> r.getResourceMode() == resType,
+            itemCache);
         AsyncEntry entry = SphU.asyncEntry(resourceName, ResourceTypeConstants.COMMON_API_GATEWAY, EntryType.IN, params);
         holders.push(new EntryHolder(entry, params));
     }
 
     private Set<String> pickMatchingApiDefinitions(HttpRequestMessage message) {
-        Set<String> apis = new HashSet<>();
-        for (HttpRequestMessageApiMatcher matcher : ZuulGatewayApiMatcherManager.getApiMatcherMap().values()) {
-            if (matcher.test(message)) {
-                apis.add(matcher.getApiName());
-            }
-        }
-        return apis;
+        return ZuulGatewayApiMatcherManager.getApiMatcherIndex().pickMatchingApiNames(message, message.getPath());
     }
 
     @Override
@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.annotation.SentinelResource;
+import com.alibaba.csp.sentinel.annotation.aspectj.AbstractSentinelAspectSupport;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.runtime.reflect.Factory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for handling blocked calls of {@link SentinelResource} methods in the annotation aspect,
+ * i.e. invoking the resolved block handler and fallback.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class AnnotationBlockHandlerBenchmark {
+
+    private final BlockHandlingSupport support = new BlockHandlingSupport();
+    private final BlockException blockException = new FlowException("default");
+
+    private ProceedingJoinPoint blockHandlerJoinPoint;
+    private SentinelResource blockHandlerAnnotation;
+    private ProceedingJoinPoint staticBlockHandlerJoinPoint;
+    private SentinelResource staticBlockHandlerAnnotation;
+    private ProceedingJoinPoint fallbackJoinPoint;
+    private SentinelResource fallbackAnnotation;
+
+    @Setup
+    public void prepare() throws Exception {
+        Service service = new Service();
+        blockHandlerJoinPoint = joinPoint(service, "withBlockHandler");
+        blockHandlerAnnotation = annotation("withBlockHandler");
+        staticBlockHandlerJoinPoint = joinPoint(service, "withStaticBlockHandler");
+        staticBlockHandlerAnnotation = annotation("withStaticBlockHandler");
+        fallbackJoinPoint = joinPoint(service, "withFallback");
+        fallbackAnnotation = annotation("withFallback");
+    }
+
+    @Benchmark
+    public Object blockHandler() throws Throwable {
+        return support.handle(blockHandlerJoinPoint, blockHandlerAnnotation, blockException);
+    }
+
+    @Benchmark
+    public Object staticBlockHandler() throws Throwable {
+        return support.handle(staticBlockHandlerJoinPoint, staticBlockHandlerAnnotation, blockException);
+    }
+
+    @Benchmark
+    public Object fallback() throws Throwable {
+        return support.handle(fallbackJoinPoint, fallbackAnnotation, blockException);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Service service, String methodName) {
+        Factory factory = new Factory("AnnotationBlockHandlerBenchmark.java", Service.class);
+        JoinPoint.StaticPart staticPart = factory.makeSJP(JoinPoint.METHOD_EXECUTION,
+            factory.makeMethodSig(Modifier.PUBLIC, methodName, Service.class, new Class[] {String.class, int.class},
+                new String[] {"name", "id"}, new Class[0], String.class), 0);
+        return (ProceedingJoinPoint)Factory.makeJP(staticPart, service, service, new Object[] {"foo", 42});
+    }
+
+    private static SentinelResource annotation(String methodName) throws Exception {
+        Method method = Service.class.getMethod(methodName, String.class, int.class);
+        return method.getAnnotation(SentinelResource.class);
+    }
+
+    static class BlockHandlingSupport extends AbstractSentinelAspectSupport {
+
+        Object handle(ProceedingJoinPoint pjp, SentinelResource annotation, BlockException ex) throws Throwable {
+            return handleBlockException(pjp, annotation, ex);
+        }
+    }
+
+    public static class Service {
+
+        @SentinelResource(value = "withBlockHandler", blockHandler = "handleBlock")
+        public String withBlockHandler(String name, int id) {
+            return name + id;
+        }
+
+        @SentinelResource(value = "withStaticBlockHandler", blockHandler = "handleBlock",
+            blockHandlerClass = StaticHandlers.class)
+        public String withStaticBlockHandler(String name, int id) {
+            return name + id;
+        }
+
+        @SentinelResource(value = "withFallback", fallback = "fallback")
+        public String withFallback(String name, int id) {
+            return name + id;
+        }
+
+        private String handleBlock(String name, int id, BlockException ex) {
+            return "blocked";
+        }
+
+        private String fallback(String name, int id, Throwable ex) {
+            return "fallback";
+        }
+    }
+
+    public static class StaticHandlers {
+
+        public static String handleBlock(String name, int id, BlockException ex) {
+            return "blocked";
+        }
+    }
+}
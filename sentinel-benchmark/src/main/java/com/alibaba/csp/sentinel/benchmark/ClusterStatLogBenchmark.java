@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.cluster.log.ClusterStatLogUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link ClusterStatLogUtil#log(String, int)} in multiple threads, where the stat data
+ * of the EagleEye stat logger rolls every second. The keys exceed the max entry count (5000)
+ * of the stat logger in the {@code 10000} case, so that the stat data is also rolled when it is full.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ClusterStatLogBenchmark {
+
+    @Param({"100", "10000"})
+    private int keyCount;
+
+    private String[] keys;
+
+    @Setup
+    public void prepare() {
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "flow|block|" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void log(Cursor cursor) {
+        int i = cursor.next++;
+        if (cursor.next == keyCount) {
+            cursor.next = 0;
+        }
+        ClusterStatLogUtil.log(keys[i], 1);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.CtSph;
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the cold start of an application, where a number of threads enter distinct resources
+ * (in a few contexts) for the first time, so that slot chains and nodes are created concurrently.
+ * The slot chains and contexts are cleared before each iteration.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ColdStartEntryBenchmark {
+
+    @Param({"5000"})
+    private int resourceCount;
+
+    @Param({"1", "8", "32"})
+    private int threadCount;
+
+    private int round;
+
+    @Setup(Level.Iteration)
+    public void reset() throws Exception {
+        // Only for internal test, so access them by reflection.
+        Method resetChainMap = CtSph.class.getDeclaredMethod("resetChainMap");
+        resetChainMap.setAccessible(true);
+        resetChainMap.invoke(null);
+        Method resetContextMap = ContextUtil.class.getDeclaredMethod("resetContextMap");
+        resetContextMap.setAccessible(true);
+        resetContextMap.invoke(null);
+        round++;
+    }
+
+    @Benchmark
+    public int createResources() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final AtomicInteger passed = new AtomicInteger();
+        final String prefix = "cold-resource-" + round + "-";
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = offset; i < resourceCount; i += threadCount) {
+                            ContextUtil.enter("cold-context-" + (i & 15));
+                            Entry entry = null;
+                            try {
+                                entry = SphU.entry(prefix + i);
+                                passed.incrementAndGet();
+                            } catch (BlockException ex) {
+                                // Never happens as there are no rules.
+                            } finally {
+                                if (entry != null) {
+                                    entry.exit();
+                                }
+                                ContextUtil.exit();
+                            }
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        return passed.get();
+    }
+}
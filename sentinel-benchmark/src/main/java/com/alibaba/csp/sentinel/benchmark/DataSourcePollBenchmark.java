@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.datasource.AutoRefreshDataSource;
+import com.alibaba.csp.sentinel.datasource.json.FlowRuleJsonConverter;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.fastjson.JSON;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for a poll of {@link AutoRefreshDataSource} where the source has not changed, comparing converting
+ * the source and comparing the rules in the property with skipping the conversion by the content hash.
+ * Run with {@code -prof gc} to see the allocation.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DataSourcePollBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int ruleCount;
+
+    private PollingDataSource dataSource;
+
+    @Setup
+    public void prepare() throws Exception {
+        List<FlowRule> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            rules.add(new FlowRule("resource-" + i).setCount(100 + i));
+        }
+        dataSource = new PollingDataSource(JSON.toJSONString(rules));
+        dataSource.poll();
+    }
+
+    @TearDown
+    public void cleanUp() throws Exception {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean convertEveryPoll() throws Exception {
+        return dataSource.getProperty().updateValue(dataSource.loadConfig());
+    }
+
+    @Benchmark
+    public boolean skipUnchangedContent() throws Exception {
+        return dataSource.poll();
+    }
+
+    static class PollingDataSource extends AutoRefreshDataSource<String, List<FlowRule>> {
+
+        private final String source;
+
+        PollingDataSource(String source) {
+            // The benchmark polls by itself.
+            super(new FlowRuleJsonConverter(), 3600 * 1000);
+            this.source = source;
+        }
+
+        boolean poll() throws Exception {
+            // A new instance of the same content, like a string read from the backend.
+            return refreshSource(new String(source));
+        }
+
+        @Override
+        public String readSource() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.adapter.dubbo.SentinelDubboConsumerFilter;
+import com.alibaba.csp.sentinel.adapter.dubbo.SentinelDubboProviderFilter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.AsyncRpcResult;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the overhead of the Sentinel Apache Dubbo filters per call, where the invoker itself does nothing.
+ * There are no rules, so the cost is mostly resolving the resource names and the entries.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DubboFilterBenchmark {
+
+    private final SentinelDubboProviderFilter providerFilter = new SentinelDubboProviderFilter();
+    private final SentinelDubboConsumerFilter consumerFilter = new SentinelDubboConsumerFilter();
+
+    private Invoker<GreetingService> invoker;
+    private Invocation invocation;
+
+    @Setup
+    public void prepare() throws Exception {
+        final URL url = URL.valueOf("dubbo://127.0.0.1:20880/" + GreetingService.class.getName()
+            + "?version=1.0.0&group=benchmark");
+        invoker = new Invoker<GreetingService>() {
+            @Override
+            public Class<GreetingService> getInterface() {
+                return GreetingService.class;
+            }
+
+            @Override
+            public Result invoke(Invocation invocation) throws RpcException {
+                return AsyncRpcResult.newDefaultAsyncResult("hello", invocation);
+            }
+
+            @Override
+            public URL getUrl() {
+                return url;
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public void destroy() {
+            }
+        };
+        invocation = new RpcInvocation(GreetingService.class.getMethod("sayHello", String.class, int.class),
+            GreetingService.class.getName(), new Object[] {"sentinel", 42});
+    }
+
+    @Benchmark
+    public Result providerFilter() {
+        return providerFilter.invoke(invoker, invocation);
+    }
+
+    @Benchmark
+    public Result consumerFilter() {
+        return consumerFilter.invoke(invoker, invocation);
+    }
+
+    public interface GreetingService {
+        String sayHello(String name, int times);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiDefinition;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPathPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.ApiPredicateItem;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.AbstractApiMatcher;
+import com.alibaba.csp.sentinel.adapter.gateway.common.api.matcher.ApiMatcherIndex;
+import com.alibaba.csp.sentinel.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for picking the matching API definitions of a request path, comparing testing every
+ * API matcher with looking up the {@link ApiMatcherIndex}, against the number of API definitions.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GatewayApiMatchBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int definitionCount;
+
+    private List<PathApiMatcher> matchers;
+    private ApiMatcherIndex<String, PathApiMatcher> index;
+    private String[] paths;
+    private int cursor;
+
+    @Setup
+    public void prepare() {
+        matchers = new ArrayList<>(definitionCount);
+        for (int i = 0; i < definitionCount; i++) {
+            Set<ApiPredicateItem> items = new HashSet<>();
+            // Mix the three match strategies like real API definitions.
+            switch (i % 3) {
+                case 0:
+                    items.add(new ApiPathPredicateItem().setPattern("/svc" + i + "/api/item")
+                        .setMatchStrategy(SentinelGatewayConstants.URL_MATCH_STRATEGY_EXACT));
+                    break;
+                case 1:
+                    items.add(new ApiPathPredicateItem().setPattern("/svc" + i + "/api/**")
+                        .setMatchStrategy(SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX));
+                    break;
+                default:
+                    items.add(new ApiPathPredicateItem().setPattern("/svc" + i + "/v\\d+/.*")
+                        .setMatchStrategy(SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX));
+            }
+            matchers.add(new PathApiMatcher(new ApiDefinition("api-" + i).setPredicateItems(items)));
+        }
+        index = new ApiMatcherIndex<>(matchers);
+        paths = new String[64];
+        for (int i = 0; i < paths.length; i++) {
+            int svc = (i * 31) % definitionCount;
+            paths[i] = "/svc" + svc + (i % 2 == 0 ? "/api/item" : "/v2/orders");
+        }
+    }
+
+    private String nextPath() {
+        cursor = (cursor + 1) & (paths.length - 1);
+        return paths[cursor];
+    }
+
+    @Benchmark
+    public Set<String> testAllMatchers() {
+        String path = nextPath();
+        Set<String> apis = new HashSet<>();
+        for (PathApiMatcher matcher : matchers) {
+            if (matcher.test(path)) {
+                apis.add(matcher.getApiName());
+            }
+        }
+        return apis;
+    }
+
+    @Benchmark
+    public Set<String> lookupIndex() {
+        String path = nextPath();
+        return index.pickMatchingApiNames(path, path);
+    }
+
+    /**
+     * Matches plain request paths, where ant-style patterns are translated into regular expressions.
+     */
+    static class PathApiMatcher extends AbstractApiMatcher<String> {
+
+        PathApiMatcher(ApiDefinition apiDefinition) {
+            super(apiDefinition);
+        }
+
+        @Override
+        protected void initializeMatchers() {
+            for (ApiPredicateItem item : apiDefinition.getPredicateItems()) {
+                final ApiPathPredicateItem pathItem = (ApiPathPredicateItem)item;
+                switch (pathItem.getMatchStrategy()) {
+                    case SentinelGatewayConstants.URL_MATCH_STRATEGY_REGEX:
+                        matchers.add(regex(Pattern.compile(pathItem.getPattern())));
+                        break;
+                    case SentinelGatewayConstants.URL_MATCH_STRATEGY_PREFIX:
+                        String pattern = pathItem.getPattern();
+                        matchers.add(regex(Pattern.compile(
+                            Pattern.quote(pattern.substring(0, pattern.length() - 3)) + "(/.*)?")));
+                        break;
+                    default:
+                        matchers.add(new Predicate<String>() {
+                            @Override
+                            public boolean test(String path) {
+                                return path.equals(pathItem.getPattern());
+                            }
+                        });
+                }
+            }
+        }
+
+        private static Predicate<String> regex(final Pattern pattern) {
+            return new Predicate<String>() {
+                @Override
+                public boolean test(String path) {
+                    return pattern.matcher(path).matches();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.node.metric.MetricBatch;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for collecting second-level metrics of all resources on every tick of the metric timer,
+ * comparing the node-per-second map aggregation with the reusable {@link MetricBatch}.
+ * Run with {@code -prof gc} to see the allocation per tick.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class MetricCollectBenchmark {
+
+    @Param({"1000", "20000"})
+    private int resourceCount;
+
+    private ArrayMetric[] metrics;
+    private String[] names;
+    private final MetricBatch batch = new MetricBatch(1024);
+
+    @Setup
+    public void prepare() {
+        metrics = new ArrayMetric[resourceCount];
+        names = new String[resourceCount];
+        for (int i = 0; i < resourceCount; i++) {
+            metrics[i] = new ArrayMetric(60, 60 * 1000, false);
+            metrics[i].addPass(i % 100 + 1);
+            metrics[i].addSuccess(i % 100 + 1);
+            metrics[i].addRT(i % 50);
+            names[i] = "resource-" + i;
+        }
+    }
+
+    @Benchmark
+    public Map<Long, List<MetricNode>> collectByMap() {
+        Map<Long, List<MetricNode>> maps = new TreeMap<>();
+        for (int i = 0; i < resourceCount; i++) {
+            Map<Long, MetricNode> nodes = new ConcurrentHashMap<>();
+            for (MetricNode node : metrics[i].details()) {
+                nodes.put(node.getTimestamp(), node);
+            }
+            for (Entry<Long, MetricNode> entry : nodes.entrySet()) {
+                entry.getValue().setResource(names[i]);
+                maps.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        return maps;
+    }
+
+    @Benchmark
+    public int collectByBatch() {
+        batch.clear();
+        for (int i = 0; i < resourceCount; i++) {
+            metrics[i].appendDetails(batch, names[i], 0, -1, Long.MAX_VALUE);
+        }
+        return batch.sortTimestamps();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.ResourceTypeConstants;
+import com.alibaba.csp.sentinel.adapter.reactor.EntryConfig;
+import com.alibaba.csp.sentinel.adapter.reactor.SentinelReactorTransformer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+/**
+ * Benchmark for the element throughput of a {@link Flux} subscription, without Sentinel, with
+ * {@link SentinelReactorTransformer}, and with the transformer which doesn't switch the Sentinel context
+ * for each element ({@link EntryConfig#isContextOnNext()} is false). Each subscription passes one entry check,
+ * so the cost per element is the cost of a subscription divided by the element count.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReactorFluxBenchmark {
+
+    private static final String RESOURCE_NAME = "reactor-flux-benchmark";
+
+    @Param({"10000"})
+    private int elementCount;
+
+    private Flux<Integer> source;
+
+    private SentinelReactorTransformer<Integer> transformer;
+    private SentinelReactorTransformer<Integer> transformerWithoutContextOnNext;
+
+    @Setup
+    public void prepare() {
+        source = Flux.range(0, elementCount);
+        transformer = new SentinelReactorTransformer<>(RESOURCE_NAME);
+        transformerWithoutContextOnNext = new SentinelReactorTransformer<>(new EntryConfig(RESOURCE_NAME,
+            ResourceTypeConstants.COMMON, EntryType.OUT, 1, new Object[0], null, false));
+    }
+
+    @Benchmark
+    public Integer withoutSentinel() {
+        return source.blockLast();
+    }
+
+    @Benchmark
+    public Integer withSentinel() {
+        return source.transform(transformer).blockLast();
+    }
+
+    @Benchmark
+    public Integer withSentinelWithoutContextOnNext() {
+        return source.transform(transformerWithoutContextOnNext).blockLast();
+    }
+}
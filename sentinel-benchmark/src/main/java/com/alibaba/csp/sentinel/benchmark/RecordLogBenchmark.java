@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for logging a record with {@link RecordLog} in multiple threads (e.g. when lots of requests
+ * are blocked), comparing writing the file in the calling threads with the async log handler
+ * (enabled by {@code -Dcsp.sentinel.log.async=true}).
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RecordLogBenchmark {
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.log.async=false")
+    public void syncLog() {
+        RecordLog.info("[RecordLogBenchmark] Request blocked, resource: {}, limitApp: {}, count: {}",
+            "benchmark-resource", "default", 10);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dcsp.sentinel.log.async=true")
+    public void asyncLog() {
+        RecordLog.info("[RecordLogBenchmark] Request blocked, resource: {}, limitApp: {}, count: {}",
+            "benchmark-resource", "default", 10);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.SentinelGatewayConstants;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRuleJsonConverter;
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
+import com.alibaba.csp.sentinel.datasource.json.FlowRuleJsonConverter;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowItem;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.param.ParamFlowRuleJsonConverter;
+import com.alibaba.fastjson.JSON;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Benchmark for converting JSON rule payloads, comparing the generic JSON-to-POJO parsing of fastjson with
+ * the streaming rule converters, against the number of rules. Run with {@code -prof gc} to see the allocation.</p>
+ * <p>
+ * Results on JDK 8 (single CPU, so the timings are noisy), fastjson vs streaming, ms/op and B/op:
+ * </p>
+ * <pre>
+ * flow 1k:      0.35 / 282 KB    vs 0.88 / 141 KB
+ * flow 10k:     3.3  / 2.87 MB   vs 8.8  / 0.87 MB
+ * flow 100k:    40   / 28.5 MB   vs 83   / 7.7 MB
+ * param 100k:   106  / 65.8 MB   vs 126  / 27.8 MB
+ * gateway 100k: 64   / 33.7 MB   vs 123  / 21.0 MB
+ * </pre>
+ * <p>
+ * The streaming converters take 1.2x to 3x the time of fastjson, but allocate 1.5x to 3.7x less.
+ * </p>
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class RuleJsonConverterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int ruleCount;
+
+    @Param({"flow", "param", "gateway"})
+    private String ruleType;
+
+    private String payload;
+
+    @Setup
+    public void prepare() {
+        List<Object> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            // Resources and origins repeat like real rule sets.
+            String resource = "com.example.service.OrderService:method" + (i % 500);
+            switch (ruleType) {
+                case "param":
+                    ParamFlowRule paramRule = new ParamFlowRule(resource).setParamIdx(0).setCount(100 + i)
+                        .setParamFlowItemList(Arrays.asList(
+                            new ParamFlowItem().setObject("vip" + (i % 10)).setClassType(String.class.getName())
+                                .setCount(1000)));
+                    rules.add(paramRule);
+                    break;
+                case "gateway":
+                    rules.add(new GatewayFlowRule("route_" + i).setCount(100 + i).setIntervalSec(1)
+                        .setParamItem(new GatewayParamFlowItem()
+                            .setParseStrategy(SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER)
+                            .setFieldName("X-Uid")));
+                    break;
+                default:
+                    FlowRule flowRule = new FlowRule(resource).setCount(100.5 + i);
+                    flowRule.setLimitApp(i % 3 == 0 ? "default" : "app-" + (i % 20));
+                    rules.add(flowRule);
+            }
+        }
+        payload = JSON.toJSONString(rules);
+    }
+
+    @Benchmark
+    public Object parseWithFastjson() {
+        switch (ruleType) {
+            case "param":
+                return JSON.parseArray(payload, ParamFlowRule.class);
+            case "gateway":
+                return JSON.parseArray(payload, GatewayFlowRule.class);
+            default:
+                return JSON.parseArray(payload, FlowRule.class);
+        }
+    }
+
+    @Benchmark
+    public Object parseWithStreamingConverter() {
+        switch (ruleType) {
+            case "param":
+                return new ParamFlowRuleJsonConverter().convert(payload);
+            case "gateway":
+                return new GatewayFlowRuleJsonConverter().convert(payload);
+            default:
+                return new FlowRuleJsonConverter().convert(payload);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
+import com.alibaba.csp.sentinel.property.PatchableSentinelProperty;
+import com.alibaba.csp.sentinel.property.PropertyPatch;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for changing a single flow rule among many, comparing loading the whole rule list
+ * with applying a delta patch to {@link PatchableSentinelProperty} (excluding the parsing of the payload).
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RulePatchBenchmark {
+
+    @Param({"1000", "10000"})
+    private int ruleCount;
+
+    @Param({"full", "patch"})
+    private String updateMode;
+
+    private DynamicSentinelProperty<List<FlowRule>> fullProperty;
+    private PatchableSentinelProperty<FlowRule> patchableProperty;
+    private long version;
+    private int round;
+
+    @Setup
+    public void prepare() {
+        List<FlowRule> rules = new ArrayList<>(ruleCount);
+        PropertyPatch<FlowRule> snapshot = PropertyPatch.snapshot(0);
+        for (int i = 0; i < ruleCount; i++) {
+            FlowRule rule = new FlowRule("resource-" + i).setCount(100);
+            rules.add(rule);
+            snapshot.upsert(String.valueOf(i), rule);
+        }
+        if ("patch".equals(updateMode)) {
+            patchableProperty = new PatchableSentinelProperty<>();
+            patchableProperty.applyPatch(snapshot);
+            FlowRuleManager.register2Property(patchableProperty);
+        } else {
+            fullProperty = new DynamicSentinelProperty<>(rules);
+            FlowRuleManager.register2Property(fullProperty);
+        }
+    }
+
+    @Benchmark
+    public boolean changeOneRule() {
+        int index = round % ruleCount;
+        double count = 100 + (++round);
+        if ("patch".equals(updateMode)) {
+            PropertyPatch<FlowRule> patch = PropertyPatch.delta(version, version + 1);
+            patch.upsert(String.valueOf(index), new FlowRule("resource-" + index).setCount(count));
+            version++;
+            return patchableProperty.applyPatch(patch);
+        }
+        // A full push carries all the rules, of which one is changed.
+        List<FlowRule> newRules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            newRules.add(new FlowRule("resource-" + i).setCount(i == index ? count : 100));
+        }
+        return fullProperty.updateValue(newRules);
+    }
+}
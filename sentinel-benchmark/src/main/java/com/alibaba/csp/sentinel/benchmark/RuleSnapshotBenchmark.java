@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.datasource.json.FlowRuleJsonConverter;
+import com.alibaba.csp.sentinel.datasource.snapshot.RuleSnapshotCodecs;
+import com.alibaba.csp.sentinel.datasource.snapshot.RuleSnapshotFile;
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.fastjson.JSON;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for loading flow rules from a local file on startup, comparing reading and parsing a JSON file
+ * with reading the binary rule snapshot, against the number of rules.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class RuleSnapshotBenchmark {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Param({"10000", "100000"})
+    private int ruleCount;
+
+    private File jsonFile;
+    private RuleSnapshotFile<FlowRule> snapshotFile;
+
+    @Setup
+    public void prepare() throws Exception {
+        List<FlowRule> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            FlowRule rule = new FlowRule("com.example.service.OrderService:method" + (i % 500)).setCount(100.5 + i);
+            rule.setLimitApp(i % 3 == 0 ? "default" : "app-" + (i % 20));
+            if (i % 10 == 0) {
+                rule.setClusterMode(true).setClusterConfig(new ClusterFlowConfig().setFlowId((long)i + 1));
+            }
+            rules.add(rule);
+        }
+        jsonFile = File.createTempFile("sentinel-flow-rules", ".json");
+        Files.write(jsonFile.toPath(), JSON.toJSONString(rules).getBytes(UTF_8));
+        File file = File.createTempFile("sentinel-flow-rules", ".snapshot");
+        snapshotFile = new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW);
+        snapshotFile.write(1, rules);
+    }
+
+    @TearDown
+    public void cleanUp() {
+        jsonFile.delete();
+        snapshotFile.getFile().delete();
+    }
+
+    @Benchmark
+    public Object loadJsonWithFastjson() throws Exception {
+        return JSON.parseArray(new String(Files.readAllBytes(jsonFile.toPath()), UTF_8), FlowRule.class);
+    }
+
+    @Benchmark
+    public Object loadJsonWithStreamingConverter() throws Exception {
+        return new FlowRuleJsonConverter().convert(new String(Files.readAllBytes(jsonFile.toPath()), UTF_8));
+    }
+
+    @Benchmark
+    public Object loadSnapshot() throws Exception {
+        return snapshotFile.read().getRules();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the time to the first {@link SphU#entry(String)} in a new JVM, which includes
+ * initializing Sentinel (loading the SPI providers and running the init functions), comparing reading
+ * the SPI configuration files with reading the SPI index generated at build time.
+ * <p>
+ * Each fork measures a single cold invocation, so run with enough forks, e.g. {@code -f 20}.
+ * </p>
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"false", "true"})
+    private String spiIndexEnabled;
+
+    @Setup
+    public void prepare() {
+        // Sentinel classes have not been initialized yet.
+        System.setProperty(SentinelConfig.SPI_INDEX_ENABLED, spiIndexEnabled);
+    }
+
+    @Benchmark
+    public boolean firstEntry() {
+        Entry entry = null;
+        try {
+            entry = SphU.entry("startup-benchmark");
+            return true;
+        } catch (BlockException ex) {
+            return false;
+        } finally {
+            if (entry != null) {
+                entry.exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.ClusterNode;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the statistic nodes of a resource entered in a number of contexts and from one origin,
+ * in the default mode and the lean mode ({@link SentinelConfig#STATISTIC_LEAN}). Run with {@code -prof gc},
+ * the allocation of {@code buildNodes} is the heap footprint of the statistics of such a resource,
+ * after one request in each context and the metric logging of the cluster node.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class StatisticFootprintBenchmark {
+
+    @Param({"16"})
+    private int contextCount;
+
+    @Param({"false", "true"})
+    private String lean;
+
+    private StringResourceWrapper resource;
+    private DefaultNode node;
+
+    @Setup
+    public void prepare() {
+        SentinelConfig.setConfig(SentinelConfig.STATISTIC_LEAN, lean);
+        resource = new StringResourceWrapper("footprint-resource", EntryType.IN);
+        node = newDefaultNode(new ClusterNode(resource.getName()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SentinelConfig.removeConfig(SentinelConfig.STATISTIC_LEAN);
+    }
+
+    private DefaultNode newDefaultNode(ClusterNode clusterNode) {
+        DefaultNode node = new DefaultNode(resource, clusterNode);
+        node.setStatisticShared(Boolean.parseBoolean(lean));
+        return node;
+    }
+
+    @Benchmark
+    public ClusterNode buildNodes() {
+        ClusterNode clusterNode = new ClusterNode(resource.getName());
+        Node originNode = clusterNode.getOrCreateOriginNode("origin");
+        originNode.addPassRequest(1);
+        for (int i = 0; i < contextCount; i++) {
+            newDefaultNode(clusterNode).addPassRequest(1);
+        }
+        // Metric logging reads the minute counter of the cluster node.
+        clusterNode.totalPass();
+        return clusterNode;
+    }
+
+    @Benchmark
+    public void passRequest() {
+        node.addPassRequest(1);
+        node.addRtAndSuccess(1, 1);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.EntryType;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+import com.alibaba.csp.sentinel.slots.system.SystemRuleManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for inbound entries with {@link SystemRule}s of all the signals (qps, thread, rt, load
+ * and CPU usage) enabled, whose thresholds are never reached.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SystemRuleCheckBenchmark {
+
+    private final ResourceWrapper resource = new StringResourceWrapper("system-benchmark", EntryType.IN);
+
+    @Setup
+    public void prepare() {
+        List<SystemRule> rules = new ArrayList<>();
+        SystemRule qpsRule = new SystemRule();
+        qpsRule.setQps(Double.MAX_VALUE / 2);
+        rules.add(qpsRule);
+        SystemRule threadRule = new SystemRule();
+        threadRule.setMaxThread(100000);
+        rules.add(threadRule);
+        SystemRule rtRule = new SystemRule();
+        rtRule.setAvgRt(100000);
+        rules.add(rtRule);
+        SystemRule loadRule = new SystemRule();
+        // Always exceeded, so that the BBR estimation is checked.
+        loadRule.setHighestSystemLoad(0);
+        rules.add(loadRule);
+        SystemRule cpuRule = new SystemRule();
+        cpuRule.setHighestCpuUsage(1);
+        rules.add(cpuRule);
+        SystemRuleManager.loadRules(rules);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SystemRuleManager.loadRules(new ArrayList<SystemRule>());
+    }
+
+    @Benchmark
+    public void checkSystem() throws BlockException {
+        SystemRuleManager.checkSystem(resource);
+    }
+
+    @Benchmark
+    public void entryAndExit() {
+        Entry entry = null;
+        try {
+            entry = SphU.entry("system-benchmark", EntryType.IN);
+        } catch (BlockException ex) {
+            // Blocked when the BBR estimation doesn't allow more threads.
+        } finally {
+            if (entry != null) {
+                entry.exit();
+            }
+        }
+    }
+}
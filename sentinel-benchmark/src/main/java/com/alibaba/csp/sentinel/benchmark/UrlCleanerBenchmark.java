@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.alibaba.csp.sentinel.adapter.servlet.callback.RouteTemplateUrlCleaner;
+import com.alibaba.csp.sentinel.adapter.servlet.callback.UrlCleaner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for unifying RESTful URLs to their route templates, comparing a {@link UrlCleaner} that tries
+ * a regular expression per template with the {@link RouteTemplateUrlCleaner}, against the number of templates.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class UrlCleanerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int templateCount;
+
+    private UrlCleaner regexCleaner;
+    private UrlCleaner routeTemplateCleaner;
+    private String[] urls;
+    private int cursor;
+
+    @Setup
+    public void prepare() {
+        List<String> templates = new ArrayList<>(templateCount);
+        for (int i = 0; i < templateCount; i++) {
+            templates.add("/svc" + i + "/users/{id}/orders/{orderId}");
+        }
+        regexCleaner = new RegexUrlCleaner(templates);
+        routeTemplateCleaner = new RouteTemplateUrlCleaner(templates);
+        urls = new String[64];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "/svc" + ((i * 31) % templateCount) + "/users/" + i + "/orders/" + (i * 7);
+        }
+    }
+
+    private String nextUrl() {
+        cursor = (cursor + 1) & (urls.length - 1);
+        return urls[cursor];
+    }
+
+    @Benchmark
+    public String cleanWithRegex() {
+        return regexCleaner.clean(nextUrl());
+    }
+
+    @Benchmark
+    public String cleanWithRouteTemplates() {
+        return routeTemplateCleaner.clean(nextUrl());
+    }
+
+    /**
+     * The common hand-written cleaner, which tries the translated regular expression of each template in turn.
+     */
+    static class RegexUrlCleaner implements UrlCleaner {
+
+        private final List<Pattern> patterns = new ArrayList<>();
+        private final List<String> templates;
+
+        RegexUrlCleaner(List<String> templates) {
+            this.templates = templates;
+            for (String template : templates) {
+                patterns.add(Pattern.compile(template.replaceAll("\\{[^/]+}", "[^/]+")));
+            }
+        }
+
+        @Override
+        public String clean(String originUrl) {
+            for (int i = 0; i < patterns.size(); i++) {
+                if (patterns.get(i).matcher(originUrl).matches()) {
+                    return templates.get(i);
+                }
+            }
+            return originUrl;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for {@link SphU#entry(String)} where every invocation runs in its own task, comparing
+ * a thread pool of platform threads with one virtual thread per task. Resources are entered in
+ * a number of contexts, so that new nodes keep being created under the locks of the slot chain.
+ * <p>
+ * The {@code virtual} mode requires running the benchmark on JDK 21+, and run with {@code -prof gc}
+ * to see the allocation (including the per-thread context storage) of each round.
+ * </p>
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadEntryBenchmark {
+
+    @Param({"1000000"})
+    private int taskCount;
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Iteration)
+    public void prepare() throws Exception {
+        if ("virtual".equals(threadMode)) {
+            // Use reflection, as the benchmark is compiled for JDK 1.8.
+            try {
+                executor = (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException("Virtual threads require JDK 21+", ex);
+            }
+        } else {
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdown() throws Exception {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public int entryPerTask() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        final AtomicInteger passed = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            final String contextName = "vt-context-" + (i & 63);
+            final String resource = "vt-resource-" + (i & 255);
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    ContextUtil.enter(contextName);
+                    Entry entry = null;
+                    try {
+                        entry = SphU.entry(resource);
+                        passed.incrementAndGet();
+                    } catch (BlockException ex) {
+                        // Never happens as there are no rules.
+                    } finally {
+                        if (entry != null) {
+                            entry.exit();
+                        }
+                        ContextUtil.exit();
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        for (Runnable task : tasks) {
+            executor.execute(task);
+        }
+        latch.await();
+        return passed.get();
+    }
+}
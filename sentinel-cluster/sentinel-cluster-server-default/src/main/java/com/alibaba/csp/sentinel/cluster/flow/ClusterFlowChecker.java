@@ -88,7 +88,7 @@ final class ClusterFlowChecker {
                     int waitInMs = metric.tryOccupyNext(ClusterFlowEvent.PASS, acquireCount, globalThreshold);
                     // waitInMs > 0 indicates pre-occupy incoming buckets successfully.
                     if (waitInMs > 0) {
-                        ClusterServerStatLogUtil.log("flow|waiting|" + id);
+                        ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_WAITING, id, 1);
                         return new TokenResult(TokenResultStatus.SHOULD_WAIT)
                             .setRemaining(0)
                             .setWaitInMs(waitInMs);
@@ -99,12 +99,12 @@ final class ClusterFlowChecker {
             // Blocked.
             metric.add(ClusterFlowEvent.BLOCK, acquireCount);
             metric.add(ClusterFlowEvent.BLOCK_REQUEST, 1);
-            ClusterServerStatLogUtil.log("flow|block|" + id, acquireCount);
-            ClusterServerStatLogUtil.log("flow|block_request|" + id, 1);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_BLOCK, id, acquireCount);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_BLOCK_REQUEST, id, 1);
             if (prioritized) {
                 // Add prioritized block.
                 metric.add(ClusterFlowEvent.OCCUPIED_BLOCK, acquireCount);
-                ClusterServerStatLogUtil.log("flow|occupied_block|" + id, 1);
+                ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_OCCUPIED_BLOCK, id, 1);
             }
 
             return blockedResult();
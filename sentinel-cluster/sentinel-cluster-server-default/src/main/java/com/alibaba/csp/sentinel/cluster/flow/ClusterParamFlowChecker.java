@@ -74,9 +74,10 @@ public final class ClusterParamFlowChecker {
             for (Object value : values) {
                 metric.addValue(value, count);
             }
-            ClusterServerStatLogUtil.log(String.format("param|pass|%d", id));
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.PARAM_PASS, id, 1);
         } else {
-            ClusterServerStatLogUtil.log(String.format("param|block|%d|%s", id, blockObject));
+            // The blocked values are unbounded, so the key is built rather than cached.
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.PARAM_BLOCK.getPrefix() + id + "|" + blockObject);
         }
         if (values.size() > 1) {
             // Remaining field is unsupported for multi-values.
@@ -55,22 +55,24 @@ final public class ConcurrentClusterFlowChecker {
 
         // check before enter the lock to improve the efficiency
         if (nowCalls.get() + acquireCount > calcGlobalThreshold(rule)) {
-            ClusterServerStatLogUtil.log("concurrent|block|" + flowId, acquireCount);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.CONCURRENT_BLOCK, flowId, acquireCount);
             return new TokenResult(TokenResultStatus.BLOCKED);
         }
 
-        // ensure the atomicity of operations
-        // lock different nowCalls to improve the efficiency
-        synchronized (nowCalls) {
+        // ensure the atomicity of operations by CAS rather than a monitor,
+        // so that virtual threads won't be pinned while waiting for the same nowCalls
+        while (true) {
+            int current = nowCalls.get();
             // check again whether the request can pass.
-            if (nowCalls.get() + acquireCount > calcGlobalThreshold(rule)) {
-                ClusterServerStatLogUtil.log("concurrent|block|" + flowId, acquireCount);
+            if (current + acquireCount > calcGlobalThreshold(rule)) {
+                ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.CONCURRENT_BLOCK, flowId, acquireCount);
                 return new TokenResult(TokenResultStatus.BLOCKED);
-            } else {
-                nowCalls.getAndAdd(acquireCount);
+            }
+            if (nowCalls.compareAndSet(current, current + acquireCount)) {
+                break;
             }
         }
-        ClusterServerStatLogUtil.log("concurrent|pass|" + flowId, acquireCount);
+        ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.CONCURRENT_PASS, flowId, acquireCount);
         TokenCacheNode node = TokenCacheNode.generateTokenCacheNode(rule, acquireCount, clientAddress);
         TokenCacheNodeManager.putTokenCacheNode(node.getTokenId(), node);
         TokenResult tokenResult = new TokenResult(TokenResultStatus.OK);
@@ -96,7 +98,8 @@ final public class ConcurrentClusterFlowChecker {
         int acquireCount = node.getAcquireCount();
         AtomicInteger nowCalls = CurrentConcurrencyManager.get(node.getFlowId());
         nowCalls.getAndAdd(-1 * acquireCount);
-        ClusterServerStatLogUtil.log("concurrent|release|" + rule.getClusterConfig().getFlowId(), acquireCount);
+        ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.CONCURRENT_RELEASE,
+            rule.getClusterConfig().getFlowId(), acquireCount);
         return new TokenResult(TokenResultStatus.RELEASE_OK);
     }
 }
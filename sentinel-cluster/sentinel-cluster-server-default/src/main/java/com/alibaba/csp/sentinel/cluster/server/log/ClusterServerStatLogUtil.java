@@ -15,7 +15,11 @@
  */
 package com.alibaba.csp.sentinel.cluster.server.log;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
 import com.alibaba.csp.sentinel.eagleeye.EagleEye;
+import com.alibaba.csp.sentinel.eagleeye.StatEntry;
 import com.alibaba.csp.sentinel.eagleeye.StatLogger;
 import com.alibaba.csp.sentinel.log.LogBase;
 
@@ -26,9 +30,22 @@ import com.alibaba.csp.sentinel.log.LogBase;
 public final class ClusterServerStatLogUtil {
 
     private static final String FILE_NAME = "sentinel-server.log";
+    private static final int MAX_ENTRY_COUNT = 5000;
 
     private static StatLogger statLogger;
 
+    public static final StatKey FLOW_PASS = new StatKey("flow|pass|");
+    public static final StatKey FLOW_PASS_REQUEST = new StatKey("flow|pass_request|");
+    public static final StatKey FLOW_BLOCK = new StatKey("flow|block|");
+    public static final StatKey FLOW_BLOCK_REQUEST = new StatKey("flow|block_request|");
+    public static final StatKey FLOW_OCCUPIED_BLOCK = new StatKey("flow|occupied_block|");
+    public static final StatKey FLOW_WAITING = new StatKey("flow|waiting|");
+    public static final StatKey PARAM_PASS = new StatKey("param|pass|");
+    public static final StatKey PARAM_BLOCK = new StatKey("param|block|");
+    public static final StatKey CONCURRENT_PASS = new StatKey("concurrent|pass|");
+    public static final StatKey CONCURRENT_BLOCK = new StatKey("concurrent|block|");
+    public static final StatKey CONCURRENT_RELEASE = new StatKey("concurrent|release|");
+
     static {
         String path = LogBase.getLogBaseDir() + FILE_NAME;
 
@@ -37,7 +54,7 @@ public final class ClusterServerStatLogUtil {
             .entryDelimiter('|')
             .keyDelimiter(',')
             .valueDelimiter(',')
-            .maxEntryCount(5000)
+            .maxEntryCount(MAX_ENTRY_COUNT)
             .configLogFilePath(path)
             .maxFileSizeMB(300)
             .maxBackupIndex(3)
@@ -52,5 +69,130 @@ public final class ClusterServerStatLogUtil {
         statLogger.stat(msg).count(count);
     }
 
+    /**
+     * Log the stat of the given key and flow ID, without building the key string on the hot path.
+     *
+     * @param key    the stat key
+     * @param flowId the flow ID
+     * @param count  the count to add
+     * @since 1.8.2
+     */
+    public static void log(StatKey key, long flowId, int count) {
+        key.getEntry(flowId).count(count);
+    }
+
     private ClusterServerStatLogUtil() {}
+
+    /**
+     * <p>A stat key made up of a fixed prefix and the flow ID (e.g. {@code flow|block|<flowId>}).</p>
+     * <p>
+     * The stat entries of the flow IDs are created and cached on first use, so that logging the stat on the
+     * hot path (e.g. when requests are blocked) doesn't concatenate strings or compute the hash of the key.
+     * The entries are looked up by the primitive flow ID in an open-addressing table, so a lookup neither
+     * boxes the flow ID nor takes a lock.
+     * </p>
+     *
+     * @since 1.8.2
+     */
+    public static final class StatKey {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final String prefix;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile AtomicReferenceArray<Slot> table = new AtomicReferenceArray<Slot>(INITIAL_CAPACITY);
+        private int size = 0;
+
+        private StatKey(String prefix) {
+            this.prefix = prefix;
+        }
+
+        StatEntry getEntry(long flowId) {
+            StatEntry entry = find(table, flowId);
+            if (entry != null) {
+                return entry;
+            }
+            lock.lock();
+            try {
+                AtomicReferenceArray<Slot> current = table;
+                entry = find(current, flowId);
+                if (entry != null) {
+                    return entry;
+                }
+                entry = statLogger.stat(prefix + flowId);
+                // The cache is bounded as the stale flow IDs are not removed.
+                if (size < MAX_ENTRY_COUNT) {
+                    if ((size + 1) * 2 > current.length()) {
+                        current = resize(current);
+                        table = current;
+                    }
+                    insert(current, new Slot(flowId, entry));
+                    size++;
+                }
+                return entry;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static StatEntry find(AtomicReferenceArray<Slot> table, long flowId) {
+            int mask = table.length() - 1;
+            for (int i = indexOf(flowId, mask); ; i = (i + 1) & mask) {
+                Slot slot = table.get(i);
+                if (slot == null) {
+                    return null;
+                }
+                if (slot.flowId == flowId) {
+                    return slot.entry;
+                }
+            }
+        }
+
+        private static void insert(AtomicReferenceArray<Slot> table, Slot slot) {
+            int mask = table.length() - 1;
+            int i = indexOf(slot.flowId, mask);
+            while (table.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            table.set(i, slot);
+        }
+
+        private static AtomicReferenceArray<Slot> resize(AtomicReferenceArray<Slot> table) {
+            AtomicReferenceArray<Slot> newTable = new AtomicReferenceArray<Slot>(table.length() << 1);
+            for (int i = 0; i < table.length(); i++) {
+                Slot slot = table.get(i);
+                if (slot != null) {
+                    insert(newTable, slot);
+                }
+            }
+            return newTable;
+        }
+
+        private static int indexOf(long flowId, int mask) {
+            long h = flowId * 0x9E3779B97F4A7C15L;
+            return (int)(h ^ (h >>> 32)) & mask;
+        }
+
+        /**
+         * @param flowId the flow ID
+         * @return the stat key string of the flow ID
+         */
+        public String keyOf(long flowId) {
+            return prefix + flowId;
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        private static final class Slot {
+            private final long flowId;
+            private final StatEntry entry;
+
+            Slot(long flowId, StatEntry entry) {
+                this.flowId = flowId;
+                this.entry = entry;
+            }
+        }
+    }
 }
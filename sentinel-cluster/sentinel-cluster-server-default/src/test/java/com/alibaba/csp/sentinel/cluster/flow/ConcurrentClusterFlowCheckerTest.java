@@ -31,9 +31,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author yunfeiyanggzq
@@ -112,6 +116,57 @@ public class ConcurrentClusterFlowCheckerTest extends AbstractTimeBasedTest {
                 CurrentConcurrencyManager.get(rule.getClusterConfig().getFlowId()).get() == 0 && TokenCacheNodeManager.getSize() == 0);
     }
 
+    @Test
+    public void testConcurrentAcquireNeverExceedsThreshold() throws Exception {
+        setCurrentMillis(System.currentTimeMillis());
+        final FlowRule rule = ClusterFlowRuleManager.getFlowRuleById(111L);
+        final int threadCount = 32;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final AtomicInteger maxCalls = new AtomicInteger();
+        final List<Long> tokenIds = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        // Acquire 3 tokens at a time, so the last acquirement would exceed the threshold
+                        // if the check and the update were not atomic.
+                        for (int j = 0; j < 20; j++) {
+                            TokenResult result = ConcurrentClusterFlowChecker.acquireConcurrentToken("127.0.0.1",
+                                rule, 3);
+                            int calls = CurrentConcurrencyManager.get(111L).get();
+                            int max;
+                            while ((max = maxCalls.get()) < calls && !maxCalls.compareAndSet(max, calls)) {
+                            }
+                            if (result.getStatus() == TokenResultStatus.OK) {
+                                tokenIds.add(result.getTokenId());
+                            }
+                        }
+                    } catch (InterruptedException ignore) {
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        // Tokens are never released in the meantime, so exactly 3 acquirements of 3 tokens pass.
+        Assert.assertEquals(3, tokenIds.size());
+        Assert.assertEquals(9, CurrentConcurrencyManager.get(111L).get());
+        Assert.assertTrue(maxCalls.get() <= rule.getCount());
+        for (long tokenId : tokenIds) {
+            Assert.assertTrue(ConcurrentClusterFlowChecker.releaseConcurrentToken(tokenId).getStatus()
+                == TokenResultStatus.RELEASE_OK);
+        }
+        Assert.assertEquals(0, CurrentConcurrencyManager.get(111L).get());
+    }
+
     @Test
     public void testReleaseExpiredToken() throws InterruptedException {
         ConnectionManager.addConnection("test", "127.0.0.1");
@@ -0,0 +1,49 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.cluster.server.log;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClusterServerStatLogUtilTest {
+
+    @Test
+    public void testStatKeyOfFlowId() {
+        assertEquals("flow|block|12345", ClusterServerStatLogUtil.FLOW_BLOCK.keyOf(12345L));
+        assertEquals("param|pass|-1", ClusterServerStatLogUtil.PARAM_PASS.keyOf(-1L));
+        // The stat entries are reused for the same flow ID.
+        assertSame(ClusterServerStatLogUtil.FLOW_BLOCK.getEntry(12345L),
+            ClusterServerStatLogUtil.FLOW_BLOCK.getEntry(12345L));
+        assertNotSame(ClusterServerStatLogUtil.FLOW_BLOCK.getEntry(12345L),
+            ClusterServerStatLogUtil.FLOW_BLOCK_REQUEST.getEntry(12345L));
+
+        ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_BLOCK, 12345L, 2);
+    }
+
+    @Test
+    public void testStatEntriesOfManyFlowIds() {
+        ClusterServerStatLogUtil.StatKey key = ClusterServerStatLogUtil.FLOW_WAITING;
+        for (long id = -100; id < 1000; id++) {
+            assertEquals("flow|waiting|" + id * 1024, key.getEntry(id * 1024).getKeys()[0]);
+        }
+        // Entries stay reachable after the table has grown.
+        for (long id = -100; id < 1000; id++) {
+            assertSame(key.getEntry(id * 1024), key.getEntry(id * 1024));
+            assertEquals("flow|waiting|" + id * 1024, key.getEntry(id * 1024).getKeys()[0]);
+        }
+    }
+}
@@ -46,8 +46,8 @@ public final class SimpleClusterFlowChecker {
             metric.add(ClusterFlowEvent.PASS, acquireCount);
             metric.add(ClusterFlowEvent.PASS_REQUEST, 1);
 
-            ClusterServerStatLogUtil.log("flow|pass|" + id, acquireCount);
-            ClusterServerStatLogUtil.log("flow|pass_request|" + id, 1);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_PASS, id, acquireCount);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_PASS_REQUEST, id, 1);
 
             // Remaining count is cut down to a smaller integer.
             return new TokenResult(TokenResultStatus.OK)
@@ -57,8 +57,8 @@ public final class SimpleClusterFlowChecker {
             // Blocked.
             metric.add(ClusterFlowEvent.BLOCK, acquireCount);
             metric.add(ClusterFlowEvent.BLOCK_REQUEST, 1);
-            ClusterServerStatLogUtil.log("flow|block|" + id, acquireCount);
-            ClusterServerStatLogUtil.log("flow|block_request|" + id, 1);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_BLOCK, id, acquireCount);
+            ClusterServerStatLogUtil.log(ClusterServerStatLogUtil.FLOW_BLOCK_REQUEST, id, 1);
 
             return blockedResult();
         }
@@ -16,8 +16,9 @@
 package com.alibaba.csp.sentinel;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.context.Context;
@@ -47,11 +48,13 @@ public class CtSph implements Sph {
     /**
      * Same resource({@link ResourceWrapper#equals(Object)}) will share the same
      * {@link ProcessorSlotChain}, no matter in which {@link Context}.
+     * <p>
+     * Lookups never lock, and the creation of slot chains for different resources in the
+     * concurrent map only contends on the same bin, so there is no global lock at cold start.
+     * </p>
      */
-    private static volatile Map<ResourceWrapper, ProcessorSlotChain> chainMap
-        = new HashMap<ResourceWrapper, ProcessorSlotChain>();
-
-    private static final Object LOCK = new Object();
+    private static final ConcurrentMap<ResourceWrapper, ProcessorSlotChain> chainMap
+        = new ConcurrentHashMap<ResourceWrapper, ProcessorSlotChain>();
 
     private AsyncEntry asyncEntryWithNoChain(ResourceWrapper resourceWrapper, Context context) {
         AsyncEntry entry = new AsyncEntry(resourceWrapper, null, context);
@@ -194,21 +197,15 @@ public class CtSph implements Sph {
     ProcessorSlot<Object> lookProcessChain(ResourceWrapper resourceWrapper) {
         ProcessorSlotChain chain = chainMap.get(resourceWrapper);
         if (chain == null) {
-            synchronized (LOCK) {
-                chain = chainMap.get(resourceWrapper);
-                if (chain == null) {
-                    // Entry size limit.
-                    if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
-                        return null;
-                    }
-
-                    chain = SlotChainProvider.newSlotChain();
-                    Map<ResourceWrapper, ProcessorSlotChain> newMap = new HashMap<ResourceWrapper, ProcessorSlotChain>(
-                        chainMap.size() + 1);
-                    newMap.putAll(chainMap);
-                    newMap.put(resourceWrapper, chain);
-                    chainMap = newMap;
-                }
+            // Entry size limit. Resources created concurrently may exceed the limit by a few entries.
+            if (chainMap.size() >= Constants.MAX_SLOT_CHAIN_SIZE) {
+                return null;
+            }
+            ProcessorSlotChain newChain = SlotChainProvider.newSlotChain();
+            // Only one chain wins for the same resource, the others are discarded before being used.
+            chain = chainMap.putIfAbsent(resourceWrapper, newChain);
+            if (chain == null) {
+                chain = newChain;
             }
         }
         return chain;
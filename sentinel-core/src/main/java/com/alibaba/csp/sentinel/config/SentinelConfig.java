@@ -60,7 +60,14 @@ public final class SentinelConfig {
     public static final String COLD_FACTOR = "csp.sentinel.flow.cold.factor";
     public static final String STATISTIC_MAX_RT = "csp.sentinel.statistic.max.rt";
     public static final String SPI_CLASSLOADER = "csp.sentinel.spi.classloader";
+    public static final String SPI_INDEX_ENABLED = "csp.sentinel.spi.index.enabled";
     public static final String METRIC_FLUSH_INTERVAL = "csp.sentinel.metric.flush.interval";
+    public static final String SYSTEM_STATUS_SOURCE = "csp.sentinel.system.status.source";
+    public static final String SYSTEM_STATUS_INTERVAL = "csp.sentinel.system.status.interval.ms";
+    public static final String STATISTIC_LEAN = "csp.sentinel.statistic.lean";
+
+    public static final String SYSTEM_STATUS_SOURCE_JMX = "jmx";
+    public static final String SYSTEM_STATUS_SOURCE_CGROUP = "cgroup";
 
     public static final String DEFAULT_CHARSET = "UTF-8";
     public static final long DEFAULT_SINGLE_METRIC_FILE_SIZE = 1024 * 1024 * 50;
@@ -68,6 +75,8 @@ public final class SentinelConfig {
     public static final int DEFAULT_COLD_FACTOR = 3;
     public static final int DEFAULT_STATISTIC_MAX_RT = 5000;
     public static final long DEFAULT_METRIC_FLUSH_INTERVAL = 1L;
+    public static final long DEFAULT_SYSTEM_STATUS_INTERVAL = 1000L;
+    public static final long MIN_SYSTEM_STATUS_INTERVAL = 50L;
 
     static {
         try {
@@ -341,5 +350,70 @@ public final class SentinelConfig {
         return CLASSLOADER_CONTEXT.equalsIgnoreCase(classloaderConf);
     }
 
+    /**
+     * Whether load SPI providers from the SPI index generated at build time, instead of reading
+     * the SPI configuration files (true by default). The SPI configuration files in jars built without
+     * the index are still read.
+     *
+     * @return whether to use the SPI index
+     * @since 1.8.2
+     */
+    public static boolean shouldUseSpiIndex() {
+        return !"false".equalsIgnoreCase(SentinelConfig.getConfig(SPI_INDEX_ENABLED));
+    }
+
+    /**
+     * Whether to keep the statistics in lean mode, where the nodes of a resource in different contexts
+     * share the counters of the cluster node unless the context is referenced by a flow rule
+     * of the chain strategy, and the minute counters are created on first read.
+     * <p>
+     * This changes the output of the {@code tree} and {@code jsonTree} commands: a shared resource node
+     * reports the statistics of the resource across all contexts (except its thread count, which is
+     * still per context). The statistics of the entrance nodes stay per context.
+     * </p>
+     *
+     * @return whether the statistics are kept in lean mode
+     * @since 1.8.2
+     */
+    public static boolean isStatisticLean() {
+        return "true".equalsIgnoreCase(SentinelConfig.getConfig(STATISTIC_LEAN));
+    }
+
+    /**
+     * Get the source of the system status (load and CPU usage) used by system rules,
+     * which could be {@link #SYSTEM_STATUS_SOURCE_JMX} (by default) or {@link #SYSTEM_STATUS_SOURCE_CGROUP}.
+     *
+     * @return the source of the system status
+     * @since 1.8.2
+     */
+    public static String systemStatusSource() {
+        String source = SentinelConfig.getConfig(SYSTEM_STATUS_SOURCE);
+        if (SYSTEM_STATUS_SOURCE_CGROUP.equalsIgnoreCase(source)) {
+            return SYSTEM_STATUS_SOURCE_CGROUP;
+        }
+        return SYSTEM_STATUS_SOURCE_JMX;
+    }
+
+    /**
+     * Get the interval of sampling the system status in milliseconds, which is at least
+     * {@link #MIN_SYSTEM_STATUS_INTERVAL}.
+     *
+     * @return the interval of sampling the system status in milliseconds
+     * @since 1.8.2
+     */
+    public static long systemStatusIntervalMs() {
+        String interval = SentinelConfig.getConfig(SYSTEM_STATUS_INTERVAL);
+        if (interval == null) {
+            return DEFAULT_SYSTEM_STATUS_INTERVAL;
+        }
+        try {
+            return Math.max(Long.parseLong(interval.trim()), MIN_SYSTEM_STATUS_INTERVAL);
+        } catch (NumberFormatException ex) {
+            RecordLog.warn("[SentinelConfig] Parse systemStatusInterval fail, use default value: "
+                + DEFAULT_SYSTEM_STATUS_INTERVAL, ex);
+            return DEFAULT_SYSTEM_STATUS_INTERVAL;
+        }
+    }
+
     private SentinelConfig() {}
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+/**
+ * <p>Carrier of the current {@link Context}, which is used by {@link ContextUtil}.</p>
+ * <p>
+ * The default carrier keeps the context in a {@link ThreadLocal}. Applications that run on virtual threads
+ * or other execution models (e.g. scoped values) may provide their own carrier via SPI
+ * ({@code META-INF/services/com.alibaba.csp.sentinel.context.ContextCarrier}). The first non-default
+ * provider will be used.
+ * </p>
+ * <p>Note that the carrier is invoked on every entry, so implementations should be lightweight.</p>
+ *
+ * @since 1.8.2
+ */
+public interface ContextCarrier {
+
+    /**
+     * Get the context of the current execution.
+     *
+     * @return the current context, or null if absent
+     */
+    Context get();
+
+    /**
+     * Set the context of the current execution.
+     *
+     * @param context non-null context
+     */
+    void set(Context context);
+
+    /**
+     * Remove the context of the current execution.
+     */
+    void remove();
+}
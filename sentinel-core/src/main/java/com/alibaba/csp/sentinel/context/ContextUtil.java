@@ -15,9 +15,8 @@
  */
 package com.alibaba.csp.sentinel.context;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
@@ -29,6 +28,7 @@ import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.StringResourceWrapper;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.spi.SpiLoader;
 
 /**
  * Utility class to get or create {@link Context} in current thread.
@@ -45,16 +45,15 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
 public class ContextUtil {
 
     /**
-     * Store the context in ThreadLocal for easy access.
+     * Store the context in the carrier (ThreadLocal by default) for easy access.
      */
-    private static ThreadLocal<Context> contextHolder = new ThreadLocal<>();
+    private static final ContextCarrier contextHolder = loadContextCarrier();
 
     /**
      * Holds all {@link EntranceNode}. Each {@link EntranceNode} is associated with a distinct context name.
      */
-    private static volatile Map<String, DefaultNode> contextNameNodeMap = new HashMap<>();
+    private static final ConcurrentMap<String, DefaultNode> contextNameNodeMap = new ConcurrentHashMap<>();
 
-    private static final ReentrantLock LOCK = new ReentrantLock();
     private static final Context NULL_CONTEXT = new NullContext();
 
     static {
@@ -62,6 +61,21 @@ public class ContextUtil {
         initDefaultContext();
     }
 
+    static ContextCarrier loadContextCarrier() {
+        try {
+            ContextCarrier carrier = SpiLoader.of(ContextCarrier.class).loadFirstInstanceOrDefault();
+            if (carrier != null) {
+                if (!(carrier instanceof ThreadLocalContextCarrier)) {
+                    RecordLog.info("[ContextUtil] Using context carrier: {}", carrier.getClass().getCanonicalName());
+                }
+                return carrier;
+            }
+        } catch (Throwable ex) {
+            RecordLog.warn("[ContextUtil] Failed to load context carrier, using the default ThreadLocal carrier", ex);
+        }
+        return new ThreadLocalContextCarrier();
+    }
+
     private static void initDefaultContext() {
         String defaultContextName = Constants.CONTEXT_DEFAULT_NAME;
         EntranceNode node = new EntranceNode(new StringResourceWrapper(defaultContextName, EntryType.IN), null);
@@ -120,34 +134,19 @@ public class ContextUtil {
     protected static Context trueEnter(String name, String origin) {
         Context context = contextHolder.get();
         if (context == null) {
-            Map<String, DefaultNode> localCacheNameMap = contextNameNodeMap;
-            DefaultNode node = localCacheNameMap.get(name);
+            DefaultNode node = contextNameNodeMap.get(name);
             if (node == null) {
-                if (localCacheNameMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
+                // Contexts created concurrently may exceed the limit by a few entries.
+                if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
                     setNullContext();
                     return NULL_CONTEXT;
-                } else {
-                    LOCK.lock();
-                    try {
-                        node = contextNameNodeMap.get(name);
-                        if (node == null) {
-                            if (contextNameNodeMap.size() > Constants.MAX_CONTEXT_NAME_SIZE) {
-                                setNullContext();
-                                return NULL_CONTEXT;
-                            } else {
-                                node = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
-                                // Add entrance node.
-                                Constants.ROOT.addChild(node);
-
-                                Map<String, DefaultNode> newMap = new HashMap<>(contextNameNodeMap.size() + 1);
-                                newMap.putAll(contextNameNodeMap);
-                                newMap.put(name, node);
-                                contextNameNodeMap = newMap;
-                            }
-                        }
-                    } finally {
-                        LOCK.unlock();
-                    }
+                }
+                DefaultNode newNode = new EntranceNode(new StringResourceWrapper(name, EntryType.IN), null);
+                node = contextNameNodeMap.putIfAbsent(name, newNode);
+                if (node == null) {
+                    // Add entrance node, only once for the same context name.
+                    Constants.ROOT.addChild(newNode);
+                    node = newNode;
                 }
             }
             context = new Context(node, name);
@@ -200,7 +199,8 @@ public class ContextUtil {
     public static void exit() {
         Context context = contextHolder.get();
         if (context != null && context.getCurEntry() == null) {
-            contextHolder.set(null);
+            // Remove rather than set null, so that no empty entry is retained by the (virtual) thread.
+            contextHolder.remove();
         }
     }
 
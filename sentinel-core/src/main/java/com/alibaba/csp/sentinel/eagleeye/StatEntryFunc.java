@@ -39,6 +39,13 @@ interface StatEntryFunc {
     void batchAdd(long... values);
 
     void strArray(String... values);
+
+    /**
+     * @return whether the stat function has never been updated
+     */
+    boolean isEmpty();
+
+    StatEntryFuncFactory getFactory();
 }
 
 enum StatEntryFuncFactory {
@@ -60,8 +67,9 @@ enum StatEntryFuncFactory {
 
 class StatEntryFuncCountAndSum implements StatEntryFunc {
 
-    private LongAdder count = new LongAdder();
-    private LongAdder value = new LongAdder();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder value = new LongAdder();
+    private volatile boolean updated;
 
     @Override
     public void appendTo(StringBuilder appender, char delimiter) {
@@ -81,12 +89,31 @@ class StatEntryFuncCountAndSum implements StatEntryFunc {
     @Override
     public void count(long count) {
         this.count.add(count);
+        markUpdated();
     }
 
     @Override
     public void countAndSum(long count, long value) {
         this.count.add(count);
         this.value.add(value);
+        markUpdated();
+    }
+
+    private void markUpdated() {
+        // Read before write, so the flag is only written once.
+        if (!updated) {
+            updated = true;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !updated;
+    }
+
+    @Override
+    public StatEntryFuncFactory getFactory() {
+        return StatEntryFuncFactory.COUNT_SUM;
     }
 
     @Override
@@ -193,6 +220,16 @@ class StatEntryFuncMinMax implements StatEntryFunc {
         throw new IllegalStateException("strArray() is unavailable if minMax() has been called");
     }
 
+    @Override
+    public boolean isEmpty() {
+        return max.get().value == Long.MIN_VALUE && min.get().value == Long.MAX_VALUE;
+    }
+
+    @Override
+    public StatEntryFuncFactory getFactory() {
+        return StatEntryFuncFactory.MIN_MAX;
+    }
+
     private static final class ValueRef {
         final long value;
         final String ref;
@@ -138,8 +138,12 @@ class StatLogController {
                 final char valueDelimiter = logger.getValueDelimiter();
 
                 for (Entry<StatEntry, StatEntryFunc> entry : entrySet) {
-                    buffer.delete(0, buffer.length());
                     StatEntryFunc func = entry.getValue();
+                    // Skip the entries prepared in advance but not used in the time slot.
+                    if (func.isEmpty()) {
+                        continue;
+                    }
+                    buffer.delete(0, buffer.length());
                     // time|statType|keys|values
                     buffer.append(timeStr).append(entryDelimiter);
                     buffer.append(func.getStatType()).append(entryDelimiter);
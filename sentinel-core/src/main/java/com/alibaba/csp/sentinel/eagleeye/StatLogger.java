@@ -92,12 +92,36 @@ public final class StatLogger {
             int initialCapacity = prevData != null ? prevData.getStatCount() : 16;
             StatRollingData nextData = new StatRollingData(
                 this, initialCapacity, timeSlot, rollingTimeMillis);
+            if (prevData != null) {
+                nextData.prepareEntries(prevData);
+            }
             if (ref.compareAndSet(prevData, nextData)) {
                 return prevData;
             }
         } while (true);
     }
 
+    /**
+     * Swap the full stat data with an empty one of the same time slot, and hand the full one to the writer.
+     *
+     * @param fullData the full stat data
+     * @return the current stat data
+     */
+    StatRollingData rollingWhenFull(StatRollingData fullData) {
+        StatRollingData current = ref.get();
+        if (current != fullData) {
+            // Already rolled by another thread (or the time slot has rolled).
+            return current;
+        }
+        StatRollingData nextData = new StatRollingData(this, getMaxEntryCount(),
+            fullData.getTimeSlot(), fullData.getRollingTimeMillis());
+        if (ref.compareAndSet(fullData, nextData)) {
+            StatLogController.scheduleWriteTask(fullData);
+            return nextData;
+        }
+        return ref.get();
+    }
+
     public StatEntry stat(String key) {
         return new StatEntry(this, key);
     }
@@ -15,15 +15,20 @@
  */
 package com.alibaba.csp.sentinel.eagleeye;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * @author jifeng
+ * <p>The stat data of a time slot.</p>
+ * <p>
+ * The stat data is never locked by the logging threads. When the time slot rolls (in the roller thread),
+ * or when the stat data is full, the current stat data is swapped atomically with a new one in
+ * {@link StatLogger}, and the previous one is handed to the writer thread. The new stat data of the next time
+ * slot is filled with empty stat functions of the entries used in the previous time slot in advance,
+ * so the logging threads don't need to create them.
+ * </p>
  */
 final class StatRollingData {
 
@@ -33,59 +38,53 @@ final class StatRollingData {
 
     private final long rollingTimeMillis;
 
-    private final ReentrantLock writeLock;
-
-    private final Map<StatEntry, StatEntryFunc> statMap;
+    private final ConcurrentMap<StatEntry, StatEntryFunc> statMap;
 
     StatRollingData(StatLogger statLogger, int initialCapacity, long timeSlot, long rollingTimeMillis) {
-        this(statLogger, timeSlot, rollingTimeMillis,
-            new ConcurrentHashMap<StatEntry, StatEntryFunc>(
-                Math.min(initialCapacity, statLogger.getMaxEntryCount())));
-    }
-
-    private StatRollingData(StatLogger statLogger, long timeSlot, long rollingTimeMillis,
-                            Map<StatEntry, StatEntryFunc> statMap) {
         this.statLogger = statLogger;
         this.timeSlot = timeSlot;
         this.rollingTimeMillis = rollingTimeMillis;
-        this.writeLock = new ReentrantLock();
-        this.statMap = statMap;
+        this.statMap = new ConcurrentHashMap<StatEntry, StatEntryFunc>(
+            Math.min(initialCapacity, statLogger.getMaxEntryCount()));
     }
 
     StatEntryFunc getStatEntryFunc(
         final StatEntry statEntry, final StatEntryFuncFactory factory) {
         StatEntryFunc func = statMap.get(statEntry);
         if (func == null) {
-            StatRollingData clone = null;
-            writeLock.lock();
-            try {
-                int entryCount = statMap.size();
-                if (entryCount < statLogger.getMaxEntryCount()) {
-                    func = statMap.get(statEntry);
-                    if (func == null) {
-                        func = factory.create();
-                        statMap.put(statEntry, func);
-                    }
-                } else {
-                    Map<StatEntry, StatEntryFunc> cloneStatMap =
-                        new HashMap<StatEntry, StatEntryFunc>(statMap);
-                    statMap.clear();
-
-                    func = factory.create();
-                    statMap.put(statEntry, func);
-                    clone = new StatRollingData(statLogger, timeSlot, rollingTimeMillis, cloneStatMap);
-                }
-            } finally {
-                writeLock.unlock();
+            if (statMap.size() >= statLogger.getMaxEntryCount()) {
+                // Swap with an empty stat data of the same time slot, and write this one in background.
+                return statLogger.rollingWhenFull(this).getStatEntryFunc(statEntry, factory);
             }
-
-            if (clone != null) {
-                StatLogController.scheduleWriteTask(clone);
+            func = factory.create();
+            StatEntryFunc prev = statMap.putIfAbsent(statEntry, func);
+            if (prev != null) {
+                func = prev;
             }
         }
         return func;
     }
 
+    /**
+     * Create the empty stat functions of the entries that have been used in the previous stat data.
+     * This should be called before the stat data is published to the logging threads.
+     *
+     * @param prevData the stat data of the previous time slot
+     */
+    void prepareEntries(StatRollingData prevData) {
+        int maxEntryCount = statLogger.getMaxEntryCount();
+        for (Entry<StatEntry, StatEntryFunc> entry : prevData.statMap.entrySet()) {
+            if (statMap.size() >= maxEntryCount) {
+                return;
+            }
+            StatEntryFunc func = entry.getValue();
+            // Entries that are not used in the previous time slot are not carried over.
+            if (!func.isEmpty()) {
+                statMap.put(entry.getKey(), func.getFactory().create());
+            }
+        }
+    }
+
     StatLogger getStatLogger() {
         return statLogger;
     }
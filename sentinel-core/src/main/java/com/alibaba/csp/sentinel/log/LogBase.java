@@ -40,6 +40,18 @@ public class LogBase {
     public static final String LOG_NAME_USE_PID = "csp.sentinel.log.use.pid";
     public static final String LOG_OUTPUT_TYPE = "csp.sentinel.log.output.type";
     public static final String LOG_CHARSET = "csp.sentinel.log.charset";
+    /**
+     * Whether the biz log records are written asynchronously in a dedicated thread, "false" by default.
+     *
+     * @since 1.8.2
+     */
+    public static final String LOG_ASYNC = "csp.sentinel.log.async";
+    /**
+     * Max count of log records waiting for the async writer. Log records are dropped when the queue is full.
+     *
+     * @since 1.8.2
+     */
+    public static final String LOG_ASYNC_QUEUE_SIZE = "csp.sentinel.log.async.queue.size";
 
     /**
      * Output biz log (e.g. RecordLog and CommandCenterLog) to file.
@@ -50,6 +62,7 @@ public class LogBase {
      */
     public static final String LOG_OUTPUT_TYPE_CONSOLE = "console";
     public static final String LOG_CHARSET_UTF8 = "utf-8";
+    public static final int DEFAULT_LOG_ASYNC_QUEUE_SIZE = 8192;
 
     private static final String DIR_NAME = "logs" + File.separator + "csp";
     private static final String USER_HOME = "user.home";
@@ -59,6 +72,8 @@ public class LogBase {
     private static String logOutputType;
     private static String logBaseDir;
     private static String logCharSet;
+    private static boolean logAsync;
+    private static int logAsyncQueueSize;
 
     static {
         try {
@@ -75,6 +90,8 @@ public class LogBase {
         logOutputType = LOG_OUTPUT_TYPE_FILE;
         logBaseDir = addSeparator(System.getProperty(USER_HOME)) + DIR_NAME + File.separator;
         logCharSet = LOG_CHARSET_UTF8;
+        logAsync = false;
+        logAsyncQueueSize = DEFAULT_LOG_ASYNC_QUEUE_SIZE;
     }
 
     private static void loadProperties() {
@@ -103,6 +120,22 @@ public class LogBase {
         String usePid = properties.getProperty(LOG_NAME_USE_PID);
         logNameUsePid = "true".equalsIgnoreCase(usePid);
         System.out.println("INFO: Sentinel log name use pid is: " + logNameUsePid);
+
+        logAsync = "true".equalsIgnoreCase(properties.getProperty(LOG_ASYNC));
+        String queueSize = properties.getProperty(LOG_ASYNC_QUEUE_SIZE);
+        if (queueSize != null) {
+            try {
+                int size = Integer.parseInt(queueSize.trim());
+                if (size > 0) {
+                    logAsyncQueueSize = size;
+                }
+            } catch (NumberFormatException ex) {
+                System.err.println("ERROR: invalid Sentinel async log queue size: " + queueSize);
+            }
+        }
+        if (logAsync) {
+            System.out.println("INFO: Sentinel async log queue size is: " + logAsyncQueueSize);
+        }
     }
 
 
@@ -142,4 +175,24 @@ public class LogBase {
         return logCharSet;
     }
 
+    /**
+     * Whether the biz log records are written asynchronously. This switch is configured by {@link #LOG_ASYNC} property.
+     *
+     * @return true if the log records are written asynchronously, otherwise false
+     * @since 1.8.2
+     */
+    public static boolean isLogAsync() {
+        return logAsync;
+    }
+
+    /**
+     * Get the max count of log records waiting for the async writer.
+     *
+     * @return the async log queue size, {@link #DEFAULT_LOG_ASYNC_QUEUE_SIZE} by default
+     * @since 1.8.2
+     */
+    public static int getLogAsyncQueueSize() {
+        return logAsyncQueueSize;
+    }
+
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.log.jul;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Filter;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * <p>A handler that publishes log records to the delegate handler in a dedicated writer thread.</p>
+ * <p>
+ * Log records are put into a bounded lock-free ring buffer, so the calling threads never format the messages
+ * or wait for the file I/O (and the monitors of the file handler). The writer thread drains the buffer in batches
+ * and flushes the delegate handler once per batch. When the buffer is full, new records are dropped rather than
+ * blocking the callers, and the number of dropped records is logged by the writer thread later.
+ * </p>
+ * <p>
+ * As the messages are formatted in the writer thread, the log arguments should not be modified after logging.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+class AsyncLogHandler extends Handler {
+
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long DROP_REPORT_INTERVAL_MS = 1000;
+
+    private final Handler delegate;
+
+    private final AtomicReferenceArray<LogRecord> buffer;
+    private final int mask;
+    /**
+     * The next position to read, which is only updated by the writer thread.
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * The next position to write, which is claimed by the producers with CAS.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private long reportedDroppedCount;
+    private long lastDropReportTime;
+
+    private final Thread writer;
+    private volatile boolean parked;
+    private volatile boolean closed;
+
+    AsyncLogHandler(Handler delegate, int capacity, String name) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate handler cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity should be positive");
+        }
+        this.delegate = delegate;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new AtomicReferenceArray<LogRecord>(size);
+        this.mask = size - 1;
+
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "sentinel-async-log-" + name);
+        writer.setDaemon(true);
+        writer.start();
+        // Write the remaining records before the process exits.
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        }, "sentinel-async-log-shutdown-" + name));
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (record == null || closed) {
+            return;
+        }
+        if (!offer(record)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (parked) {
+            parked = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    boolean offer(LogRecord record) {
+        int capacity = mask + 1;
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                // The slot is released by the writer (set to null) before the head moves past it.
+                buffer.lazySet((int)t & mask, record);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drain at most {@code maxCount} records into the delegate handler.
+     * This method should only be called by the writer thread (or after the writer thread has stopped).
+     *
+     * @return count of the published records
+     */
+    int drain(int maxCount) {
+        long h = head.get();
+        int count = 0;
+        while (count < maxCount && h < tail.get()) {
+            int index = (int)h & mask;
+            LogRecord record = buffer.get(index);
+            if (record == null) {
+                // The producer has claimed the slot but not set the record yet.
+                Thread.yield();
+                continue;
+            }
+            buffer.lazySet(index, null);
+            head.lazySet(++h);
+            publishToDelegate(record);
+            count++;
+        }
+        if (count > 0) {
+            reportDropped(false);
+            delegate.flush();
+        }
+        return count;
+    }
+
+    private void publishToDelegate(LogRecord record) {
+        try {
+            delegate.publish(record);
+        } catch (Throwable ex) {
+            reportError(null, ex instanceof Exception ? (Exception)ex : new Exception(ex), ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private void reportDropped(boolean force) {
+        long dropped = droppedCount.get();
+        if (dropped == reportedDroppedCount) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // Report at most once per interval, as lots of records may be dropped during a burst.
+        if (force || now - lastDropReportTime >= DROP_REPORT_INTERVAL_MS) {
+            LogRecord record = new LogRecord(Level.WARNING,
+                "[AsyncLogHandler] " + (dropped - reportedDroppedCount)
+                    + " log records dropped as the buffer is full, total dropped: " + dropped);
+            reportedDroppedCount = dropped;
+            lastDropReportTime = now;
+            publishToDelegate(record);
+        }
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            if (drain(MAX_BATCH_SIZE) == 0) {
+                parked = true;
+                // Check again in case of the records published before the flag is visible to the producers.
+                if (head.get() == tail.get() && !closed) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                parked = false;
+            }
+        }
+    }
+
+    /**
+     * @return the number of records dropped as the buffer is full
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    String getWriterName() {
+        return writer.getName();
+    }
+
+    int size() {
+        return (int)(tail.get() - head.get());
+    }
+
+    @Override
+    public void flush() {
+        // The writer thread flushes the delegate handler after each batch.
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(3));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.isAlive()) {
+            // Write the records left in the buffer.
+            int drained;
+            do {
+                drained = drain(MAX_BATCH_SIZE);
+            } while (drained > 0);
+            reportDropped(true);
+            delegate.flush();
+        }
+        delegate.close();
+    }
+
+    @Override
+    public void setFormatter(Formatter newFormatter) throws SecurityException {
+        super.setFormatter(newFormatter);
+        delegate.setFormatter(newFormatter);
+    }
+
+    @Override
+    public void setEncoding(String encoding) throws SecurityException, UnsupportedEncodingException {
+        super.setEncoding(encoding);
+        delegate.setEncoding(encoding);
+    }
+
+    @Override
+    public void setFilter(Filter newFilter) throws SecurityException {
+        super.setFilter(newFilter);
+        delegate.setFilter(newFilter);
+    }
+
+    @Override
+    public void setLevel(java.util.logging.Level newLevel) throws SecurityException {
+        super.setLevel(newLevel);
+        delegate.setLevel(newLevel);
+    }
+
+    Handler getDelegate() {
+        return delegate;
+    }
+}
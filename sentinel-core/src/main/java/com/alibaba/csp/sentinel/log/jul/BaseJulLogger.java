@@ -18,6 +18,7 @@ package com.alibaba.csp.sentinel.log.jul;
 import java.io.IOException;
 import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 import com.alibaba.csp.sentinel.log.LogBase;
@@ -39,11 +40,16 @@ public class BaseJulLogger {
             return;
         }
         disableOtherHandlers(logger, handler);
+        if (!logger.isLoggable(level)) {
+            return;
+        }
 
-        // Compatible with slf4j placeholder format "{}".
-        FormattingTuple formattingTuple = MessageFormatter.arrayFormat(detail, params);
-        String message = formattingTuple.getMessage();
-        logger.log(level, message);
+        // The placeholders are formatted by the CspFormatter of the handler,
+        // which may be done in the writer thread of the async handler.
+        LogRecord record = new LogRecord(level, detail);
+        record.setParameters(params);
+        record.setLoggerName(logger.getName());
+        logger.log(record);
     }
 
     protected void log(Logger logger, Handler handler, Level level, String detail, Throwable throwable) {
@@ -87,6 +93,9 @@ public class BaseJulLogger {
                 break;
         }
 
+        if (handler != null && LogBase.isLogAsync()) {
+            handler = new AsyncLogHandler(handler, LogBase.getLogAsyncQueueSize(), logName);
+        }
         if (handler != null) {
             disableOtherHandlers(heliumRecordLog, handler);
         }
@@ -106,13 +115,14 @@ public class BaseJulLogger {
         if (logger == null) {
             return;
         }
+        // Fast path without the monitor, as the handlers are rarely changed.
+        if (isOnlyHandler(logger.getHandlers(), handler)) {
+            return;
+        }
 
         synchronized (logger) {
             Handler[] handlers = logger.getHandlers();
-            if (handlers == null) {
-                return;
-            }
-            if (handlers.length == 1 && handlers[0].equals(handler)) {
+            if (handlers == null || isOnlyHandler(handlers, handler)) {
                 return;
             }
 
@@ -125,4 +135,8 @@ public class BaseJulLogger {
             logger.addHandler(handler);
         }
     }
+
+    private static boolean isOnlyHandler(Handler[] handlers, Handler handler) {
+        return handlers != null && handlers.length == 1 && handlers[0].equals(handler);
+    }
 }
@@ -55,4 +55,14 @@ class CspFormatter extends Formatter {
         }
         return builder.toString();
     }
+
+    @Override
+    public String formatMessage(LogRecord record) {
+        Object[] params = record.getParameters();
+        if (params == null || params.length == 0) {
+            return record.getMessage();
+        }
+        // Compatible with slf4j placeholder format "{}".
+        return MessageFormatter.arrayFormat(record.getMessage(), params).getMessage();
+    }
 }
@@ -27,6 +27,8 @@ import java.util.logging.LogRecord;
 
 class DateFileLogHandler extends Handler {
 
+    private static final long FILE_CHECK_INTERVAL_MS = 1000;
+
     private final ThreadLocal<SimpleDateFormat> dateFormatThreadLocal = new ThreadLocal<SimpleDateFormat>() {
         @Override
         public SimpleDateFormat initialValue() {
@@ -46,6 +48,16 @@ class DateFileLogHandler extends Handler {
     private volatile long startDate = System.currentTimeMillis();
     private volatile long endDate;
 
+    /**
+     * Name of the first log file of the current date, so that it won't be formatted on each record.
+     */
+    private volatile String logFileName;
+    /**
+     * Whether the log file exists is checked at most once per {@link #FILE_CHECK_INTERVAL_MS}.
+     */
+    private volatile boolean logFileExists;
+    private volatile long nextFileCheckTime;
+
     private final Object monitor = new Object();
 
     DateFileLogHandler(String pattern, int limit, int count, boolean append) throws SecurityException {
@@ -84,7 +96,7 @@ class DateFileLogHandler extends Handler {
     }
 
     private boolean shouldRotate(LogRecord record) {
-        if (endDate <= record.getMillis() || !logFileExits()) {
+        if (endDate <= record.getMillis() || !logFileExits(record.getMillis())) {
             return true;
         }
         return false;
@@ -96,20 +108,19 @@ class DateFileLogHandler extends Handler {
         if (handler != null) { handler.setFormatter(newFormatter); }
     }
 
-    private boolean logFileExits() {
+    private boolean logFileExits(long now) {
+        if (now < nextFileCheckTime) {
+            return logFileExists;
+        }
+        boolean exists = false;
         try {
-            SimpleDateFormat format = dateFormatThreadLocal.get();
-            String fileName = pattern.replace("%d", format.format(new Date()));
-            // When file count is not 1, the first log file name will end with ".0"
-            if (count != 1) {
-                fileName += ".0";
-            }
-            File logFile = new File(fileName);
-            return logFile.exists();
+            exists = new File(logFileName).exists();
         } catch (Throwable e) {
 
         }
-        return false;
+        this.logFileExists = exists;
+        this.nextFileCheckTime = now + FILE_CHECK_INTERVAL_MS;
+        return exists;
     }
 
     private void rotateDate() {
@@ -119,6 +130,8 @@ class DateFileLogHandler extends Handler {
         }
         SimpleDateFormat format = dateFormatThreadLocal.get();
         String newPattern = pattern.replace("%d", format.format(new Date()));
+        // When file count is not 1, the first log file name will end with ".0"
+        this.logFileName = count != 1 ? newPattern + ".0" : newPattern;
         // Get current date.
         Calendar next = Calendar.getInstance();
         // Begin of next date.
@@ -131,6 +144,8 @@ class DateFileLogHandler extends Handler {
 
         try {
             this.handler = new FileHandler(newPattern, limit, count, append);
+            this.logFileExists = true;
+            this.nextFileCheckTime = startDate + FILE_CHECK_INTERVAL_MS;
             if (initialized) {
                 handler.setEncoding(this.getEncoding());
                 handler.setErrorManager(this.getErrorManager());
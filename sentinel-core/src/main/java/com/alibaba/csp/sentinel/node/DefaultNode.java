@@ -17,13 +17,16 @@ package com.alibaba.csp.sentinel.node;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.SphO;
 import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
+import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
 
 /**
  * <p>
@@ -34,6 +37,10 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
  * This class may have a list of sub {@link DefaultNode}s. Child nodes will be created when
  * calling {@link SphU}#entry() or {@link SphO}@entry() multiple times in the same {@link Context}.
  * </p>
+ * <p>
+ * In lean mode (see {@link SentinelConfig#isStatisticLean()}), the node shares the counters of its
+ * {@link ClusterNode} unless its context is referenced by a flow rule of the chain strategy.
+ * </p>
  *
  * @author qinan.qn
  * @see NodeSelectorSlot
@@ -50,11 +57,30 @@ public class DefaultNode extends StatisticNode {
      */
     private volatile Set<Node> childList = new HashSet<>();
 
+    /**
+     * Guards the copy-on-write of the child list. A {@link ReentrantLock} rather than monitor is used,
+     * so that virtual threads won't be pinned.
+     */
+    private final ReentrantLock childLock = new ReentrantLock();
+
     /**
      * Associated cluster node.
      */
     private ClusterNode clusterNode;
 
+    /**
+     * Whether the node reads the counters of the cluster node rather than keeping its own (in lean mode).
+     * The thread count is always kept by the node itself.
+     */
+    private volatile boolean statisticShared;
+
+    /**
+     * The entrance node of which the node is a direct child. It keeps the statistics of the context
+     * on behalf of the node while the node is shared, as the counters of the cluster node are not per context.
+     * It's set when the node is added to the tree, before the node is published.
+     */
+    private EntranceNode entranceNode;
+
     public DefaultNode(ResourceWrapper id, ClusterNode clusterNode) {
         this.id = id;
         this.clusterNode = clusterNode;
@@ -72,6 +98,64 @@ public class DefaultNode extends StatisticNode {
         this.clusterNode = clusterNode;
     }
 
+    /**
+     * Whether the node shares the counters of its cluster node (in lean mode).
+     *
+     * @return true if the node reads and writes the counters of its cluster node
+     * @since 1.8.2
+     */
+    public boolean isStatisticShared() {
+        return statisticShared;
+    }
+
+    /**
+     * Set whether the node shares the counters of its cluster node. The own counters of the node are released
+     * when shared, and created again on demand when not shared any more.
+     *
+     * @param statisticShared whether to share the counters of the cluster node
+     * @since 1.8.2
+     */
+    public void setStatisticShared(boolean statisticShared) {
+        if (this.statisticShared == statisticShared) {
+            return;
+        }
+        this.statisticShared = statisticShared;
+        if (statisticShared) {
+            releaseCounters();
+        }
+    }
+
+    @Override
+    Metric secondCounter() {
+        ClusterNode clusterNode = this.clusterNode;
+        if (statisticShared && clusterNode != null) {
+            return clusterNode.secondCounter();
+        }
+        return super.secondCounter();
+    }
+
+    @Override
+    Metric minuteCounter() {
+        ClusterNode clusterNode = this.clusterNode;
+        if (statisticShared && clusterNode != null) {
+            return clusterNode.minuteCounter();
+        }
+        return super.minuteCounter();
+    }
+
+    @Override
+    Metric minuteCounterIfPresent() {
+        ClusterNode clusterNode = this.clusterNode;
+        if (statisticShared && clusterNode != null) {
+            return clusterNode.minuteCounterIfPresent();
+        }
+        return super.minuteCounterIfPresent();
+    }
+
+    void setEntranceNode(EntranceNode entranceNode) {
+        this.entranceNode = entranceNode;
+    }
+
     /**
      * Add child node to current node.
      *
@@ -83,13 +167,16 @@ public class DefaultNode extends StatisticNode {
             return;
         }
         if (!childList.contains(node)) {
-            synchronized (this) {
+            childLock.lock();
+            try {
                 if (!childList.contains(node)) {
                     Set<Node> newSet = new HashSet<>(childList.size() + 1);
                     newSet.addAll(childList);
                     newSet.add(node);
                     childList = newSet;
                 }
+            } finally {
+                childLock.unlock();
             }
             RecordLog.info("Add child <{}> to node <{}>", ((DefaultNode)node).id.getName(), id.getName());
         }
@@ -108,19 +195,31 @@ public class DefaultNode extends StatisticNode {
 
     @Override
     public void increaseBlockQps(int count) {
-        super.increaseBlockQps(count);
+        if (!statisticShared) {
+            super.increaseBlockQps(count);
+        } else if (entranceNode != null) {
+            entranceNode.recordSharedBlock(count);
+        }
         this.clusterNode.increaseBlockQps(count);
     }
 
     @Override
     public void increaseExceptionQps(int count) {
-        super.increaseExceptionQps(count);
+        if (!statisticShared) {
+            super.increaseExceptionQps(count);
+        } else if (entranceNode != null) {
+            entranceNode.recordSharedException(count);
+        }
         this.clusterNode.increaseExceptionQps(count);
     }
 
     @Override
     public void addRtAndSuccess(long rt, int successCount) {
-        super.addRtAndSuccess(rt, successCount);
+        if (!statisticShared) {
+            super.addRtAndSuccess(rt, successCount);
+        } else if (entranceNode != null) {
+            entranceNode.recordSharedRtAndSuccess(rt, successCount);
+        }
         this.clusterNode.addRtAndSuccess(rt, successCount);
     }
 
@@ -138,10 +237,34 @@ public class DefaultNode extends StatisticNode {
 
     @Override
     public void addPassRequest(int count) {
-        super.addPassRequest(count);
+        if (!statisticShared) {
+            super.addPassRequest(count);
+        } else if (entranceNode != null) {
+            entranceNode.recordSharedPass(count);
+        }
         this.clusterNode.addPassRequest(count);
     }
 
+    /*
+     * Record the statistics of a shared child in the own counters of the node, which is an entrance node.
+     */
+
+    final void recordSharedBlock(int count) {
+        super.increaseBlockQps(count);
+    }
+
+    final void recordSharedException(int count) {
+        super.increaseExceptionQps(count);
+    }
+
+    final void recordSharedRtAndSuccess(long rt, int successCount) {
+        super.addRtAndSuccess(rt, successCount);
+    }
+
+    final void recordSharedPass(int count) {
+        super.addPassRequest(count);
+    }
+
     public void printDefaultNode() {
         visitTree(0, this);
     }
@@ -30,6 +30,12 @@ import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
  * current context does't have one. Note that same context name will share same {@link EntranceNode}
  * globally.
  * </p>
+ * <p>
+ * In lean mode (see {@link com.alibaba.csp.sentinel.config.SentinelConfig#isStatisticLean()}), a shared child
+ * reads the counters of its {@link ClusterNode}, which are not per context, so the child records its statistics
+ * in the own counters of the entrance node instead. The statistics of the entrance node are the sum of its
+ * own counters and those of the children that are not shared, so they stay per context.
+ * </p>
  *
  * @author qinan.qn
  * @see ContextUtil
@@ -42,31 +48,49 @@ public class EntranceNode extends DefaultNode {
         super(id, clusterNode);
     }
 
+    @Override
+    public void addChild(Node node) {
+        if (node instanceof DefaultNode && !(node instanceof EntranceNode)) {
+            ((DefaultNode)node).setEntranceNode(this);
+        }
+        super.addChild(node);
+    }
+
+    private static boolean isShared(Node node) {
+        return node instanceof DefaultNode && ((DefaultNode)node).isStatisticShared();
+    }
+
     @Override
     public double avgRt() {
-        double total = 0;
-        double totalQps = 0;
+        double totalQps = super.passQps();
+        double total = super.avgRt() * totalQps;
         for (Node node : getChildList()) {
-            total += node.avgRt() * node.passQps();
-            totalQps += node.passQps();
+            if (!isShared(node)) {
+                total += node.avgRt() * node.passQps();
+                totalQps += node.passQps();
+            }
         }
         return total / (totalQps == 0 ? 1 : totalQps);
     }
 
     @Override
     public double blockQps() {
-        double blockQps = 0;
+        double blockQps = super.blockQps();
         for (Node node : getChildList()) {
-            blockQps += node.blockQps();
+            if (!isShared(node)) {
+                blockQps += node.blockQps();
+            }
         }
         return blockQps;
     }
 
     @Override
     public long blockRequest() {
-        long r = 0;
+        long r = super.blockRequest();
         for (Node node : getChildList()) {
-            r += node.blockRequest();
+            if (!isShared(node)) {
+                r += node.blockRequest();
+            }
         }
         return r;
     }
@@ -82,45 +106,55 @@ public class EntranceNode extends DefaultNode {
 
     @Override
     public double totalQps() {
-        double r = 0;
+        double r = super.totalQps();
         for (Node node : getChildList()) {
-            r += node.totalQps();
+            if (!isShared(node)) {
+                r += node.totalQps();
+            }
         }
         return r;
     }
 
     @Override
     public double successQps() {
-        double r = 0;
+        double r = super.successQps();
         for (Node node : getChildList()) {
-            r += node.successQps();
+            if (!isShared(node)) {
+                r += node.successQps();
+            }
         }
         return r;
     }
 
     @Override
     public double passQps() {
-        double r = 0;
+        double r = super.passQps();
         for (Node node : getChildList()) {
-            r += node.passQps();
+            if (!isShared(node)) {
+                r += node.passQps();
+            }
         }
         return r;
     }
 
     @Override
     public long totalRequest() {
-        long r = 0;
+        long r = super.totalRequest();
         for (Node node : getChildList()) {
-            r += node.totalRequest();
+            if (!isShared(node)) {
+                r += node.totalRequest();
+            }
         }
         return r;
     }
 
     @Override
     public long totalPass() {
-        long r = 0;
+        long r = super.totalPass();
         for (Node node : getChildList()) {
-            r += node.totalPass();
+            if (!isShared(node)) {
+                r += node.totalPass();
+            }
         }
         return r;
     }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
+import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
+import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
+
+/**
+ * <p>Estimated heap footprint of the statistic nodes of a resource, including the {@link ClusterNode},
+ * the origin nodes and the {@link DefaultNode}s in all contexts.</p>
+ * <p>
+ * The footprint is estimated from the counters the nodes hold (assuming compressed oops), with all buckets
+ * of the sliding windows created, so it's an upper bound of the statistics of a busy resource.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class StatisticFootprint {
+
+    private static final int NODE_BYTES = 80;
+    private static final int WINDOW_WRAP_BYTES = 32;
+    private static final int LONG_ADDER_BYTES = 32;
+    private static final int METRIC_BUCKET_BYTES = 24;
+    private static final int LEAP_ARRAY_BYTES = 136;
+
+    private final String resource;
+
+    private int contextNodeCount;
+    private int sharedContextNodeCount;
+    private int originNodeCount;
+    private int secondCounterCount;
+    private int minuteCounterCount;
+    private long estimatedBytes;
+
+    StatisticFootprint(String resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Collect the footprint of all resources, with the largest one first.
+     *
+     * @return footprint of all resources
+     */
+    public static List<StatisticFootprint> collect() {
+        Map<String, StatisticFootprint> footprints = new LinkedHashMap<>();
+        long secondCounterBytes = estimateCounterBytes(SampleCountProperty.SAMPLE_COUNT, true);
+        long minuteCounterBytes = estimateCounterBytes(60, false);
+        for (Map.Entry<ResourceWrapper, ClusterNode> e : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
+            StatisticFootprint footprint = getOrCreate(footprints, e.getKey().getName());
+            ClusterNode clusterNode = e.getValue();
+            footprint.addNode(clusterNode, secondCounterBytes, minuteCounterBytes);
+            for (StatisticNode originNode : clusterNode.getOriginCountMap().values()) {
+                footprint.originNodeCount++;
+                footprint.addNode(originNode, secondCounterBytes, minuteCounterBytes);
+            }
+        }
+        Set<DefaultNode> visited = Collections.newSetFromMap(new IdentityHashMap<DefaultNode, Boolean>());
+        for (Node entranceNode : Constants.ROOT.getChildList()) {
+            collectContextNodes((DefaultNode) entranceNode, footprints, visited, secondCounterBytes,
+                minuteCounterBytes);
+        }
+
+        List<StatisticFootprint> list = new ArrayList<>(footprints.values());
+        Collections.sort(list, new Comparator<StatisticFootprint>() {
+            @Override
+            public int compare(StatisticFootprint o1, StatisticFootprint o2) {
+                return Long.compare(o2.estimatedBytes, o1.estimatedBytes);
+            }
+        });
+        return list;
+    }
+
+    private static void collectContextNodes(DefaultNode parent, Map<String, StatisticFootprint> footprints,
+                                            Set<DefaultNode> visited, long secondCounterBytes,
+                                            long minuteCounterBytes) {
+        for (Node child : parent.getChildList()) {
+            DefaultNode node = (DefaultNode) child;
+            if (!visited.add(node)) {
+                continue;
+            }
+            StatisticFootprint footprint = getOrCreate(footprints, node.getId().getName());
+            footprint.contextNodeCount++;
+            if (node.isStatisticShared()) {
+                footprint.sharedContextNodeCount++;
+            }
+            footprint.addNode(node, secondCounterBytes, minuteCounterBytes);
+            collectContextNodes(node, footprints, visited, secondCounterBytes, minuteCounterBytes);
+        }
+    }
+
+    private static StatisticFootprint getOrCreate(Map<String, StatisticFootprint> footprints, String resource) {
+        StatisticFootprint footprint = footprints.get(resource);
+        if (footprint == null) {
+            footprint = new StatisticFootprint(resource);
+            footprints.put(resource, footprint);
+        }
+        return footprint;
+    }
+
+    /**
+     * Estimate the bytes of an {@code ArrayMetric} with all buckets created.
+     *
+     * @param sampleCount bucket count of the sliding window
+     * @param occupiable  whether the metric has the array of borrowed buckets
+     * @return estimated bytes of the counter
+     */
+    static long estimateCounterBytes(int sampleCount, boolean occupiable) {
+        int events = MetricEvent.values().length;
+        long bucketBytes = WINDOW_WRAP_BYTES + METRIC_BUCKET_BYTES + align(16 + 4 * events)
+            + (long) LONG_ADDER_BYTES * events;
+        long arrayBytes = LEAP_ARRAY_BYTES + align(16 + 4 * sampleCount) + bucketBytes * sampleCount;
+        // The borrow array only holds buckets for the requests waiting for the next windows.
+        return 16 + (occupiable ? arrayBytes + LEAP_ARRAY_BYTES + align(16 + 4 * sampleCount) : arrayBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private void addNode(StatisticNode node, long secondCounterBytes, long minuteCounterBytes) {
+        estimatedBytes += NODE_BYTES;
+        if (node.hasSecondCounter()) {
+            secondCounterCount++;
+            estimatedBytes += secondCounterBytes;
+        }
+        if (node.hasMinuteCounter()) {
+            minuteCounterCount++;
+            estimatedBytes += minuteCounterBytes;
+        }
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public int getContextNodeCount() {
+        return contextNodeCount;
+    }
+
+    public int getSharedContextNodeCount() {
+        return sharedContextNodeCount;
+    }
+
+    public int getOriginNodeCount() {
+        return originNodeCount;
+    }
+
+    public int getSecondCounterCount() {
+        return secondCounterCount;
+    }
+
+    public int getMinuteCounterCount() {
+        return minuteCounterCount;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticFootprint{" +
+            "resource='" + resource + '\'' +
+            ", contextNodeCount=" + contextNodeCount +
+            ", sharedContextNodeCount=" + sharedContextNodeCount +
+            ", originNodeCount=" + originNodeCount +
+            ", secondCounterCount=" + secondCounterCount +
+            ", minuteCounterCount=" + minuteCounterCount +
+            ", estimatedBytes=" + estimatedBytes +
+            '}';
+    }
+}
@@ -18,8 +18,11 @@ package com.alibaba.csp.sentinel.node;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.atomic.LongAdder;
 
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.metric.MetricBatch;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.metric.ArrayMetric;
 import com.alibaba.csp.sentinel.slots.statistic.metric.Metric;
@@ -91,16 +94,26 @@ public class StatisticNode implements Node {
 
     /**
      * Holds statistics of the recent {@code INTERVAL} milliseconds. The {@code INTERVAL} is divided into time spans
-     * by given {@code sampleCount}.
+     * by given {@code sampleCount}. In lean mode it's created on first use.
      */
-    private transient volatile Metric rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT,
-        IntervalProperty.INTERVAL);
+    private transient volatile Metric rollingCounterInSecond;
 
     /**
      * Holds statistics of the recent 60 seconds. The windowLengthInMs is deliberately set to 1000 milliseconds,
      * meaning each bucket per second, in this way we can get accurate statistics of each second.
+     * In lean mode it's created on first read, and requests before that are not counted in it.
      */
-    private transient Metric rollingCounterInMinute = new ArrayMetric(60, 60 * 1000, false);
+    private transient volatile Metric rollingCounterInMinute;
+
+    private static final AtomicReferenceFieldUpdater<StatisticNode, Metric> SECOND_COUNTER_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(StatisticNode.class, Metric.class, "rollingCounterInSecond");
+    private static final AtomicReferenceFieldUpdater<StatisticNode, Metric> MINUTE_COUNTER_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(StatisticNode.class, Metric.class, "rollingCounterInMinute");
+
+    /**
+     * Whether the counters are created lazily, see {@link SentinelConfig#isStatisticLean()}.
+     */
+    private final boolean lean;
 
     /**
      * The counter for thread count.
@@ -112,13 +125,91 @@ public class StatisticNode implements Node {
      */
     private long lastFetchTime = -1;
 
+    public StatisticNode() {
+        this(SentinelConfig.isStatisticLean());
+    }
+
+    StatisticNode(boolean lean) {
+        this.lean = lean;
+        if (!lean) {
+            this.rollingCounterInSecond = newSecondCounter();
+            this.rollingCounterInMinute = newMinuteCounter();
+        }
+    }
+
+    private static Metric newSecondCounter() {
+        return new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL);
+    }
+
+    private static Metric newMinuteCounter() {
+        return new ArrayMetric(60, 60 * 1000, false);
+    }
+
+    /**
+     * Get the counter of the recent {@code INTERVAL} milliseconds, which is created if absent.
+     *
+     * @return the counter in second
+     */
+    Metric secondCounter() {
+        Metric counter = rollingCounterInSecond;
+        if (counter == null) {
+            // Created without locking, so that virtual threads won't be pinned. Only one counter wins the race.
+            counter = newSecondCounter();
+            if (!SECOND_COUNTER_UPDATER.compareAndSet(this, null, counter)) {
+                counter = rollingCounterInSecond;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Get the counter of the recent minute for reading, which is created if absent.
+     *
+     * @return the counter in minute
+     */
+    Metric minuteCounter() {
+        Metric counter = rollingCounterInMinute;
+        if (counter == null) {
+            counter = newMinuteCounter();
+            if (!MINUTE_COUNTER_UPDATER.compareAndSet(this, null, counter)) {
+                counter = rollingCounterInMinute;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Get the counter of the recent minute for writing. No counter is created, as nobody has read it yet.
+     *
+     * @return the counter in minute, or null if absent
+     */
+    Metric minuteCounterIfPresent() {
+        return rollingCounterInMinute;
+    }
+
+    /**
+     * Drop the counters of the node, which will be recreated on demand.
+     */
+    void releaseCounters() {
+        rollingCounterInSecond = null;
+        rollingCounterInMinute = null;
+    }
+
+    boolean hasSecondCounter() {
+        return rollingCounterInSecond != null;
+    }
+
+    boolean hasMinuteCounter() {
+        return rollingCounterInMinute != null;
+    }
+
     @Override
     public Map<Long, MetricNode> metrics() {
         // The fetch operation is thread-safe under a single-thread scheduler pool.
         long currentTime = TimeUtil.currentTimeMillis();
         currentTime = currentTime - currentTime % 1000;
         Map<Long, MetricNode> metrics = new ConcurrentHashMap<>();
-        List<MetricNode> nodesOfEverySecond = rollingCounterInMinute.details();
+        List<MetricNode> nodesOfEverySecond = minuteCounter().details();
         long newLastFetchTime = lastFetchTime;
         // Iterate metrics of all resources, filter valid metrics (not-empty and up-to-date).
         for (MetricNode node : nodesOfEverySecond) {
@@ -132,9 +223,34 @@ public class StatisticNode implements Node {
         return metrics;
     }
 
+    /**
+     * Append metrics of every second since the last fetch to the batch. It's the allocation-free
+     * counterpart of {@link #metrics()}, and they share the same fetch progress.
+     * <p>
+     * In lean mode, a node that has not recorded anything yet is skipped, so that the metric timer does not
+     * create the counters of idle nodes. Once the node records requests, the minute counter is created
+     * on the next fetch.
+     * </p>
+     *
+     * @param batch          target batch
+     * @param resource       resource name of the rows
+     * @param classification resource classification of the rows
+     * @since 1.8.2
+     */
+    public void appendMetrics(MetricBatch batch, String resource, int classification) {
+        if (!hasSecondCounter() && minuteCounterIfPresent() == null) {
+            return;
+        }
+        // The fetch operation is thread-safe under a single-thread scheduler pool.
+        long currentTime = TimeUtil.currentTimeMillis();
+        currentTime = currentTime - currentTime % 1000;
+        lastFetchTime = minuteCounter().appendDetails(batch, resource, classification, lastFetchTime,
+            currentTime);
+    }
+
     @Override
     public List<MetricNode> rawMetricsInMin(Predicate<Long> timePredicate) {
-        return rollingCounterInMinute.detailsOnCondition(timePredicate);
+        return minuteCounter().detailsOnCondition(timePredicate);
     }
 
     private boolean isNodeInTime(MetricNode node, long currentTime) {
@@ -148,32 +264,33 @@ public class StatisticNode implements Node {
 
     @Override
     public void reset() {
-        rollingCounterInSecond = new ArrayMetric(SampleCountProperty.SAMPLE_COUNT, IntervalProperty.INTERVAL);
+        rollingCounterInSecond = lean ? null : newSecondCounter();
     }
 
     @Override
     public long totalRequest() {
-        return rollingCounterInMinute.pass() + rollingCounterInMinute.block();
+        Metric minuteCounter = minuteCounter();
+        return minuteCounter.pass() + minuteCounter.block();
     }
 
     @Override
     public long blockRequest() {
-        return rollingCounterInMinute.block();
+        return minuteCounter().block();
     }
 
     @Override
     public double blockQps() {
-        return rollingCounterInSecond.block() / rollingCounterInSecond.getWindowIntervalInSec();
+        return secondCounter().block() / secondCounter().getWindowIntervalInSec();
     }
 
     @Override
     public double previousBlockQps() {
-        return this.rollingCounterInMinute.previousWindowBlock();
+        return minuteCounter().previousWindowBlock();
     }
 
     @Override
     public double previousPassQps() {
-        return this.rollingCounterInMinute.previousWindowPass();
+        return minuteCounter().previousWindowPass();
     }
 
     @Override
@@ -183,58 +300,58 @@ public class StatisticNode implements Node {
 
     @Override
     public long totalSuccess() {
-        return rollingCounterInMinute.success();
+        return minuteCounter().success();
     }
 
     @Override
     public double exceptionQps() {
-        return rollingCounterInSecond.exception() / rollingCounterInSecond.getWindowIntervalInSec();
+        return secondCounter().exception() / secondCounter().getWindowIntervalInSec();
     }
 
     @Override
     public long totalException() {
-        return rollingCounterInMinute.exception();
+        return minuteCounter().exception();
     }
 
     @Override
     public double passQps() {
-        return rollingCounterInSecond.pass() / rollingCounterInSecond.getWindowIntervalInSec();
+        return secondCounter().pass() / secondCounter().getWindowIntervalInSec();
     }
 
     @Override
     public long totalPass() {
-        return rollingCounterInMinute.pass();
+        return minuteCounter().pass();
     }
 
     @Override
     public double successQps() {
-        return rollingCounterInSecond.success() / rollingCounterInSecond.getWindowIntervalInSec();
+        return secondCounter().success() / secondCounter().getWindowIntervalInSec();
     }
 
     @Override
     public double maxSuccessQps() {
-        return (double) rollingCounterInSecond.maxSuccess() * rollingCounterInSecond.getSampleCount()
-                / rollingCounterInSecond.getWindowIntervalInSec();
+        return (double) secondCounter().maxSuccess() * secondCounter().getSampleCount()
+                / secondCounter().getWindowIntervalInSec();
     }
 
     @Override
     public double occupiedPassQps() {
-        return rollingCounterInSecond.occupiedPass() / rollingCounterInSecond.getWindowIntervalInSec();
+        return secondCounter().occupiedPass() / secondCounter().getWindowIntervalInSec();
     }
 
     @Override
     public double avgRt() {
-        long successCount = rollingCounterInSecond.success();
+        long successCount = secondCounter().success();
         if (successCount == 0) {
             return 0;
         }
 
-        return rollingCounterInSecond.rt() * 1.0 / successCount;
+        return secondCounter().rt() * 1.0 / successCount;
     }
 
     @Override
     public double minRt() {
-        return rollingCounterInSecond.minRt();
+        return secondCounter().minRt();
     }
 
     @Override
@@ -244,29 +361,42 @@ public class StatisticNode implements Node {
 
     @Override
     public void addPassRequest(int count) {
-        rollingCounterInSecond.addPass(count);
-        rollingCounterInMinute.addPass(count);
+        secondCounter().addPass(count);
+        Metric minuteCounter = minuteCounterIfPresent();
+        if (minuteCounter != null) {
+            minuteCounter.addPass(count);
+        }
     }
 
     @Override
     public void addRtAndSuccess(long rt, int successCount) {
-        rollingCounterInSecond.addSuccess(successCount);
-        rollingCounterInSecond.addRT(rt);
-
-        rollingCounterInMinute.addSuccess(successCount);
-        rollingCounterInMinute.addRT(rt);
+        Metric secondCounter = secondCounter();
+        secondCounter.addSuccess(successCount);
+        secondCounter.addRT(rt);
+
+        Metric minuteCounter = minuteCounterIfPresent();
+        if (minuteCounter != null) {
+            minuteCounter.addSuccess(successCount);
+            minuteCounter.addRT(rt);
+        }
     }
 
     @Override
     public void increaseBlockQps(int count) {
-        rollingCounterInSecond.addBlock(count);
-        rollingCounterInMinute.addBlock(count);
+        secondCounter().addBlock(count);
+        Metric minuteCounter = minuteCounterIfPresent();
+        if (minuteCounter != null) {
+            minuteCounter.addBlock(count);
+        }
     }
 
     @Override
     public void increaseExceptionQps(int count) {
-        rollingCounterInSecond.addException(count);
-        rollingCounterInMinute.addException(count);
+        secondCounter().addException(count);
+        Metric minuteCounter = minuteCounterIfPresent();
+        if (minuteCounter != null) {
+            minuteCounter.addException(count);
+        }
     }
 
     @Override
@@ -281,13 +411,13 @@ public class StatisticNode implements Node {
 
     @Override
     public void debug() {
-        rollingCounterInSecond.debug();
+        secondCounter().debug();
     }
 
     @Override
     public long tryOccupyNext(long currentTime, int acquireCount, double threshold) {
         double maxCount = threshold * IntervalProperty.INTERVAL / 1000;
-        long currentBorrow = rollingCounterInSecond.waiting();
+        long currentBorrow = secondCounter().waiting();
         if (currentBorrow >= maxCount) {
             return OccupyTimeoutProperty.getOccupyTimeout();
         }
@@ -301,13 +431,13 @@ public class StatisticNode implements Node {
          * since call rollingCounterInSecond.pass(). So in high concurrency, the following code may
          * lead more tokens be borrowed.
          */
-        long currentPass = rollingCounterInSecond.pass();
+        long currentPass = secondCounter().pass();
         while (earliestTime < currentTime) {
             long waitInMs = idx * windowLength + windowLength - currentTime % windowLength;
             if (waitInMs >= OccupyTimeoutProperty.getOccupyTimeout()) {
                 break;
             }
-            long windowPass = rollingCounterInSecond.getWindowPass(earliestTime);
+            long windowPass = secondCounter().getWindowPass(earliestTime);
             if (currentPass + currentBorrow + acquireCount - windowPass <= maxCount) {
                 return waitInMs;
             }
@@ -321,17 +451,20 @@ public class StatisticNode implements Node {
 
     @Override
     public long waiting() {
-        return rollingCounterInSecond.waiting();
+        return secondCounter().waiting();
     }
 
     @Override
     public void addWaitingRequest(long futureTime, int acquireCount) {
-        rollingCounterInSecond.addWaiting(futureTime, acquireCount);
+        secondCounter().addWaiting(futureTime, acquireCount);
     }
 
     @Override
     public void addOccupiedPass(int acquireCount) {
-        rollingCounterInMinute.addOccupiedPass(acquireCount);
-        rollingCounterInMinute.addPass(acquireCount);
+        Metric minuteCounter = minuteCounterIfPresent();
+        if (minuteCounter != null) {
+            minuteCounter.addOccupiedPass(acquireCount);
+            minuteCounter.addPass(acquireCount);
+        }
     }
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>A reusable columnar batch of second-level metrics, one row per resource per second.</p>
+ * <p>
+ * Rows are appended to primitive columns directly from the statistic buckets, so collecting metrics
+ * of all resources every second does not create a {@link MetricNode} per row. The batch is cleared
+ * and reused on every tick, and it is not thread-safe.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class MetricBatch {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int size;
+
+    private String[] resources;
+    private int[] classifications;
+    private long[] timestamps;
+    private long[] passQps;
+    private long[] blockQps;
+    private long[] successQps;
+    private long[] exceptionQps;
+    private long[] rt;
+    private long[] occupiedPassQps;
+
+    private long[] sortedTimestamps = new long[8];
+
+    public MetricBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MetricBatch(int capacity) {
+        capacity = Math.max(capacity, 1);
+        resources = new String[capacity];
+        classifications = new int[capacity];
+        timestamps = new long[capacity];
+        passQps = new long[capacity];
+        blockQps = new long[capacity];
+        successQps = new long[capacity];
+        exceptionQps = new long[capacity];
+        rt = new long[capacity];
+        occupiedPassQps = new long[capacity];
+    }
+
+    public void add(String resource, int classification, long timestamp, long pass, long block, long success,
+                    long exception, long avgRt, long occupiedPass) {
+        if (size == timestamps.length) {
+            grow();
+        }
+        resources[size] = resource;
+        classifications[size] = classification;
+        timestamps[size] = timestamp;
+        passQps[size] = pass;
+        blockQps[size] = block;
+        successQps[size] = success;
+        exceptionQps[size] = exception;
+        rt[size] = avgRt;
+        occupiedPassQps[size] = occupiedPass;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = timestamps.length << 1;
+        resources = Arrays.copyOf(resources, capacity);
+        classifications = Arrays.copyOf(classifications, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        passQps = Arrays.copyOf(passQps, capacity);
+        blockQps = Arrays.copyOf(blockQps, capacity);
+        successQps = Arrays.copyOf(successQps, capacity);
+        exceptionQps = Arrays.copyOf(exceptionQps, capacity);
+        rt = Arrays.copyOf(rt, capacity);
+        occupiedPassQps = Arrays.copyOf(occupiedPassQps, capacity);
+    }
+
+    /**
+     * Remove all rows while keeping the allocated columns.
+     */
+    public void clear() {
+        // Do not retain the names of removed resources.
+        Arrays.fill(resources, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Sort the distinct timestamps of all rows into an internal buffer.
+     *
+     * @return count of the distinct timestamps, which can be read by {@link #getSortedTimestamp(int)}
+     */
+    public int sortTimestamps() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long timestamp = timestamps[i];
+            if (indexOf(sortedTimestamps, count, timestamp) >= 0) {
+                continue;
+            }
+            if (count == sortedTimestamps.length) {
+                sortedTimestamps = Arrays.copyOf(sortedTimestamps, count << 1);
+            }
+            sortedTimestamps[count++] = timestamp;
+        }
+        Arrays.sort(sortedTimestamps, 0, count);
+        return count;
+    }
+
+    private static int indexOf(long[] array, int length, long value) {
+        // Rows of a tick usually cover only one or two seconds, so a linear scan is enough.
+        for (int i = length - 1; i >= 0; i--) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long getSortedTimestamp(int index) {
+        return sortedTimestamps[index];
+    }
+
+    public String getResource(int row) {
+        return resources[row];
+    }
+
+    public int getClassification(int row) {
+        return classifications[row];
+    }
+
+    public long getTimestamp(int row) {
+        return timestamps[row];
+    }
+
+    public long getPassQps(int row) {
+        return passQps[row];
+    }
+
+    public long getBlockQps(int row) {
+        return blockQps[row];
+    }
+
+    public long getSuccessQps(int row) {
+        return successQps[row];
+    }
+
+    public long getExceptionQps(int row) {
+        return exceptionQps[row];
+    }
+
+    public long getRt(int row) {
+        return rt[row];
+    }
+
+    public long getOccupiedPassQps(int row) {
+        return occupiedPassQps[row];
+    }
+
+    public MetricNode toMetricNode(int row) {
+        MetricNode node = new MetricNode();
+        node.setResource(resources[row]);
+        node.setClassification(classifications[row]);
+        node.setTimestamp(timestamps[row]);
+        node.setPassQps(passQps[row]);
+        node.setBlockQps(blockQps[row]);
+        node.setSuccessQps(successQps[row]);
+        node.setExceptionQps(exceptionQps[row]);
+        node.setRt(rt[row]);
+        node.setOccupiedPassQps(occupiedPassQps[row]);
+        return node;
+    }
+
+    /**
+     * @param timestamp timestamp of the rows
+     * @return the rows of the given timestamp as {@link MetricNode}s
+     */
+    public List<MetricNode> toMetricNodes(long timestamp) {
+        List<MetricNode> nodes = new ArrayList<MetricNode>();
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] == timestamp) {
+                nodes.add(toMetricNode(i));
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.List;
+
+/**
+ * Callback for the aggregated metrics of each second, invoked by {@link MetricTimerListener}
+ * after the metrics have been written to the metric log.
+ *
+ * @since 1.8.2
+ */
+public interface MetricBatchCallback {
+
+    /**
+     * Handle the metrics of a second. The callback is invoked in the metric timer thread,
+     * so implementations should not block.
+     *
+     * @param timestamp timestamp of the second (in millis)
+     * @param nodes     metrics of all resources in the second
+     */
+    void onBatch(long timestamp, List<MetricNode> nodes);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link MetricBatchCallback}.
+ *
+ * @since 1.8.2
+ */
+public final class MetricBatchCallbackRegistry {
+
+    private static final Map<String, MetricBatchCallback> callbackMap
+        = new ConcurrentHashMap<String, MetricBatchCallback>();
+
+    public static void addCallback(String key, MetricBatchCallback callback) {
+        callbackMap.put(key, callback);
+    }
+
+    public static MetricBatchCallback removeCallback(String key) {
+        if (key == null) {
+            return null;
+        }
+        return callbackMap.remove(key);
+    }
+
+    public static void clearCallback() {
+        callbackMap.clear();
+    }
+
+    public static Collection<MetricBatchCallback> getCallbacks() {
+        return callbackMap.values();
+    }
+
+    private MetricBatchCallbackRegistry() {}
+}
@@ -20,6 +20,7 @@ import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
@@ -34,6 +35,7 @@ import com.alibaba.csp.sentinel.config.SentinelConfig;
 public class MetricSearcher {
 
     private static final Charset defaultCharset = Charset.forName(SentinelConfig.charset());
+    private static final String CURSOR_SEPARATOR = "@";
     private final MetricsReader metricsReader;
 
     private String baseDir;
@@ -140,6 +142,75 @@ public class MetricSearcher {
         return null;
     }
 
+    /**
+     * <p>Incrementally find metrics between [beginTimeMs, endTimeMs], both side inclusive.</p>
+     * <p>
+     * The cursor returned by the previous search denotes where the metric files have been read to,
+     * so records are read sequentially from there without looking up the index files again.
+     * If the cursor is absent or no longer valid (e.g. the metric file has been removed), the start
+     * position will be located by {@code beginTimeMs} via the index files.
+     * </p>
+     *
+     * @param cursor      cursor returned by the previous search, may be null
+     * @param beginTimeMs the min timestamp of the metrics
+     * @param endTimeMs   the max timestamp of the metrics
+     * @param identity    resource name, metrics of all resources will be read if null
+     * @return the metrics found and the cursor for the next search
+     * @since 1.8.2
+     */
+    public synchronized MetricCursorResult findByCursor(String cursor, long beginTimeMs, long endTimeMs,
+                                                        String identity) throws Exception {
+        List<MetricNode> list = new ArrayList<MetricNode>();
+        List<String> fileNames = MetricWriter.listMetricFiles(baseDir, baseFileName);
+        if (fileNames.isEmpty()) {
+            return new MetricCursorResult(list, null);
+        }
+        int i = -1;
+        long offset = 0;
+        int idx = cursor == null ? -1 : cursor.indexOf(CURSOR_SEPARATOR);
+        if (idx > 0) {
+            try {
+                offset = Long.parseLong(cursor.substring(0, idx));
+                i = indexOfFile(fileNames, cursor.substring(idx + 1));
+            } catch (NumberFormatException ignore) {
+            }
+            if (i != -1 && (offset < 0 || offset > new File(fileNames.get(i)).length())) {
+                i = -1;
+            }
+        }
+        if (i == -1) {
+            for (i = 0; i < fileNames.size(); i++) {
+                String fileName = fileNames.get(i);
+                offset = findOffset(beginTimeMs, fileName, MetricWriter.formIndexFileName(fileName), 0);
+                if (offset != -1) {
+                    break;
+                }
+            }
+            if (i == fileNames.size()) {
+                // Nothing after beginTimeMs yet, so resume from the end of the latest file.
+                i = fileNames.size() - 1;
+                offset = new File(fileNames.get(i)).length();
+            }
+        }
+        long[] position = new long[] {offset};
+        // Files before the latest one won't change any more, so move on to the next file once finished.
+        while (metricsReader.readMetricsInOneFileFromOffset(list, fileNames.get(i), position, beginTimeMs,
+            endTimeMs, identity) && i < fileNames.size() - 1) {
+            i++;
+            position[0] = 0;
+        }
+        return new MetricCursorResult(list, position[0] + CURSOR_SEPARATOR + new File(fileNames.get(i)).getName());
+    }
+
+    private static int indexOfFile(List<String> fileNames, String name) {
+        for (int i = 0; i < fileNames.size(); i++) {
+            if (new File(fileNames.get(i)).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * 记录上一次读取的index文件位置和数值
      */
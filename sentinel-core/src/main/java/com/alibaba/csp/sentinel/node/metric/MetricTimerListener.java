@@ -15,17 +15,13 @@
  */
 package com.alibaba.csp.sentinel.node.metric;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.TreeMap;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.node.ClusterNode;
-import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.slots.clusterbuilder.ClusterBuilderSlot;
 
 /**
@@ -36,36 +32,44 @@ public class MetricTimerListener implements Runnable {
     private static final MetricWriter metricWriter = new MetricWriter(SentinelConfig.singleMetricFileSize(),
         SentinelConfig.totalMetricFileCount());
 
+    /**
+     * Reused on every tick, as the listener runs in a single-thread scheduler.
+     */
+    private final MetricBatch batch = new MetricBatch(1024);
+
     @Override
     public void run() {
-        Map<Long, List<MetricNode>> maps = new TreeMap<>();
-        for (Entry<ResourceWrapper, ClusterNode> e : ClusterBuilderSlot.getClusterNodeMap().entrySet()) {
-            ClusterNode node = e.getValue();
-            Map<Long, MetricNode> metrics = node.metrics();
-            aggregate(maps, metrics, node);
+        batch.clear();
+        for (ClusterNode node : ClusterBuilderSlot.getClusterNodeMap().values()) {
+            node.appendMetrics(batch, node.getName(), node.getResourceType());
+        }
+        ClusterNode entryNode = Constants.ENTRY_NODE;
+        entryNode.appendMetrics(batch, entryNode.getName(), entryNode.getResourceType());
+        if (batch.isEmpty()) {
+            return;
         }
-        aggregate(maps, Constants.ENTRY_NODE.metrics(), Constants.ENTRY_NODE);
-        if (!maps.isEmpty()) {
-            for (Entry<Long, List<MetricNode>> entry : maps.entrySet()) {
+        int count = batch.sortTimestamps();
+        for (int i = 0; i < count; i++) {
+            long time = batch.getSortedTimestamp(i);
+            try {
+                metricWriter.write(time, batch);
+            } catch (Exception e) {
+                RecordLog.warn("[MetricTimerListener] Write metric error", e);
+            }
+            Collection<MetricBatchCallback> callbacks = MetricBatchCallbackRegistry.getCallbacks();
+            if (callbacks.isEmpty()) {
+                continue;
+            }
+            // Metric nodes are only generated when there are callbacks.
+            List<MetricNode> nodes = batch.toMetricNodes(time);
+            for (MetricBatchCallback callback : callbacks) {
                 try {
-                    metricWriter.write(entry.getKey(), entry.getValue());
-                } catch (Exception e) {
-                    RecordLog.warn("[MetricTimerListener] Write metric error", e);
+                    callback.onBatch(time, nodes);
+                } catch (Throwable e) {
+                    RecordLog.warn("[MetricTimerListener] Metric batch callback error", e);
                 }
             }
         }
+        batch.clear();
     }
-
-    private void aggregate(Map<Long, List<MetricNode>> maps, Map<Long, MetricNode> metrics, ClusterNode node) {
-        for (Entry<Long, MetricNode> entry : metrics.entrySet()) {
-            long time = entry.getKey();
-            MetricNode metricNode = entry.getValue();
-            metricNode.setResource(node.getName());
-            metricNode.setClassification(node.getResourceType());
-            maps.computeIfAbsent(time, k -> new ArrayList<MetricNode>());
-            List<MetricNode> nodes = maps.get(time);
-            nodes.add(entry.getValue());
-        }
-    }
-
 }
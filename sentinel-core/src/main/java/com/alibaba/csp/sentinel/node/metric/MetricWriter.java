@@ -22,10 +22,13 @@ import java.io.FileOutputStream;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alibaba.csp.sentinel.log.LogBase;
 import com.alibaba.csp.sentinel.util.PidUtil;
@@ -84,6 +87,16 @@ public class MetricWriter {
      */
     private long lastSecond = -1;
 
+    private static final int MAX_RESOURCE_BYTES_CACHE_SIZE = 20000;
+    /**
+     * Encoded legal names of resources, for writing {@link MetricBatch}.
+     */
+    private final Map<String, byte[]> resourceBytesCache = new HashMap<String, byte[]>();
+    private long cachedDateTime = -1;
+    private byte[] cachedDateBytes;
+    private byte[] lineBuf = new byte[256];
+    private int lineLength;
+
     public MetricWriter(long singleFileSize) {
         this(singleFileSize, 6);
     }
@@ -124,7 +137,68 @@ public class MetricWriter {
         for (MetricNode node : nodes) {
             node.setTimestamp(time);
         }
+        if (!prepareWrite(time)) {
+            return;
+        }
+        for (MetricNode node : nodes) {
+            outMetricBuf.write(node.toFatString().getBytes(CHARSET));
+        }
+        finishWrite(time);
+    }
+
+    /**
+     * Write the rows of the given timestamp in the batch, in the same format as {@link MetricNode#toFatString()}.
+     * Rows are serialized into a reused buffer, without creating intermediate strings.
+     *
+     * @param time  timestamp of the rows to write
+     * @param batch metric batch
+     * @since 1.8.2
+     */
+    public synchronized void write(long time, MetricBatch batch) throws Exception {
+        if (batch == null) {
+            return;
+        }
+        if (!prepareWrite(time)) {
+            return;
+        }
+        byte[] dateBytes = dateBytes(time);
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.getTimestamp(i) != time) {
+                continue;
+            }
+            lineLength = 0;
+            appendLong(time);
+            appendByte('|');
+            appendBytes(dateBytes);
+            appendByte('|');
+            appendBytes(resourceBytes(batch.getResource(i)));
+            appendByte('|');
+            appendLong(batch.getPassQps(i));
+            appendByte('|');
+            appendLong(batch.getBlockQps(i));
+            appendByte('|');
+            appendLong(batch.getSuccessQps(i));
+            appendByte('|');
+            appendLong(batch.getExceptionQps(i));
+            appendByte('|');
+            appendLong(batch.getRt(i));
+            appendByte('|');
+            appendLong(batch.getOccupiedPassQps(i));
+            appendByte('|');
+            // Concurrency is not recorded in second-level metrics.
+            appendLong(0);
+            appendByte('|');
+            appendLong(batch.getClassification(i));
+            appendByte('\n');
+            outMetricBuf.write(lineBuf, 0, lineLength);
+        }
+        finishWrite(time);
+    }
 
+    /**
+     * @return false if the metrics of the given time should be ignored
+     */
+    private boolean prepareWrite(long time) throws Exception {
         String appName = SentinelConfig.getAppName();
         if (appName == null) {
             appName = "";
@@ -141,36 +215,84 @@ public class MetricWriter {
         long second = time / 1000;
         if (second < lastSecond) {
             // 时间靠前的直接忽略，不应该发生。
-        } else if (second == lastSecond) {
-            for (MetricNode node : nodes) {
-                outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-            }
-            outMetricBuf.flush();
-            if (!validSize()) {
-                closeAndNewFile(nextFileNameOfDay(time));
-            }
-        } else {
+            return false;
+        }
+        if (second > lastSecond) {
             writeIndex(second, outMetric.getChannel().position());
             if (isNewDay(lastSecond, second)) {
                 closeAndNewFile(nextFileNameOfDay(time));
-                for (MetricNode node : nodes) {
-                    outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-                }
-                outMetricBuf.flush();
-                if (!validSize()) {
-                    closeAndNewFile(nextFileNameOfDay(time));
-                }
-            } else {
-                for (MetricNode node : nodes) {
-                    outMetricBuf.write(node.toFatString().getBytes(CHARSET));
-                }
-                outMetricBuf.flush();
-                if (!validSize()) {
-                    closeAndNewFile(nextFileNameOfDay(time));
-                }
             }
             lastSecond = second;
         }
+        return true;
+    }
+
+    private void finishWrite(long time) throws Exception {
+        outMetricBuf.flush();
+        if (!validSize()) {
+            closeAndNewFile(nextFileNameOfDay(time));
+        }
+    }
+
+    private byte[] dateBytes(long time) throws Exception {
+        if (time != cachedDateTime) {
+            cachedDateBytes = df.format(new Date(time)).getBytes(CHARSET);
+            cachedDateTime = time;
+        }
+        return cachedDateBytes;
+    }
+
+    private byte[] resourceBytes(String resource) throws Exception {
+        byte[] bytes = resourceBytesCache.get(resource);
+        if (bytes == null) {
+            if (resourceBytesCache.size() >= MAX_RESOURCE_BYTES_CACHE_SIZE) {
+                resourceBytesCache.clear();
+            }
+            bytes = resource.replaceAll("\\|", "_").getBytes(CHARSET);
+            resourceBytesCache.put(resource, bytes);
+        }
+        return bytes;
+    }
+
+    private void ensureLineCapacity(int extra) {
+        if (lineLength + extra > lineBuf.length) {
+            lineBuf = Arrays.copyOf(lineBuf, Math.max(lineBuf.length << 1, lineLength + extra));
+        }
+    }
+
+    private void appendByte(char c) {
+        ensureLineCapacity(1);
+        lineBuf[lineLength++] = (byte)c;
+    }
+
+    private void appendBytes(byte[] bytes) {
+        ensureLineCapacity(bytes.length);
+        System.arraycopy(bytes, 0, lineBuf, lineLength, bytes.length);
+        lineLength += bytes.length;
+    }
+
+    private void appendLong(long value) {
+        // Long.MIN_VALUE has 20 characters including the sign.
+        ensureLineCapacity(20);
+        if (value == Long.MIN_VALUE) {
+            appendBytes(String.valueOf(value).getBytes());
+            return;
+        }
+        if (value < 0) {
+            lineBuf[lineLength++] = '-';
+            value = -value;
+        }
+        int start = lineLength;
+        do {
+            lineBuf[lineLength++] = (byte)('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        // Digits are generated in reverse order.
+        for (int i = start, j = lineLength - 1; i < j; i++, j--) {
+            byte tmp = lineBuf[i];
+            lineBuf[i] = lineBuf[j];
+            lineBuf[j] = tmp;
+        }
     }
 
     public synchronized void close() throws Exception {
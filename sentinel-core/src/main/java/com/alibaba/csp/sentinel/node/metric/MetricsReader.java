@@ -15,7 +15,9 @@
  */
 package com.alibaba.csp.sentinel.node.metric;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
@@ -80,6 +82,52 @@ class MetricsReader {
         return true;
     }
 
+    /**
+     * Read metrics of [beginTimeMs, endTimeMs] from the given byte offset, record by record. Only complete
+     * lines are consumed, so a line that is being written will be read by the next call.
+     *
+     * @param offset holds the offset to read from, and will be updated to the offset right after
+     *               the last consumed line
+     * @return if reached the end of the file and should continue read, return true, else false.
+     */
+    boolean readMetricsInOneFileFromOffset(List<MetricNode> list, String fileName, long[] offset,
+                                           long beginTimeMs, long endTimeMs, String identity) throws Exception {
+        long beginSecond = beginTimeMs / 1000;
+        long endSecond = endTimeMs / 1000;
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(fileName);
+            in.getChannel().position(offset[0]);
+            BufferedInputStream input = new BufferedInputStream(in, 8192);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            int b;
+            while ((b = input.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                MetricNode node = MetricNode.fromFatString(new String(line.toByteArray(), charset));
+                long currentSecond = node.getTimestamp() / 1000;
+                if (currentSecond > endSecond) {
+                    return false;
+                }
+                offset[0] += line.size() + 1;
+                line.reset();
+                if (currentSecond >= beginSecond && (identity == null || node.getResource().equals(identity))) {
+                    list.add(node);
+                    if (list.size() >= MAX_LINES_RETURN) {
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            if (in != null) {
+                in.close();
+            }
+        }
+        return true;
+    }
+
     void readMetricsInOneFile(List<MetricNode> list, String fileName,
                               long offset, int recommendLines) throws Exception {
         //if(list.size() >= recommendLines){
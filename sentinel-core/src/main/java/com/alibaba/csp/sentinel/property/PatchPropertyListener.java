@@ -0,0 +1,40 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.property;
+
+import java.util.List;
+
+/**
+ * <p>A {@link PropertyListener} of {@link PatchableSentinelProperty}, which can apply the changed entries
+ * of a delta patch incrementally instead of rebuilding from the whole value.</p>
+ * <p>
+ * Snapshots and full updates are still informed via {@link #configUpdate(Object)}.
+ * </p>
+ *
+ * @param <V> type of the entries
+ * @since 1.8.2
+ */
+public interface PatchPropertyListener<V> extends PropertyListener<List<V>> {
+
+    /**
+     * Callback method when a delta patch has changed the value.
+     *
+     * @param value    the whole value after the patch is applied
+     * @param upserted the new entries, including the replacements of existing entries
+     * @param removed  the old entries that have been deleted or replaced
+     */
+    void configPatch(List<V> value, List<V> upserted, List<V> removed);
+}
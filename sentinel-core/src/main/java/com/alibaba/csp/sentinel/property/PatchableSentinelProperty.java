@@ -0,0 +1,157 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.property;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>A {@link SentinelProperty} of a list value (e.g. rules) that can be updated by versioned patches
+ * (see {@link PropertyPatch}), so a change of a few entries does not need the whole value to be resent,
+ * parsed and compared.</p>
+ * <p>
+ * A delta patch is only applied if its base version is the current version. Otherwise the patch is rejected,
+ * and the caller should fall back to a snapshot. Listeners implementing {@link PatchPropertyListener}
+ * are informed of the changed entries of delta patches, and other listeners are informed of the whole value.
+ * </p>
+ * <p>
+ * The value can still be updated via {@link #updateValue(Object)}, which leaves the version unknown,
+ * so the following delta patches will be rejected until a snapshot is applied.
+ * </p>
+ *
+ * @param <V> type of the entries
+ * @since 1.8.2
+ */
+public class PatchableSentinelProperty<V> extends DynamicSentinelProperty<List<V>> {
+
+    public static final long UNKNOWN_VERSION = -1;
+
+    private final Map<String, V> entries = new LinkedHashMap<>();
+    private List<V> value = null;
+    private long version = UNKNOWN_VERSION;
+
+    @Override
+    public synchronized void addListener(PropertyListener<List<V>> listener) {
+        listeners.add(listener);
+        listener.configLoad(value);
+    }
+
+    @Override
+    public synchronized boolean updateValue(List<V> newValue) {
+        version = UNKNOWN_VERSION;
+        if (value == null ? newValue == null : value.equals(newValue)) {
+            return false;
+        }
+        entries.clear();
+        if (newValue != null) {
+            // Entries without ids are keyed by their position, which is never used by patches.
+            for (int i = 0; i < newValue.size(); i++) {
+                entries.put("#" + i, newValue.get(i));
+            }
+        }
+        RecordLog.info("[PatchableSentinelProperty] Config will be updated to: {}", newValue);
+        value = newValue;
+        for (PropertyListener<List<V>> listener : listeners) {
+            listener.configUpdate(newValue);
+        }
+        return true;
+    }
+
+    /**
+     * Apply the patch to the value.
+     *
+     * @param patch the patch
+     * @return false if the patch is a delta patch that is not based on the current version, otherwise true
+     */
+    public synchronized boolean applyPatch(PropertyPatch<V> patch) {
+        if (patch == null) {
+            throw new IllegalArgumentException("patch can't be null");
+        }
+        if (patch.isSnapshot()) {
+            applySnapshot(patch);
+            return true;
+        }
+        if (version == UNKNOWN_VERSION || patch.getBaseVersion() != version) {
+            RecordLog.warn("[PatchableSentinelProperty] Patch rejected due to version gap, current version: {}, "
+                + "patch: {}", version, patch);
+            return false;
+        }
+        List<V> upserted = new ArrayList<>();
+        List<V> removed = new ArrayList<>();
+        for (String id : patch.getDeletes()) {
+            V old = entries.remove(id);
+            if (old != null) {
+                removed.add(old);
+            }
+        }
+        for (Map.Entry<String, V> e : patch.getUpserts().entrySet()) {
+            V newEntry = e.getValue();
+            V old = entries.put(e.getKey(), newEntry);
+            if (newEntry.equals(old)) {
+                continue;
+            }
+            if (old != null) {
+                removed.add(old);
+            }
+            upserted.add(newEntry);
+        }
+        version = patch.getVersion();
+        if (upserted.isEmpty() && removed.isEmpty()) {
+            return true;
+        }
+        RecordLog.info("[PatchableSentinelProperty] Patch applied: {}, upserted: {}, removed: {}",
+            patch, upserted, removed);
+        value = new ArrayList<>(entries.values());
+        for (PropertyListener<List<V>> listener : listeners) {
+            if (listener instanceof PatchPropertyListener) {
+                ((PatchPropertyListener<V>)listener).configPatch(value, upserted, removed);
+            } else {
+                listener.configUpdate(value);
+            }
+        }
+        return true;
+    }
+
+    private void applySnapshot(PropertyPatch<V> patch) {
+        version = patch.getVersion();
+        Map<String, V> upserts = patch.getUpserts();
+        if (entries.equals(upserts)) {
+            return;
+        }
+        entries.clear();
+        entries.putAll(upserts);
+        value = new ArrayList<>(entries.values());
+        RecordLog.info("[PatchableSentinelProperty] Snapshot applied: {}", patch);
+        for (PropertyListener<List<V>> listener : listeners) {
+            listener.configUpdate(value);
+        }
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the current value
+     */
+    public synchronized List<V> getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.property;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>A versioned patch of a list value (e.g. rules) keyed by id, which is applied by
+ * {@link PatchableSentinelProperty}.</p>
+ * <p>
+ * A delta patch upserts and deletes entries by id, and can only be applied to the value of its base version.
+ * A snapshot patch carries all the entries and replaces the whole value, regardless of the current version.
+ * </p>
+ *
+ * @param <V> type of the entries
+ * @since 1.8.2
+ */
+public final class PropertyPatch<V> {
+
+    private final boolean snapshot;
+    private final long baseVersion;
+    private final long version;
+    private final Map<String, V> upserts = new LinkedHashMap<>();
+    private final Set<String> deletes = new LinkedHashSet<>();
+
+    private PropertyPatch(boolean snapshot, long baseVersion, long version) {
+        this.snapshot = snapshot;
+        this.baseVersion = baseVersion;
+        this.version = version;
+    }
+
+    /**
+     * Create a snapshot patch, of which the entries should be added via {@link #upsert(String, Object)}.
+     *
+     * @param version version of the snapshot
+     * @param <V>     type of the entries
+     * @return a new snapshot patch
+     */
+    public static <V> PropertyPatch<V> snapshot(long version) {
+        return new PropertyPatch<>(true, PatchableSentinelProperty.UNKNOWN_VERSION, version);
+    }
+
+    /**
+     * Create a delta patch, which applies to the value of {@code baseVersion} and results in {@code version}.
+     *
+     * @param baseVersion the version that the patch applies to
+     * @param version     the version after the patch is applied
+     * @param <V>         type of the entries
+     * @return a new delta patch
+     */
+    public static <V> PropertyPatch<V> delta(long baseVersion, long version) {
+        return new PropertyPatch<>(false, baseVersion, version);
+    }
+
+    public PropertyPatch<V> upsert(String id, V value) {
+        if (id == null || value == null) {
+            throw new IllegalArgumentException("id and value can't be null");
+        }
+        deletes.remove(id);
+        upserts.put(id, value);
+        return this;
+    }
+
+    public PropertyPatch<V> delete(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id can't be null");
+        }
+        if (snapshot) {
+            throw new IllegalStateException("Snapshot patch can't contain deletes");
+        }
+        upserts.remove(id);
+        deletes.add(id);
+        return this;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, V> getUpserts() {
+        return Collections.unmodifiableMap(upserts);
+    }
+
+    public Set<String> getDeletes() {
+        return Collections.unmodifiableSet(deletes);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyPatch{" +
+            "snapshot=" + snapshot +
+            ", baseVersion=" + baseVersion +
+            ", version=" + version +
+            ", upserts=" + upserts.size() +
+            ", deletes=" + deletes.size() +
+            '}';
+    }
+}
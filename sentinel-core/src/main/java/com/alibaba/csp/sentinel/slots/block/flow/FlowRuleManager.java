@@ -17,8 +17,10 @@ package com.alibaba.csp.sentinel.slots.block.flow;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -30,8 +32,10 @@ import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import com.alibaba.csp.sentinel.node.metric.MetricTimerListener;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
-import com.alibaba.csp.sentinel.property.PropertyListener;
+import com.alibaba.csp.sentinel.property.PatchPropertyListener;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.nodeselector.NodeSelectorSlot;
 
 /**
  * <p>
@@ -146,13 +150,14 @@ public class FlowRuleManager {
         return true;
     }
 
-    private static final class FlowPropertyListener implements PropertyListener<List<FlowRule>> {
+    private static final class FlowPropertyListener implements PatchPropertyListener<FlowRule> {
 
         @Override
         public synchronized void configUpdate(List<FlowRule> value) {
             Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(value);
             if (rules != null) {
                 flowRules = rules;
+                updateChainContexts(rules);
             }
             RecordLog.info("[FlowRuleManager] Flow rules received: {}", rules);
         }
@@ -162,9 +167,58 @@ public class FlowRuleManager {
             Map<String, List<FlowRule>> rules = FlowRuleUtil.buildFlowRuleMap(conf);
             if (rules != null) {
                 flowRules = rules;
+                updateChainContexts(rules);
             }
             RecordLog.info("[FlowRuleManager] Flow rules loaded: {}", rules);
         }
+
+        @Override
+        public synchronized void configPatch(List<FlowRule> value, List<FlowRule> upserted,
+                                             List<FlowRule> removed) {
+            // Only rebuild the rules of the resources touched by the patch.
+            Set<String> resources = new HashSet<>();
+            collectResources(upserted, resources);
+            collectResources(removed, resources);
+            List<FlowRule> affectedRules = new ArrayList<>();
+            for (FlowRule rule : value) {
+                if (rule != null && resources.contains(rule.getResource())) {
+                    affectedRules.add(rule);
+                }
+            }
+            Map<String, List<FlowRule>> affected = FlowRuleUtil.buildFlowRuleMap(affectedRules);
+            Map<String, List<FlowRule>> rules = new HashMap<>(flowRules);
+            for (String resource : resources) {
+                List<FlowRule> resourceRules = affected.get(resource);
+                if (resourceRules == null) {
+                    rules.remove(resource);
+                } else {
+                    rules.put(resource, resourceRules);
+                }
+            }
+            flowRules = rules;
+            updateChainContexts(rules);
+            RecordLog.info("[FlowRuleManager] Flow rules patched for resources: {}", resources);
+        }
+
+        private static void updateChainContexts(Map<String, List<FlowRule>> rules) {
+            Set<String> contexts = new HashSet<>();
+            for (List<FlowRule> resourceRules : rules.values()) {
+                for (FlowRule rule : resourceRules) {
+                    if (rule.getStrategy() == RuleConstant.STRATEGY_CHAIN && StringUtil.isNotEmpty(rule.getRefResource())) {
+                        contexts.add(rule.getRefResource());
+                    }
+                }
+            }
+            NodeSelectorSlot.updateChainContexts(contexts);
+        }
+
+        private static void collectResources(List<FlowRule> rules, Set<String> resources) {
+            for (FlowRule rule : rules) {
+                if (rule != null && rule.getResource() != null) {
+                    resources.add(rule.getResource());
+                }
+            }
+        }
     }
 
 }
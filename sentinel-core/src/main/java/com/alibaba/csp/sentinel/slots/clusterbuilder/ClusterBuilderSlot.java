@@ -15,8 +15,9 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
@@ -62,14 +63,17 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
      * in this map.
      * </p>
      * <p>
-     * The longer the application runs, the more stable this mapping will
-     * become. so we don't concurrent map but a lock. as this lock only happens
-     * at the very beginning while concurrent map will hold the lock all the time.
+     * The longer the application runs, the more stable this mapping will become.
+     * Reads of the concurrent map never lock, and a cluster node is created under the
+     * lock of its own slot, so resources entered at the same time do not wait for each other.
      * </p>
      */
-    private static volatile Map<ResourceWrapper, ClusterNode> clusterNodeMap = new HashMap<>();
+    private static final Map<ResourceWrapper, ClusterNode> clusterNodeMap = new ConcurrentHashMap<>();
 
-    private static final Object lock = new Object();
+    /**
+     * A {@link ReentrantLock} rather than a monitor, so that creating the node does not pin virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
 
     private volatile ClusterNode clusterNode = null;
 
@@ -78,16 +82,16 @@ public class ClusterBuilderSlot extends AbstractLinkedProcessorSlot<DefaultNode>
                       boolean prioritized, Object... args)
         throws Throwable {
         if (clusterNode == null) {
-            synchronized (lock) {
+            lock.lock();
+            try {
                 if (clusterNode == null) {
                     // Create the cluster node.
-                    clusterNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
-                    HashMap<ResourceWrapper, ClusterNode> newMap = new HashMap<>(Math.max(clusterNodeMap.size(), 16));
-                    newMap.putAll(clusterNodeMap);
-                    newMap.put(node.getId(), clusterNode);
-
-                    clusterNodeMap = newMap;
+                    ClusterNode newNode = new ClusterNode(resourceWrapper.getName(), resourceWrapper.getResourceType());
+                    clusterNodeMap.put(node.getId(), newNode);
+                    clusterNode = newNode;
                 }
+            } finally {
+                lock.unlock();
             }
         }
         node.setClusterNode(clusterNode);
@@ -16,17 +16,24 @@
 package com.alibaba.csp.sentinel.slots.nodeselector;
 
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
+import com.alibaba.csp.sentinel.node.Node;
 import com.alibaba.csp.sentinel.slotchain.AbstractLinkedProcessorSlot;
 import com.alibaba.csp.sentinel.slotchain.ResourceWrapper;
 import com.alibaba.csp.sentinel.spi.Spi;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * </p>
@@ -116,6 +123,12 @@ import java.util.Map;
  * </p>
  *
  * <p>
+ * In lean mode (see {@link SentinelConfig#isStatisticLean()}), the {@link DefaultNode}s share the counters
+ * of the {@link ClusterNode}, unless the context is referenced by a flow rule of the chain strategy
+ * (see {@link #updateChainContexts(Set)}).
+ * </p>
+ *
+ * <p>
  * We can also check this structure by calling: <br/>
  * {@code curl http://localhost:8719/tree?type=root}
  * </p>
@@ -127,10 +140,18 @@ import java.util.Map;
 @Spi(isSingleton = false, order = Constants.ORDER_NODE_SELECTOR_SLOT)
 public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
 
+    /**
+     * Names of the contexts referenced by flow rules of the chain strategy, which need the statistics
+     * of their own {@link DefaultNode}s in lean mode.
+     */
+    private static volatile Set<String> chainContexts = Collections.emptySet();
+
     /**
      * {@link DefaultNode}s of the same resource in different context.
      */
-    private volatile Map<String, DefaultNode> map = new HashMap<String, DefaultNode>(10);
+    private final Map<String, DefaultNode> map = new ConcurrentHashMap<String, DefaultNode>(16);
+
+    private final ReentrantLock lock = new ReentrantLock();
 
     @Override
     public void entry(Context context, ResourceWrapper resourceWrapper, Object obj, int count, boolean prioritized, Object... args)
@@ -155,18 +176,18 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
          */
         DefaultNode node = map.get(context.getName());
         if (node == null) {
-            synchronized (this) {
+            lock.lock();
+            try {
                 node = map.get(context.getName());
                 if (node == null) {
                     node = new DefaultNode(resourceWrapper, null);
-                    HashMap<String, DefaultNode> cacheMap = new HashMap<String, DefaultNode>(map.size());
-                    cacheMap.putAll(map);
-                    cacheMap.put(context.getName(), node);
-                    map = cacheMap;
                     // Build invocation tree
                     ((DefaultNode) context.getLastNode()).addChild(node);
+                    initStatisticShared(node, context.getName());
+                    map.put(context.getName(), node);
                 }
-
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -178,4 +199,53 @@ public class NodeSelectorSlot extends AbstractLinkedProcessorSlot<Object> {
     public void exit(Context context, ResourceWrapper resourceWrapper, int count, Object... args) {
         fireExit(context, resourceWrapper, count, args);
     }
+
+    private static void initStatisticShared(DefaultNode node, String contextName) {
+        if (!SentinelConfig.isStatisticLean()) {
+            return;
+        }
+        // The node is already in the tree, so either the tree walk of a concurrent update
+        // or the check here sees the latest contexts.
+        Set<String> contexts;
+        do {
+            contexts = chainContexts;
+            node.setStatisticShared(!contexts.contains(contextName));
+        } while (contexts != chainContexts);
+    }
+
+    /**
+     * Update the names of the contexts referenced by flow rules of the chain strategy. In lean mode,
+     * the existing {@link DefaultNode}s of these contexts will keep their own statistics, while
+     * other {@link DefaultNode}s will share the counters of their {@link ClusterNode}s.
+     *
+     * @param contexts names of the contexts referenced by flow rules of the chain strategy
+     * @since 1.8.2
+     */
+    public static void updateChainContexts(Set<String> contexts) {
+        Set<String> newContexts = contexts == null || contexts.isEmpty()
+            ? Collections.<String>emptySet() : new HashSet<>(contexts);
+        if (newContexts.equals(chainContexts)) {
+            return;
+        }
+        chainContexts = newContexts;
+        if (!SentinelConfig.isStatisticLean()) {
+            return;
+        }
+        Set<DefaultNode> visited = Collections.newSetFromMap(new IdentityHashMap<DefaultNode, Boolean>());
+        for (Node entranceNode : Constants.ROOT.getChildList()) {
+            String contextName = ((DefaultNode) entranceNode).getId().getName();
+            updateStatisticShared((DefaultNode) entranceNode, !newContexts.contains(contextName), visited);
+        }
+    }
+
+    private static void updateStatisticShared(DefaultNode parent, boolean shared, Set<DefaultNode> visited) {
+        for (Node child : parent.getChildList()) {
+            DefaultNode node = (DefaultNode) child;
+            // A resource entered recursively is a child of itself.
+            if (visited.add(node)) {
+                node.setStatisticShared(shared);
+                updateStatisticShared(node, shared, visited);
+            }
+        }
+    }
 }
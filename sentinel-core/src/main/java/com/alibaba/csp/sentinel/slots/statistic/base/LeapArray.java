@@ -371,6 +371,18 @@ public abstract class LeapArray<T> {
         return getValidHead(TimeUtil.currentTimeMillis());
     }
 
+    /**
+     * Get the bucket at the given index of the array, which may be null or deprecated.
+     * It's useful for iterating the buckets without creating a list.
+     *
+     * @param index index of the bucket, in [0, sampleCount)
+     * @return the bucket at the given index
+     * @since 1.8.2
+     */
+    public WindowWrap<T> getWindowAt(int index) {
+        return array.get(index);
+    }
+
     /**
      * Get sample count (total amount of buckets).
      *
@@ -19,12 +19,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.metric.MetricBatch;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.LeapArray;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
 import com.alibaba.csp.sentinel.slots.statistic.metric.occupy.OccupiableBucketLeapArray;
+import com.alibaba.csp.sentinel.util.TimeUtil;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
 /**
@@ -187,6 +189,38 @@ public class ArrayMetric implements Metric {
         return details;
     }
 
+    @Override
+    public long appendDetails(MetricBatch batch, String resource, int classification, long fromTimeMs,
+                              long toTimeMs) {
+        long maxTime = fromTimeMs;
+        long now = TimeUtil.currentTimeMillis();
+        data.currentWindow(now);
+        for (int i = 0; i < data.getSampleCount(); i++) {
+            WindowWrap<MetricBucket> window = data.getWindowAt(i);
+            if (window == null || data.isWindowDeprecated(now, window)) {
+                continue;
+            }
+            long windowStart = window.windowStart();
+            if (windowStart <= fromTimeMs || windowStart >= toTimeMs) {
+                continue;
+            }
+            MetricBucket bucket = window.value();
+            long pass = bucket.pass();
+            long block = bucket.block();
+            long success = bucket.success();
+            long exception = bucket.exception();
+            long rt = bucket.rt();
+            long occupiedPass = bucket.occupiedPass();
+            if (pass <= 0 && block <= 0 && success <= 0 && exception <= 0 && rt <= 0 && occupiedPass <= 0) {
+                continue;
+            }
+            batch.add(resource, classification, windowStart, pass, block, success, exception,
+                success != 0 ? rt / success : rt, occupiedPass);
+            maxTime = Math.max(maxTime, windowStart);
+        }
+        return maxTime;
+    }
+
     private MetricNode fromBucket(WindowWrap<MetricBucket> wrap) {
         MetricNode node = new MetricNode();
         node.setBlockQps(wrap.value().block());
@@ -17,6 +17,7 @@ package com.alibaba.csp.sentinel.slots.statistic.metric;
 
 import java.util.List;
 
+import com.alibaba.csp.sentinel.node.metric.MetricBatch;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
 import com.alibaba.csp.sentinel.util.function.Predicate;
@@ -94,6 +95,43 @@ public interface Metric extends DebugSupport {
      */
     List<MetricNode> detailsOnCondition(Predicate<Long> timePredicate);
 
+    /**
+     * Append the non-empty buckets whose start time is in ({@code fromTimeMs}, {@code toTimeMs}) to the batch,
+     * without generating intermediate metric nodes.
+     * <p>
+     * The default implementation builds the rows from {@link #detailsOnCondition(Predicate)}, and should be
+     * overridden by implementations which can read the buckets directly.
+     * </p>
+     *
+     * @param batch          target batch
+     * @param resource       resource name of the rows
+     * @param classification resource classification of the rows
+     * @param fromTimeMs     exclusive lower bound of the bucket start time
+     * @param toTimeMs       exclusive upper bound of the bucket start time
+     * @return the max start time of the appended buckets, or {@code fromTimeMs} if none is appended
+     * @since 1.8.2
+     */
+    default long appendDetails(MetricBatch batch, String resource, int classification, final long fromTimeMs,
+                               final long toTimeMs) {
+        long maxTime = fromTimeMs;
+        List<MetricNode> nodes = detailsOnCondition(new Predicate<Long>() {
+            @Override
+            public boolean test(Long t) {
+                return t > fromTimeMs && t < toTimeMs;
+            }
+        });
+        for (MetricNode node : nodes) {
+            if (node.getPassQps() <= 0 && node.getBlockQps() <= 0 && node.getSuccessQps() <= 0
+                && node.getExceptionQps() <= 0 && node.getRt() <= 0 && node.getOccupiedPassQps() <= 0) {
+                continue;
+            }
+            batch.add(resource, classification, node.getTimestamp(), node.getPassQps(), node.getBlockQps(),
+                node.getSuccessQps(), node.getExceptionQps(), node.getRt(), node.getOccupiedPassQps());
+            maxTime = Math.max(maxTime, node.getTimestamp());
+        }
+        return maxTime;
+    }
+
     /**
      * Get the raw window array.
      *
@@ -0,0 +1,259 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+/**
+ * <p>Reads the CPU and memory metrics of the current container from the cgroup file system,
+ * supporting both cgroup v1 and v2.</p>
+ * <p>
+ * All the counters are cumulative, and the caller should calculate the rates between two samples.
+ * The values that are not available are returned as {@code -1}.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class CgroupMetrics {
+
+    static final String DEFAULT_CGROUP_ROOT = "/sys/fs/cgroup";
+    static final String DEFAULT_PROC_SELF_CGROUP = "/proc/self/cgroup";
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private final boolean v2;
+    /**
+     * Directory of the cpu and cpuacct controllers (the same directory in cgroup v2).
+     */
+    private final File cpuDir;
+    private final File cpuAcctDir;
+    /**
+     * Directory of the memory controller. Memory pressure (PSI) is only available in cgroup v2.
+     */
+    private final File memoryDir;
+
+    private CgroupMetrics(boolean v2, File cpuDir, File cpuAcctDir, File memoryDir) {
+        this.v2 = v2;
+        this.cpuDir = cpuDir;
+        this.cpuAcctDir = cpuAcctDir;
+        this.memoryDir = memoryDir;
+    }
+
+    /**
+     * Detect the cgroup of the current process.
+     *
+     * @return the cgroup metrics reader, or null if cgroup is not available (e.g. not on Linux)
+     */
+    static CgroupMetrics detect() {
+        return detect(DEFAULT_CGROUP_ROOT, DEFAULT_PROC_SELF_CGROUP);
+    }
+
+    static CgroupMetrics detect(String cgroupRoot, String procSelfCgroup) {
+        try {
+            File root = new File(cgroupRoot);
+            File selfCgroup = new File(procSelfCgroup);
+            if (!root.isDirectory() || !selfCgroup.isFile()) {
+                return null;
+            }
+            String v1CpuPath = null;
+            String v1CpuAcctPath = null;
+            String v1MemoryPath = null;
+            String v2Path = null;
+            // Each line is like "hierarchy-ID:controller-list:cgroup-path".
+            for (String line : readString(selfCgroup).split("\n")) {
+                String[] parts = line.trim().split(":", 3);
+                if (parts.length < 3) {
+                    continue;
+                }
+                if ("0".equals(parts[0]) && parts[1].isEmpty()) {
+                    v2Path = parts[2];
+                    continue;
+                }
+                for (String controller : parts[1].split(",")) {
+                    if ("cpu".equals(controller)) {
+                        v1CpuPath = parts[2];
+                    } else if ("cpuacct".equals(controller)) {
+                        v1CpuAcctPath = parts[2];
+                    } else if ("memory".equals(controller)) {
+                        v1MemoryPath = parts[2];
+                    }
+                }
+            }
+
+            if (v1CpuAcctPath != null) {
+                File cpuAcctDir = resolveV1Dir(root, "cpuacct", v1CpuAcctPath, "cpuacct.usage");
+                if (cpuAcctDir != null) {
+                    File cpuDir = v1CpuPath == null ? null : resolveV1Dir(root, "cpu", v1CpuPath, "cpu.cfs_quota_us");
+                    File memoryDir = v1MemoryPath == null ? null
+                        : resolveV1Dir(root, "memory", v1MemoryPath, "memory.usage_in_bytes");
+                    return new CgroupMetrics(false, cpuDir, cpuAcctDir, memoryDir);
+                }
+            }
+            if (v2Path != null && new File(root, "cgroup.controllers").isFile()) {
+                File dir = resolveDir(root, v2Path, "cpu.stat");
+                if (dir != null) {
+                    return new CgroupMetrics(true, dir, dir, dir);
+                }
+            }
+        } catch (Throwable ex) {
+            // Cgroup is not available, ignore.
+        }
+        return null;
+    }
+
+    private static File resolveV1Dir(File root, String controller, String path, String probeFile) {
+        // The controllers may be co-mounted, e.g. "/sys/fs/cgroup/cpu,cpuacct".
+        File mount = new File(root, controller);
+        if (!mount.isDirectory()) {
+            mount = new File(root, "cpu".equals(controller) || "cpuacct".equals(controller)
+                ? "cpu,cpuacct" : controller);
+        }
+        return mount.isDirectory() ? resolveDir(mount, path, probeFile) : null;
+    }
+
+    private static File resolveDir(File mount, String path, String probeFile) {
+        // In containers with cgroup namespace, the cgroup of the process is mounted as the root.
+        File dir = new File(mount, path);
+        if (new File(dir, probeFile).isFile()) {
+            return dir;
+        }
+        return new File(mount, probeFile).isFile() ? mount : null;
+    }
+
+    boolean isV2() {
+        return v2;
+    }
+
+    /**
+     * @return total CPU time consumed by the cgroup in nanoseconds
+     */
+    long readCpuUsageNanos() throws IOException {
+        if (v2) {
+            long usage = readStatValue(new File(cpuDir, "cpu.stat"), "usage_usec");
+            return usage < 0 ? -1 : usage * NANOS_PER_MICRO;
+        }
+        return Long.parseLong(readString(new File(cpuAcctDir, "cpuacct.usage")).trim());
+    }
+
+    /**
+     * @return total time the cgroup has been throttled by the CPU quota in nanoseconds
+     */
+    long readThrottledNanos() throws IOException {
+        if (cpuDir == null) {
+            return -1;
+        }
+        File stat = new File(cpuDir, "cpu.stat");
+        if (!stat.isFile()) {
+            return -1;
+        }
+        if (v2) {
+            long throttled = readStatValue(stat, "throttled_usec");
+            return throttled < 0 ? -1 : throttled * NANOS_PER_MICRO;
+        }
+        return readStatValue(stat, "throttled_time");
+    }
+
+    /**
+     * @return the CPU limit of the cgroup in number of cores, or the available processors if there's no quota
+     */
+    double readCpuLimit() throws IOException {
+        long quota = -1;
+        long period = -1;
+        if (cpuDir != null) {
+            if (v2) {
+                File max = new File(cpuDir, "cpu.max");
+                if (max.isFile()) {
+                    // Formatted as "$MAX $PERIOD", and "max" means no limit.
+                    String[] parts = readString(max).trim().split("\\s+");
+                    if (parts.length == 2 && !"max".equals(parts[0])) {
+                        quota = Long.parseLong(parts[0]);
+                        period = Long.parseLong(parts[1]);
+                    }
+                }
+            } else {
+                File quotaFile = new File(cpuDir, "cpu.cfs_quota_us");
+                File periodFile = new File(cpuDir, "cpu.cfs_period_us");
+                if (quotaFile.isFile() && periodFile.isFile()) {
+                    quota = Long.parseLong(readString(quotaFile).trim());
+                    period = Long.parseLong(readString(periodFile).trim());
+                }
+            }
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (quota > 0 && period > 0) {
+            return Math.min((double)quota / period, processors);
+        }
+        return processors;
+    }
+
+    /**
+     * @return total time in microseconds that some tasks of the cgroup are stalled waiting for CPU (PSI)
+     */
+    long readCpuPressureStallMicros() throws IOException {
+        return v2 ? readPressureTotal(new File(cpuDir, "cpu.pressure")) : -1;
+    }
+
+    /**
+     * @return total time in microseconds that some tasks of the cgroup are stalled waiting for memory (PSI)
+     */
+    long readMemoryPressureStallMicros() throws IOException {
+        return v2 && memoryDir != null ? readPressureTotal(new File(memoryDir, "memory.pressure")) : -1;
+    }
+
+    private static long readPressureTotal(File file) throws IOException {
+        if (!file.isFile()) {
+            return -1;
+        }
+        // Formatted as "some avg10=0.00 avg60=0.00 avg300=0.00 total=0".
+        for (String line : readString(file).split("\n")) {
+            if (line.startsWith("some ")) {
+                int index = line.indexOf("total=");
+                if (index >= 0) {
+                    return Long.parseLong(line.substring(index + "total=".length()).trim());
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static long readStatValue(File file, String key) throws IOException {
+        // Formatted as "key value" per line.
+        for (String line : readString(file).split("\n")) {
+            if (line.startsWith(key) && line.length() > key.length() && line.charAt(key.length()) == ' ') {
+                return Long.parseLong(line.substring(key.length() + 1).trim());
+            }
+        }
+        return -1;
+    }
+
+    private static String readString(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), CHARSET);
+    }
+
+    @Override
+    public String toString() {
+        return "CgroupMetrics{" +
+            "version=" + (v2 ? "v2" : "v1") +
+            ", cpuDir=" + cpuDir +
+            ", cpuAcctDir=" + cpuAcctDir +
+            ", memoryDir=" + memoryDir +
+            '}';
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>A {@link SystemStatusListener} that reads the CPU usage of the container from cgroup
+ * (see {@link CgroupMetrics}) rather than JMX, which could be sampled at a sub-second rate.</p>
+ * <p>
+ * The CPU usage is the CPU time consumed by the container divided by its CPU limit (the CPU quota, or all
+ * available processors). The system load is the CPU demand of the container in number of cores: the busy
+ * cores plus the cores waiting for CPU (throttled by the quota, or stalled as reported by PSI).
+ * Unlike the load average of the host, it only reflects the container. Both are smoothed
+ * with an exponentially weighted moving average.
+ * </p>
+ * <p>
+ * When cgroup metrics fail to read, the listener falls back to JMX.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class CgroupSystemStatusListener extends SystemStatusListener {
+
+    /**
+     * Time constant of the EWMA, so the smoothing doesn't depend on the sampling interval.
+     */
+    static final double EWMA_TIME_CONSTANT_MS = 1000;
+
+    private final CgroupMetrics metrics;
+
+    private long lastSampleNanos = -1;
+    private long lastCpuUsageNanos;
+    private long lastThrottledNanos;
+    private long lastCpuStallMicros;
+    private long lastMemoryStallMicros;
+
+    volatile double cpuPressure = -1;
+    volatile double memoryPressure = -1;
+
+    private boolean fallbackLogged = false;
+
+    CgroupSystemStatusListener(CgroupMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Create the listener reading metrics from cgroup of the current process.
+     *
+     * @return the listener, or null if cgroup is not available
+     */
+    public static CgroupSystemStatusListener create() {
+        CgroupMetrics metrics = CgroupMetrics.detect();
+        return metrics == null ? null : new CgroupSystemStatusListener(metrics);
+    }
+
+    @Override
+    public void run() {
+        try {
+            sample(System.nanoTime());
+        } catch (Throwable e) {
+            if (!fallbackLogged) {
+                RecordLog.warn("[CgroupSystemStatusListener] Failed to read cgroup metrics, fallback to JMX", e);
+                fallbackLogged = true;
+            }
+            lastSampleNanos = -1;
+            super.run();
+        }
+    }
+
+    void sample(long nowNanos) throws Exception {
+        long cpuUsageNanos = metrics.readCpuUsageNanos();
+        if (cpuUsageNanos < 0) {
+            throw new IllegalStateException("CPU usage is unavailable in cgroup: " + metrics);
+        }
+        long throttledNanos = metrics.readThrottledNanos();
+        long cpuStallMicros = metrics.readCpuPressureStallMicros();
+        long memoryStallMicros = metrics.readMemoryPressureStallMicros();
+
+        long elapsedNanos = nowNanos - lastSampleNanos;
+        if (lastSampleNanos >= 0 && elapsedNanos > 0) {
+            double cpuLimit = metrics.readCpuLimit();
+            double busyCores = (double)(cpuUsageNanos - lastCpuUsageNanos) / elapsedNanos;
+            double waitingCores = 0;
+            if (throttledNanos >= 0) {
+                waitingCores = (double)(throttledNanos - lastThrottledNanos) / elapsedNanos;
+            }
+            double newCpuPressure = stallRatio(cpuStallMicros, lastCpuStallMicros, elapsedNanos);
+            if (newCpuPressure >= 0) {
+                waitingCores = Math.max(waitingCores, newCpuPressure * cpuLimit);
+            }
+
+            double alpha = 1 - Math.exp(-elapsedNanos / 1e6 / EWMA_TIME_CONSTANT_MS);
+            currentCpuUsage = ewma(currentCpuUsage, Math.min(1.0, Math.max(0.0, busyCores / cpuLimit)), alpha);
+            currentLoad = ewma(currentLoad, Math.max(0.0, busyCores + waitingCores), alpha);
+            cpuPressure = newCpuPressure < 0 ? -1 : ewma(cpuPressure, newCpuPressure, alpha);
+            double newMemoryPressure = stallRatio(memoryStallMicros, lastMemoryStallMicros, elapsedNanos);
+            memoryPressure = newMemoryPressure < 0 ? -1 : ewma(memoryPressure, newMemoryPressure, alpha);
+
+            logSystemStatusIfOverloaded(nowNanos);
+        }
+        lastSampleNanos = nowNanos;
+        lastCpuUsageNanos = cpuUsageNanos;
+        lastThrottledNanos = throttledNanos;
+        lastCpuStallMicros = cpuStallMicros;
+        lastMemoryStallMicros = memoryStallMicros;
+    }
+
+    private static double stallRatio(long stallMicros, long lastStallMicros, long elapsedNanos) {
+        if (stallMicros < 0 || lastStallMicros < 0) {
+            return -1;
+        }
+        return Math.min(1.0, Math.max(0.0, (stallMicros - lastStallMicros) * 1000.0 / elapsedNanos));
+    }
+
+    private static double ewma(double current, double sample, double alpha) {
+        // Negative value means there's no valid sample yet.
+        if (current < 0) {
+            return sample;
+        }
+        return current + alpha * (sample - current);
+    }
+
+    /**
+     * @return ratio of time that some tasks in the container are stalled waiting for CPU in [0, 1],
+     * or -1 if PSI is unavailable (e.g. cgroup v1)
+     */
+    public double getCpuPressure() {
+        return cpuPressure;
+    }
+
+    /**
+     * @return ratio of time that some tasks in the container are stalled waiting for memory in [0, 1],
+     * or -1 if PSI is unavailable (e.g. cgroup v1)
+     */
+    public double getMemoryPressure() {
+        return memoryPressure;
+    }
+}
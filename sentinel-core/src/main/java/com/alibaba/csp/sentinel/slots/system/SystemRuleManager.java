@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.EntryType;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
 import com.alibaba.csp.sentinel.property.SentinelProperty;
@@ -85,6 +86,11 @@ public final class SystemRuleManager {
     private static AtomicBoolean checkSystemStatus = new AtomicBoolean(false);
 
     private static SystemStatusListener statusListener = null;
+    /**
+     * Interval of publishing the snapshot of the system signals in milliseconds.
+     */
+    private static final long SNAPSHOT_INTERVAL_MS = 10;
+    private static volatile SystemStatusSnapshot statusSnapshot = SystemStatusSnapshot.EMPTY;
     private final static SystemPropertyListener listener = new SystemPropertyListener();
     private static SentinelProperty<List<SystemRule>> currentProperty = new DynamicSentinelProperty<List<SystemRule>>();
 
@@ -94,11 +100,46 @@ public final class SystemRuleManager {
 
     static {
         checkSystemStatus.set(false);
-        statusListener = new SystemStatusListener();
-        scheduler.scheduleAtFixedRate(statusListener, 0, 1, TimeUnit.SECONDS);
+        statusListener = createStatusListener();
+        scheduler.scheduleAtFixedRate(statusListener, 0, SentinelConfig.systemStatusIntervalMs(),
+            TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                // Only needed when the system rules are checked.
+                if (checkSystemStatus.get()) {
+                    refreshStatusSnapshot();
+                }
+            }
+        }, SNAPSHOT_INTERVAL_MS, SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS);
         currentProperty.addListener(listener);
     }
 
+    static void refreshStatusSnapshot() {
+        try {
+            statusSnapshot = SystemStatusSnapshot.take(Constants.ENTRY_NODE, statusListener);
+        } catch (Throwable ex) {
+            RecordLog.warn("[SystemRuleManager] Failed to take the snapshot of system status", ex);
+        }
+    }
+
+    static SystemStatusSnapshot getStatusSnapshot() {
+        return statusSnapshot;
+    }
+
+    private static SystemStatusListener createStatusListener() {
+        if (SentinelConfig.SYSTEM_STATUS_SOURCE_CGROUP.equals(SentinelConfig.systemStatusSource())) {
+            SystemStatusListener cgroupListener = CgroupSystemStatusListener.create();
+            if (cgroupListener != null) {
+                RecordLog.info("[SystemRuleManager] Using system status from cgroup, interval: {} ms",
+                    SentinelConfig.systemStatusIntervalMs());
+                return cgroupListener;
+            }
+            RecordLog.warn("[SystemRuleManager] Cgroup is not available, using system status from JMX");
+        }
+        return new SystemStatusListener();
+    }
+
     /**
      * Listen to the {@link SentinelProperty} for {@link SystemRule}s. The property is the source
      * of {@link SystemRule}s. System rules can also be set by {@link #loadRules(List)} directly.
@@ -193,6 +234,10 @@ public final class SystemRuleManager {
             } else {
                 checkSystemStatus.set(false);
             }
+            if (checkSystemStatus.get()) {
+                // Take the snapshot now, as it's not refreshed when there are no rules.
+                refreshStatusSnapshot();
+            }
 
             RecordLog.info(String.format("[SystemRuleManager] Current system check status: %s, "
                     + "highestSystemLoad: %e, "
@@ -301,9 +346,12 @@ public final class SystemRuleManager {
             return;
         }
 
+        // The signals except the thread count are read from the snapshot published periodically,
+        // so that the statistics are not calculated for each entry.
+        SystemStatusSnapshot snapshot = statusSnapshot;
+
         // total qps
-        double currentQps = Constants.ENTRY_NODE == null ? 0.0 : Constants.ENTRY_NODE.successQps();
-        if (currentQps > qps) {
+        if (snapshot.successQps > qps) {
             throw new SystemBlockException(resourceWrapper.getName(), "qps");
         }
 
@@ -313,27 +361,25 @@ public final class SystemRuleManager {
             throw new SystemBlockException(resourceWrapper.getName(), "thread");
         }
 
-        double rt = Constants.ENTRY_NODE == null ? 0 : Constants.ENTRY_NODE.avgRt();
-        if (rt > maxRt) {
+        if (snapshot.avgRt > maxRt) {
             throw new SystemBlockException(resourceWrapper.getName(), "rt");
         }
 
         // load. BBR algorithm.
-        if (highestSystemLoadIsSet && getCurrentSystemAvgLoad() > highestSystemLoad) {
-            if (!checkBbr(currentThread)) {
+        if (highestSystemLoadIsSet && snapshot.systemLoad > highestSystemLoad) {
+            if (!checkBbr(currentThread, snapshot)) {
                 throw new SystemBlockException(resourceWrapper.getName(), "load");
             }
         }
 
         // cpu usage
-        if (highestCpuUsageIsSet && getCurrentCpuUsage() > highestCpuUsage) {
+        if (highestCpuUsageIsSet && snapshot.cpuUsage > highestCpuUsage) {
             throw new SystemBlockException(resourceWrapper.getName(), "cpu");
         }
     }
 
-    private static boolean checkBbr(int currentThread) {
-        if (currentThread > 1 &&
-            currentThread > Constants.ENTRY_NODE.maxSuccessQps() * Constants.ENTRY_NODE.minRt() / 1000) {
+    private static boolean checkBbr(int currentThread, SystemStatusSnapshot snapshot) {
+        if (currentThread > 1 && currentThread > snapshot.bbrMaxThread) {
             return false;
         }
         return true;
@@ -30,6 +30,11 @@ import com.sun.management.OperatingSystemMXBean;
  */
 public class SystemStatusListener implements Runnable {
 
+    /**
+     * The status may be sampled more often than every second, but is logged at most once per second.
+     */
+    static final long STATUS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     volatile double currentLoad = -1;
     volatile double currentCpuUsage = -1;
 
@@ -38,6 +43,12 @@ public class SystemStatusListener implements Runnable {
     volatile long processCpuTime = 0;
     volatile long processUpTime = 0;
 
+    /**
+     * Only accessed by the thread sampling the status.
+     */
+    private long lastStatusLogNanos;
+    private boolean statusLogged = false;
+
     public double getSystemAverageLoad() {
         return currentLoad;
     }
@@ -76,15 +87,25 @@ public class SystemStatusListener implements Runnable {
 
             currentCpuUsage = Math.max(processCpuUsage, systemCpuUsage);
 
-            if (currentLoad > SystemRuleManager.getSystemLoadThreshold()) {
-                writeSystemStatusLog();
-            }
+            logSystemStatusIfOverloaded(System.nanoTime());
         } catch (Throwable e) {
             RecordLog.warn("[SystemStatusListener] Failed to get system metrics from JMX", e);
         }
     }
 
-    private void writeSystemStatusLog() {
+    void logSystemStatusIfOverloaded(long nowNanos) {
+        if (currentLoad <= SystemRuleManager.getSystemLoadThreshold()) {
+            return;
+        }
+        if (statusLogged && nowNanos - lastStatusLogNanos < STATUS_LOG_INTERVAL_NANOS) {
+            return;
+        }
+        statusLogged = true;
+        lastStatusLogNanos = nowNanos;
+        writeSystemStatusLog();
+    }
+
+    void writeSystemStatusLog() {
         StringBuilder sb = new StringBuilder();
         sb.append("Load exceeds the threshold: ");
         sb.append("load:").append(String.format("%.4f", currentLoad)).append("; ");
@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import com.alibaba.csp.sentinel.node.ClusterNode;
+
+/**
+ * <p>An immutable snapshot of the system signals checked by {@link SystemRule}s.</p>
+ * <p>
+ * The statistics of the inbound entry node (e.g. QPS and average RT) need to walk the buckets of the
+ * sliding window, and the system load and CPU usage are only sampled periodically. So the snapshot is
+ * published periodically by {@link SystemRuleManager}, and checking the system rules of an inbound entry
+ * only needs to compare the thresholds with the snapshot.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class SystemStatusSnapshot {
+
+    static final SystemStatusSnapshot EMPTY = new SystemStatusSnapshot(0, 0, Double.MAX_VALUE, -1, -1);
+
+    final double successQps;
+    final double avgRt;
+    /**
+     * Estimated max concurrency according to the BBR algorithm (max success QPS * min RT).
+     */
+    final double bbrMaxThread;
+    final double systemLoad;
+    final double cpuUsage;
+
+    SystemStatusSnapshot(double successQps, double avgRt, double bbrMaxThread, double systemLoad, double cpuUsage) {
+        this.successQps = successQps;
+        this.avgRt = avgRt;
+        this.bbrMaxThread = bbrMaxThread;
+        this.systemLoad = systemLoad;
+        this.cpuUsage = cpuUsage;
+    }
+
+    static SystemStatusSnapshot take(ClusterNode entryNode, SystemStatusListener statusListener) {
+        double load = statusListener == null ? -1 : statusListener.getSystemAverageLoad();
+        double cpuUsage = statusListener == null ? -1 : statusListener.getCpuUsage();
+        if (entryNode == null) {
+            return new SystemStatusSnapshot(0, 0, Double.MAX_VALUE, load, cpuUsage);
+        }
+        return new SystemStatusSnapshot(entryNode.successQps(), entryNode.avgRt(),
+            entryNode.maxSuccessQps() * entryNode.minRt() / 1000, load, cpuUsage);
+    }
+
+    @Override
+    public String toString() {
+        return "SystemStatusSnapshot{" +
+            "successQps=" + successQps +
+            ", avgRt=" + avgRt +
+            ", bbrMaxThread=" + bbrMaxThread +
+            ", systemLoad=" + systemLoad +
+            ", cpuUsage=" + cpuUsage +
+            '}';
+    }
+}
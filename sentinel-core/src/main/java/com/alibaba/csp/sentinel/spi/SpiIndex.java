@@ -0,0 +1,180 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.spi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>The SPI index generated at build time, which lists the providers of each service with the
+ * attributes of their {@link Spi} annotation, so that providers can be found without reading the SPI
+ * configuration files or loading the provider classes.</p>
+ *
+ * <p>
+ * Each jar has at most one index file ({@link #INDEX_FILE}). Each line of the index file is a provider,
+ * with tab-separated fields: service class name, provider class name, alias name (empty if absent),
+ * isSingleton, isDefault and order. Providers of the same service are in the order of the SPI configuration file.
+ * </p>
+ * <p>
+ * An index file only covers the SPI configuration files in the same jar (or class directory), so the
+ * index is looked up per SPI configuration file, and jars built without the index are still read as usual.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class SpiIndex {
+
+    static final String INDEX_FILE = "META-INF/sentinel/spi.index";
+
+    /**
+     * Index of each classloader, keyed by the root URL (of the jar or class directory) of the index file.
+     */
+    private static final Map<ClassLoader, Map<String, Map<String, List<Entry>>>> INDEX_CACHE
+        = new WeakHashMap<ClassLoader, Map<String, Map<String, List<Entry>>>>();
+
+    /**
+     * Get the indexed providers in the SPI configuration file of the service.
+     *
+     * @param classLoader the classloader to find index files
+     * @param service     class name of the service
+     * @param serviceFile URL of the SPI configuration file of the service
+     * @return the indexed providers, or null if the SPI configuration file is not covered by the index
+     */
+    static List<Entry> getEntries(ClassLoader classLoader, String service, URL serviceFile) {
+        String root = rootOf(serviceFile, SpiLoader.SPI_FILE_PREFIX + service);
+        if (root == null) {
+            return null;
+        }
+        Map<String, Map<String, List<Entry>>> index;
+        synchronized (INDEX_CACHE) {
+            index = INDEX_CACHE.get(classLoader);
+            if (index == null) {
+                index = readIndex(classLoader);
+                INDEX_CACHE.put(classLoader, index);
+            }
+        }
+        Map<String, List<Entry>> rootIndex = index.get(root);
+        return rootIndex == null ? null : rootIndex.get(service);
+    }
+
+    private static String rootOf(URL url, String resourceName) {
+        String path = url.toExternalForm();
+        return path.endsWith(resourceName) ? path.substring(0, path.length() - resourceName.length()) : null;
+    }
+
+    private static Map<String, Map<String, List<Entry>>> readIndex(ClassLoader classLoader) {
+        Map<String, Map<String, List<Entry>>> index = new HashMap<>();
+        Enumeration<URL> urls;
+        try {
+            urls = classLoader.getResources(INDEX_FILE);
+        } catch (IOException e) {
+            RecordLog.warn("[SpiIndex] Error locating SPI index files, classloader=" + classLoader, e);
+            return index;
+        }
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            String root = rootOf(url, INDEX_FILE);
+            if (root == null) {
+                continue;
+            }
+            Map<String, List<Entry>> rootIndex = new HashMap<>();
+            try (InputStream in = url.openStream();
+                 BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (line.isEmpty() || line.charAt(0) == '#') {
+                        continue;
+                    }
+                    Entry entry = parseEntry(line);
+                    if (entry == null) {
+                        RecordLog.warn("[SpiIndex] Invalid SPI index line: {}, file={}", line, url);
+                        continue;
+                    }
+                    List<Entry> entries = rootIndex.get(entry.service);
+                    if (entries == null) {
+                        entries = new ArrayList<>();
+                        rootIndex.put(entry.service, entries);
+                    }
+                    entries.add(entry);
+                }
+            } catch (IOException e) {
+                // The SPI configuration files of the jar will be read instead.
+                RecordLog.warn("[SpiIndex] Error reading SPI index file: " + url, e);
+                continue;
+            }
+            for (Map.Entry<String, List<Entry>> e : rootIndex.entrySet()) {
+                e.setValue(Collections.unmodifiableList(e.getValue()));
+            }
+            index.put(root, rootIndex);
+        }
+        return index;
+    }
+
+    static Entry parseEntry(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 6 || fields[0].isEmpty() || fields[1].isEmpty()) {
+            return null;
+        }
+        try {
+            return new Entry(fields[0], fields[1], fields[2], Boolean.parseBoolean(fields[3]),
+                Boolean.parseBoolean(fields[4]), Integer.parseInt(fields[5]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reset the cached index, used only in test cases.
+     */
+    static void clearCache() {
+        synchronized (INDEX_CACHE) {
+            INDEX_CACHE.clear();
+        }
+    }
+
+    static final class Entry {
+        final String service;
+        final String provider;
+        final String aliasName;
+        final boolean singleton;
+        final boolean isDefault;
+        final int order;
+
+        Entry(String service, String provider, String aliasName, boolean singleton, boolean isDefault, int order) {
+            this.service = service;
+            this.provider = provider;
+            this.aliasName = aliasName;
+            this.singleton = singleton;
+            this.isDefault = isDefault;
+            this.order = order;
+        }
+    }
+
+    private SpiIndex() {}
+}
@@ -73,23 +73,23 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public final class SpiLoader<S> {
 
     // Default path for the folder of Provider configuration file
-    private static final String SPI_FILE_PREFIX = "META-INF/services/";
+    static final String SPI_FILE_PREFIX = "META-INF/services/";
 
     // Cache the SpiLoader instances, key: classname of Service, value: SpiLoader instance
     private static final ConcurrentHashMap<String, SpiLoader> SPI_LOADER_MAP = new ConcurrentHashMap<>();
 
-    // Cache the classes of Provider
-    private final List<Class<? extends S>> classList = Collections.synchronizedList(new ArrayList<Class<? extends S>>());
+    // Cache the Providers
+    private final List<Provider> classList = Collections.synchronizedList(new ArrayList<Provider>());
 
-    // Cache the sorted classes of Provider
-    private final List<Class<? extends S>> sortedClassList = Collections.synchronizedList(new ArrayList<Class<? extends S>>());
+    // Cache the sorted Providers
+    private final List<Provider> sortedClassList = Collections.synchronizedList(new ArrayList<Provider>());
 
     /**
-     * Cache the classes of Provider, key: aliasName, value: class of Provider.
+     * Cache the Providers, key: aliasName, value: Provider.
      * Note: aliasName is the value of {@link Spi} when the Provider class has {@link Spi} annotation and value is not empty,
      * otherwise use classname of the Provider.
      */
-    private final ConcurrentHashMap<String, Class<? extends S>> classMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Provider> classMap = new ConcurrentHashMap<>();
 
     // Cache the singleton instance of Provider, key: classname of Provider, value: Provider instance
     private final ConcurrentHashMap<String, S> singletonMap = new ConcurrentHashMap<>();
@@ -97,8 +97,8 @@ public final class SpiLoader<S> {
     // Whether this SpiLoader has been loaded, that is, loaded the Provider configuration file
     private final AtomicBoolean loaded = new AtomicBoolean(false);
 
-    // Default provider class
-    private Class<? extends S> defaultClass = null;
+    // Default provider
+    private Provider defaultClass = null;
 
     // The Service class, must be interface or abstract class
     private Class<S> service;
@@ -142,6 +142,7 @@ public final class SpiLoader<S> {
             spiLoader.resetAndClear();
         }
         SPI_LOADER_MAP.clear();
+        SpiIndex.clearCache();
     }
 
     // Private access
@@ -183,7 +184,7 @@ public final class SpiLoader<S> {
             return null;
         }
 
-        Class<? extends S> highestClass = sortedClassList.get(0);
+        Provider highestClass = sortedClassList.get(0);
         return createInstance(highestClass);
     }
 
@@ -199,7 +200,7 @@ public final class SpiLoader<S> {
             return null;
         }
 
-        Class<? extends S> lowestClass = sortedClassList.get(sortedClassList.size() - 1);
+        Provider lowestClass = sortedClassList.get(sortedClassList.size() - 1);
         return createInstance(lowestClass);
     }
 
@@ -215,7 +216,7 @@ public final class SpiLoader<S> {
             return null;
         }
 
-        Class<? extends S> serviceClass = classList.get(0);
+        Provider serviceClass = classList.get(0);
         S instance = createInstance(serviceClass);
         return instance;
     }
@@ -228,9 +229,9 @@ public final class SpiLoader<S> {
     public S loadFirstInstanceOrDefault() {
         load();
 
-        for (Class<? extends S> clazz : classList) {
-            if (defaultClass == null || clazz != defaultClass) {
-                return createInstance(clazz);
+        for (Provider provider : classList) {
+            if (defaultClass == null || provider != defaultClass) {
+                return createInstance(provider);
             }
         }
 
@@ -268,11 +269,13 @@ public final class SpiLoader<S> {
 
         load();
 
-        if (!classMap.containsValue(clazz)) {
-            fail(clazz.getName() + " is not Provider class of " + service.getName() + ",check if it is in the SPI configuration file?");
+        for (Provider provider : classMap.values()) {
+            if (provider.className.equals(clazz.getName()) && provider.getProviderClass() == clazz) {
+                return createInstance(provider);
+            }
         }
-
-        return createInstance(clazz);
+        fail(clazz.getName() + " is not Provider class of " + service.getName() + ",check if it is in the SPI configuration file?");
+        return null;
     }
 
     /**
@@ -286,12 +289,12 @@ public final class SpiLoader<S> {
 
         load();
 
-        Class<? extends S> clazz = classMap.get(aliasName);
-        if (clazz == null) {
+        Provider provider = classMap.get(aliasName);
+        if (provider == null) {
             fail("no Provider class's aliasName is " + aliasName);
         }
 
-        return createInstance(clazz);
+        return createInstance(provider);
     }
 
     /**
@@ -337,86 +340,115 @@ public final class SpiLoader<S> {
             return;
         }
 
+        boolean useIndex = SentinelConfig.shouldUseSpiIndex();
         while (urls.hasMoreElements()) {
             URL url = urls.nextElement();
+            // The SPI configuration files are still enumerated, as it is the only way to find the jars built
+            // without the SPI index. Only the files not covered by an index (or with services not indexed) are read.
+            List<SpiIndex.Entry> entries = useIndex ? SpiIndex.getEntries(classLoader, service.getName(), url) : null;
+            if (entries != null) {
+                loadFromIndex(entries, classLoader);
+            } else {
+                loadFromFile(url, classLoader, fullFileName);
+            }
+        }
 
-            InputStream in = null;
-            BufferedReader br = null;
-            try {
-                in = url.openStream();
-                br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-                String line;
-                while ((line = br.readLine()) != null) {
-                    if (StringUtil.isBlank(line)) {
-                        // Skip blank line
-                        continue;
-                    }
+        sortProviders();
+    }
 
-                    line = line.trim();
-                    int commentIndex = line.indexOf("#");
-                    if (commentIndex == 0) {
-                        // Skip comment line
-                        continue;
-                    }
+    private void loadFromFile(URL url, ClassLoader classLoader, String fullFileName) {
+        InputStream in = null;
+        BufferedReader br = null;
+        try {
+            in = url.openStream();
+            br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (StringUtil.isBlank(line)) {
+                    // Skip blank line
+                    continue;
+                }
 
-                    if (commentIndex > 0) {
-                        line = line.substring(0, commentIndex);
-                    }
-                    line = line.trim();
+                line = line.trim();
+                int commentIndex = line.indexOf("#");
+                if (commentIndex == 0) {
+                    // Skip comment line
+                    continue;
+                }
 
-                    Class<S> clazz = null;
-                    try {
-                        clazz = (Class<S>) Class.forName(line, false, classLoader);
-                    } catch (ClassNotFoundException e) {
-                        fail("class " + line + " not found", e);
-                    }
+                if (commentIndex > 0) {
+                    line = line.substring(0, commentIndex);
+                }
+                line = line.trim();
 
-                    if (!service.isAssignableFrom(clazz)) {
-                        fail("class " + clazz.getName() + "is not subtype of " + service.getName() + ",SPI configuration file=" + fullFileName);
-                    }
+                Class<S> clazz = null;
+                try {
+                    clazz = (Class<S>) Class.forName(line, false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    fail("class " + line + " not found", e);
+                }
 
-                    classList.add(clazz);
-                    Spi spi = clazz.getAnnotation(Spi.class);
-                    String aliasName = spi == null || "".equals(spi.value()) ? clazz.getName() : spi.value();
-                    if (classMap.containsKey(aliasName)) {
-                        Class<? extends S> existClass = classMap.get(aliasName);
-                        fail("Found repeat alias name for " + clazz.getName() + " and "
-                                + existClass.getName() + ",SPI configuration file=" + fullFileName);
-                    }
-                    classMap.put(aliasName, clazz);
+                if (!service.isAssignableFrom(clazz)) {
+                    fail("class " + clazz.getName() + "is not subtype of " + service.getName() + ",SPI configuration file=" + fullFileName);
+                }
 
-                    if (spi != null && spi.isDefault()) {
-                        if (defaultClass != null) {
-                            fail("Found more than one default Provider, SPI configuration file=" + fullFileName);
-                        }
-                        defaultClass = clazz;
-                    }
+                Spi spi = clazz.getAnnotation(Spi.class);
+                String aliasName = spi == null || "".equals(spi.value()) ? clazz.getName() : spi.value();
+                addProvider(new Provider(clazz, aliasName, spi == null || spi.isSingleton(),
+                    spi != null && spi.isDefault(), spi == null ? 0 : spi.order()), fullFileName);
+            }
+        } catch (IOException e) {
+            fail("error reading SPI configuration file", e);
+        } finally {
+            closeResources(in, br);
+        }
+    }
 
-                    RecordLog.info("[SpiLoader] Found SPI implementation for SPI {}, provider={}, aliasName={}"
-                            + ", isSingleton={}, isDefault={}, order={}",
-                        service.getName(), line, aliasName
-                            , spi == null ? true : spi.isSingleton()
-                            , spi == null ? false : spi.isDefault()
-                            , spi == null ? 0 : spi.order());
-                }
-            } catch (IOException e) {
-                fail("error reading SPI configuration file", e);
-            } finally {
-                closeResources(in, br);
+    /**
+     * Load the Providers of a SPI configuration file from the SPI index generated at build time,
+     * where the Provider classes will be loaded lazily when creating instances.
+     *
+     * @param entries     indexed Providers of the SPI configuration file
+     * @param classLoader the classloader to load the Provider classes
+     */
+    private void loadFromIndex(List<SpiIndex.Entry> entries, ClassLoader classLoader) {
+        for (SpiIndex.Entry entry : entries) {
+            String aliasName = "".equals(entry.aliasName) ? entry.provider : entry.aliasName;
+            addProvider(new Provider(entry.provider, classLoader, aliasName, entry.singleton, entry.isDefault,
+                entry.order), SpiIndex.INDEX_FILE);
+        }
+    }
+
+    private void addProvider(Provider provider, String fileName) {
+        classList.add(provider);
+        if (classMap.containsKey(provider.aliasName)) {
+            Provider existClass = classMap.get(provider.aliasName);
+            fail("Found repeat alias name for " + provider.className + " and "
+                    + existClass.className + ",SPI configuration file=" + fileName);
+        }
+        classMap.put(provider.aliasName, provider);
+
+        if (provider.isDefault) {
+            if (defaultClass != null) {
+                fail("Found more than one default Provider, SPI configuration file=" + fileName);
             }
+            defaultClass = provider;
         }
 
+        RecordLog.info("[SpiLoader] Found SPI implementation for SPI {}, provider={}, aliasName={}"
+                + ", isSingleton={}, isDefault={}, order={}",
+            service.getName(), provider.className, provider.aliasName
+                , provider.singleton
+                , provider.isDefault
+                , provider.order);
+    }
+
+    private void sortProviders() {
         sortedClassList.addAll(classList);
-        Collections.sort(sortedClassList, new Comparator<Class<? extends S>>() {
+        Collections.sort(sortedClassList, new Comparator<Provider>() {
             @Override
-            public int compare(Class<? extends S> o1, Class<? extends S> o2) {
-                Spi spi1 = o1.getAnnotation(Spi.class);
-                int order1 = spi1 == null ? 0 : spi1.order();
-
-                Spi spi2 = o2.getAnnotation(Spi.class);
-                int order2 = spi2 == null ? 0 : spi2.order();
-
-                return Integer.compare(order1, order2);
+            public int compare(Provider o1, Provider o2) {
+                return Integer.compare(o1.order, o2.order);
             }
         });
     }
@@ -429,17 +461,17 @@ public final class SpiLoader<S> {
     /**
      * Create Provider instance list
      *
-     * @param clazzList class types of Providers
+     * @param providers Providers
      * @return Provider instance list
      */
-    private List<S> createInstanceList(List<Class<? extends S>> clazzList) {
-        if (clazzList == null || clazzList.size() == 0) {
+    private List<S> createInstanceList(List<Provider> providers) {
+        if (providers == null || providers.size() == 0) {
             return Collections.emptyList();
         }
 
-        List<S> instances = new ArrayList<>(clazzList.size());
-        for (Class<? extends S> clazz : clazzList) {
-            S instance = createInstance(clazz);
+        List<S> instances = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            S instance = createInstance(provider);
             instances.add(instance);
         }
         return instances;
@@ -448,46 +480,37 @@ public final class SpiLoader<S> {
     /**
      * Create Provider instance
      *
-     * @param clazz class type of Provider
-     * @return Provider class
-     */
-    private S createInstance(Class<? extends S> clazz) {
-        Spi spi = clazz.getAnnotation(Spi.class);
-        boolean singleton = true;
-        if (spi != null) {
-            singleton = spi.isSingleton();
-        }
-        return createInstance(clazz, singleton);
-    }
-
-    /**
-     * Create Provider instance
-     *
-     * @param clazz     class type of Provider
-     * @param singleton if instance is singleton or prototype
+     * @param provider the Provider
      * @return Provider instance
      */
-    private S createInstance(Class<? extends S> clazz, boolean singleton) {
+    private S createInstance(Provider provider) {
+        String className = provider.className;
         S instance = null;
-        try {
-            if (singleton) {
-                instance = singletonMap.get(clazz.getName());
-                if (instance == null) {
-                    synchronized (this) {
-                        instance = singletonMap.get(clazz.getName());
-                        if (instance == null) {
-                            instance = service.cast(clazz.newInstance());
-                            singletonMap.put(clazz.getName(), instance);
-                        }
+        if (provider.singleton) {
+            instance = singletonMap.get(className);
+            if (instance == null) {
+                synchronized (this) {
+                    instance = singletonMap.get(className);
+                    if (instance == null) {
+                        instance = newInstance(provider);
+                        singletonMap.put(className, instance);
                     }
                 }
-            } else {
-                instance = service.cast(clazz.newInstance());
             }
+        } else {
+            instance = newInstance(provider);
+        }
+        return instance;
+    }
+
+    private S newInstance(Provider provider) {
+        Class<? extends S> clazz = provider.getProviderClass();
+        try {
+            return service.cast(clazz.newInstance());
         } catch (Throwable e) {
             fail(clazz.getName() + " could not be instantiated");
+            return null;
         }
-        return instance;
     }
 
     /**
@@ -534,4 +557,53 @@ public final class SpiLoader<S> {
         RecordLog.error(msg, e);
         throw new SpiLoaderException("[" + service.getName() + "]" + msg, e);
     }
+
+    /**
+     * A Provider of the Service, whose class may be loaded lazily (when loaded from the SPI index).
+     */
+    private final class Provider {
+        final String className;
+        final String aliasName;
+        final boolean singleton;
+        final boolean isDefault;
+        final int order;
+
+        private final ClassLoader classLoader;
+        private volatile Class<? extends S> clazz;
+
+        Provider(Class<? extends S> clazz, String aliasName, boolean singleton, boolean isDefault, int order) {
+            this(clazz.getName(), clazz.getClassLoader(), aliasName, singleton, isDefault, order);
+            this.clazz = clazz;
+        }
+
+        Provider(String className, ClassLoader classLoader, String aliasName, boolean singleton, boolean isDefault,
+                 int order) {
+            this.className = className;
+            this.classLoader = classLoader;
+            this.aliasName = aliasName;
+            this.singleton = singleton;
+            this.isDefault = isDefault;
+            this.order = order;
+        }
+
+        @SuppressWarnings("unchecked")
+        Class<? extends S> getProviderClass() {
+            Class<? extends S> c = clazz;
+            if (c == null) {
+                Class<?> loaded = null;
+                try {
+                    loaded = Class.forName(className, false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    fail("class " + className + " not found", e);
+                }
+                if (!service.isAssignableFrom(loaded)) {
+                    fail("class " + className + " is not subtype of " + service.getName()
+                        + ",SPI index file=" + SpiIndex.INDEX_FILE);
+                }
+                c = (Class<? extends S>)loaded;
+                clazz = c;
+            }
+            return c;
+        }
+    }
 }
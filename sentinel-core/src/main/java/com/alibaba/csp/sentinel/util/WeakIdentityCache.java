@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A concurrent cache of which the keys are compared by identity and weakly referenced, so that
+ * an entry does not keep its key (e.g. an RPC invoker) alive after the key is discarded elsewhere.</p>
+ * <p>
+ * Lookups are lock-free. The entries of collected keys are purged on writes. The values must not
+ * strongly reference their keys, otherwise the keys will never be collected.
+ * </p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ * @since 1.8.2
+ */
+public final class WeakIdentityCache<K, V> {
+
+    private final ConcurrentMap<Object, V> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    public V get(K key) {
+        AssertUtil.notNull(key, "key cannot be null");
+        return map.get(new LookupKey(key));
+    }
+
+    public void put(K key, V value) {
+        AssertUtil.notNull(key, "key cannot be null");
+        AssertUtil.notNull(value, "value cannot be null");
+        purge();
+        map.put(new WeakKey<>(key, queue), value);
+    }
+
+    public void remove(K key) {
+        AssertUtil.notNull(key, "key cannot be null");
+        purge();
+        map.remove(new LookupKey(key));
+    }
+
+    public int size() {
+        purge();
+        return map.size();
+    }
+
+    public void clear() {
+        map.clear();
+        purge();
+    }
+
+    private void purge() {
+        Reference<? extends K> ref;
+        while ((ref = queue.poll()) != null) {
+            map.remove(ref);
+        }
+    }
+
+    private static final class WeakKey<K> extends WeakReference<K> {
+
+        private final int hash;
+
+        WeakKey(K key, ReferenceQueue<K> queue) {
+            super(key, queue);
+            this.hash = System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WeakKey)) {
+                return false;
+            }
+            Object key = get();
+            return key != null && key == ((WeakKey<?>)o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A strong key for lookups, which saves creating a reference on every lookup.
+     */
+    private static final class LookupKey {
+
+        private final Object key;
+
+        LookupKey(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakKey && ((WeakKey<?>)o).get() == key;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+    }
+}
@@ -1,5 +1,19 @@
 package com.alibaba.csp.sentinel;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
 import com.alibaba.csp.sentinel.context.Context;
 import com.alibaba.csp.sentinel.context.ContextTestUtil;
 import com.alibaba.csp.sentinel.context.ContextUtil;
@@ -269,6 +283,76 @@ public class CtSphTest {
         assertNull(ctSph.lookProcessChain(r2));
     }
 
+    @Test
+    public void testLookUpSlotChainConcurrently() throws Exception {
+        final ResourceWrapper resource = new StringResourceWrapper("concurrentRes", EntryType.IN);
+        final Set<ProcessorSlot<Object>> chains = Collections.newSetFromMap(
+            new ConcurrentHashMap<ProcessorSlot<Object>, Boolean>());
+        runConcurrently(16, new IntConsumer() {
+            @Override
+            public void accept(int index) {
+                chains.add(ctSph.lookProcessChain(resource));
+            }
+        });
+        // Racing threads agree on a single chain.
+        assertEquals(1, chains.size());
+        assertSame(CtSph.getChainMap().get(resource), chains.iterator().next());
+        assertEquals(1, CtSph.entrySize());
+    }
+
+    @Test
+    public void testLookUpSlotChainConcurrentlyWhenNearlyFull() throws Exception {
+        int threads = 16;
+        final int room = 4;
+        for (int i = 0; i < Constants.MAX_SLOT_CHAIN_SIZE - room; i++) {
+            ResourceWrapper resourceWrapper = new StringResourceWrapper("test-resource-" + i, EntryType.IN);
+            CtSph.getChainMap().put(resourceWrapper, new DefaultProcessorSlotChain());
+        }
+        final AtomicInteger created = new AtomicInteger();
+        runConcurrently(threads, new IntConsumer() {
+            @Override
+            public void accept(int index) {
+                for (int i = 0; i < room; i++) {
+                    ResourceWrapper resource = new StringResourceWrapper("res-" + index + "-" + i, EntryType.IN);
+                    if (ctSph.lookProcessChain(resource) != null) {
+                        created.incrementAndGet();
+                    }
+                }
+            }
+        });
+        int size = CtSph.entrySize();
+        assertEquals(Constants.MAX_SLOT_CHAIN_SIZE - room + created.get(), size);
+        assertTrue(size >= Constants.MAX_SLOT_CHAIN_SIZE);
+        // Each thread may exceed the limit by at most the chain it was creating.
+        assertTrue(size < Constants.MAX_SLOT_CHAIN_SIZE + threads);
+        assertNull(ctSph.lookProcessChain(new StringResourceWrapper("resAfterFull", EntryType.IN)));
+    }
+
+    private static void runConcurrently(int threads, final IntConsumer task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                final int index = i;
+                futures.add(pool.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        task.accept(index);
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     private void fillFullContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
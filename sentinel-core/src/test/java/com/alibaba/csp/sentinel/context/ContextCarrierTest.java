@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.context;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.spi.SpiTestUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link ContextCarrier} and the loading of it in {@link ContextUtil}.
+ */
+public class ContextCarrierTest {
+
+    @Test
+    public void testThreadLocalContextCarrier() throws Exception {
+        final ThreadLocalContextCarrier carrier = new ThreadLocalContextCarrier();
+        Context context = new Context(null, "test-carrier");
+        carrier.set(context);
+        assertSame(context, carrier.get());
+
+        // The context is not visible to other threads.
+        final AtomicReference<Context> other = new AtomicReference<>(context);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                other.set(carrier.get());
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(other.get());
+
+        carrier.remove();
+        assertNull(carrier.get());
+    }
+
+    @Test
+    public void testLoadDefaultContextCarrier() {
+        assertTrue(ContextUtil.loadContextCarrier() instanceof ThreadLocalContextCarrier);
+    }
+
+    @Test
+    public void testLoadContextCarrierFromSpi() throws Exception {
+        ContextCarrier carrier = loadWithProvider(TestContextCarrier.class);
+        assertTrue(carrier instanceof TestContextCarrier);
+    }
+
+    @Test
+    public void testFallbackWhenContextCarrierFails() throws Exception {
+        ContextCarrier carrier = loadWithProvider(FailingContextCarrier.class);
+        assertTrue(carrier instanceof ThreadLocalContextCarrier);
+    }
+
+    private ContextCarrier loadWithProvider(Class<? extends ContextCarrier> provider) throws Exception {
+        File dir = Files.createTempDirectory("sentinel-carrier-test").toFile();
+        File servicesFile = new File(dir, "META-INF/services/" + ContextCarrier.class.getName());
+        assertTrue(servicesFile.getParentFile().mkdirs());
+        Files.write(servicesFile.toPath(), (provider.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+
+        ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {dir.toURI().toURL()},
+            ContextCarrierTest.class.getClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+        SentinelConfig.setConfig(SentinelConfig.SPI_CLASSLOADER, "context");
+        try {
+            SpiTestUtil.resetSpiLoaders();
+            return ContextUtil.loadContextCarrier();
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.SPI_CLASSLOADER);
+            Thread.currentThread().setContextClassLoader(originalClassLoader);
+            SpiTestUtil.resetSpiLoaders();
+            classLoader.close();
+            servicesFile.delete();
+        }
+    }
+
+    public static class TestContextCarrier implements ContextCarrier {
+
+        private final ThreadLocal<Context> holder = new ThreadLocal<>();
+
+        @Override
+        public Context get() {
+            return holder.get();
+        }
+
+        @Override
+        public void set(Context context) {
+            holder.set(context);
+        }
+
+        @Override
+        public void remove() {
+            holder.remove();
+        }
+    }
+
+    public static class FailingContextCarrier extends TestContextCarrier {
+
+        public FailingContextCarrier() {
+            throw new IllegalStateException("unavailable");
+        }
+    }
+}
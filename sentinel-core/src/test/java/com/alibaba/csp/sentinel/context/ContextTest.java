@@ -15,7 +15,24 @@
  */
 package com.alibaba.csp.sentinel.context;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.node.DefaultNode;
+import com.alibaba.csp.sentinel.node.EntranceNode;
+import com.alibaba.csp.sentinel.node.Node;
 
 import org.junit.After;
 import org.junit.Before;
@@ -71,6 +88,93 @@ public class ContextTest {
         }
     }
 
+    @Test
+    public void testEnterSameContextConcurrently() throws Exception {
+        final String contextName = "concurrent-context";
+        final Set<DefaultNode> entranceNodes = Collections.newSetFromMap(new ConcurrentHashMap<DefaultNode, Boolean>());
+        runConcurrently(16, new IntConsumer() {
+            @Override
+            public void accept(int index) {
+                try {
+                    entranceNodes.add(ContextUtil.enter(contextName).getEntranceNode());
+                } finally {
+                    ContextUtil.exit();
+                }
+            }
+        });
+        // Racing threads agree on a single entrance node, which is added to the root only once.
+        assertEquals(1, entranceNodes.size());
+        int count = 0;
+        for (Node node : Constants.ROOT.getChildList()) {
+            if (contextName.equals(((EntranceNode)node).getId().getName())) {
+                assertSame(entranceNodes.iterator().next(), node);
+                count++;
+            }
+        }
+        assertEquals(1, count);
+    }
+
+    @Test
+    public void testEnterContextsConcurrentlyWhenNearlyFull() throws Exception {
+        int threads = 16;
+        final int room = 4;
+        for (int i = ContextUtil.contextSize(); i <= Constants.MAX_CONTEXT_NAME_SIZE - room; i++) {
+            ContextUtil.enter("test-context-" + i);
+            ContextUtil.exit();
+        }
+        final AtomicInteger created = new AtomicInteger();
+        runConcurrently(threads, new IntConsumer() {
+            @Override
+            public void accept(int index) {
+                for (int i = 0; i < room; i++) {
+                    try {
+                        if (!(ContextUtil.enter("context-" + index + "-" + i) instanceof NullContext)) {
+                            created.incrementAndGet();
+                        }
+                    } finally {
+                        ContextUtil.exit();
+                    }
+                }
+            }
+        });
+        try {
+            int size = ContextUtil.contextSize();
+            assertEquals(Constants.MAX_CONTEXT_NAME_SIZE - room + 1 + created.get(), size);
+            assertTrue(size > Constants.MAX_CONTEXT_NAME_SIZE);
+            // Each thread may exceed the limit by at most the context it was creating.
+            assertTrue(size <= Constants.MAX_CONTEXT_NAME_SIZE + threads);
+            assertTrue(ContextUtil.enter("contextAfterFull") instanceof NullContext);
+        } finally {
+            ContextUtil.exit();
+            resetContextMap();
+        }
+    }
+
+    private static void runConcurrently(int threads, final IntConsumer task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                final int index = i;
+                futures.add(pool.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        task.accept(index);
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     private void fillContext() {
         for (int i = 0; i < Constants.MAX_CONTEXT_NAME_SIZE; i++) {
             ContextUtil.enter("test-context-" + i);
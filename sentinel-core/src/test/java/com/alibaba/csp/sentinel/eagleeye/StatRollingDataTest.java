@@ -0,0 +1,145 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.eagleeye;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StatRollingDataTest {
+
+    @Test
+    public void testRollingPreparesUsedEntries() {
+        StatLogger statLogger = newStatLogger(100, new CollectingAppender());
+        statLogger.stat("used").count(3);
+        statLogger.stat("max").minMax(10);
+        StatRollingData firstData = statLogger.getRollingData();
+        // Created but never updated.
+        firstData.getStatEntryFunc(new StatEntry(statLogger, "unused"), StatEntryFuncFactory.COUNT_SUM);
+        assertEquals(3, firstData.getStatCount());
+
+        assertSame(firstData, statLogger.rolling());
+        StatRollingData secondData = statLogger.getRollingData();
+        assertEquals(2, secondData.getStatCount());
+        StatEntryFunc func = secondData.getStatEntryFunc(new StatEntry(statLogger, "used"), StatEntryFuncFactory.COUNT_SUM);
+        assertTrue(func.isEmpty());
+        assertEquals(0L, func.getValues()[0]);
+        assertEquals(StatEntryFuncFactory.MIN_MAX,
+            secondData.getStatEntryFunc(new StatEntry(statLogger, "max"), StatEntryFuncFactory.MIN_MAX).getFactory());
+
+        // Entries not used in the second time slot are not carried over.
+        statLogger.stat("used").count();
+        statLogger.rolling();
+        assertEquals(1, statLogger.getRollingData().getStatCount());
+    }
+
+    @Test
+    public void testRollingWhenFull() throws Exception {
+        CollectingAppender appender = new CollectingAppender();
+        StatLogger statLogger = newStatLogger(2, appender);
+        StatRollingData fullData = statLogger.getRollingData();
+        statLogger.stat("a").count();
+        statLogger.stat("b").count(2);
+        assertSame(fullData, statLogger.getRollingData());
+
+        statLogger.stat("c").count(3);
+        StatRollingData nextData = statLogger.getRollingData();
+        assertNotSame(fullData, nextData);
+        assertEquals(fullData.getTimeSlot(), nextData.getTimeSlot());
+        assertEquals(2, fullData.getStatCount());
+        assertEquals(1, nextData.getStatCount());
+        // Rolling the stale data again returns the current one.
+        assertSame(nextData, statLogger.rollingWhenFull(fullData));
+
+        // The full data is written in background.
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(3);
+        while (appender.getLogs().size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        List<String> logs = appender.getLogs();
+        assertEquals(2, logs.size());
+        for (String log : logs) {
+            assertTrue(log.contains("|a|1,0") || log.contains("|b|2,0"));
+        }
+    }
+
+    @Test
+    public void testConcurrentCountWhenFull() throws Exception {
+        CollectingAppender appender = new CollectingAppender();
+        final StatLogger statLogger = newStatLogger(16, appender);
+        final int threadCount = 4;
+        final int countPerThread = 10000;
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < countPerThread; i++) {
+                        statLogger.stat("key-" + (i % 64)).count();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Hand the current data to the writer as well.
+        StatLogController.scheduleWriteTask(statLogger.rolling());
+
+        long expected = threadCount * countPerThread;
+        long total = 0;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (System.currentTimeMillis() < deadline) {
+            total = 0;
+            for (String log : appender.getLogs()) {
+                // time|statType|key|count,sum
+                String[] parts = log.trim().split("\\|");
+                total += Long.parseLong(parts[3].split(",")[0]);
+            }
+            if (total == expected) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(expected, total);
+    }
+
+    private static StatLogger newStatLogger(int maxEntryCount, EagleEyeAppender appender) {
+        // Use a long interval, so the time slot won't roll during the test.
+        return new StatLogger("test-stat-logger", appender, TimeUnit.HOURS.toMillis(1), maxEntryCount,
+            '|', ',', ',');
+    }
+
+    private static class CollectingAppender extends EagleEyeAppender {
+
+        private final List<String> logs = new ArrayList<String>();
+
+        @Override
+        public synchronized void append(String log) {
+            logs.add(log);
+        }
+
+        synchronized List<String> getLogs() {
+            return new ArrayList<String>(logs);
+        }
+    }
+}
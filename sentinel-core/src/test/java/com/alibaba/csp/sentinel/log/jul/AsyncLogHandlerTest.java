@@ -0,0 +1,182 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.log.jul;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link AsyncLogHandler}.
+ */
+public class AsyncLogHandlerTest {
+
+    @Test
+    public void testPublishInWriterThread() throws Exception {
+        CollectingHandler delegate = new CollectingHandler(null);
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 16, "test-publish");
+        try {
+            handler.publish(newRecord("Hello {}", "world"));
+            handler.publish(newRecord("{} + {} = {}", 1, 2, 3));
+            waitFor(delegate, 2);
+
+            List<String> messages = delegate.getMessages();
+            assertEquals("Hello world", messages.get(0));
+            assertEquals("1 + 2 = 3", messages.get(1));
+            assertEquals(handler.getWriterName(), delegate.getThreadNames().get(0));
+            assertTrue(delegate.getFlushCount() > 0);
+            assertEquals(0, handler.getDroppedCount());
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testDropWhenBufferFull() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        CollectingHandler delegate = new CollectingHandler(blocker);
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 4, "test-drop");
+        try {
+            // The writer thread takes the first record and is blocked in the delegate.
+            handler.publish(newRecord("first"));
+            long deadline = System.currentTimeMillis() + 3000;
+            while (handler.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            for (int i = 0; i < 10; i++) {
+                handler.publish(newRecord("record {}", i));
+            }
+            assertEquals(4, handler.size());
+            assertEquals(6, handler.getDroppedCount());
+
+            blocker.countDown();
+            waitFor(delegate, 6);
+            List<String> messages = delegate.getMessages();
+            assertEquals("first", messages.get(0));
+            assertEquals("record 3", messages.get(4));
+            assertTrue(messages.get(5).contains("6 log records dropped"));
+        } finally {
+            blocker.countDown();
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentPublishAndClose() throws Exception {
+        final CollectingHandler delegate = new CollectingHandler(null);
+        final AsyncLogHandler handler = new AsyncLogHandler(delegate, 1 << 16, "test-concurrent");
+        final int threadCount = 4;
+        final int recordCount = 5000;
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < recordCount; i++) {
+                        handler.publish(newRecord("record {}", i));
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Records left in the buffer are written when closing.
+        handler.close();
+
+        assertEquals(0, handler.getDroppedCount());
+        assertEquals(threadCount * recordCount, delegate.getMessages().size());
+        assertTrue(delegate.isClosed());
+    }
+
+    private static LogRecord newRecord(String message, Object... params) {
+        LogRecord record = new LogRecord(Level.INFO, message);
+        record.setParameters(params);
+        return record;
+    }
+
+    private static void waitFor(CollectingHandler delegate, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(3);
+        while (delegate.getMessages().size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, delegate.getMessages().size());
+    }
+
+    private static class CollectingHandler extends Handler {
+
+        private final CspFormatter formatter = new CspFormatter();
+        private final CountDownLatch blocker;
+        private final List<String> messages = new ArrayList<String>();
+        private final List<String> threadNames = new ArrayList<String>();
+        private int flushCount;
+        private boolean closed;
+
+        CollectingHandler(CountDownLatch blocker) {
+            this.blocker = blocker;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            if (blocker != null) {
+                try {
+                    blocker.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                messages.add(formatter.formatMessage(record));
+                threadNames.add(Thread.currentThread().getName());
+            }
+        }
+
+        @Override
+        public synchronized void flush() {
+            flushCount++;
+        }
+
+        @Override
+        public synchronized void close() throws SecurityException {
+            closed = true;
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<String>(messages);
+        }
+
+        synchronized List<String> getThreadNames() {
+            return new ArrayList<String>(threadNames);
+        }
+
+        synchronized int getFlushCount() {
+            return flushCount;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.Entry;
+import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.context.ContextUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link StatisticFootprint}.
+ */
+public class StatisticFootprintTest {
+
+    @Test
+    public void testCollectFootprintOfLeanResource() throws Exception {
+        String fullResource = "testFootprintFull";
+        String leanResource = "testFootprintLean";
+        enterInContexts(fullResource);
+        SentinelConfig.setConfig(SentinelConfig.STATISTIC_LEAN, "true");
+        try {
+            enterInContexts(leanResource);
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.STATISTIC_LEAN);
+        }
+
+        List<StatisticFootprint> footprints = StatisticFootprint.collect();
+        StatisticFootprint full = find(footprints, fullResource);
+        StatisticFootprint lean = find(footprints, leanResource);
+        assertEquals(3, full.getContextNodeCount());
+        assertEquals(0, full.getSharedContextNodeCount());
+        assertEquals(1, full.getOriginNodeCount());
+        assertEquals(5, full.getSecondCounterCount());
+        assertEquals(5, full.getMinuteCounterCount());
+
+        assertEquals(3, lean.getContextNodeCount());
+        assertEquals(3, lean.getSharedContextNodeCount());
+        assertEquals(1, lean.getOriginNodeCount());
+        // Only the cluster node and the origin node have counters in second, and only metric logging
+        // may have read the minute counter of the cluster node.
+        assertEquals(2, lean.getSecondCounterCount());
+        assertTrue(lean.getMinuteCounterCount() <= 1);
+        assertTrue(lean.getEstimatedBytes() * 2 < full.getEstimatedBytes());
+
+        for (int i = 1; i < footprints.size(); i++) {
+            assertTrue(footprints.get(i - 1).getEstimatedBytes() >= footprints.get(i).getEstimatedBytes());
+        }
+    }
+
+    @Test
+    public void testEstimateCounterBytes() {
+        assertTrue(StatisticFootprint.estimateCounterBytes(60, false)
+            > StatisticFootprint.estimateCounterBytes(2, true));
+        assertEquals(0, StatisticFootprint.estimateCounterBytes(2, false) % 8);
+    }
+
+    private void enterInContexts(String resource) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            ContextUtil.enter(resource + "-context-" + i, "footprint-app");
+            try {
+                Entry entry = SphU.entry(resource);
+                entry.exit();
+            } finally {
+                ContextUtil.exit();
+            }
+        }
+    }
+
+    private StatisticFootprint find(List<StatisticFootprint> footprints, String resource) {
+        for (StatisticFootprint footprint : footprints) {
+            if (resource.equals(footprint.getResource())) {
+                return footprint;
+            }
+        }
+        fail("No footprint of resource " + resource);
+        return null;
+    }
+}
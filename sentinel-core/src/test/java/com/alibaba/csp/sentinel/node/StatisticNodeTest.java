@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.node;
 
 import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.metric.MetricBatch;
 import com.alibaba.csp.sentinel.util.TimeUtil;
 import org.junit.Assert;
 import org.junit.Test;
@@ -36,6 +37,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -324,5 +326,65 @@ public class StatisticNodeTest {
         }
     }
 
+    @Test
+    public void testLeanNodeCreatesCountersLazily() {
+        StatisticNode node = new StatisticNode(true);
+        assertFalse(node.hasSecondCounter());
+        assertFalse(node.hasMinuteCounter());
+
+        node.addPassRequest(1);
+        assertTrue(node.hasSecondCounter());
+        assertFalse(node.hasMinuteCounter());
+        assertEquals(1, node.passQps(), 0.01);
+
+        // The minute counter is created on first read, so the former request is not counted.
+        assertEquals(0, node.totalPass());
+        assertTrue(node.hasMinuteCounter());
+        node.addPassRequest(2);
+        node.increaseBlockQps(1);
+        assertEquals(2, node.totalPass());
+        assertEquals(3, node.totalRequest());
+    }
 
+    @Test
+    public void testAppendMetricsSkipsIdleLeanNode() {
+        StatisticNode node = new StatisticNode(true);
+        MetricBatch batch = new MetricBatch(4);
+        node.appendMetrics(batch, "idle", 0);
+        assertTrue(batch.isEmpty());
+        assertFalse(node.hasSecondCounter());
+        assertFalse(node.hasMinuteCounter());
+
+        // The minute counter is created once the node has recorded requests.
+        node.addPassRequest(1);
+        node.appendMetrics(batch, "idle", 0);
+        assertTrue(node.hasMinuteCounter());
+    }
+
+    @Test
+    public void testDefaultNodeSharesClusterNodeCounters() {
+        ClusterNode clusterNode = new ClusterNode("testDefaultNodeSharesClusterNodeCounters");
+        DefaultNode node = new DefaultNode(null, clusterNode);
+        node.addPassRequest(1);
+        assertTrue(node.hasSecondCounter());
+
+        node.setStatisticShared(true);
+        assertFalse(node.hasSecondCounter());
+        node.addPassRequest(2);
+        node.increaseThreadNum();
+        assertFalse(node.hasSecondCounter());
+        assertEquals(3, clusterNode.passQps(), 0.01);
+        assertEquals(3, node.passQps(), 0.01);
+        // The thread count is still kept by the node itself.
+        assertEquals(1, node.curThreadNum());
+        assertEquals(1, clusterNode.curThreadNum());
+
+        node.setStatisticShared(false);
+        node.addPassRequest(1);
+        node.decreaseThreadNum();
+        assertEquals(1, node.passQps(), 0.01);
+        assertEquals(4, clusterNode.passQps(), 0.01);
+        assertEquals(0, node.curThreadNum());
+        assertEquals(0, clusterNode.curThreadNum());
+    }
 }
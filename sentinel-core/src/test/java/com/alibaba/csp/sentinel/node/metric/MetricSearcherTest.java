@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.node.metric;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.Charset;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MetricSearcherTest {
+
+    private static final String BASE_FILE_NAME = "app-metrics.log";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFindByCursorIncrementally() throws Exception {
+        MetricSearcher searcher = new MetricSearcher(folder.getRoot().getAbsolutePath(), BASE_FILE_NAME);
+        assertNull(searcher.findByCursor(null, 0, Long.MAX_VALUE, null).getNextCursor());
+
+        File file = new File(folder.getRoot(), BASE_FILE_NAME + ".2020-01-01");
+        append(file, 1000, 2000);
+        MetricCursorResult result = searcher.findByCursor(null, 1000, 1999, null);
+        assertEquals(1, result.getNodes().size());
+        assertEquals(1000, result.getNodes().get(0).getTimestamp());
+
+        // Resumes right after the previous search, the half-written line is left for the next round.
+        String cursor = result.getNextCursor();
+        FileOutputStream out = new FileOutputStream(file, true);
+        out.write("3000|2020-01-01 00:00:03|res".getBytes(Charset.forName("UTF-8")));
+        out.close();
+        result = searcher.findByCursor(cursor, 2000, 3999, null);
+        assertEquals(1, result.getNodes().size());
+        assertEquals(2000, result.getNodes().get(0).getTimestamp());
+
+        cursor = result.getNextCursor();
+        result = searcher.findByCursor(cursor, 3000, 3999, null);
+        assertEquals(0, result.getNodes().size());
+        assertEquals(cursor, result.getNextCursor());
+
+        // Continues with the next file once the previous one has been rotated.
+        File nextFile = new File(folder.getRoot(), BASE_FILE_NAME + ".2020-01-01.1");
+        append(nextFile, 4000, 5000);
+        result = searcher.findByCursor(cursor, 3000, 4999, "res");
+        assertEquals(1, result.getNodes().size());
+        assertEquals(4000, result.getNodes().get(0).getTimestamp());
+
+        // Falls back to the index when the cursor is no longer valid.
+        result = searcher.findByCursor("0@" + BASE_FILE_NAME + ".2019-12-31", 5000, 5999, null);
+        assertEquals(1, result.getNodes().size());
+        assertEquals(5000, result.getNodes().get(0).getTimestamp());
+        assertNotNull(result.getNextCursor());
+    }
+
+    private void append(File file, long... timestamps) throws Exception {
+        long offset = file.length();
+        FileOutputStream out = new FileOutputStream(file, true);
+        DataOutputStream index = new DataOutputStream(
+            new FileOutputStream(MetricWriter.formIndexFileName(file.getAbsolutePath()), true));
+        for (long timestamp : timestamps) {
+            MetricNode node = new MetricNode();
+            node.setTimestamp(timestamp);
+            node.setResource("res");
+            node.setPassQps(1);
+            byte[] bytes = node.toFatString().getBytes(Charset.forName("UTF-8"));
+            out.write(bytes);
+            index.writeLong(timestamp / 1000);
+            index.writeLong(offset);
+            offset += bytes.length;
+        }
+        out.close();
+        index.close();
+    }
+}
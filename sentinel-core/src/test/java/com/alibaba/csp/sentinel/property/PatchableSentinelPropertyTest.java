@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.property;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PatchableSentinelPropertyTest {
+
+    @Test
+    public void testApplyPatch() {
+        PatchableSentinelProperty<String> property = new PatchableSentinelProperty<>();
+        RecordingListener listener = new RecordingListener();
+        property.addListener(listener);
+
+        assertTrue(property.applyPatch(PropertyPatch.<String>snapshot(1).upsert("1", "a").upsert("2", "b")));
+        assertEquals(Arrays.asList("a", "b"), property.getValue());
+        assertEquals(1, property.getVersion());
+        assertEquals(1, listener.updates);
+
+        assertTrue(property.applyPatch(PropertyPatch.<String>delta(1, 2).upsert("2", "c").upsert("3", "d")
+            .delete("1")));
+        assertEquals(Arrays.asList("c", "d"), property.getValue());
+        assertEquals(2, property.getVersion());
+        assertEquals(Arrays.asList("c", "d"), listener.upserted);
+        assertEquals(Arrays.asList("a", "b"), listener.removed);
+
+        // Unchanged entries do not inform the listeners, but the version still moves on.
+        assertTrue(property.applyPatch(PropertyPatch.<String>delta(2, 3).upsert("2", "c").delete("4")));
+        assertEquals(3, property.getVersion());
+        assertEquals(1, listener.patches);
+
+        // Version gap.
+        assertFalse(property.applyPatch(PropertyPatch.<String>delta(2, 4).delete("2")));
+        assertEquals(Arrays.asList("c", "d"), property.getValue());
+        assertEquals(3, property.getVersion());
+
+        // The same snapshot does not inform the listeners.
+        assertTrue(property.applyPatch(PropertyPatch.<String>snapshot(5).upsert("2", "c").upsert("3", "d")));
+        assertEquals(5, property.getVersion());
+        assertEquals(1, listener.updates);
+    }
+
+    @Test
+    public void testFullUpdateResetsVersion() {
+        PatchableSentinelProperty<String> property = new PatchableSentinelProperty<>();
+        property.applyPatch(PropertyPatch.<String>snapshot(1).upsert("1", "a"));
+
+        assertTrue(property.updateValue(Arrays.asList("x", "y")));
+        assertEquals(PatchableSentinelProperty.UNKNOWN_VERSION, property.getVersion());
+        assertFalse(property.applyPatch(PropertyPatch.<String>delta(1, 2).upsert("1", "b")));
+        assertFalse(property.updateValue(Arrays.asList("x", "y")));
+
+        property.applyPatch(PropertyPatch.<String>snapshot(3).upsert("1", "b"));
+        assertEquals(Arrays.asList("b"), property.getValue());
+        assertEquals(3, property.getVersion());
+    }
+
+    private static class RecordingListener implements PatchPropertyListener<String> {
+
+        private int updates;
+        private int patches;
+        private List<String> upserted;
+        private List<String> removed;
+
+        @Override
+        public void configPatch(List<String> value, List<String> upserted, List<String> removed) {
+            patches++;
+            this.upserted = upserted;
+            this.removed = removed;
+        }
+
+        @Override
+        public void configUpdate(List<String> value) {
+            updates++;
+        }
+
+        @Override
+        public void configLoad(List<String> value) {
+        }
+    }
+}
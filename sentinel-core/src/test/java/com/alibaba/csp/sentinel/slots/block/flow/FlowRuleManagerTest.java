@@ -15,14 +15,23 @@
  */
 package com.alibaba.csp.sentinel.slots.block.flow;
 
+import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
+import com.alibaba.csp.sentinel.property.PatchableSentinelProperty;
+import com.alibaba.csp.sentinel.property.PropertyPatch;
+
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Weihua
@@ -76,4 +85,40 @@ public class FlowRuleManagerTest {
         }
         latchEnd.await(10, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void testPatchRules() {
+        PatchableSentinelProperty<FlowRule> property = new PatchableSentinelProperty<>();
+        FlowRuleManager.register2Property(property);
+        try {
+            property.applyPatch(PropertyPatch.<FlowRule>snapshot(1)
+                .upsert("1", new FlowRule("a").setCount(10))
+                .upsert("2", new FlowRule("b").setCount(20)));
+            assertEquals(2, FlowRuleManager.getRules().size());
+            List<FlowRule> rulesOfB = FlowRuleManager.getFlowRuleMap().get("b");
+
+            assertTrue(property.applyPatch(PropertyPatch.<FlowRule>delta(1, 2)
+                .upsert("1", new FlowRule("a").setCount(30))
+                .upsert("3", new FlowRule("c").setCount(40))));
+            assertEquals(3, FlowRuleManager.getRules().size());
+            assertEquals(30, FlowRuleManager.getFlowRuleMap().get("a").get(0).getCount(), 0.01);
+            // Rules of the untouched resources are kept as they are.
+            assertSame(rulesOfB, FlowRuleManager.getFlowRuleMap().get("b"));
+
+            assertTrue(property.applyPatch(PropertyPatch.<FlowRule>delta(2, 3).delete("1")));
+            assertFalse(FlowRuleManager.hasConfig("a"));
+            assertEquals(2, FlowRuleManager.getRules().size());
+
+            // Version gap.
+            assertFalse(property.applyPatch(PropertyPatch.<FlowRule>delta(5, 6).delete("2")));
+            assertTrue(FlowRuleManager.hasConfig("b"));
+
+            property.applyPatch(PropertyPatch.<FlowRule>snapshot(7).upsert("2", new FlowRule("b").setCount(50)));
+            assertEquals(1, FlowRuleManager.getRules().size());
+            assertNotSame(rulesOfB, FlowRuleManager.getFlowRuleMap().get("b"));
+        } finally {
+            FlowRuleManager.register2Property(new DynamicSentinelProperty<List<FlowRule>>());
+            FlowRuleManager.loadRules(Collections.<FlowRule>emptyList());
+        }
+    }
 }
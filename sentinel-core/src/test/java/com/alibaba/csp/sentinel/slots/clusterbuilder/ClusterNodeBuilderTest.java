@@ -15,15 +15,30 @@
  */
 package com.alibaba.csp.sentinel.slots.clusterbuilder;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
 import org.junit.Test;
 
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.SphU;
 import com.alibaba.csp.sentinel.context.ContextUtil;
+import com.alibaba.csp.sentinel.node.ClusterNode;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.Node;
 
@@ -65,4 +80,55 @@ public class ClusterNodeBuilderTest {
         ContextUtil.exit();
     }
 
+    @Test
+    public void testConcurrentEntriesShareClusterNode() throws Exception {
+        final String resName = "concurrentClusterNode";
+        final Set<ClusterNode> clusterNodes = Collections.newSetFromMap(new ConcurrentHashMap<ClusterNode, Boolean>());
+        runConcurrently(16, new IntConsumer() {
+            @Override
+            public void accept(int index) {
+                // Different contexts have different default nodes of the resource, but share the cluster node.
+                ContextUtil.enter("entry_concurrent_" + (index % 4), "caller" + index);
+                try {
+                    Entry entry = SphU.entry(resName);
+                    clusterNodes.add(((DefaultNode)entry.getCurNode()).getClusterNode());
+                    entry.exit();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                } finally {
+                    ContextUtil.exit();
+                }
+            }
+        });
+        assertEquals(1, clusterNodes.size());
+        ClusterNode clusterNode = clusterNodes.iterator().next();
+        assertSame(clusterNode, ClusterBuilderSlot.getClusterNode(resName));
+        assertEquals(16, clusterNode.getOriginCountMap().size());
+    }
+
+    private static void runConcurrently(int threads, final IntConsumer task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                final int index = i;
+                futures.add(pool.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        task.accept(index);
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
 }
@@ -16,21 +16,39 @@
 package com.alibaba.csp.sentinel.slots.nodeselector;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
 import org.junit.Test;
 
 import com.alibaba.csp.sentinel.Constants;
 import com.alibaba.csp.sentinel.Entry;
 import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.context.ContextUtil;
 import com.alibaba.csp.sentinel.node.DefaultNode;
 import com.alibaba.csp.sentinel.node.EntranceNode;
 import com.alibaba.csp.sentinel.node.Node;
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleManager;
 
 /**
  * @author jialiang.linjl
@@ -158,4 +176,133 @@ public class NodeSelectorTest {
 
     }
 
+    @Test
+    public void testLeanModeSharesStatisticUnlessChainContext() throws Exception {
+        final String resName = "nodeLean";
+        final String chainContext = "entry_lean_chain";
+        final String otherContext = "entry_lean_other";
+        SentinelConfig.setConfig(SentinelConfig.STATISTIC_LEAN, "true");
+        try {
+            FlowRule rule = new FlowRule(resName).setCount(1000).setStrategy(RuleConstant.STRATEGY_CHAIN);
+            rule.setRefResource(chainContext);
+            FlowRuleManager.loadRules(Collections.singletonList(rule));
+
+            DefaultNode chainNode = enterAndExit(chainContext, resName);
+            DefaultNode otherNode = enterAndExit(otherContext, resName);
+            assertFalse(chainNode.isStatisticShared());
+            assertTrue(otherNode.isStatisticShared());
+            assertEquals(1, chainNode.totalSuccess());
+            assertEquals(2, otherNode.totalSuccess());
+
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+            assertTrue(chainNode.isStatisticShared());
+            assertTrue(otherNode.isStatisticShared());
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.STATISTIC_LEAN);
+            FlowRuleManager.loadRules(new ArrayList<FlowRule>());
+        }
+    }
+
+    @Test
+    public void testLeanModeKeepsEntranceStatisticPerContext() throws Exception {
+        final String resName = "nodeLeanEntrance";
+        SentinelConfig.setConfig(SentinelConfig.STATISTIC_LEAN, "true");
+        try {
+            EntranceNode entranceA = entranceOf("entry_lean_a");
+            EntranceNode entranceB = entranceOf("entry_lean_b");
+            // Read the minute counters so that they are created before the requests are counted.
+            entranceA.totalPass();
+            entranceB.totalPass();
+            // Create the cluster node and its minute counter in another context.
+            enterAndExit("entry_lean_c", resName);
+
+            DefaultNode nodeA = enterAndExit("entry_lean_a", resName);
+            enterAndExit("entry_lean_a", resName);
+            DefaultNode nodeB = enterAndExit("entry_lean_b", resName);
+            assertTrue(nodeA.isStatisticShared());
+            assertTrue(nodeB.isStatisticShared());
+
+            // The shared resource nodes report the statistics of the resource across contexts,
+            // while the entrance nodes are not inflated by them.
+            assertEquals(3, nodeA.totalPass());
+            assertEquals(3, nodeB.totalPass());
+            assertEquals(2, entranceA.totalPass());
+            assertEquals(1, entranceB.totalPass());
+            assertEquals(2, entranceA.totalRequest());
+            assertEquals(1, entranceB.totalRequest());
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.STATISTIC_LEAN);
+        }
+    }
+
+    @Test
+    public void testConcurrentEntriesShareDefaultNode() throws Exception {
+        final String contextName = "entry_concurrent";
+        final String resName = "concurrentNode";
+        final Set<DefaultNode> nodes = Collections.newSetFromMap(new ConcurrentHashMap<DefaultNode, Boolean>());
+        runConcurrently(16, new IntConsumer() {
+            @Override
+            public void accept(int index) {
+                try {
+                    nodes.add(enterAndExit(contextName, resName));
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        });
+        // Racing threads agree on a single node, which is added to the invocation tree only once.
+        assertEquals(1, nodes.size());
+        EntranceNode entranceNode = entranceOf(contextName);
+        assertEquals(1, entranceNode.getChildList().size());
+        assertSame(nodes.iterator().next(), entranceNode.getChildList().iterator().next());
+    }
+
+    private static void runConcurrently(int threads, final IntConsumer task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                final int index = i;
+                futures.add(pool.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        start.await();
+                        task.accept(index);
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private EntranceNode entranceOf(String contextName) {
+        ContextUtil.enter(contextName);
+        try {
+            return (EntranceNode)ContextUtil.getContext().getEntranceNode();
+        } finally {
+            ContextUtil.exit();
+        }
+    }
+
+    private DefaultNode enterAndExit(String contextName, String resName) throws Exception {
+        ContextUtil.enter(contextName);
+        try {
+            Entry entry = SphU.entry(resName);
+            DefaultNode node = (DefaultNode)entry.getCurNode();
+            // Read the minute counters so that they are created before the request is counted.
+            node.totalSuccess();
+            node.getClusterNode().totalSuccess();
+            entry.exit();
+            return node;
+        } finally {
+            ContextUtil.exit();
+        }
+    }
 }
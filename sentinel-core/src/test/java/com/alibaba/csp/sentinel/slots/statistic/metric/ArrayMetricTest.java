@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import com.alibaba.csp.sentinel.node.metric.MetricBatch;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.slots.statistic.MetricEvent;
 import com.alibaba.csp.sentinel.slots.statistic.base.WindowWrap;
@@ -26,8 +27,15 @@ import com.alibaba.csp.sentinel.slots.statistic.data.MetricBucket;
 import com.alibaba.csp.sentinel.util.function.Predicate;
 
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -117,4 +125,60 @@ public class ArrayMetricTest {
         });
         assertEquals(0, metricNodes.size());
     }
+
+    @Test
+    public void testAppendDetailsToBatch() {
+        ArrayMetric metric = new ArrayMetric(60, 60 * 1000, false);
+        metric.addPass(3);
+        metric.addSuccess(2);
+        metric.addRT(10);
+        metric.addBlock(1);
+
+        MetricBatch batch = new MetricBatch(1);
+        long maxTime = metric.appendDetails(batch, "res", 1, -1, Long.MAX_VALUE);
+        List<MetricNode> details = metric.details();
+        assertEquals(1, details.size());
+        assertEquals(1, batch.size());
+        details.get(0).setResource("res");
+        details.get(0).setClassification(1);
+        MetricNode node = batch.toMetricNode(0);
+        assertEquals(details.get(0).toFatString(), node.toFatString());
+        assertEquals(5, node.getRt());
+        assertEquals(node.getTimestamp(), maxTime);
+
+        // Buckets not after the lower bound are skipped.
+        assertEquals(maxTime, metric.appendDetails(batch, "res", 1, maxTime, Long.MAX_VALUE));
+        assertEquals(1, batch.size());
+    }
+
+    @Test
+    public void testDefaultAppendDetailsToBatch() {
+        final ArrayMetric metric = new ArrayMetric(60, 60 * 1000, false);
+        metric.addPass(3);
+        metric.addSuccess(2);
+        metric.addRT(10);
+        metric.addBlock(1);
+
+        // Other implementations build the rows from the metric nodes.
+        Metric otherMetric = mock(Metric.class);
+        when(otherMetric.detailsOnCondition(ArgumentMatchers.<Predicate<Long>>any())).thenAnswer(
+            new Answer<List<MetricNode>>() {
+                @Override
+                public List<MetricNode> answer(InvocationOnMock invocation) {
+                    return metric.detailsOnCondition(invocation.<Predicate<Long>>getArgument(0));
+                }
+            });
+        when(otherMetric.appendDetails(any(MetricBatch.class), anyString(), anyInt(), anyLong(), anyLong()))
+            .thenCallRealMethod();
+
+        MetricBatch expected = new MetricBatch(1);
+        long maxTime = metric.appendDetails(expected, "res", 1, -1, Long.MAX_VALUE);
+        MetricBatch batch = new MetricBatch(1);
+        assertEquals(maxTime, otherMetric.appendDetails(batch, "res", 1, -1, Long.MAX_VALUE));
+        assertEquals(1, batch.size());
+        assertEquals(expected.toMetricNode(0).toFatString(), batch.toMetricNode(0).toFatString());
+
+        assertEquals(maxTime, otherMetric.appendDetails(batch, "res", 1, maxTime, Long.MAX_VALUE));
+        assertEquals(1, batch.size());
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CgroupSystemStatusListenerTest {
+
+    private static final double DELTA = 1e-6;
+
+    private File root;
+    private File procSelfCgroup;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("sentinel-cgroup").toFile();
+        procSelfCgroup = new File(root, "proc-self-cgroup");
+    }
+
+    @After
+    public void tearDown() {
+        delete(root);
+    }
+
+    @Test
+    public void testDetectUnavailable() {
+        assertNull(CgroupMetrics.detect(new File(root, "absent").getPath(), procSelfCgroup.getPath()));
+        write(procSelfCgroup, "0::/app\n");
+        // Neither v1 controllers nor v2 files.
+        assertNull(CgroupMetrics.detect(root.getPath(), procSelfCgroup.getPath()));
+    }
+
+    @Test
+    public void testSampleCgroupV2() throws Exception {
+        File fsRoot = new File(root, "fs");
+        File dir = new File(fsRoot, "app");
+        write(new File(fsRoot, "cgroup.controllers"), "cpu memory\n");
+        write(procSelfCgroup, "0::/app\n");
+        write(new File(dir, "cpu.max"), "200000 100000\n");
+        writeV2(dir, 0, 0, 0, 0);
+
+        CgroupMetrics metrics = CgroupMetrics.detect(fsRoot.getPath(), procSelfCgroup.getPath());
+        assertNotNull(metrics);
+        assertTrue(metrics.isV2());
+        assertEquals(Math.min(2.0, Runtime.getRuntime().availableProcessors()), metrics.readCpuLimit(), DELTA);
+
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(metrics);
+        long now = TimeUnit.SECONDS.toNanos(10);
+        listener.sample(now);
+        assertEquals(-1, listener.getCpuUsage(), DELTA);
+
+        // 100ms CPU time in 100ms, with 10ms throttled and 20ms CPU stall.
+        writeV2(dir, 100000, 10000, 20000, 5000);
+        listener.sample(now + TimeUnit.MILLISECONDS.toNanos(100));
+        double cpuLimit = metrics.readCpuLimit();
+        assertEquals(Math.min(1.0, 1.0 / cpuLimit), listener.getCpuUsage(), DELTA);
+        // Busy cores plus the waiting cores, where the stall is larger than throttling.
+        assertEquals(1.0 + Math.max(0.1, 0.2 * cpuLimit), listener.getSystemAverageLoad(), DELTA);
+        assertEquals(0.2, listener.getCpuPressure(), DELTA);
+        assertEquals(0.05, listener.getMemoryPressure(), DELTA);
+
+        // Idle for the next 100ms, the readings are smoothed.
+        double lastLoad = listener.getSystemAverageLoad();
+        listener.sample(now + TimeUnit.MILLISECONDS.toNanos(200));
+        double alpha = 1 - Math.exp(-100 / CgroupSystemStatusListener.EWMA_TIME_CONSTANT_MS);
+        assertEquals(lastLoad * (1 - alpha), listener.getSystemAverageLoad(), DELTA);
+    }
+
+    @Test
+    public void testSampleCgroupV1() throws Exception {
+        File fsRoot = new File(root, "fs");
+        File dir = new File(fsRoot, "cpu,cpuacct/docker/abc");
+        write(procSelfCgroup, "5:memory:/docker/abc\n4:cpu,cpuacct:/docker/abc\n1:name=systemd:/docker/abc\n");
+        write(new File(dir, "cpu.cfs_quota_us"), "-1\n");
+        write(new File(dir, "cpu.cfs_period_us"), "100000\n");
+        write(new File(dir, "cpuacct.usage"), "1000000000\n");
+        write(new File(dir, "cpu.stat"), "nr_periods 0\nnr_throttled 0\nthrottled_time 0\n");
+
+        CgroupMetrics metrics = CgroupMetrics.detect(fsRoot.getPath(), procSelfCgroup.getPath());
+        assertNotNull(metrics);
+        assertFalse(metrics.isV2());
+        // No quota, all processors are available.
+        assertEquals(Runtime.getRuntime().availableProcessors(), metrics.readCpuLimit(), DELTA);
+        assertEquals(-1, metrics.readCpuPressureStallMicros());
+
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(metrics);
+        long now = TimeUnit.SECONDS.toNanos(10);
+        listener.sample(now);
+        // 50ms CPU time in 100ms, with 20ms throttled.
+        write(new File(dir, "cpuacct.usage"), "1050000000\n");
+        write(new File(dir, "cpu.stat"), "nr_periods 1\nnr_throttled 1\nthrottled_time 20000000\n");
+        listener.sample(now + TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0.5 / Runtime.getRuntime().availableProcessors(), listener.getCpuUsage(), DELTA);
+        assertEquals(0.7, listener.getSystemAverageLoad(), DELTA);
+        assertEquals(-1, listener.getCpuPressure(), DELTA);
+    }
+
+    @Test
+    public void testStatusLogRateLimited() throws Exception {
+        File fsRoot = new File(root, "fs");
+        File dir = new File(fsRoot, "app");
+        write(new File(fsRoot, "cgroup.controllers"), "cpu memory\n");
+        write(procSelfCgroup, "0::/app\n");
+        write(new File(dir, "cpu.max"), "max 100000\n");
+        writeV2(dir, 0, 0, 0, 0);
+        final AtomicInteger logCount = new AtomicInteger();
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(
+            CgroupMetrics.detect(fsRoot.getPath(), procSelfCgroup.getPath())) {
+            @Override
+            void writeSystemStatusLog() {
+                logCount.incrementAndGet();
+            }
+        };
+        SystemRule rule = new SystemRule();
+        rule.setHighestSystemLoad(0.5);
+        SystemRuleManager.loadRules(Collections.singletonList(rule));
+        try {
+            long now = TimeUnit.SECONDS.toNanos(10);
+            listener.sample(now);
+            // One busy core sampled every 200ms for 2 seconds, which always exceeds the threshold.
+            for (int i = 1; i <= 10; i++) {
+                writeV2(dir, 200000L * i, 0, 0, 0);
+                listener.sample(now + TimeUnit.MILLISECONDS.toNanos(200 * i));
+                assertTrue(listener.getSystemAverageLoad() > 0.5);
+            }
+            // Logged at 200ms and 1200ms.
+            assertEquals(2, logCount.get());
+        } finally {
+            SystemRuleManager.loadRules(new ArrayList<SystemRule>());
+        }
+    }
+
+    @Test
+    public void testFallbackToJmx() {
+        File fsRoot = new File(root, "fs");
+        File dir = new File(fsRoot, "app");
+        write(new File(fsRoot, "cgroup.controllers"), "cpu memory\n");
+        write(procSelfCgroup, "0::/app\n");
+        writeV2(dir, 0, 0, 0, 0);
+        CgroupSystemStatusListener listener = new CgroupSystemStatusListener(
+            CgroupMetrics.detect(fsRoot.getPath(), procSelfCgroup.getPath()));
+
+        // Broken cgroup file, the CPU usage is read from JMX instead.
+        write(new File(dir, "cpu.stat"), "usage_usec abc\n");
+        listener.run();
+        assertTrue(listener.getCpuUsage() >= 0);
+    }
+
+    private static void writeV2(File dir, long usageUsec, long throttledUsec, long cpuStallUsec,
+                                long memoryStallUsec) {
+        write(new File(dir, "cpu.stat"), "usage_usec " + usageUsec + "\nuser_usec 0\nsystem_usec 0\n"
+            + "nr_periods 0\nnr_throttled 0\nthrottled_usec " + throttledUsec + "\n");
+        write(new File(dir, "cpu.pressure"), "some avg10=0.00 avg60=0.00 avg300=0.00 total=" + cpuStallUsec
+            + "\nfull avg10=0.00 avg60=0.00 avg300=0.00 total=0\n");
+        write(new File(dir, "memory.pressure"), "some avg10=0.00 avg60=0.00 avg300=0.00 total=" + memoryStallUsec
+            + "\nfull avg10=0.00 avg60=0.00 avg300=0.00 total=0\n");
+    }
+
+    private static void write(File file, String content) {
+        try {
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), content.getBytes(Charset.forName("UTF-8")));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -99,6 +99,23 @@ public class SystemRuleManagerTest {
         assertTrue("The entry should be blocked under SystemRule maxCpuUsage=0", blocked);
     }
 
+    @Test
+    public void testStatusSnapshotRefreshed() throws Exception {
+        SystemRule rule = new SystemRule();
+        rule.setQps(1000);
+        SystemRuleManager.loadRules(Collections.singletonList(rule));
+        // The snapshot is taken when the rules are loaded.
+        SystemStatusSnapshot snapshot = SystemRuleManager.getStatusSnapshot();
+        assertNotSame(SystemStatusSnapshot.EMPTY, snapshot);
+
+        // And published periodically.
+        long deadline = System.currentTimeMillis() + 1000;
+        while (SystemRuleManager.getStatusSnapshot() == snapshot && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNotSame(snapshot, SystemRuleManager.getStatusSnapshot());
+    }
+
     @Before
     public void setUp() throws Exception {
         SystemRuleManager.loadRules(new ArrayList<SystemRule>());
@@ -16,6 +16,7 @@
 package com.alibaba.csp.sentinel.spi;
 
 import com.alibaba.csp.sentinel.SphU;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.init.InitFunc;
 import com.alibaba.csp.sentinel.metric.extension.MetricCallbackInit;
 import com.alibaba.csp.sentinel.slotchain.ProcessorSlot;
@@ -32,8 +33,15 @@ import com.alibaba.csp.sentinel.slots.system.SystemSlot;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import static org.junit.Assert.*;
 import static org.hamcrest.Matchers.*;
@@ -318,4 +326,79 @@ public class SpiLoaderTest {
                 , containsString("check if it is in the SPI configuration file?")));
         }
     }
+
+    @Test
+    public void testLoadFromSpiIndex() {
+        // The SPI index is generated by the annotation processor when compiling.
+        ClassLoader classLoader = TestInterface.class.getClassLoader();
+        assertNotNull(SpiIndex.getEntries(classLoader, TestInterface.class.getName(),
+            classLoader.getResource(SpiLoader.SPI_FILE_PREFIX + TestInterface.class.getName())));
+        assertNull(SpiIndex.getEntries(classLoader, TestNoProviderInterface.class.getName(),
+            classLoader.getResource(SpiLoader.SPI_FILE_PREFIX + TestNoProviderInterface.class.getName())));
+
+        // The SPI index is used by default.
+        assertTrue(SentinelConfig.shouldUseSpiIndex());
+        SpiLoader.resetAndClearAll();
+        test_TestInterface();
+        testLoadInstanceListSorted();
+        testLoadFirstInstanceOrDefault();
+        // Not indexed, fall back to the SPI configuration file.
+        test_TestNoProviderInterface();
+
+        SentinelConfig.setConfig(SentinelConfig.SPI_INDEX_ENABLED, "false");
+        try {
+            assertFalse(SentinelConfig.shouldUseSpiIndex());
+            SpiLoader.resetAndClearAll();
+            test_TestInterface();
+            testLoadInstanceListSorted();
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.SPI_INDEX_ENABLED);
+            SpiLoader.resetAndClearAll();
+        }
+    }
+
+    @Test
+    public void testLoadFromSpiIndexWithNonIndexedJar() throws Exception {
+        // A provider jar built without the SPI index.
+        File jar = File.createTempFile("sentinel-spi-test", ".jar");
+        jar.deleteOnExit();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(SpiLoader.SPI_FILE_PREFIX + TestInterface.class.getName()));
+            out.write((TestFourProvider.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {jar.toURI().toURL()},
+            TestInterface.class.getClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+        SentinelConfig.setConfig(SentinelConfig.SPI_CLASSLOADER, "context");
+        try {
+            SpiLoader.resetAndClearAll();
+            List<TestInterface> providers = SpiLoader.of(TestInterface.class).loadInstanceListSorted();
+            // Four providers from the index, and the other one from the non-indexed jar.
+            assertEquals(5, providers.size());
+            assertTrue(providers.get(0) instanceof TestFourProvider);
+            assertTrue(providers.get(1) instanceof TestThreeProvider);
+        } finally {
+            SentinelConfig.removeConfig(SentinelConfig.SPI_CLASSLOADER);
+            Thread.currentThread().setContextClassLoader(originalClassLoader);
+            SpiLoader.resetAndClearAll();
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void testParseSpiIndexEntry() {
+        SpiIndex.Entry entry = SpiIndex.parseEntry("a.Service\ta.Provider\talias\tfalse\ttrue\t-100");
+        assertNotNull(entry);
+        assertEquals("a.Service", entry.service);
+        assertEquals("a.Provider", entry.provider);
+        assertEquals("alias", entry.aliasName);
+        assertFalse(entry.singleton);
+        assertTrue(entry.isDefault);
+        assertEquals(-100, entry.order);
+
+        assertNull(SpiIndex.parseEntry("a.Service\ta.Provider"));
+        assertNull(SpiIndex.parseEntry("a.Service\ta.Provider\t\ttrue\tfalse\tx"));
+    }
 }
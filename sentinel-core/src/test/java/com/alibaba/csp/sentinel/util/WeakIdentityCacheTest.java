@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeakIdentityCacheTest {
+
+    @Test
+    public void testIdentityKeys() {
+        WeakIdentityCache<String, Integer> cache = new WeakIdentityCache<>();
+        String key = new String("a");
+        cache.put(key, 1);
+        assertEquals(1, (int) cache.get(key));
+        // Equal but not the same key.
+        assertNull(cache.get(new String("a")));
+
+        cache.put(key, 2);
+        assertEquals(2, (int) cache.get(key));
+        assertEquals(1, cache.size());
+
+        cache.remove(key);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCollectedKeysArePurged() throws Exception {
+        WeakIdentityCache<Object, String> cache = new WeakIdentityCache<>();
+        Object kept = new Object();
+        cache.put(kept, "kept");
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Object(), "discarded");
+        }
+        for (int i = 0; i < 50 && cache.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, cache.size());
+        assertEquals("kept", cache.get(kept));
+    }
+}
@@ -15,6 +15,24 @@
  */
 package com.alibaba.csp.sentinel.dashboard.controller;
 
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
 import com.alibaba.csp.sentinel.dashboard.discovery.AppManagement;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -27,6 +45,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
@@ -34,6 +53,14 @@ import org.springframework.web.bind.annotation.ResponseBody;
 @RequestMapping(value = "/registry", produces = MediaType.APPLICATION_JSON_VALUE)
 public class MachineRegistryController {
 
+    /**
+     * Limits of a batch of heartbeats, so that a small (compressed) request cannot exhaust the memory.
+     * The endpoint is excluded from the auth filter, as are the single heartbeats.
+     */
+    private static final int MAX_BATCH_BODY_BYTES = 1024 * 1024;
+    private static final int MAX_BATCH_LINE_LENGTH = 4096;
+    private static final int MAX_BATCH_MACHINES = 2000;
+
     private final Logger logger = LoggerFactory.getLogger(MachineRegistryController.class);
 
     @Autowired
@@ -45,6 +72,122 @@ public class MachineRegistryController {
                                       @RequestParam(value = "app_type", required = false, defaultValue = "0")
                                           Integer appType, Long version, String v, String hostname, String ip,
                                       Integer port) {
+        return registerMachine(app, appType, version, v, hostname, ip, port);
+    }
+
+    /**
+     * Receive heartbeats of many machines at once, e.g. from sidecars that send heartbeats on behalf of
+     * many applications. Each line of the (optionally gzip-encoded) body is a heartbeat encoded as
+     * URL-encoded form parameters, the same as the parameters of {@code /registry/machine}.
+     * <p>
+     * The whole batch is rejected with 413 if the (decompressed) body exceeds 1 MB, a line exceeds
+     * 4096 characters, or the batch has more than 2000 heartbeats.
+     * </p>
+     */
+    @ResponseBody
+    @RequestMapping(value = "/machines", method = RequestMethod.POST)
+    public Result<?> receiveHeartBeats(HttpServletRequest request, HttpServletResponse response) {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(openRequestBody(request), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = readLine(reader)) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (lines.size() >= MAX_BATCH_MACHINES) {
+                    throw new BatchTooLargeException("too many heartbeats, max " + MAX_BATCH_MACHINES);
+                }
+                lines.add(line);
+            }
+        } catch (BatchTooLargeException e) {
+            logger.warn("Rejected batched heartbeats from {}: {}", request.getRemoteAddr(), e.getMessage());
+            response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return Result.ofFail(-1, e.getMessage());
+        } catch (IOException e) {
+            logger.warn("Failed to read batched heartbeats", e);
+            return Result.ofFail(-1, "failed to read heartbeats");
+        }
+        int accepted = 0;
+        int rejected = 0;
+        for (String line : lines) {
+            Result<?> result = registerHeartbeatLine(line);
+            if (result.isSuccess()) {
+                accepted++;
+            } else {
+                rejected++;
+                logger.debug("Invalid heartbeat in batch: {}, reason: {}", line, result.getMsg());
+            }
+        }
+        Map<String, Integer> counts = new HashMap<>(4);
+        counts.put("accepted", accepted);
+        counts.put("rejected", rejected);
+        return Result.ofSuccess(counts);
+    }
+
+    private Result<?> registerHeartbeatLine(String line) {
+        Map<String, String> params = new HashMap<>(16);
+        for (String pair : line.split("&")) {
+            int idx = pair.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            try {
+                params.put(URLDecoder.decode(pair.substring(0, idx), "UTF-8"),
+                    URLDecoder.decode(pair.substring(idx + 1), "UTF-8"));
+            } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                return Result.ofFail(-1, "invalid encoding");
+            }
+        }
+        try {
+            String appType = params.get("app_type");
+            String version = params.get("version");
+            String port = params.get("port");
+            return registerMachine(params.get("app"), appType == null ? 0 : Integer.valueOf(appType),
+                version == null ? null : Long.valueOf(version), params.get("v"), params.get("hostname"),
+                params.get("ip"), port == null ? null : Integer.valueOf(port));
+        } catch (NumberFormatException e) {
+            return Result.ofFail(-1, "invalid number: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read a line like {@link BufferedReader#readLine()}, but fail once the line is too long.
+     */
+    private static String readLine(Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                break;
+            }
+            if (sb.length() >= MAX_BATCH_LINE_LENGTH) {
+                throw new BatchTooLargeException("heartbeat line too long, max " + MAX_BATCH_LINE_LENGTH);
+            }
+            sb.append((char)c);
+        }
+        if (c == -1 && sb.length() == 0) {
+            return null;
+        }
+        int len = sb.length();
+        if (len > 0 && sb.charAt(len - 1) == '\r') {
+            sb.setLength(len - 1);
+        }
+        return sb.toString();
+    }
+
+    private InputStream openRequestBody(HttpServletRequest request) throws IOException {
+        String encoding = request.getHeader("Content-Encoding");
+        InputStream in = request.getInputStream();
+        if (encoding != null && encoding.toLowerCase().contains("gzip")) {
+            in = new GZIPInputStream(in);
+        }
+        // Count the decompressed bytes, as the compressed body can be far smaller.
+        return new SizeLimitedInputStream(in, MAX_BATCH_BODY_BYTES);
+    }
+
+    private Result<?> registerMachine(String app, Integer appType, Long version, String v, String hostname,
+                                      String ip, Integer port) {
         if (StringUtil.isBlank(app) || app.length() > 256) {
             return Result.ofFail(-1, "invalid appName");
         }
@@ -81,4 +224,62 @@ public class MachineRegistryController {
             return Result.ofFail(-1, e.getMessage());
         }
     }
+
+    private static final class BatchTooLargeException extends IOException {
+
+        BatchTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Fails with {@link BatchTooLargeException} once more than the given number of bytes are read.
+     */
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) throws BatchTooLargeException {
+            count += n;
+            if (count > limit) {
+                throw new BatchTooLargeException("request body too large, max " + limit + " bytes");
+            }
+        }
+    }
 }
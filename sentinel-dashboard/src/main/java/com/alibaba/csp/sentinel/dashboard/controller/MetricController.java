@@ -15,6 +15,11 @@
  */
 package com.alibaba.csp.sentinel.dashboard.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -23,8 +28,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import com.alibaba.csp.sentinel.dashboard.domain.Result;
+import com.alibaba.csp.sentinel.dashboard.metric.MetricPushCollector;
 import com.alibaba.csp.sentinel.dashboard.repository.metric.MetricsRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,8 +42,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
 import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
@@ -52,6 +64,8 @@ public class MetricController {
 
     @Autowired
     private MetricsRepository<MetricEntity> metricStore;
+    @Autowired
+    private MetricPushCollector pushCollector;
 
     @ResponseBody
     @RequestMapping("/queryTopResourceMetric.json")
@@ -159,6 +173,53 @@ public class MetricController {
         return Result.ofSuccess(sortMetricVoAndDistinct(vos));
     }
 
+    @ResponseBody
+    @RequestMapping(value = "/push", method = RequestMethod.POST)
+    public Result<?> receivePushedMetrics(HttpServletRequest request, HttpServletResponse response,
+                                          String app, String ip, Integer port) {
+        if (StringUtil.isBlank(app) || app.length() > 256) {
+            return Result.ofFail(-1, "invalid appName");
+        }
+        if (StringUtil.isBlank(ip) || ip.length() > 128) {
+            return Result.ofFail(-1, "invalid ip: " + ip);
+        }
+        if (port == null || port < 0) {
+            return Result.ofFail(-1, "invalid port");
+        }
+        List<MetricNode> nodes = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(openRequestBody(request), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    nodes.add(MetricNode.fromThinString(line));
+                } catch (Exception e) {
+                    logger.warn("Invalid pushed metric line from {}:{}: {}", ip, port, line);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read pushed metrics from {}:{}", ip, port, e);
+            return Result.ofFail(-1, "failed to read metrics");
+        }
+        if (!pushCollector.accept(app, ip, port, nodes)) {
+            // Let the client back off and account the batches as dropped.
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return Result.ofFail(-1, "too many pending metrics");
+        }
+        return Result.ofSuccessMsg("success");
+    }
+
+    private InputStream openRequestBody(HttpServletRequest request) throws IOException {
+        String encoding = request.getHeader("Content-Encoding");
+        if (encoding != null && encoding.toLowerCase().contains("gzip")) {
+            return new GZIPInputStream(request.getInputStream());
+        }
+        return request.getInputStream();
+    }
+
     private Iterable<MetricVo> sortMetricVoAndDistinct(List<MetricVo> vos) {
         if (vos == null) {
             return null;
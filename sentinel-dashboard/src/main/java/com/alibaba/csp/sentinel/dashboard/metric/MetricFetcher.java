@@ -15,8 +15,10 @@
  */
 package com.alibaba.csp.sentinel.dashboard.metric;
 
+import java.io.UnsupportedEncodingException;
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
+import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.util.Date;
 import java.util.HashSet;
@@ -36,6 +38,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.alibaba.csp.sentinel.Constants;
+import com.alibaba.csp.sentinel.command.handler.SendMetricCommandHandler;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
 import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
@@ -46,7 +49,11 @@ import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
 import com.alibaba.csp.sentinel.dashboard.repository.metric.MetricsRepository;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ContentType;
@@ -54,7 +61,6 @@ import org.apache.http.impl.client.DefaultRedirectStrategy;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
 import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
-import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,11 +85,17 @@ public class MetricFetcher {
     private final long intervalSecond = 1;
 
     private Map<String, AtomicLong> appLastFetchTime = new ConcurrentHashMap<>();
+    /**
+     * {@code app -> ip:port -> cursor} for incremental fetching, see {@link SendMetricCommandHandler}.
+     */
+    private final Map<String, Map<String, String>> appMachineCursors = new ConcurrentHashMap<>();
 
     @Autowired
     private MetricsRepository<MetricEntity> metricStore;
     @Autowired
     private AppManagement appManagement;
+    @Autowired
+    private MetricPushCollector pushCollector;
 
     private CloseableHttpAsyncClient httpclient;
 
@@ -177,6 +189,8 @@ public class MetricFetcher {
         if (appInfo.isDead()) {
             logger.info("Dead app removed: {}", app);
             appManagement.removeApp(app);
+            pushCollector.removeApp(app);
+            appMachineCursors.remove(app);
             return;
         }
         Set<MachineInfo> machines = appInfo.getMachines();
@@ -194,12 +208,14 @@ public class MetricFetcher {
         /** app_resource_timeSecond -> metric */
         final Map<String, MetricEntity> metricMap = new ConcurrentHashMap<>(16);
         final CountDownLatch latch = new CountDownLatch(machines.size());
+        final Map<String, String> cursors = appMachineCursors.computeIfAbsent(app, k -> new ConcurrentHashMap<>());
         for (final MachineInfo machine : machines) {
             // auto remove
             if (machine.isDead()) {
                 latch.countDown();
                 appManagement.getDetailApp(app).removeMachine(machine.getIp(), machine.getPort());
                 logger.info("Dead machine removed: {}:{} of {}", machine.getIp(), machine.getPort(), app);
+                cursors.remove(machine.getIp() + ":" + machine.getPort());
                 continue;
             }
             if (!machine.isHealthy()) {
@@ -207,15 +223,24 @@ public class MetricFetcher {
                 unhealthy.incrementAndGet();
                 continue;
             }
-            final String url = "http://" + machine.getIp() + ":" + machine.getPort() + "/" + METRIC_URL_PATH
-                + "?startTime=" + startTime + "&endTime=" + endTime + "&refetch=" + false;
+            // Metrics of push-active machines are collected by MetricPushCollector.
+            if (pushCollector.isPushActive(app, machine.getIp(), machine.getPort())) {
+                latch.countDown();
+                continue;
+            }
+            final String machineKey = machine.getIp() + ":" + machine.getPort();
+            // Machines that support cursor only return metrics after the previous fetch, others ignore it.
+            final String url = "http://" + machineKey + "/" + METRIC_URL_PATH
+                + "?startTime=" + startTime + "&endTime=" + endTime + "&refetch=" + false
+                + "&cursor=" + encodeCursor(cursors.get(machineKey));
             final HttpGet httpGet = new HttpGet(url);
-            httpGet.setHeader(HTTP.CONN_DIRECTIVE, HTTP.CONN_CLOSE);
+            // Connections are kept alive as metrics are fetched every second, and responses may be compressed.
+            httpGet.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
             httpclient.execute(httpGet, new FutureCallback<HttpResponse>() {
                 @Override
                 public void completed(final HttpResponse response) {
                     try {
-                        handleResponse(response, machine, metricMap);
+                        handleResponse(response, machine, metricMap, cursors);
                         success.incrementAndGet();
                     } catch (Exception e) {
                         logger.error(msg + " metric " + url + " error:", e);
@@ -255,6 +280,12 @@ public class MetricFetcher {
         //logger.info("finished " + msg + " metric for " + app + ", time intervalMs [" + startTime + ", " + endTime
         //    + "], total machines=" + machines.size() + ", dead=" + dead + ", fetch success="
         //    + success + ", fetch fail=" + fail + ", time cost=" + cost + " ms");
+        for (MetricNode node : pushCollector.drain(app, startTime, endTime)) {
+            if (shouldFilterOut(node.getResource())) {
+                continue;
+            }
+            aggregateNode(app, node, metricMap);
+        }
         writeMetric(metricMap);
     }
 
@@ -289,8 +320,20 @@ public class MetricFetcher {
         }
     }
 
+    private static String encodeCursor(String cursor) {
+        if (cursor == null) {
+            // Any invalid cursor makes the machine start incremental fetching by the start time.
+            return "0";
+        }
+        try {
+            return URLEncoder.encode(cursor, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            return "0";
+        }
+    }
+
     private void handleResponse(final HttpResponse response, MachineInfo machine,
-                                Map<String, MetricEntity> metricMap) throws Exception {
+                                Map<String, MetricEntity> metricMap, Map<String, String> cursors) throws Exception {
         int code = response.getStatusLine().getStatusCode();
         if (code != HTTP_OK) {
             return;
@@ -304,12 +347,21 @@ public class MetricFetcher {
             }
         } catch (Exception ignore) {
         }
-        String body = EntityUtils.toString(response.getEntity(), charset != null ? charset : DEFAULT_CHARSET);
+        HttpEntity entity = response.getEntity();
+        Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && "gzip".equalsIgnoreCase(contentEncoding.getValue())) {
+            entity = new GzipDecompressingEntity(entity);
+        }
+        String body = EntityUtils.toString(entity, charset != null ? charset : DEFAULT_CHARSET);
         if (StringUtil.isEmpty(body) || body.startsWith(NO_METRICS)) {
             //logger.info(machine.getApp() + ":" + machine.getIp() + ":" + machine.getPort() + ", bodyStr is empty");
             return;
         }
         String[] lines = body.split("\n");
+        if (lines[0].startsWith(SendMetricCommandHandler.CURSOR_LINE_PREFIX)) {
+            cursors.put(machine.getIp() + ":" + machine.getPort(),
+                lines[0].substring(SendMetricCommandHandler.CURSOR_LINE_PREFIX.length()));
+        }
         //logger.info(machine.getApp() + ":" + machine.getIp() + ":" + machine.getPort() +
         //    ", bodyStr.length()=" + body.length() + ", lines=" + lines.length);
         handleBody(lines, machine, metricMap);
@@ -322,39 +374,46 @@ public class MetricFetcher {
         }
 
         for (String line : lines) {
+            if (line.startsWith(SendMetricCommandHandler.CURSOR_LINE_PREFIX)) {
+                continue;
+            }
             try {
                 MetricNode node = MetricNode.fromThinString(line);
                 if (shouldFilterOut(node.getResource())) {
                     continue;
                 }
-                /*
-                 * aggregation metrics by app_resource_timeSecond, ignore ip and port.
-                 */
-                String key = buildMetricKey(machine.getApp(), node.getResource(), node.getTimestamp());
-
-                MetricEntity metricEntity = map.computeIfAbsent(key, s -> {
-                    MetricEntity initMetricEntity = new MetricEntity();
-                    initMetricEntity.setApp(machine.getApp());
-                    initMetricEntity.setTimestamp(new Date(node.getTimestamp()));
-                    initMetricEntity.setPassQps(0L);
-                    initMetricEntity.setBlockQps(0L);
-                    initMetricEntity.setRtAndSuccessQps(0, 0L);
-                    initMetricEntity.setExceptionQps(0L);
-                    initMetricEntity.setCount(0);
-                    initMetricEntity.setResource(node.getResource());
-                    return initMetricEntity;
-                });
-                metricEntity.addPassQps(node.getPassQps());
-                metricEntity.addBlockQps(node.getBlockQps());
-                metricEntity.addRtAndSuccessQps(node.getRt(), node.getSuccessQps());
-                metricEntity.addExceptionQps(node.getExceptionQps());
-                metricEntity.addCount(1);
+                aggregateNode(machine.getApp(), node, map);
             } catch (Exception e) {
                 logger.warn("handleBody line exception, machine: {}, line: {}", machine.toLogString(), line);
             }
         }
     }
 
+    private void aggregateNode(String app, MetricNode node, Map<String, MetricEntity> map) {
+        /*
+         * aggregation metrics by app_resource_timeSecond, ignore ip and port.
+         */
+        String key = buildMetricKey(app, node.getResource(), node.getTimestamp());
+
+        MetricEntity metricEntity = map.computeIfAbsent(key, s -> {
+            MetricEntity initMetricEntity = new MetricEntity();
+            initMetricEntity.setApp(app);
+            initMetricEntity.setTimestamp(new Date(node.getTimestamp()));
+            initMetricEntity.setPassQps(0L);
+            initMetricEntity.setBlockQps(0L);
+            initMetricEntity.setRtAndSuccessQps(0, 0L);
+            initMetricEntity.setExceptionQps(0L);
+            initMetricEntity.setCount(0);
+            initMetricEntity.setResource(node.getResource());
+            return initMetricEntity;
+        });
+        metricEntity.addPassQps(node.getPassQps());
+        metricEntity.addBlockQps(node.getBlockQps());
+        metricEntity.addRtAndSuccessQps(node.getRt(), node.getSuccessQps());
+        metricEntity.addExceptionQps(node.getExceptionQps());
+        metricEntity.addCount(1);
+    }
+
     private String buildMetricKey(String app, String resource, long timestamp) {
         return app + "__" + resource + "__" + (timestamp / 1000);
     }
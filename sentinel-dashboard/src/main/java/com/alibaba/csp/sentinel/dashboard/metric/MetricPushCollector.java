@@ -0,0 +1,139 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.metric;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>Buffers the metrics pushed by machines, until they are collected by {@link MetricFetcher}.</p>
+ * <p>
+ * Machines that have pushed metrics recently are regarded as push-active, and {@link MetricFetcher}
+ * won't poll them. Once a machine stops pushing, it falls back to polling automatically.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+@Component
+public class MetricPushCollector {
+
+    /**
+     * A machine is regarded as push-active if it has pushed metrics during this period.
+     */
+    private static final long PUSH_ACTIVE_TIMEOUT_MS = 10 * 1000;
+    private static final int MAX_PENDING_NODES = 2_000_000;
+
+    /**
+     * {@code app -> metric nodes}
+     */
+    private final Map<String, List<MetricNode>> pendingNodes = new ConcurrentHashMap<>();
+    /**
+     * {@code app:ip:port -> last push time}
+     */
+    private final Map<String, Long> lastPushTime = new ConcurrentHashMap<>();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong rejectedBatches = new AtomicLong();
+
+    /**
+     * Accept the metrics pushed by a machine.
+     *
+     * @param app   app name of the machine
+     * @param ip    ip of the machine
+     * @param port  command port of the machine
+     * @param nodes pushed metric nodes
+     * @return false if the metrics are rejected as there are too many pending metrics,
+     * in which case the machine is not regarded as push-active, so that it keeps being polled
+     */
+    public boolean accept(String app, String ip, int port, List<MetricNode> nodes) {
+        if (pendingCount.get() + nodes.size() > MAX_PENDING_NODES) {
+            rejectedBatches.incrementAndGet();
+            return false;
+        }
+        List<MetricNode> pending = pendingNodes.computeIfAbsent(app, k -> new ArrayList<>());
+        synchronized (pending) {
+            pending.addAll(nodes);
+        }
+        pendingCount.addAndGet(nodes.size());
+        lastPushTime.put(machineKey(app, ip, port), System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Take out all pending metrics of the app until {@code endTime}.
+     * Metrics before {@code startTime} are regarded as late and discarded.
+     *
+     * @param app       app name
+     * @param startTime start timestamp (inclusive)
+     * @param endTime   end timestamp (inclusive)
+     * @return pending metrics between the time period
+     */
+    public List<MetricNode> drain(String app, long startTime, long endTime) {
+        List<MetricNode> results = new ArrayList<>();
+        List<MetricNode> pending = pendingNodes.get(app);
+        if (pending == null) {
+            return results;
+        }
+        int removed;
+        synchronized (pending) {
+            // Compact the kept nodes to the head of the list in a single pass, as removing
+            // from the middle of an ArrayList one by one is quadratic.
+            int size = pending.size();
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                MetricNode node = pending.get(i);
+                if (node.getTimestamp() > endTime) {
+                    pending.set(kept++, node);
+                } else if (node.getTimestamp() >= startTime) {
+                    results.add(node);
+                }
+            }
+            pending.subList(kept, size).clear();
+            removed = size - kept;
+        }
+        pendingCount.addAndGet(-removed);
+        return results;
+    }
+
+    public boolean isPushActive(String app, String ip, int port) {
+        Long last = lastPushTime.get(machineKey(app, ip, port));
+        return last != null && System.currentTimeMillis() - last < PUSH_ACTIVE_TIMEOUT_MS;
+    }
+
+    public void removeApp(String app) {
+        List<MetricNode> pending = pendingNodes.remove(app);
+        if (pending != null) {
+            synchronized (pending) {
+                pendingCount.addAndGet(-pending.size());
+            }
+        }
+    }
+
+    public long getRejectedBatches() {
+        return rejectedBatches.get();
+    }
+
+    private static String machineKey(String app, String ip, int port) {
+        return app + ":" + ip + ":" + port;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+import com.alibaba.csp.sentinel.dashboard.repository.metric.file.MetricRollup;
+import com.alibaba.csp.sentinel.dashboard.repository.metric.file.MetricTier;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.csp.sentinel.util.TimeUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>Persists metrics data to local files, enabled by {@code sentinel.dashboard.metric.store=file}.</p>
+ * <p>
+ * Second-level metrics are appended to the raw tier, and rolled up to 10-second and 1-minute tiers
+ * in background, each of which has its own retention. Queries are served by the finest tier
+ * that still covers the start time. Data in all tiers survives dashboard restarts.
+ * </p>
+ * <p>
+ * Metrics are buffered in memory and written to the tiers in background every {@code 5} seconds, so that
+ * a fetch round ends up in a block per app rather than a block per machine. The buffered metrics are visible
+ * to queries, but lost if the dashboard crashes.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+@Component
+@ConditionalOnProperty(name = "sentinel.dashboard.metric.store", havingValue = "file")
+public class FileMetricsRepository implements MetricsRepository<MetricEntity> {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileMetricsRepository.class);
+
+    private static final long ONE_MINUTE_MS = 60 * 1000;
+    private static final long ONE_HOUR_MS = 60 * ONE_MINUTE_MS;
+    private static final long ONE_DAY_MS = 24 * ONE_HOUR_MS;
+
+    /**
+     * Metrics may be fetched with a delay, so buckets are only sealed after this lag.
+     */
+    private static final long ROLLUP_DELAY_MS = 30 * 1000;
+    /**
+     * Interval of rollups and flushes, which also bounds the metrics lost at a crash.
+     */
+    private static final long ROLLUP_INTERVAL_MS = 5 * 1000;
+
+    private final File baseDir;
+    private final long rawRetentionMs;
+    private final long tenSecondRetentionMs;
+    private final long minuteRetentionMs;
+
+    private MetricTier rawTier;
+    private List<MetricTier> tiers;
+    private List<MetricRollup> rollups;
+
+    private ScheduledExecutorService rollupScheduler;
+
+    public FileMetricsRepository(
+        @Value("${sentinel.dashboard.metric.file.dir:${user.home}/logs/csp/sentinel-dashboard-metrics}") String dir,
+        @Value("${sentinel.dashboard.metric.file.raw-retention-minutes:60}") long rawRetentionMinutes,
+        @Value("${sentinel.dashboard.metric.file.10s-retention-hours:24}") long tenSecondRetentionHours,
+        @Value("${sentinel.dashboard.metric.file.1m-retention-days:7}") long minuteRetentionDays) {
+        this.baseDir = new File(dir);
+        this.rawRetentionMs = rawRetentionMinutes * ONE_MINUTE_MS;
+        this.tenSecondRetentionMs = tenSecondRetentionHours * ONE_HOUR_MS;
+        this.minuteRetentionMs = minuteRetentionDays * ONE_DAY_MS;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        rawTier = new MetricTier(baseDir, "1s", 1000, ONE_HOUR_MS, rawRetentionMs);
+        MetricTier tenSecondTier = new MetricTier(baseDir, "10s", 10 * 1000, 6 * ONE_HOUR_MS, tenSecondRetentionMs);
+        MetricTier minuteTier = new MetricTier(baseDir, "1m", ONE_MINUTE_MS, ONE_DAY_MS, minuteRetentionMs);
+        tiers = Arrays.asList(rawTier, tenSecondTier, minuteTier);
+        rollups = Arrays.asList(new MetricRollup(tenSecondTier), new MetricRollup(minuteTier));
+
+        // Rebuild the unsealed buckets from the raw tier, so restarts do not leave holes in rollups.
+        long now = TimeUtil.currentTimeMillis();
+        for (MetricRollup rollup : rollups) {
+            long from = Math.max(rollup.getSealedUntil(), now - rawRetentionMs);
+            rawTier.scan(null, null, from, Long.MAX_VALUE, rollup::add);
+        }
+
+        rollupScheduler = Executors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("sentinel-dashboard-metrics-rollup-task", true));
+        rollupScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rollup(TimeUtil.currentTimeMillis());
+            } catch (Throwable ex) {
+                logger.warn("Failed to roll up metrics", ex);
+            }
+        }, ROLLUP_INTERVAL_MS, ROLLUP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        logger.info("File metrics repository started at {}", baseDir.getAbsolutePath());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (rollupScheduler != null) {
+            rollupScheduler.shutdownNow();
+        }
+        if (tiers != null) {
+            for (MetricTier tier : tiers) {
+                tier.close();
+            }
+        }
+    }
+
+    void rollup(long now) throws IOException {
+        for (MetricRollup rollup : rollups) {
+            rollup.getTarget().append(rollup.seal(now - ROLLUP_DELAY_MS));
+        }
+        flush();
+        for (MetricTier tier : tiers) {
+            tier.purge(now);
+        }
+    }
+
+    void flush() throws IOException {
+        for (MetricTier tier : tiers) {
+            tier.flush();
+        }
+    }
+
+    @Override
+    public void save(MetricEntity metric) {
+        saveAll(Collections.singletonList(metric));
+    }
+
+    @Override
+    public void saveAll(Iterable<MetricEntity> metrics) {
+        if (metrics == null) {
+            return;
+        }
+        List<MetricEntity> list = new ArrayList<>();
+        for (MetricEntity metric : metrics) {
+            if (metric != null && StringUtil.isNotBlank(metric.getApp()) && metric.getResource() != null
+                && metric.getTimestamp() != null) {
+                list.add(metric);
+            }
+        }
+        if (list.isEmpty()) {
+            return;
+        }
+        try {
+            rawTier.append(list);
+        } catch (IOException ex) {
+            logger.error("Failed to persist metrics", ex);
+            return;
+        }
+        for (MetricRollup rollup : rollups) {
+            for (MetricEntity metric : list) {
+                rollup.add(metric);
+            }
+        }
+    }
+
+    @Override
+    public List<MetricEntity> queryByAppAndResourceBetween(String app, String resource, long startTime,
+                                                           long endTime) {
+        List<MetricEntity> results = new ArrayList<>();
+        if (StringUtil.isBlank(app) || resource == null) {
+            return results;
+        }
+        tierFor(startTime).scan(app, resource, startTime, endTime, results::add);
+        return results;
+    }
+
+    private MetricTier tierFor(long startTime) {
+        long now = TimeUtil.currentTimeMillis();
+        for (MetricTier tier : tiers) {
+            if (tier.covers(startTime, now)) {
+                return tier;
+            }
+        }
+        return tiers.get(tiers.size() - 1);
+    }
+
+    @Override
+    public List<String> listResourcesOfApp(String app) {
+        if (StringUtil.isBlank(app)) {
+            return new ArrayList<>();
+        }
+        final long minTimeMs = TimeUtil.currentTimeMillis() - ONE_MINUTE_MS;
+        Map<String, MetricEntity> resourceCount = new HashMap<>(32);
+        rawTier.scan(app, null, minTimeMs, Long.MAX_VALUE, newEntity -> {
+            MetricEntity oldEntity = resourceCount.get(newEntity.getResource());
+            if (oldEntity == null) {
+                resourceCount.put(newEntity.getResource(), newEntity);
+            } else {
+                oldEntity.addPassQps(newEntity.getPassQps());
+                oldEntity.addRtAndSuccessQps(newEntity.getRt(), newEntity.getSuccessQps());
+                oldEntity.addBlockQps(newEntity.getBlockQps());
+                oldEntity.addExceptionQps(newEntity.getExceptionQps());
+                oldEntity.addCount(1);
+            }
+        });
+        // Order by last minute b_qps DESC.
+        return resourceCount.entrySet()
+            .stream()
+            .sorted((o1, o2) -> {
+                MetricEntity e1 = o1.getValue();
+                MetricEntity e2 = o2.getValue();
+                int t = e2.getBlockQps().compareTo(e1.getBlockQps());
+                if (t != 0) {
+                    return t;
+                }
+                return e2.getPassQps().compareTo(e1.getPassQps());
+            })
+            .map(Entry::getKey)
+            .collect(Collectors.toList());
+    }
+}
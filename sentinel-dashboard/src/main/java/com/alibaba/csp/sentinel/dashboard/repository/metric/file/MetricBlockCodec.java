@@ -0,0 +1,252 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric.file;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+
+/**
+ * <p>Columnar codec of a metric block.</p>
+ * <p>
+ * A block holds a batch of {@link MetricEntity} laid out column by column: a string dictionary for
+ * app and resource names, then the index columns, then the timestamp column (delta encoded) and the
+ * counter columns. All integers are written as (zig-zag) varints, so small counters and
+ * per-second timestamp steps usually take a single byte.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class MetricBlockCodec {
+
+    /**
+     * Encode the metrics into a block payload.
+     *
+     * @param metrics metrics to encode, should not be empty
+     * @return encoded payload
+     */
+    public static byte[] encode(List<MetricEntity> metrics) {
+        int size = metrics.size();
+        Map<String, Integer> dict = new HashMap<>();
+        List<String> words = new ArrayList<>();
+        int[] appIdx = new int[size];
+        int[] resourceIdx = new int[size];
+        for (int i = 0; i < size; i++) {
+            MetricEntity metric = metrics.get(i);
+            appIdx[i] = indexOf(dict, words, metric.getApp());
+            resourceIdx[i] = indexOf(dict, words, metric.getResource());
+        }
+
+        VarOutput out = new VarOutput(size * 16 + 64);
+        out.writeVarLong(size);
+        out.writeVarLong(words.size());
+        for (String word : words) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeVarLong(appIdx[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeVarLong(resourceIdx[i]);
+        }
+        long previous = 0;
+        for (MetricEntity metric : metrics) {
+            long timestamp = metric.getTimestamp().getTime();
+            out.writeZigZag(timestamp - previous);
+            previous = timestamp;
+        }
+        for (MetricEntity metric : metrics) {
+            Date gmtCreate = metric.getGmtCreate();
+            out.writeZigZag(gmtCreate == null ? 0 : gmtCreate.getTime() - metric.getTimestamp().getTime());
+        }
+        for (MetricEntity metric : metrics) {
+            out.writeVarLong(valueOf(metric.getPassQps()));
+        }
+        for (MetricEntity metric : metrics) {
+            out.writeVarLong(valueOf(metric.getSuccessQps()));
+        }
+        for (MetricEntity metric : metrics) {
+            out.writeVarLong(valueOf(metric.getBlockQps()));
+        }
+        for (MetricEntity metric : metrics) {
+            out.writeVarLong(valueOf(metric.getExceptionQps()));
+        }
+        for (MetricEntity metric : metrics) {
+            out.writeVarLong(Math.max(0, Math.round(metric.getRt())));
+        }
+        for (MetricEntity metric : metrics) {
+            out.writeVarLong(Math.max(0, metric.getCount()));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode the metrics of given block payload that match the conditions.
+     *
+     * @param payload   block payload
+     * @param app       app name to match, or null for all apps
+     * @param resource  resource name to match, or null for all resources
+     * @param startTime start timestamp (inclusive)
+     * @param endTime   end timestamp (inclusive)
+     * @param consumer  consumer of the matched metrics
+     */
+    public static void decode(ByteBuffer payload, String app, String resource, long startTime, long endTime,
+                              Consumer<MetricEntity> consumer) {
+        int size = (int)readVarLong(payload);
+        int dictSize = (int)readVarLong(payload);
+        String[] words = new String[dictSize];
+        int appFilter = -1;
+        int resourceFilter = -1;
+        for (int i = 0; i < dictSize; i++) {
+            int len = (int)readVarLong(payload);
+            byte[] bytes = new byte[len];
+            payload.get(bytes);
+            words[i] = new String(bytes, StandardCharsets.UTF_8);
+            if (app != null && app.equals(words[i])) {
+                appFilter = i;
+            }
+            if (resource != null && resource.equals(words[i])) {
+                resourceFilter = i;
+            }
+        }
+        if ((app != null && appFilter < 0) || (resource != null && resourceFilter < 0)) {
+            return;
+        }
+
+        int[] appIdx = readIntColumn(payload, size);
+        int[] resourceIdx = readIntColumn(payload, size);
+        long[] timestamps = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += readZigZag(payload);
+            timestamps[i] = previous;
+        }
+        long[] gmtCreates = new long[size];
+        for (int i = 0; i < size; i++) {
+            gmtCreates[i] = timestamps[i] + readZigZag(payload);
+        }
+        long[] pass = readLongColumn(payload, size);
+        long[] success = readLongColumn(payload, size);
+        long[] block = readLongColumn(payload, size);
+        long[] exception = readLongColumn(payload, size);
+        long[] rt = readLongColumn(payload, size);
+        int[] count = readIntColumn(payload, size);
+
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] < startTime || timestamps[i] > endTime) {
+                continue;
+            }
+            if ((app != null && appIdx[i] != appFilter) || (resource != null && resourceIdx[i] != resourceFilter)) {
+                continue;
+            }
+            MetricEntity entity = new MetricEntity();
+            entity.setApp(words[appIdx[i]]);
+            entity.setResource(words[resourceIdx[i]]);
+            entity.setTimestamp(new Date(timestamps[i]));
+            entity.setGmtCreate(new Date(gmtCreates[i]));
+            entity.setGmtModified(entity.getGmtCreate());
+            entity.setPassQps(pass[i]);
+            entity.setSuccessQps(success[i]);
+            entity.setBlockQps(block[i]);
+            entity.setExceptionQps(exception[i]);
+            entity.setRt(rt[i]);
+            entity.setCount(count[i]);
+            consumer.accept(entity);
+        }
+    }
+
+    private static int indexOf(Map<String, Integer> dict, List<String> words, String word) {
+        Integer idx = dict.get(word);
+        if (idx == null) {
+            idx = words.size();
+            dict.put(word, idx);
+            words.add(word);
+        }
+        return idx;
+    }
+
+    private static long valueOf(Long value) {
+        return value == null || value < 0 ? 0 : value;
+    }
+
+    private static int[] readIntColumn(ByteBuffer buffer, int size) {
+        int[] column = new int[size];
+        for (int i = 0; i < size; i++) {
+            column[i] = (int)readVarLong(buffer);
+        }
+        return column;
+    }
+
+    private static long[] readLongColumn(ByteBuffer buffer, int size) {
+        long[] column = new long[size];
+        for (int i = 0; i < size; i++) {
+            column[i] = readVarLong(buffer);
+        }
+        return column;
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalStateException("Malformed varint in metric block");
+            }
+        }
+    }
+
+    static long readZigZag(ByteBuffer buffer) {
+        long raw = readVarLong(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static class VarOutput extends ByteArrayOutputStream {
+
+        VarOutput(int size) {
+            super(size);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int)((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int)value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+    }
+
+    private MetricBlockCodec() {}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric.file;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+
+/**
+ * <p>Summary of the app and the resources in a metric block, kept in the block header and the segment index,
+ * so that queries can skip the blocks of other apps and resources without reading them.</p>
+ * <p>
+ * Every block holds the metrics of a single app, identified by the hash of the app name.
+ * The resources are summarized by a 256-bit bloom filter with two probes. Both may have false positives,
+ * which are filtered out when the block is decoded, but never false negatives.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class MetricBlockFilter {
+
+    static final int BLOOM_WORDS = 4;
+
+    private static final int BLOOM_BITS = BLOOM_WORDS * Long.SIZE;
+
+    private final int appHash;
+    private final long[] resourceBloom;
+
+    private MetricBlockFilter(int appHash, long[] resourceBloom) {
+        this.appHash = appHash;
+        this.resourceBloom = resourceBloom;
+    }
+
+    /**
+     * @param metrics metrics of a single app, should not be empty
+     * @return the filter of the metrics
+     */
+    static MetricBlockFilter of(List<MetricEntity> metrics) {
+        long[] bloom = new long[BLOOM_WORDS];
+        for (MetricEntity metric : metrics) {
+            long hash = mix(metric.getResource());
+            setBit(bloom, 0, (int)(hash >>> 56));
+            setBit(bloom, 0, (int)(hash >>> 48) & (BLOOM_BITS - 1));
+        }
+        return new MetricBlockFilter(appHashOf(metrics.get(0).getApp()), bloom);
+    }
+
+    static MetricBlockFilter of(int appHash, long[] resourceBloom) {
+        return new MetricBlockFilter(appHash, resourceBloom);
+    }
+
+    static int appHashOf(String app) {
+        return app.hashCode();
+    }
+
+    /**
+     * Check whether a block may hold the metrics of the resource.
+     *
+     * @param blooms   bloom filters of the blocks, {@link #BLOOM_WORDS} words for each block
+     * @param block    index of the block
+     * @param resource resource name
+     * @return false if the block holds no metrics of the resource
+     */
+    static boolean mightContainResource(long[] blooms, int block, String resource) {
+        long hash = mix(resource);
+        int offset = block * BLOOM_WORDS;
+        return isBitSet(blooms, offset, (int)(hash >>> 56))
+            && isBitSet(blooms, offset, (int)(hash >>> 48) & (BLOOM_BITS - 1));
+    }
+
+    private static long mix(String resource) {
+        return resource.hashCode() * 0x9E3779B97F4A7C15L;
+    }
+
+    private static void setBit(long[] words, int offset, int bit) {
+        words[offset + (bit >>> 6)] |= 1L << bit;
+    }
+
+    private static boolean isBitSet(long[] words, int offset, int bit) {
+        return (words[offset + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    int getAppHash() {
+        return appHash;
+    }
+
+    long[] getResourceBloom() {
+        return resourceBloom;
+    }
+}
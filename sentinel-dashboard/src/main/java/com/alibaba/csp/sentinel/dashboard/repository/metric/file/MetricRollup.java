@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric.file;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+
+/**
+ * <p>Accumulates second-level metrics into coarser buckets of a {@link MetricTier}.</p>
+ * <p>
+ * A bucket is sealed when the watermark passes its end time. Values of a sealed bucket are
+ * averaged per second, so the rolled-up metrics keep the same QPS semantics as the raw ones.
+ * Metrics that arrive after their bucket has been sealed are ignored.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class MetricRollup {
+
+    private final MetricTier target;
+    private final long bucketMs;
+
+    /**
+     * {@code bucketStart -> app/resource -> metric}
+     */
+    private final TreeMap<Long, Map<String, MetricEntity>> buckets = new TreeMap<>();
+    private long sealedUntil;
+
+    public MetricRollup(MetricTier target) {
+        this.target = target;
+        this.bucketMs = target.getResolutionMs();
+        long max = target.getMaxTimestamp();
+        this.sealedUntil = max < 0 ? Long.MIN_VALUE : max + bucketMs;
+    }
+
+    /**
+     * @return the first timestamp that has not been sealed into the target tier yet
+     */
+    public synchronized long getSealedUntil() {
+        return sealedUntil;
+    }
+
+    public synchronized void add(MetricEntity metric) {
+        long timestamp = metric.getTimestamp().getTime();
+        if (timestamp < sealedUntil) {
+            return;
+        }
+        long bucketStart = timestamp - Math.floorMod(timestamp, bucketMs);
+        String key = metric.getApp() + '|' + metric.getResource();
+        MetricEntity bucket = buckets.computeIfAbsent(bucketStart, k -> new HashMap<>()).get(key);
+        if (bucket == null) {
+            bucket = new MetricEntity();
+            bucket.setApp(metric.getApp());
+            bucket.setResource(metric.getResource());
+            bucket.setTimestamp(new Date(bucketStart));
+            bucket.setPassQps(0L);
+            bucket.setBlockQps(0L);
+            bucket.setExceptionQps(0L);
+            bucket.setRtAndSuccessQps(0, 0L);
+            bucket.setCount(0);
+            buckets.get(bucketStart).put(key, bucket);
+        }
+        bucket.addPassQps(metric.getPassQps());
+        bucket.addBlockQps(metric.getBlockQps());
+        bucket.addExceptionQps(metric.getExceptionQps());
+        bucket.setRt(bucket.getRt() + metric.getRt());
+        bucket.setSuccessQps(bucket.getSuccessQps() + metric.getSuccessQps());
+        bucket.setCount(Math.max(bucket.getCount(), metric.getCount()));
+    }
+
+    /**
+     * Seal all buckets that end before the watermark.
+     *
+     * @param watermark no more metric before the watermark is expected
+     * @return per-second averaged metrics of the sealed buckets
+     */
+    public synchronized List<MetricEntity> seal(long watermark) {
+        List<MetricEntity> sealed = new ArrayList<>();
+        long seconds = Math.max(1, bucketMs / 1000);
+        Date now = new Date();
+        Iterator<Map.Entry<Long, Map<String, MetricEntity>>> iterator = buckets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Map<String, MetricEntity>> entry = iterator.next();
+            long bucketEnd = entry.getKey() + bucketMs;
+            if (bucketEnd > watermark) {
+                break;
+            }
+            for (MetricEntity bucket : entry.getValue().values()) {
+                bucket.setPassQps(Math.round((double)bucket.getPassQps() / seconds));
+                bucket.setBlockQps(Math.round((double)bucket.getBlockQps() / seconds));
+                bucket.setExceptionQps(Math.round((double)bucket.getExceptionQps() / seconds));
+                bucket.setSuccessQps(Math.round((double)bucket.getSuccessQps() / seconds));
+                bucket.setRt(bucket.getRt() / seconds);
+                bucket.setGmtCreate(now);
+                bucket.setGmtModified(now);
+                sealed.add(bucket);
+            }
+            iterator.remove();
+        }
+        sealedUntil = Math.max(sealedUntil, watermark - Math.floorMod(watermark, bucketMs));
+        return sealed;
+    }
+
+    public MetricTier getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>An append-only log file holding the metric blocks of a fixed time range.</p>
+ * <p>
+ * Each block holds the metrics of a single app, and is framed as
+ * {@code [payloadLength:int][crc32:int][minTimestamp:long][maxTimestamp:long][appHash:int][resourceBloom:long*4][payload]},
+ * where the checksum covers everything after itself. The frame headers are indexed in memory when the segment
+ * is opened, so queries can skip the blocks out of the time range or of other apps and resources
+ * (see {@link MetricBlockFilter}) without touching the file, and the matched blocks are read with positional reads.
+ * Every block is verified by its checksum when the segment is opened: a torn block at the tail
+ * (e.g. after a crash) is truncated, and corrupted blocks before the tail are left out of the index.
+ * </p>
+ * <p>
+ * Appended blocks are not forced to the storage device until {@link #sync()} is called.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class MetricSegment {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricSegment.class);
+
+    static final String FILE_SUFFIX = ".seg";
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + MetricBlockFilter.BLOOM_WORDS * 8;
+    private static final int CRC_START = 8;
+
+    private final File file;
+    private final long startTime;
+    private final FileChannel channel;
+
+    private long[] blockOffsets = new long[64];
+    private int[] blockLengths = new int[64];
+    private long[] blockMinTimes = new long[64];
+    private long[] blockMaxTimes = new long[64];
+    private int[] blockAppHashes = new int[64];
+    private long[] blockResourceBlooms = new long[64 * MetricBlockFilter.BLOOM_WORDS];
+    private int blockCount = 0;
+    private volatile long size;
+    private long maxTimestamp = -1;
+    private boolean dirty = false;
+
+    private MetricSegment(File file, long startTime) throws IOException {
+        this.file = file;
+        this.startTime = startTime;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        recover();
+    }
+
+    public static MetricSegment open(File dir, long startTime) throws IOException {
+        return new MetricSegment(new File(dir, startTime + FILE_SUFFIX), startTime);
+    }
+
+    private void recover() throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        ByteBuffer payload = null;
+        long offset = 0;
+        while (offset + HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(header, offset);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            long minTime = header.getLong();
+            long maxTime = header.getLong();
+            int appHash = header.getInt();
+            long[] bloom = new long[MetricBlockFilter.BLOOM_WORDS];
+            for (int i = 0; i < bloom.length; i++) {
+                bloom[i] = header.getLong();
+            }
+            if (length <= 0 || offset + HEADER_SIZE + length > fileSize) {
+                break;
+            }
+            payload = bufferOf(payload, length);
+            readFully(payload, offset + HEADER_SIZE);
+            long next = offset + HEADER_SIZE + length;
+            if (crcOf(header.array(), payload.array(), length) == crc) {
+                addIndex(offset, length, minTime, maxTime, MetricBlockFilter.of(appHash, bloom));
+            } else if (next == fileSize) {
+                // A torn tail block, which is truncated below.
+                break;
+            } else {
+                logger.warn("Skip corrupted metric block at offset {} of {}", offset, file);
+            }
+            offset = next;
+        }
+        if (offset < fileSize) {
+            logger.warn("Truncating broken tail of metric segment {} from {} to {} bytes", file, fileSize, offset);
+            channel.truncate(offset);
+        }
+        this.size = offset;
+        for (int i = 0; i < blockCount; i++) {
+            maxTimestamp = Math.max(maxTimestamp, blockMaxTimes[i]);
+        }
+    }
+
+    /**
+     * @return a heap buffer with exactly {@code length} bytes remaining, reusing the given buffer if it is large enough
+     */
+    private static ByteBuffer bufferOf(ByteBuffer buffer, int length) {
+        if (buffer == null || buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length);
+        }
+        buffer.clear();
+        buffer.limit(length);
+        return buffer;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of metric segment: " + file);
+            }
+        }
+    }
+
+    private void addIndex(long offset, int length, long minTime, long maxTime, MetricBlockFilter filter) {
+        if (blockCount == blockOffsets.length) {
+            int newLength = blockOffsets.length << 1;
+            blockOffsets = Arrays.copyOf(blockOffsets, newLength);
+            blockLengths = Arrays.copyOf(blockLengths, newLength);
+            blockMinTimes = Arrays.copyOf(blockMinTimes, newLength);
+            blockMaxTimes = Arrays.copyOf(blockMaxTimes, newLength);
+            blockAppHashes = Arrays.copyOf(blockAppHashes, newLength);
+            blockResourceBlooms = Arrays.copyOf(blockResourceBlooms, newLength * MetricBlockFilter.BLOOM_WORDS);
+        }
+        blockOffsets[blockCount] = offset;
+        blockLengths[blockCount] = length;
+        blockMinTimes[blockCount] = minTime;
+        blockMaxTimes[blockCount] = maxTime;
+        blockAppHashes[blockCount] = filter.getAppHash();
+        System.arraycopy(filter.getResourceBloom(), 0, blockResourceBlooms, blockCount * MetricBlockFilter.BLOOM_WORDS,
+            MetricBlockFilter.BLOOM_WORDS);
+        blockCount++;
+    }
+
+    /**
+     * Append an encoded block to the end of the segment.
+     *
+     * @param payload block payload encoded by {@link MetricBlockCodec}
+     * @param minTime minimal metric timestamp in the block
+     * @param maxTime maximal metric timestamp in the block
+     * @param filter  filter of the app and the resources in the block
+     */
+    public synchronized void append(byte[] payload, long minTime, long maxTime, MetricBlockFilter filter)
+        throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length)
+            .putInt(0)
+            .putLong(minTime)
+            .putLong(maxTime)
+            .putInt(filter.getAppHash());
+        for (long word : filter.getResourceBloom()) {
+            buffer.putLong(word);
+        }
+        buffer.put(payload);
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer.array(), CRC_START, buffer.capacity() - CRC_START);
+        buffer.putInt(4, (int)crc32.getValue());
+        buffer.flip();
+        long offset = size;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        addIndex(offset, payload.length, minTime, maxTime, filter);
+        maxTimestamp = Math.max(maxTimestamp, maxTime);
+        size = offset + HEADER_SIZE + payload.length;
+        dirty = true;
+    }
+
+    /**
+     * Force the appended blocks to the storage device.
+     */
+    public synchronized void sync() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    /**
+     * Scan the metrics in the segment that match the conditions.
+     *
+     * @param app       app name to match, or null for all apps
+     * @param resource  resource name to match, or null for all resources
+     * @param startTime start timestamp (inclusive)
+     * @param endTime   end timestamp (inclusive)
+     * @param consumer  consumer of the matched metrics
+     */
+    public void scan(String app, String resource, long startTime, long endTime, Consumer<MetricEntity> consumer)
+        throws IOException {
+        long[] offsets;
+        int[] lengths;
+        long[] minTimes;
+        long[] maxTimes;
+        int[] appHashes;
+        long[] resourceBlooms;
+        int count;
+        synchronized (this) {
+            offsets = blockOffsets;
+            lengths = blockLengths;
+            minTimes = blockMinTimes;
+            maxTimes = blockMaxTimes;
+            appHashes = blockAppHashes;
+            resourceBlooms = blockResourceBlooms;
+            count = blockCount;
+        }
+        int appHash = app == null ? 0 : MetricBlockFilter.appHashOf(app);
+        ByteBuffer block = null;
+        for (int i = 0; i < count; i++) {
+            if (maxTimes[i] < startTime || minTimes[i] > endTime) {
+                continue;
+            }
+            if (app != null && appHashes[i] != appHash) {
+                continue;
+            }
+            if (resource != null && !MetricBlockFilter.mightContainResource(resourceBlooms, i, resource)) {
+                continue;
+            }
+            // Positional reads do not move the position of the channel, so they are safe with concurrent appends.
+            block = bufferOf(block, HEADER_SIZE + lengths[i]);
+            readFully(block, offsets[i]);
+            block.flip();
+            int crc = block.getInt(4);
+            block.position(CRC_START);
+            if (crcOf(block.slice()) != crc) {
+                logger.warn("Skip corrupted metric block at offset {} of {}", offsets[i], file);
+                continue;
+            }
+            block.position(HEADER_SIZE);
+            ByteBuffer payload = block.slice();
+            try {
+                MetricBlockCodec.decode(payload, app, resource, startTime, endTime, consumer);
+            } catch (RuntimeException ex) {
+                logger.warn("Skip undecodable metric block at offset " + offsets[i] + " of " + file, ex);
+            }
+        }
+    }
+
+    private static int crcOf(byte[] header, byte[] payload, int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(header, CRC_START, HEADER_SIZE - CRC_START);
+        crc32.update(payload, 0, length);
+        return (int)crc32.getValue();
+    }
+
+    private static int crcOf(ByteBuffer buffer) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer);
+        return (int)crc32.getValue();
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public synchronized long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void close() {
+        try {
+            sync();
+        } catch (IOException ex) {
+            logger.warn("Failed to sync metric segment " + file, ex);
+        }
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            logger.warn("Failed to close metric segment " + file, ex);
+        }
+    }
+
+    public void delete() {
+        closeChannel();
+        if (!file.delete()) {
+            logger.warn("Failed to delete expired metric segment {}", file);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Metrics of a single resolution (e.g. 1s, 10s or 1m), stored as a series of segments.</p>
+ * <p>
+ * Every segment covers a fixed time range of {@code segmentSpanMs}, and segments whose range
+ * is completely out of the retention period will be removed by {@link #purge(long)}.
+ * </p>
+ * <p>
+ * Appended metrics are buffered in memory and written by {@link #flush()}, which writes a single block
+ * per segment and app and then forces the segments to the storage device. The owner of the tier should flush
+ * it periodically: the metrics buffered since the last flush are lost if the process crashes.
+ * The buffer is also flushed when it exceeds {@link #FLUSH_THRESHOLD} metrics. Buffered metrics are visible
+ * to {@link #scan} as well.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class MetricTier {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricTier.class);
+
+    static final int FLUSH_THRESHOLD = 8192;
+
+    private final String name;
+    private final File dir;
+    private final long resolutionMs;
+    private final long segmentSpanMs;
+    private final long retentionMs;
+
+    private final ConcurrentSkipListMap<Long, MetricSegment> segments = new ConcurrentSkipListMap<>();
+
+    private final Object pendingLock = new Object();
+    private List<MetricEntity> pending = new ArrayList<>();
+    /**
+     * Flushes and purges hold the write lock, so scans (holding the read lock) see either the buffered
+     * or the written copy of a metric, never both or neither.
+     */
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public MetricTier(File baseDir, String name, long resolutionMs, long segmentSpanMs, long retentionMs)
+        throws IOException {
+        this.name = name;
+        this.dir = new File(baseDir, name);
+        this.resolutionMs = resolutionMs;
+        this.segmentSpanMs = segmentSpanMs;
+        this.retentionMs = retentionMs;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create metric directory: " + dir);
+        }
+        loadSegments();
+    }
+
+    private void loadSegments() throws IOException {
+        File[] files = dir.listFiles((d, fileName) -> fileName.endsWith(MetricSegment.FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String fileName = file.getName();
+            long startTime;
+            try {
+                startTime = Long.parseLong(fileName.substring(0, fileName.length() - MetricSegment.FILE_SUFFIX.length()));
+            } catch (NumberFormatException ex) {
+                logger.warn("Ignoring unknown file in metric directory: {}", file);
+                continue;
+            }
+            segments.put(startTime, MetricSegment.open(dir, startTime));
+        }
+    }
+
+    /**
+     * Append the metrics to the buffer of this tier.
+     *
+     * @param metrics metrics to append
+     */
+    public void append(List<MetricEntity> metrics) throws IOException {
+        if (metrics.isEmpty()) {
+            return;
+        }
+        boolean full;
+        synchronized (pendingLock) {
+            pending.addAll(metrics);
+            full = pending.size() >= FLUSH_THRESHOLD;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Write the buffered metrics as blocks, one per segment and app, and force them to the storage device.
+     */
+    public void flush() throws IOException {
+        flushLock.writeLock().lock();
+        try {
+            List<MetricEntity> metrics;
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                metrics = pending;
+                pending = new ArrayList<>();
+            }
+            Map<Long, Map<String, List<MetricEntity>>> blocks = new TreeMap<>();
+            for (MetricEntity metric : metrics) {
+                long segmentStart = segmentStartOf(metric.getTimestamp().getTime());
+                blocks.computeIfAbsent(segmentStart, k -> new HashMap<>())
+                    .computeIfAbsent(metric.getApp(), k -> new ArrayList<>())
+                    .add(metric);
+            }
+            for (Map.Entry<Long, Map<String, List<MetricEntity>>> entry : blocks.entrySet()) {
+                MetricSegment segment = segmentOf(entry.getKey());
+                for (List<MetricEntity> blockMetrics : entry.getValue().values()) {
+                    long minTime = Long.MAX_VALUE;
+                    long maxTime = Long.MIN_VALUE;
+                    for (MetricEntity metric : blockMetrics) {
+                        long timestamp = metric.getTimestamp().getTime();
+                        minTime = Math.min(minTime, timestamp);
+                        maxTime = Math.max(maxTime, timestamp);
+                    }
+                    segment.append(MetricBlockCodec.encode(blockMetrics), minTime, maxTime,
+                        MetricBlockFilter.of(blockMetrics));
+                }
+                segment.sync();
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private MetricSegment segmentOf(long segmentStart) throws IOException {
+        MetricSegment segment = segments.get(segmentStart);
+        if (segment != null) {
+            return segment;
+        }
+        synchronized (segments) {
+            segment = segments.get(segmentStart);
+            if (segment == null) {
+                segment = MetricSegment.open(dir, segmentStart);
+                segments.put(segmentStart, segment);
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Scan the metrics between a period of time.
+     *
+     * @param app       app name to match, or null for all apps
+     * @param resource  resource name to match, or null for all resources
+     * @param startTime start timestamp (inclusive)
+     * @param endTime   end timestamp (inclusive)
+     * @param consumer  consumer of the matched metrics
+     */
+    public void scan(String app, String resource, long startTime, long endTime, Consumer<MetricEntity> consumer) {
+        flushLock.readLock().lock();
+        try {
+            Long from = segments.floorKey(segmentStartOf(startTime));
+            for (MetricSegment segment : segments.subMap(from == null ? Long.MIN_VALUE : from, true, endTime, true)
+                .values()) {
+                try {
+                    segment.scan(app, resource, startTime, endTime, consumer);
+                } catch (IOException ex) {
+                    logger.warn("Failed to read metric segment " + segment.getStartTime() + " of tier " + name, ex);
+                }
+            }
+            List<MetricEntity> buffered;
+            synchronized (pendingLock) {
+                buffered = new ArrayList<>(pending);
+            }
+            for (MetricEntity metric : buffered) {
+                long timestamp = metric.getTimestamp().getTime();
+                if (timestamp >= startTime && timestamp <= endTime && (app == null || app.equals(metric.getApp()))
+                    && (resource == null || resource.equals(metric.getResource()))) {
+                    // Consumers may modify the metrics, so buffered ones are copied.
+                    consumer.accept(MetricEntity.copyOf(metric));
+                }
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the segments that are totally out of retention.
+     *
+     * @param now current timestamp
+     */
+    public void purge(long now) {
+        long expireBefore = now - retentionMs;
+        flushLock.writeLock().lock();
+        try {
+            Iterator<MetricSegment> iterator = segments.headMap(segmentStartOf(expireBefore)).values().iterator();
+            while (iterator.hasNext()) {
+                MetricSegment segment = iterator.next();
+                iterator.remove();
+                segment.delete();
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the latest metric timestamp written to this tier (not including the buffered metrics), or -1 if empty
+     */
+    public long getMaxTimestamp() {
+        for (MetricSegment segment : segments.descendingMap().values()) {
+            long max = segment.getMaxTimestamp();
+            if (max >= 0) {
+                return max;
+            }
+        }
+        return -1;
+    }
+
+    public boolean covers(long timestamp, long now) {
+        return timestamp >= now - retentionMs;
+    }
+
+    private long segmentStartOf(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, segmentSpanMs);
+    }
+
+    /**
+     * Flush the buffered metrics and close the segments.
+     */
+    public void close() {
+        try {
+            flush();
+        } catch (IOException ex) {
+            logger.warn("Failed to flush metric tier " + name, ex);
+        }
+        for (MetricSegment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getResolutionMs() {
+        return resolutionMs;
+    }
+
+    public long getRetentionMs() {
+        return retentionMs;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import com.alibaba.csp.sentinel.dashboard.config.NoAuthConfigurationTest;
+import com.alibaba.csp.sentinel.dashboard.discovery.AppInfo;
+import com.alibaba.csp.sentinel.dashboard.discovery.AppManagement;
+import com.alibaba.csp.sentinel.dashboard.discovery.SimpleMachineDiscovery;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link MachineRegistryController}.
+ */
+@RunWith(SpringRunner.class)
+@WebMvcTest(MachineRegistryController.class)
+@Import({NoAuthConfigurationTest.class, AppManagement.class, SimpleMachineDiscovery.class})
+public class MachineRegistryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppManagement appManagement;
+
+    @Test
+    public void testReceiveHeartBeat() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/registry/machine")
+            .param("app", "single_app").param("ip", "10.0.0.1").param("port", "8719"))
+            .andExpect(MockMvcResultMatchers.status().isOk());
+
+        AppInfo appInfo = appManagement.getDetailApp("single_app");
+        assertNotNull(appInfo);
+        assertTrue(appInfo.getMachine("10.0.0.1", 8719).isPresent());
+    }
+
+    @Test
+    public void testReceiveBatchedHeartBeats() throws Exception {
+        String body = "app=batch_app_a&ip=10.0.0.1&port=8719&hostname=host%201&v=1.8.2\n"
+            + "\n"
+            + "app=batch_app_b&app_type=1&ip=10.0.0.2&port=8720\n"
+            + "app=batch_app_c&ip=10.0.0.3&port=-1\n"
+            + "app=batch_app_c&ip=10.0.0.3&port=abc\n";
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/registry/machines")
+            .header("Content-Encoding", "gzip").content(bos.toByteArray()))
+            .andExpect(MockMvcResultMatchers.status().isOk()).andReturn();
+
+        JSONObject data = JSONObject.parseObject(result.getResponse().getContentAsString()).getJSONObject("data");
+        assertEquals(2, data.getIntValue("accepted"));
+        assertEquals(2, data.getIntValue("rejected"));
+        assertEquals("host 1",
+            appManagement.getDetailApp("batch_app_a").getMachine("10.0.0.1", 8719).get().getHostname());
+        assertEquals(Integer.valueOf(1), appManagement.getDetailApp("batch_app_b").getAppType());
+        assertNull(appManagement.getDetailApp("batch_app_c"));
+    }
+
+    @Test
+    public void testRejectOversizedBatches() throws Exception {
+        // A small gzip body which decompresses to more than the limit.
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+            byte[] zeros = new byte[64 * 1024];
+            for (int i = 0; i < 32; i++) {
+                out.write(zeros);
+            }
+        }
+        assertTrue(bos.size() < 64 * 1024);
+        mockMvc.perform(MockMvcRequestBuilders.post("/registry/machines")
+            .header("Content-Encoding", "gzip").content(bos.toByteArray()))
+            .andExpect(MockMvcResultMatchers.status().isPayloadTooLarge());
+
+        StringBuilder longLine = new StringBuilder("app=batch_long_app&ip=10.0.0.1&port=8719&hostname=");
+        for (int i = 0; i < 5000; i++) {
+            longLine.append('a');
+        }
+        mockMvc.perform(MockMvcRequestBuilders.post("/registry/machines").content(longLine.toString()))
+            .andExpect(MockMvcResultMatchers.status().isPayloadTooLarge());
+
+        StringBuilder manyMachines = new StringBuilder();
+        for (int i = 0; i < 2001; i++) {
+            manyMachines.append("app=batch_many_app&ip=10.0.").append(i / 256).append('.').append(i % 256)
+                .append("&port=8719\n");
+        }
+        mockMvc.perform(MockMvcRequestBuilders.post("/registry/machines").content(manyMachines.toString()))
+            .andExpect(MockMvcResultMatchers.status().isPayloadTooLarge());
+        // Rejected batches are not registered at all.
+        assertNull(appManagement.getDetailApp("batch_long_app"));
+        assertNull(appManagement.getDetailApp("batch_many_app"));
+    }
+}
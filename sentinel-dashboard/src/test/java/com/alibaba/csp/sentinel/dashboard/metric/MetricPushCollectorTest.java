@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.metric;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link MetricPushCollector}.
+ */
+public class MetricPushCollectorTest {
+
+    private static final String APP = "app";
+
+    @Test
+    public void testRejectedPushIsNotPushActive() {
+        MetricPushCollector collector = new MetricPushCollector();
+        List<MetricNode> tooMany = Collections.nCopies(2_000_001, node(1000));
+
+        assertFalse(collector.accept(APP, "127.0.0.1", 8719, tooMany));
+        assertEquals(1, collector.getRejectedBatches());
+        assertFalse(collector.isPushActive(APP, "127.0.0.1", 8719));
+
+        assertTrue(collector.accept(APP, "127.0.0.1", 8719, Collections.singletonList(node(1000))));
+        assertTrue(collector.isPushActive(APP, "127.0.0.1", 8719));
+    }
+
+    @Test
+    public void testDrain() {
+        MetricPushCollector collector = new MetricPushCollector();
+        List<MetricNode> nodes = new ArrayList<>();
+        for (long time = 1000; time <= 10000; time += 1000) {
+            nodes.add(node(time));
+        }
+        assertTrue(collector.accept(APP, "127.0.0.1", 8719, nodes));
+
+        // Nodes before 3000 are late and discarded, nodes after 6000 are kept for the next drain.
+        List<MetricNode> drained = collector.drain(APP, 3000, 6000);
+        assertEquals(4, drained.size());
+        assertEquals(3000, drained.get(0).getTimestamp());
+        assertEquals(6000, drained.get(3).getTimestamp());
+
+        drained = collector.drain(APP, 0, 20000);
+        assertEquals(4, drained.size());
+        assertEquals(7000, drained.get(0).getTimestamp());
+        assertEquals(10000, drained.get(3).getTimestamp());
+        assertTrue(collector.drain(APP, 0, 20000).isEmpty());
+    }
+
+    private static MetricNode node(long timestamp) {
+        MetricNode node = new MetricNode();
+        node.setTimestamp(timestamp);
+        node.setResource("res");
+        return node;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.dashboard.repository.metric;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.dashboard.datasource.entity.MetricEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link FileMetricsRepository}.
+ */
+public class FileMetricsRepositoryTest {
+
+    private static final String APP = "testApp";
+    /**
+     * Size of the block frame header, see {@code MetricSegment}.
+     */
+    private static final int HEADER_SIZE = 60;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileMetricsRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        repository = newRepository();
+    }
+
+    @After
+    public void tearDown() {
+        repository.close();
+    }
+
+    private FileMetricsRepository newRepository() throws Exception {
+        FileMetricsRepository repository = new FileMetricsRepository(folder.getRoot().getAbsolutePath(), 60, 24, 7);
+        repository.init();
+        return repository;
+    }
+
+    @Test
+    public void testSaveAndQuery() {
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        List<MetricEntity> metrics = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            metrics.add(newMetric("resA", now - i * 1000, 10 + i));
+            metrics.add(newMetric("resB", now - i * 1000, 1));
+        }
+        repository.saveAll(metrics);
+
+        List<MetricEntity> results = repository.queryByAppAndResourceBetween(APP, "resA", now - 4000, now);
+        assertEquals(5, results.size());
+        for (MetricEntity entity : results) {
+            assertEquals("resA", entity.getResource());
+            assertEquals(APP, entity.getApp());
+            long i = (now - entity.getTimestamp().getTime()) / 1000;
+            assertEquals(10 + i, (long) entity.getPassQps());
+            assertEquals(20 + 2 * i, entity.getRt(), 0.01);
+            assertNotNull(entity.getGmtCreate());
+        }
+        assertTrue(repository.queryByAppAndResourceBetween("otherApp", "resA", now - 4000, now).isEmpty());
+        assertEquals("resA", repository.listResourcesOfApp(APP).get(0));
+        assertEquals(2, repository.listResourcesOfApp(APP).size());
+    }
+
+    @Test
+    public void testSurviveRestart() throws Exception {
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        repository.save(newMetric("resA", now, 5));
+        repository.close();
+
+        repository = newRepository();
+        List<MetricEntity> results = repository.queryByAppAndResourceBetween(APP, "resA", now - 1000, now);
+        assertEquals(1, results.size());
+        assertEquals(5L, (long) results.get(0).getPassQps());
+    }
+
+    @Test
+    public void testTornTailTruncated() throws Exception {
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        repository.save(newMetric("resA", now - 1000, 5));
+        repository.flush();
+        repository.save(newMetric("resA", now, 6));
+        repository.close();
+
+        File[] segments = new File(folder.getRoot(), "1s").listFiles();
+        assertNotNull(segments);
+        assertEquals(1, segments.length);
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        repository = newRepository();
+        List<MetricEntity> results = repository.queryByAppAndResourceBetween(APP, "resA", now - 1000, now);
+        assertEquals(1, results.size());
+        assertEquals(now - 1000, results.get(0).getTimestamp().getTime());
+
+        repository.save(newMetric("resA", now, 7));
+        assertEquals(2, repository.queryByAppAndResourceBetween(APP, "resA", now - 1000, now).size());
+    }
+
+    @Test
+    public void testCorruptedBlockSkipped() throws Exception {
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        repository.save(newMetric("resA", now - 2000, 5));
+        repository.flush();
+        repository.save(newMetric("resA", now - 1000, 6));
+        repository.flush();
+        repository.save(newMetric("resA", now, 7));
+        repository.close();
+
+        File[] segments = new File(folder.getRoot(), "1s").listFiles();
+        assertNotNull(segments);
+        assertEquals(1, segments.length);
+        long length;
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            length = file.length();
+            // Flip the first payload byte of the second block.
+            long second = HEADER_SIZE + file.readInt();
+            file.seek(second + HEADER_SIZE);
+            int b = file.read();
+            file.seek(second + HEADER_SIZE);
+            file.write(b ^ 0xFF);
+        }
+
+        repository = newRepository();
+        List<MetricEntity> results = repository.queryByAppAndResourceBetween(APP, "resA", now - 2000, now);
+        assertEquals(2, results.size());
+        for (MetricEntity entity : results) {
+            assertNotEquals(now - 1000, entity.getTimestamp().getTime());
+        }
+        // Blocks after the corrupted one are kept.
+        assertEquals(length, segments[0].length());
+    }
+
+    @Test
+    public void testFlushWritesBlockPerApp() throws Exception {
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        // Metrics of three machines of the app and one machine of another app in a fetch round.
+        for (int i = 0; i < 3; i++) {
+            repository.save(newMetric("resA", now, 1));
+        }
+        MetricEntity other = newMetric("resA", now, 1);
+        other.setApp("otherApp");
+        repository.save(other);
+
+        File rawDir = new File(folder.getRoot(), "1s");
+        assertEquals(0, rawDir.listFiles().length);
+        // Buffered metrics are visible to queries, and not affected by the modification of the results.
+        List<MetricEntity> results = repository.queryByAppAndResourceBetween(APP, "resA", now, now);
+        assertEquals(3, results.size());
+        results.get(0).addPassQps(10L);
+        assertEquals(1L, (long) repository.queryByAppAndResourceBetween(APP, "resA", now, now).get(0).getPassQps());
+
+        repository.flush();
+        File[] segments = rawDir.listFiles();
+        assertNotNull(segments);
+        assertEquals(1, segments.length);
+        int blocks = 0;
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "r")) {
+            for (long offset = 0; offset < file.length(); blocks++) {
+                file.seek(offset);
+                offset += HEADER_SIZE + file.readInt();
+            }
+        }
+        assertEquals(2, blocks);
+        assertEquals(3, repository.queryByAppAndResourceBetween(APP, "resA", now, now).size());
+        assertEquals(1, repository.queryByAppAndResourceBetween("otherApp", "resA", now, now).size());
+        assertTrue(repository.queryByAppAndResourceBetween(APP, "resB", now, now).isEmpty());
+    }
+
+    @Test
+    public void testRollup() throws Exception {
+        long now = System.currentTimeMillis();
+        long bucketStart = (now - 10 * 60 * 1000) / 60000 * 60000;
+        List<MetricEntity> metrics = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            metrics.add(newMetric("resA", bucketStart + i * 1000, i < 30 ? 20 : 0));
+        }
+        repository.saveAll(metrics);
+        repository.rollup(now);
+
+        File tenSecondDir = new File(folder.getRoot(), "10s");
+        File minuteDir = new File(folder.getRoot(), "1m");
+        assertEquals(1, tenSecondDir.listFiles().length);
+        assertEquals(1, minuteDir.listFiles().length);
+
+        repository.close();
+        // Drop the raw tier, then queries before the raw retention must be served by rollups.
+        repository = new FileMetricsRepository(folder.getRoot().getAbsolutePath(), 1, 24, 7);
+        repository.init();
+        List<MetricEntity> results = repository.queryByAppAndResourceBetween(APP, "resA",
+            bucketStart, bucketStart + 59999);
+        assertEquals(6, results.size());
+        for (MetricEntity entity : results) {
+            long offset = entity.getTimestamp().getTime() - bucketStart;
+            assertEquals(offset < 30000 ? 20L : 0L, (long) entity.getPassQps());
+        }
+    }
+
+    private MetricEntity newMetric(String resource, long timestamp, long passQps) {
+        MetricEntity entity = new MetricEntity();
+        entity.setApp(APP);
+        entity.setResource(resource);
+        entity.setTimestamp(new Date(timestamp));
+        entity.setGmtCreate(new Date());
+        entity.setPassQps(passQps);
+        entity.setBlockQps(0L);
+        entity.setExceptionQps(0L);
+        entity.setRtAndSuccessQps(2, passQps);
+        entity.setCount(1);
+        return entity;
+    }
+}
@@ -24,7 +24,6 @@ import com.alibaba.csp.sentinel.util.StringUtil;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -37,6 +36,8 @@ import java.util.Arrays;
  */
 public abstract class AbstractSentinelAspectSupport {
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     protected void traceException(Throwable ex) {
         Tracer.trace(ex);
     }
@@ -87,22 +88,11 @@ public abstract class AbstractSentinelAspectSupport {
 
     protected Object handleFallback(ProceedingJoinPoint pjp, String fallback, String defaultFallback,
                                     Class<?>[] fallbackClass, Throwable ex) throws Throwable {
-        Object[] originArgs = pjp.getArgs();
-
         // Execute fallback function if configured.
-        Method fallbackMethod = extractFallbackMethod(pjp, fallback, fallbackClass);
+        MethodWrapper fallbackMethod = extractFallbackMethod(pjp, fallback, fallbackClass);
         if (fallbackMethod != null) {
-            // Construct args.
-            int paramCount = fallbackMethod.getParameterTypes().length;
-            Object[] args;
-            if (paramCount == originArgs.length) {
-                args = originArgs;
-            } else {
-                args = Arrays.copyOf(originArgs, originArgs.length + 1);
-                args[args.length - 1] = ex;
-            }
-
-            return invoke(pjp, fallbackMethod, args);
+            // The exception will be appended to the args if the fallback has an extra parameter.
+            return fallbackMethod.invoke(pjp.getTarget(), pjp.getArgs(), ex);
         }
         // If fallback is absent, we'll try the defaultFallback if provided.
         return handleDefaultFallback(pjp, defaultFallback, fallbackClass, ex);
@@ -111,11 +101,10 @@ public abstract class AbstractSentinelAspectSupport {
     protected Object handleDefaultFallback(ProceedingJoinPoint pjp, String defaultFallback,
                                            Class<?>[] fallbackClass, Throwable ex) throws Throwable {
         // Execute the default fallback function if configured.
-        Method fallbackMethod = extractDefaultFallbackMethod(pjp, defaultFallback, fallbackClass);
+        MethodWrapper fallbackMethod = extractDefaultFallbackMethod(pjp, defaultFallback, fallbackClass);
         if (fallbackMethod != null) {
-            // Construct args.
-            Object[] args = fallbackMethod.getParameterTypes().length == 0 ? new Object[0] : new Object[] {ex};
-            return invoke(pjp, fallbackMethod, args);
+            // The default fallback takes either no parameter or the exception.
+            return fallbackMethod.invoke(pjp.getTarget(), NO_ARGS, ex);
         }
 
         // If no any fallback is present, then directly throw the exception.
@@ -126,52 +115,19 @@ public abstract class AbstractSentinelAspectSupport {
         throws Throwable {
 
         // Execute block handler if configured.
-        Method blockHandlerMethod = extractBlockHandlerMethod(pjp, annotation.blockHandler(),
+        MethodWrapper blockHandlerMethod = extractBlockHandlerMethod(pjp, annotation.blockHandler(),
             annotation.blockHandlerClass());
         if (blockHandlerMethod != null) {
-            Object[] originArgs = pjp.getArgs();
-            // Construct args.
-            Object[] args = Arrays.copyOf(originArgs, originArgs.length + 1);
-            args[args.length - 1] = ex;
-            return invoke(pjp, blockHandlerMethod, args);
+            // The block exception is always passed as the last parameter.
+            return blockHandlerMethod.invoke(pjp.getTarget(), pjp.getArgs(), ex);
         }
 
         // If no block handler is present, then go to fallback.
         return handleFallback(pjp, annotation, ex);
     }
 
-    private Object invoke(ProceedingJoinPoint pjp, Method method, Object[] args) throws Throwable {
-        try {
-            if (!method.isAccessible()) {
-                makeAccessible(method);
-            }
-            if (isStatic(method)) {
-                return method.invoke(null, args);
-            }
-            return method.invoke(pjp.getTarget(), args);
-        } catch (InvocationTargetException e) {
-            // throw the actual exception
-            throw e.getTargetException();
-        }
-    }
-
-    /**
-     * Make the given method accessible, explicitly setting it accessible if
-     * necessary. The {@code setAccessible(true)} method is only called
-     * when actually necessary, to avoid unnecessary conflicts with a JVM
-     * SecurityManager (if active).
-     * @param method the method to make accessible
-     * @see java.lang.reflect.Method#setAccessible
-     */
-    private static void makeAccessible(Method method) {
-        boolean isNotPublic = !Modifier.isPublic(method.getModifiers()) ||
-                !Modifier.isPublic(method.getDeclaringClass().getModifiers());
-        if (isNotPublic && !method.isAccessible()) {
-            method.setAccessible(true);
-        }
-    }
-
-    private Method extractFallbackMethod(ProceedingJoinPoint pjp, String fallbackName, Class<?>[] locationClass) {
+    private MethodWrapper extractFallbackMethod(ProceedingJoinPoint pjp, String fallbackName,
+                                                Class<?>[] locationClass) {
         if (StringUtil.isBlank(fallbackName)) {
             return null;
         }
@@ -182,17 +138,13 @@ public abstract class AbstractSentinelAspectSupport {
             // First time, resolve the fallback.
             Method method = resolveFallbackInternal(pjp, fallbackName, clazz, mustStatic);
             // Cache the method instance.
-            ResourceMetadataRegistry.updateFallbackFor(clazz, fallbackName, method);
-            return method;
-        }
-        if (!m.isPresent()) {
-            return null;
+            m = ResourceMetadataRegistry.updateFallbackFor(clazz, fallbackName, method);
         }
-        return m.getMethod();
+        return m.isPresent() ? m : null;
     }
 
-    private Method extractDefaultFallbackMethod(ProceedingJoinPoint pjp, String defaultFallback,
-                                                Class<?>[] locationClass) {
+    private MethodWrapper extractDefaultFallbackMethod(ProceedingJoinPoint pjp, String defaultFallback,
+                                                       Class<?>[] locationClass) {
         if (StringUtil.isBlank(defaultFallback)) {
             SentinelResource annotationClass = pjp.getTarget().getClass().getAnnotation(SentinelResource.class);
             if (annotationClass != null && StringUtil.isNotBlank(annotationClass.defaultFallback())) {
@@ -223,13 +175,9 @@ public abstract class AbstractSentinelAspectSupport {
                 method = findMethod(mustStatic, clazz, defaultFallback, originReturnType, paramTypeWithException);
             }
             // Cache the method instance.
-            ResourceMetadataRegistry.updateDefaultFallbackFor(clazz, defaultFallback, method);
-            return method;
-        }
-        if (!m.isPresent()) {
-            return null;
+            m = ResourceMetadataRegistry.updateDefaultFallbackFor(clazz, defaultFallback, method);
         }
-        return m.getMethod();
+        return m.isPresent() ? m : null;
     }
 
     private Method resolveFallbackInternal(ProceedingJoinPoint pjp, /*@NonNull*/ String name, Class<?> clazz,
@@ -248,7 +196,7 @@ public abstract class AbstractSentinelAspectSupport {
         return method;
     }
 
-    private Method extractBlockHandlerMethod(ProceedingJoinPoint pjp, String name, Class<?>[] locationClass) {
+    private MethodWrapper extractBlockHandlerMethod(ProceedingJoinPoint pjp, String name, Class<?>[] locationClass) {
         if (StringUtil.isBlank(name)) {
             return null;
         }
@@ -266,13 +214,9 @@ public abstract class AbstractSentinelAspectSupport {
             // First time, resolve the block handler.
             Method method = resolveBlockHandlerInternal(pjp, name, clazz, mustStatic);
             // Cache the method instance.
-            ResourceMetadataRegistry.updateBlockHandlerFor(clazz, name, method);
-            return method;
-        }
-        if (!m.isPresent()) {
-            return null;
+            m = ResourceMetadataRegistry.updateBlockHandlerFor(clazz, name, method);
         }
-        return m.getMethod();
+        return m.isPresent() ? m : null;
     }
 
     private Method resolveBlockHandlerInternal(ProceedingJoinPoint pjp, /*@NonNull*/ String name, Class<?> clazz,
@@ -15,30 +15,91 @@
  */
 package com.alibaba.csp.sentinel.annotation.aspectj;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
 
 /**
+ * Wrapper of a resolved fallback or block handler method.
+ * <p>
+ * Method handles that take the target and arguments are prebuilt when the method is resolved,
+ * so that invoking the method on blocked calls needs neither reflection nor copying the arguments.
+ * </p>
+ *
  * @author Eric Zhao
  */
 class MethodWrapper {
 
+    private static final MethodType PLAIN_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType WITH_EXCEPTION_TYPE = MethodType.methodType(Object.class, Object.class,
+        Throwable.class, Object[].class);
+
     private final Method method;
     private final boolean present;
+    private final int paramCount;
+
+    /**
+     * Invoker of type {@code (Object target, Object[] args)Object}.
+     */
+    private final MethodHandle plainInvoker;
+    /**
+     * Invoker of type {@code (Object target, Throwable ex, Object[] args)Object}, where the exception
+     * is passed as the last parameter of the method.
+     */
+    private final MethodHandle withExceptionInvoker;
 
-    private MethodWrapper(Method method, boolean present) {
+    private MethodWrapper(Method method, boolean present, MethodHandle plainInvoker,
+                          MethodHandle withExceptionInvoker) {
         this.method = method;
         this.present = present;
+        this.paramCount = method == null ? 0 : method.getParameterTypes().length;
+        this.plainInvoker = plainInvoker;
+        this.withExceptionInvoker = withExceptionInvoker;
     }
 
     static MethodWrapper wrap(Method method) {
         if (method == null) {
             return none();
         }
-        return new MethodWrapper(method, true);
+        MethodHandle plainInvoker = null;
+        MethodHandle withExceptionInvoker = null;
+        try {
+            makeAccessible(method);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                // Static methods ignore the target.
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            int paramCount = method.getParameterTypes().length;
+            plainInvoker = handle.asSpreader(Object[].class, paramCount).asType(PLAIN_TYPE);
+            if (paramCount > 0) {
+                // Move the exception (the last parameter) to the front, so that the other parameters can be spread.
+                MethodType type = handle.type();
+                int[] reorder = new int[paramCount + 1];
+                reorder[0] = 0;
+                reorder[paramCount] = 1;
+                for (int i = 1; i < paramCount; i++) {
+                    reorder[i] = i + 1;
+                }
+                MethodType exceptionFirstType = type.dropParameterTypes(paramCount, paramCount + 1)
+                    .insertParameterTypes(1, type.parameterType(paramCount));
+                withExceptionInvoker = MethodHandles.permuteArguments(handle, exceptionFirstType, reorder)
+                    .asSpreader(Object[].class, paramCount - 1)
+                    .asType(WITH_EXCEPTION_TYPE);
+            }
+        } catch (Exception ex) {
+            RecordLog.warn("Failed to create method handle for [{}], fall back to reflection", method, ex);
+        }
+        return new MethodWrapper(method, true, plainInvoker, withExceptionInvoker);
     }
 
     static MethodWrapper none() {
-        return new MethodWrapper(null, false);
+        return new MethodWrapper(null, false, null, null);
     }
 
     Method getMethod() {
@@ -48,4 +109,61 @@ class MethodWrapper {
     boolean isPresent() {
         return present;
     }
+
+    /**
+     * Invoke the method with provided arguments. If the method has one more parameter than the arguments,
+     * the exception will be passed as the last parameter.
+     *
+     * @param target the target object, ignored for static methods
+     * @param args   the arguments
+     * @param ex     the exception
+     * @return the result of the method
+     * @throws Throwable the exception thrown by the method
+     */
+    Object invoke(Object target, Object[] args, Throwable ex) throws Throwable {
+        boolean withException = paramCount != args.length;
+        if (withException) {
+            if (withExceptionInvoker != null) {
+                return withExceptionInvoker.invokeExact(target, ex, args);
+            }
+        } else if (plainInvoker != null) {
+            return plainInvoker.invokeExact(target, args);
+        }
+        return invokeByReflection(target, args, ex, withException);
+    }
+
+    private Object invokeByReflection(Object target, Object[] args, Throwable ex, boolean withException)
+        throws Throwable {
+        Object[] actualArgs = args;
+        if (withException) {
+            actualArgs = new Object[args.length + 1];
+            System.arraycopy(args, 0, actualArgs, 0, args.length);
+            actualArgs[args.length] = ex;
+        }
+        try {
+            if (Modifier.isStatic(method.getModifiers())) {
+                return method.invoke(null, actualArgs);
+            }
+            return method.invoke(target, actualArgs);
+        } catch (InvocationTargetException e) {
+            // throw the actual exception
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Make the given method accessible, explicitly setting it accessible if
+     * necessary. The {@code setAccessible(true)} method is only called
+     * when actually necessary, to avoid unnecessary conflicts with a JVM
+     * SecurityManager (if active).
+     * @param method the method to make accessible
+     * @see java.lang.reflect.Method#setAccessible
+     */
+    private static void makeAccessible(Method method) {
+        boolean isNotPublic = !Modifier.isPublic(method.getModifiers()) ||
+                !Modifier.isPublic(method.getDeclaringClass().getModifiers());
+        if (isNotPublic && !method.isAccessible()) {
+            method.setAccessible(true);
+        }
+    }
 }
@@ -15,6 +15,8 @@
  */
 package com.alibaba.csp.sentinel.annotation.aspectj;
 
+import com.alibaba.csp.sentinel.slots.block.BlockException;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowException;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
@@ -40,4 +42,48 @@ public class MethodWrapperTest {
         assertThat(none.isPresent()).isFalse();
         assertThat(none.getMethod()).isNull();
     }
+
+    @Test
+    public void testInvokeWithoutException() throws Throwable {
+        Method method = Handlers.class.getDeclaredMethod("plain", String.class, int.class);
+        MethodWrapper m = MethodWrapper.wrap(method);
+        assertThat(m.invoke(new Handlers(), new Object[] {"a", 1}, new FlowException("a"))).isEqualTo("plain:a1");
+    }
+
+    @Test
+    public void testInvokeWithException() throws Throwable {
+        Method method = Handlers.class.getDeclaredMethod("block", String.class, int.class, BlockException.class);
+        MethodWrapper m = MethodWrapper.wrap(method);
+        assertThat(m.invoke(null, new Object[] {"b", 2}, new FlowException("rule"))).isEqualTo("block:b2rule");
+
+        Method defaultFallback = Handlers.class.getDeclaredMethod("defaultFallback", Throwable.class);
+        MethodWrapper d = MethodWrapper.wrap(defaultFallback);
+        assertThat(d.invoke(new Handlers(), new Object[0], new IllegalStateException("err")))
+            .isEqualTo("default:err");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvokeThrowsActualException() throws Throwable {
+        Method method = Handlers.class.getDeclaredMethod("fail");
+        MethodWrapper.wrap(method).invoke(new Handlers(), new Object[0], new FlowException("a"));
+    }
+
+    private static class Handlers {
+
+        private String plain(String s, int i) {
+            return "plain:" + s + i;
+        }
+
+        static String block(String s, int i, BlockException ex) {
+            return "block:" + s + i + ex.getRuleLimitApp();
+        }
+
+        String defaultFallback(Throwable ex) {
+            return "default:" + ex.getMessage();
+        }
+
+        void fail() {
+            throw new IllegalArgumentException();
+        }
+    }
 }
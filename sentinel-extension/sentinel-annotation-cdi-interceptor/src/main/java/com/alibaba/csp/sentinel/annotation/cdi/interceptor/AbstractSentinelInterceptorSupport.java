@@ -24,7 +24,6 @@ import com.alibaba.csp.sentinel.util.StringUtil;
 
 import javax.interceptor.InvocationContext;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -37,6 +36,8 @@ import java.util.Arrays;
  */
 public abstract class AbstractSentinelInterceptorSupport {
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     protected void traceException(Throwable ex) {
         Tracer.trace(ex);
     }
@@ -87,30 +88,11 @@ public abstract class AbstractSentinelInterceptorSupport {
 
     protected Object handleFallback(InvocationContext ctx, String fallback, String defaultFallback,
                                     Class<?>[] fallbackClass, Throwable ex) throws Throwable {
-        Object[] originArgs = ctx.getParameters();
-
         // Execute fallback function if configured.
-        Method fallbackMethod = extractFallbackMethod(ctx, fallback, fallbackClass);
+        MethodWrapper fallbackMethod = extractFallbackMethod(ctx, fallback, fallbackClass);
         if (fallbackMethod != null) {
-            // Construct args.
-            int paramCount = fallbackMethod.getParameterTypes().length;
-            Object[] args;
-            if (paramCount == originArgs.length) {
-                args = originArgs;
-            } else {
-                args = Arrays.copyOf(originArgs, originArgs.length + 1);
-                args[args.length - 1] = ex;
-            }
-
-            try {
-                if (isStatic(fallbackMethod)) {
-                    return fallbackMethod.invoke(null, args);
-                }
-                return fallbackMethod.invoke(ctx.getTarget(), args);
-            } catch (InvocationTargetException e) {
-                // throw the actual exception
-                throw e.getTargetException();
-            }
+            // The exception will be appended to the args if the fallback has an extra parameter.
+            return fallbackMethod.invoke(ctx.getTarget(), ctx.getParameters(), ex);
         }
         // If fallback is absent, we'll try the defaultFallback if provided.
         return handleDefaultFallback(ctx, defaultFallback, fallbackClass, ex);
@@ -119,19 +101,10 @@ public abstract class AbstractSentinelInterceptorSupport {
     protected Object handleDefaultFallback(InvocationContext ctx, String defaultFallback,
                                            Class<?>[] fallbackClass, Throwable ex) throws Throwable {
         // Execute the default fallback function if configured.
-        Method fallbackMethod = extractDefaultFallbackMethod(ctx, defaultFallback, fallbackClass);
+        MethodWrapper fallbackMethod = extractDefaultFallbackMethod(ctx, defaultFallback, fallbackClass);
         if (fallbackMethod != null) {
-            // Construct args.
-            Object[] args = fallbackMethod.getParameterTypes().length == 0 ? new Object[0] : new Object[] {ex};
-            try {
-                if (isStatic(fallbackMethod)) {
-                    return fallbackMethod.invoke(null, args);
-                }
-                return fallbackMethod.invoke(ctx.getTarget(), args);
-            } catch (InvocationTargetException e) {
-                // throw the actual exception
-                throw e.getTargetException();
-            }
+            // The default fallback takes either no parameter or the exception.
+            return fallbackMethod.invoke(ctx.getTarget(), NO_ARGS, ex);
         }
 
         // If no any fallback is present, then directly throw the exception.
@@ -142,29 +115,19 @@ public abstract class AbstractSentinelInterceptorSupport {
         throws Throwable {
 
         // Execute block handler if configured.
-        Method blockHandlerMethod = extractBlockHandlerMethod(ctx, annotation.blockHandler(),
+        MethodWrapper blockHandlerMethod = extractBlockHandlerMethod(ctx, annotation.blockHandler(),
             annotation.blockHandlerClass());
         if (blockHandlerMethod != null) {
-            Object[] originArgs = ctx.getParameters();
-            // Construct args.
-            Object[] args = Arrays.copyOf(originArgs, originArgs.length + 1);
-            args[args.length - 1] = ex;
-            try {
-                if (isStatic(blockHandlerMethod)) {
-                    return blockHandlerMethod.invoke(null, args);
-                }
-                return blockHandlerMethod.invoke(ctx.getTarget(), args);
-            } catch (InvocationTargetException e) {
-                // throw the actual exception
-                throw e.getTargetException();
-            }
+            // The block exception is always passed as the last parameter.
+            return blockHandlerMethod.invoke(ctx.getTarget(), ctx.getParameters(), ex);
         }
 
         // If no block handler is present, then go to fallback.
         return handleFallback(ctx, annotation, ex);
     }
 
-    private Method extractFallbackMethod(InvocationContext ctx, String fallbackName, Class<?>[] locationClass) {
+    private MethodWrapper extractFallbackMethod(InvocationContext ctx, String fallbackName,
+                                                Class<?>[] locationClass) {
         if (StringUtil.isBlank(fallbackName)) {
             return null;
         }
@@ -175,17 +138,13 @@ public abstract class AbstractSentinelInterceptorSupport {
             // First time, resolve the fallback.
             Method method = resolveFallbackInternal(ctx, fallbackName, clazz, mustStatic);
             // Cache the method instance.
-            ResourceMetadataRegistry.updateFallbackFor(clazz, fallbackName, method);
-            return method;
+            m = ResourceMetadataRegistry.updateFallbackFor(clazz, fallbackName, method);
         }
-        if (!m.isPresent()) {
-            return null;
-        }
-        return m.getMethod();
+        return m.isPresent() ? m : null;
     }
 
-    private Method extractDefaultFallbackMethod(InvocationContext ctx, String defaultFallback,
-                                                Class<?>[] locationClass) {
+    private MethodWrapper extractDefaultFallbackMethod(InvocationContext ctx, String defaultFallback,
+                                                       Class<?>[] locationClass) {
         if (StringUtil.isBlank(defaultFallback)) {
             SentinelResource annotationClass = ctx.getTarget().getClass().getAnnotation(SentinelResource.class);
             if (annotationClass != null && StringUtil.isNotBlank(annotationClass.defaultFallback())) {
@@ -216,13 +175,9 @@ public abstract class AbstractSentinelInterceptorSupport {
                 method = findMethod(mustStatic, clazz, defaultFallback, originReturnType, paramTypeWithException);
             }
             // Cache the method instance.
-            ResourceMetadataRegistry.updateDefaultFallbackFor(clazz, defaultFallback, method);
-            return method;
+            m = ResourceMetadataRegistry.updateDefaultFallbackFor(clazz, defaultFallback, method);
         }
-        if (!m.isPresent()) {
-            return null;
-        }
-        return m.getMethod();
+        return m.isPresent() ? m : null;
     }
 
     private Method resolveFallbackInternal(InvocationContext ctx, /*@NonNull*/ String name, Class<?> clazz,
@@ -241,7 +196,7 @@ public abstract class AbstractSentinelInterceptorSupport {
         return method;
     }
 
-    private Method extractBlockHandlerMethod(InvocationContext ctx, String name, Class<?>[] locationClass) {
+    private MethodWrapper extractBlockHandlerMethod(InvocationContext ctx, String name, Class<?>[] locationClass) {
         if (StringUtil.isBlank(name)) {
             return null;
         }
@@ -259,13 +214,9 @@ public abstract class AbstractSentinelInterceptorSupport {
             // First time, resolve the block handler.
             Method method = resolveBlockHandlerInternal(ctx, name, clazz, mustStatic);
             // Cache the method instance.
-            ResourceMetadataRegistry.updateBlockHandlerFor(clazz, name, method);
-            return method;
-        }
-        if (!m.isPresent()) {
-            return null;
+            m = ResourceMetadataRegistry.updateBlockHandlerFor(clazz, name, method);
         }
-        return m.getMethod();
+        return m.isPresent() ? m : null;
     }
 
     private Method resolveBlockHandlerInternal(InvocationContext ctx, /*@NonNull*/ String name, Class<?> clazz,
@@ -15,12 +15,12 @@
  */
 package com.alibaba.csp.sentinel.annotation.cdi.interceptor;
 
-import com.alibaba.csp.sentinel.util.StringUtil;
-
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.alibaba.csp.sentinel.util.StringUtil;
+
 /**
  * Registry for resource configuration metadata (e.g. fallback method)
  *
@@ -28,9 +28,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 final class ResourceMetadataRegistry {
 
-    private static final Map<String, MethodWrapper> FALLBACK_MAP = new ConcurrentHashMap<>();
-    private static final Map<String, MethodWrapper> DEFAULT_FALLBACK_MAP = new ConcurrentHashMap<>();
-    private static final Map<String, MethodWrapper> BLOCK_HANDLER_MAP = new ConcurrentHashMap<>();
+    private static final Map<MethodKey, MethodWrapper> FALLBACK_MAP = new ConcurrentHashMap<>();
+    private static final Map<MethodKey, MethodWrapper> DEFAULT_FALLBACK_MAP = new ConcurrentHashMap<>();
+    private static final Map<MethodKey, MethodWrapper> BLOCK_HANDLER_MAP = new ConcurrentHashMap<>();
 
     static MethodWrapper lookupFallback(Class<?> clazz, String name) {
         return FALLBACK_MAP.get(getKey(clazz, name));
@@ -44,29 +44,35 @@ final class ResourceMetadataRegistry {
         return BLOCK_HANDLER_MAP.get(getKey(clazz, name));
     }
 
-    static void updateFallbackFor(Class<?> clazz, String name, Method method) {
+    static MethodWrapper updateFallbackFor(Class<?> clazz, String name, Method method) {
         if (clazz == null || StringUtil.isBlank(name)) {
             throw new IllegalArgumentException("Bad argument");
         }
-        FALLBACK_MAP.put(getKey(clazz, name), MethodWrapper.wrap(method));
+        MethodWrapper wrapper = MethodWrapper.wrap(method);
+        FALLBACK_MAP.put(getKey(clazz, name), wrapper);
+        return wrapper;
     }
 
-    static void updateDefaultFallbackFor(Class<?> clazz, String name, Method method) {
+    static MethodWrapper updateDefaultFallbackFor(Class<?> clazz, String name, Method method) {
         if (clazz == null || StringUtil.isBlank(name)) {
             throw new IllegalArgumentException("Bad argument");
         }
-        DEFAULT_FALLBACK_MAP.put(getKey(clazz, name), MethodWrapper.wrap(method));
+        MethodWrapper wrapper = MethodWrapper.wrap(method);
+        DEFAULT_FALLBACK_MAP.put(getKey(clazz, name), wrapper);
+        return wrapper;
     }
 
-    static void updateBlockHandlerFor(Class<?> clazz, String name, Method method) {
+    static MethodWrapper updateBlockHandlerFor(Class<?> clazz, String name, Method method) {
         if (clazz == null || StringUtil.isBlank(name)) {
             throw new IllegalArgumentException("Bad argument");
         }
-        BLOCK_HANDLER_MAP.put(getKey(clazz, name), MethodWrapper.wrap(method));
+        MethodWrapper wrapper = MethodWrapper.wrap(method);
+        BLOCK_HANDLER_MAP.put(getKey(clazz, name), wrapper);
+        return wrapper;
     }
 
-    private static String getKey(Class<?> clazz, String name) {
-        return String.format("%s:%s", clazz.getCanonicalName(), name);
+    private static MethodKey getKey(Class<?> clazz, String name) {
+        return new MethodKey(clazz, name);
     }
 
     /**
@@ -82,4 +88,35 @@ final class ResourceMetadataRegistry {
     static void clearBlockHandlerMap() {
         BLOCK_HANDLER_MAP.clear();
     }
+
+    /**
+     * Key of the class and the method name, which is cheaper to build than a string on every lookup.
+     */
+    private static final class MethodKey {
+
+        private final Class<?> clazz;
+        private final String name;
+
+        MethodKey(Class<?> clazz, String name) {
+            this.clazz = clazz;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey that = (MethodKey)o;
+            return clazz == that.clazz && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * clazz.hashCode() + name.hashCode();
+        }
+    }
 }
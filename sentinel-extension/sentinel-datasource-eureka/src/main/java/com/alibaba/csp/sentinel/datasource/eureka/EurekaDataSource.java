@@ -80,6 +80,13 @@ public class EurekaDataSource<T> extends AutoRefreshDataSource<String, T> {
      */
     private final String ruleKey;
 
+    /**
+     * The ETag of the last response and the rule string in it, so that an unchanged instance can be answered
+     * with 304 Not Modified by servers that support conditional requests, and the rules are not parsed again.
+     */
+    private volatile String lastETag;
+    private volatile String lastRuleString;
+
     public EurekaDataSource(String appId, String instanceId, List<String> serviceUrls, String ruleKey,
                             Converter<String, T> configParser) {
         this(appId, instanceId, serviceUrls, ruleKey, configParser, DEFAULT_REFRESH_MS, DEFAULT_CONNECT_TIMEOUT_MS,
@@ -136,6 +143,10 @@ public class EurekaDataSource<T> extends AutoRefreshDataSource<String, T> {
             try {
                 conn = (HttpURLConnection) new URL(serviceUrl).openConnection();
                 conn.addRequestProperty("Accept", "application/json;charset=utf-8");
+                String eTag = lastETag;
+                if (eTag != null) {
+                    conn.addRequestProperty("If-None-Match", eTag);
+                }
 
                 conn.setConnectTimeout(connectTimeoutMills);
                 conn.setReadTimeout(readTimeoutMills);
@@ -143,12 +154,17 @@ public class EurekaDataSource<T> extends AutoRefreshDataSource<String, T> {
                 conn.setDoOutput(true);
                 conn.connect();
                 RecordLog.debug("[EurekaDataSource] Request from eureka server: " + serviceUrl);
+                if (eTag != null && conn.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    return lastRuleString;
+                }
                 if (conn.getResponseCode() == HttpURLConnection.HTTP_OK) {
                     String s = toString(conn.getInputStream());
                     String ruleString = JSON.parseObject(s)
                         .getJSONObject("instance")
                         .getJSONObject("metadata")
                         .getString(ruleKey);
+                    lastRuleString = ruleString;
+                    lastETag = conn.getHeaderField("ETag");
                     return ruleString;
                 }
                 RecordLog.warn("[EurekaDataSource] Warn: retrying on another server if available " +
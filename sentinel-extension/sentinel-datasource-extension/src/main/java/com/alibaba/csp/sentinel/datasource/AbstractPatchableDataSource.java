@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.property.PatchableSentinelProperty;
+import com.alibaba.csp.sentinel.property.PropertyPatch;
+
+/**
+ * The abstract {@link PatchableDataSource}, which parses the original data with a patch converter.
+ *
+ * @param <S> source data type
+ * @param <V> type of the entries
+ * @since 1.8.2
+ */
+public abstract class AbstractPatchableDataSource<S, V> implements PatchableDataSource<S, V> {
+
+    protected final Converter<S, PropertyPatch<V>> patchParser;
+    protected final PatchableSentinelProperty<V> property;
+
+    public AbstractPatchableDataSource(Converter<S, PropertyPatch<V>> patchParser) {
+        if (patchParser == null) {
+            throw new IllegalArgumentException("patchParser can't be null");
+        }
+        this.patchParser = patchParser;
+        this.property = new PatchableSentinelProperty<V>();
+    }
+
+    @Override
+    public void applyUpdate(S source) throws Exception {
+        PropertyPatch<V> patch = patchParser.convert(source);
+        if (patch == null) {
+            return;
+        }
+        if (!property.applyPatch(patch)) {
+            RecordLog.info("[PatchableDataSource] Reloading snapshot after version gap, patch: {}", patch);
+            reloadSnapshot();
+        }
+    }
+
+    @Override
+    public void reloadSnapshot() throws Exception {
+        property.applyPatch(readSnapshot());
+    }
+
+    /**
+     * Load the entries of the full snapshot, without applying them to the property.
+     */
+    @Override
+    public List<V> loadConfig() throws Exception {
+        return new ArrayList<>(readSnapshot().getUpserts().values());
+    }
+
+    private PropertyPatch<V> readSnapshot() throws Exception {
+        PropertyPatch<V> patch = patchParser.convert(readSource());
+        if (patch == null || !patch.isSnapshot()) {
+            throw new IllegalStateException("The source of the data source is not a snapshot: " + patch);
+        }
+        return patch;
+    }
+
+    @Override
+    public PatchableSentinelProperty<V> getProperty() {
+        return property;
+    }
+}
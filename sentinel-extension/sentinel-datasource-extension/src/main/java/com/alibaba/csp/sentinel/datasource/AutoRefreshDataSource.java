@@ -15,15 +15,29 @@
  */
 package com.alibaba.csp.sentinel.datasource;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
-import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.property.SimplePropertyListener;
 
 /**
  * A {@link ReadableDataSource} automatically fetches the backend data.
+ * <p>
+ * Since 1.8.2, the data sources are polled on the shared {@link DataSourceRuntime} instead of a thread
+ * per data source, and data sources of the same refresh interval are polled on the same timer tick.
+ * The polls run on the poller threads of the runtime, so {@link #readSource()} may block.
+ * </p>
+ * <p>
+ * Polls are skipped cheaply in two steps: {@link #isModified()} can check the metadata of the backend
+ * (e.g. the last modified time, or a version or ETag), and the content hash of the source data is compared
+ * with that of the last converted source, so an unchanged source is not converted again as long as
+ * the property still holds the value converted from it. If the property has been updated elsewhere
+ * (e.g. rules loaded locally via the rule manager), the next poll converts the source again and
+ * re-asserts the value of the backend, like a data source that converts on every poll.
+ * </p>
+ * <p>
+ * Only the 64-bit hash of the last source is kept, rather than the source itself, so a changed source
+ * whose hash collides with that of the last one (with a chance of about 2<sup>-64</sup>) is missed
+ * until the source changes again.
+ * </p>
  *
  * @param <S> source data type
  * @param <T> target data type
@@ -31,11 +45,23 @@ import com.alibaba.csp.sentinel.log.RecordLog;
  */
 public abstract class AutoRefreshDataSource<S, T> extends AbstractDataSource<S, T> {
 
-    private ScheduledExecutorService service;
+    private DataSourceRuntime.Registration pollRegistration;
     protected long recommendRefreshMs = 3000;
 
+    private boolean hasLastSource;
+    private long lastSourceHash;
+    /**
+     * The value converted from the last source.
+     */
+    private T lastValue;
+    /**
+     * The current value of the property, which may have been updated elsewhere.
+     */
+    private volatile T propertyValue;
+
     public AutoRefreshDataSource(Converter<S, T> configParser) {
         super(configParser);
+        trackPropertyValue();
         startTimerService();
     }
 
@@ -45,34 +71,75 @@ public abstract class AutoRefreshDataSource<S, T> extends AbstractDataSource<S,
             throw new IllegalArgumentException("recommendRefreshMs must > 0, but " + recommendRefreshMs + " get");
         }
         this.recommendRefreshMs = recommendRefreshMs;
+        trackPropertyValue();
         startTimerService();
     }
 
-    @SuppressWarnings("PMD.ThreadPoolCreationRule")
+    private void trackPropertyValue() {
+        getProperty().addListener(new SimplePropertyListener<T>() {
+            @Override
+            public void configUpdate(T value) {
+                propertyValue = value;
+            }
+        });
+    }
+
     private void startTimerService() {
-        service = Executors.newScheduledThreadPool(1,
-            new NamedThreadFactory("sentinel-datasource-auto-refresh-task", true));
-        service.scheduleAtFixedRate(new Runnable() {
+        pollRegistration = DataSourceRuntime.schedulePolling(new Runnable() {
             @Override
             public void run() {
-                try {
-                    if (!isModified()) {
-                        return;
-                    }
-                    T newValue = loadConfig();
-                    getProperty().updateValue(newValue);
-                } catch (Throwable e) {
-                    RecordLog.info("loadConfig exception", e);
-                }
+                refreshIfModified();
+            }
+        }, recommendRefreshMs);
+    }
+
+    /**
+     * Load the config and update the property if the backend data has been modified.
+     * Refreshes of the same data source never run concurrently.
+     *
+     * @since 1.8.2
+     */
+    protected synchronized void refreshIfModified() {
+        try {
+            if (!isModified()) {
+                return;
             }
-        }, recommendRefreshMs, recommendRefreshMs, TimeUnit.MILLISECONDS);
+            refreshSource(readSource());
+        } catch (Throwable e) {
+            RecordLog.info("loadConfig exception", e);
+        }
+    }
+
+    /**
+     * Convert the source data and update the property, unless the content is the same as that of
+     * the last converted source data and the property still holds the value converted from it.
+     *
+     * @param source the source data
+     * @return true if the source data has been converted
+     * @throws Exception if the conversion fails
+     * @since 1.8.2
+     */
+    protected synchronized boolean refreshSource(S source) throws Exception {
+        // Other types of source data are always converted, and compared by the property after the conversion.
+        boolean hashable = ContentHash.isSupported(source);
+        long hash = hashable ? ContentHash.of(source) : 0;
+        if (hashable && hasLastSource && hash == lastSourceHash && propertyValue == lastValue) {
+            return false;
+        }
+        T newValue = loadConfig(source);
+        // The property keeps its current value if it equals the new one, which is then in sync with the source.
+        lastValue = getProperty().updateValue(newValue) ? newValue : propertyValue;
+        // Only remember the source after it has been converted, so failed sources are retried on the next poll.
+        hasLastSource = hashable;
+        lastSourceHash = hash;
+        return true;
     }
 
     @Override
     public void close() throws Exception {
-        if (service != null) {
-            service.shutdownNow();
-            service = null;
+        if (pollRegistration != null) {
+            pollRegistration.cancel();
+            pollRegistration = null;
         }
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+/**
+ * <p>64-bit hash of the content of the source data, which is computed without allocation,
+ * so unchanged polls of a data source can be detected before the conversion.</p>
+ * <p>
+ * The content is hashed in four interleaved FNV-1a lanes, so the multiplications of the lanes are independent
+ * and can be pipelined, and the lanes are combined with a final avalanche.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class ContentHash {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * @param source the source data
+     * @return true if the content of the source data can be hashed, i.e. it is a string, a byte array or null
+     */
+    static boolean isSupported(Object source) {
+        return source == null || source instanceof String || source instanceof byte[];
+    }
+
+    /**
+     * @param source the source data, which should be {@link #isSupported(Object) supported}
+     * @return hash of the content
+     */
+    static long of(Object source) {
+        if (source == null) {
+            return 0;
+        }
+        if (source instanceof String) {
+            String s = (String)source;
+            int length = s.length();
+            long h0 = OFFSET_BASIS;
+            long h1 = OFFSET_BASIS + 1;
+            long h2 = OFFSET_BASIS + 2;
+            long h3 = OFFSET_BASIS + 3;
+            int i = 0;
+            for (; i + 3 < length; i += 4) {
+                h0 = (h0 ^ s.charAt(i)) * PRIME;
+                h1 = (h1 ^ s.charAt(i + 1)) * PRIME;
+                h2 = (h2 ^ s.charAt(i + 2)) * PRIME;
+                h3 = (h3 ^ s.charAt(i + 3)) * PRIME;
+            }
+            for (; i < length; i++) {
+                h0 = (h0 ^ s.charAt(i)) * PRIME;
+            }
+            return combine(h0, h1, h2, h3, length);
+        }
+        if (source instanceof byte[]) {
+            byte[] bytes = (byte[])source;
+            int length = bytes.length;
+            long h0 = OFFSET_BASIS;
+            long h1 = OFFSET_BASIS + 1;
+            long h2 = OFFSET_BASIS + 2;
+            long h3 = OFFSET_BASIS + 3;
+            int i = 0;
+            for (; i + 3 < length; i += 4) {
+                h0 = (h0 ^ (bytes[i] & 0xFF)) * PRIME;
+                h1 = (h1 ^ (bytes[i + 1] & 0xFF)) * PRIME;
+                h2 = (h2 ^ (bytes[i + 2] & 0xFF)) * PRIME;
+                h3 = (h3 ^ (bytes[i + 3] & 0xFF)) * PRIME;
+            }
+            for (; i < length; i++) {
+                h0 = (h0 ^ (bytes[i] & 0xFF)) * PRIME;
+            }
+            return combine(h0, h1, h2, h3, length);
+        }
+        throw new IllegalArgumentException("Unsupported source type: " + source.getClass().getName());
+    }
+
+    private static long combine(long h0, long h1, long h2, long h3, int length) {
+        long h = ((((h0 * PRIME) ^ h1) * PRIME ^ h2) * PRIME ^ h3) * PRIME ^ length;
+        // The finalizer of MurmurHash3, so that every bit of the lanes affects every bit of the hash.
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private ContentHash() {}
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>Shared runtime of data sources, so that data sources do not need to start their own threads.</p>
+ * <p>
+ * The runtime provides:
+ * </p>
+ * <ul>
+ * <li>a bounded scheduler shared by all data sources, of which the size can be configured
+ * via {@code csp.sentinel.datasource.runtime.threads} (2 by default);</li>
+ * <li>coalesced polling: pollers of the same period are woken up by a single timer tick,
+ * and a poller is skipped if its previous poll has not finished. The polls themselves run on a fixed
+ * pool of poller threads, as reading the source may block (e.g. an HTTP request), so a slow backend
+ * never delays the ticks or the other tasks on the scheduler. The size of the pool can be configured
+ * via {@code csp.sentinel.datasource.poller.threads} (the number of processors by default, but at least 2),
+ * and a tick is skipped if the pool is saturated;</li>
+ * <li>file watching via a single {@link java.nio.file.WatchService} thread,
+ * so file data sources react to changes immediately;</li>
+ * <li>executors for push-based data sources, which run the latest update on the shared scheduler.</li>
+ * </ul>
+ * <p>
+ * Tasks running on the scheduler (file watch callbacks and pushed updates) should not block for long,
+ * as the scheduler threads are shared.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class DataSourceRuntime {
+
+    public static final String THREAD_COUNT_KEY = "csp.sentinel.datasource.runtime.threads";
+    public static final int DEFAULT_THREAD_COUNT = 2;
+    public static final String POLLER_THREAD_COUNT_KEY = "csp.sentinel.datasource.poller.threads";
+
+    private static final int POLL_QUEUE_CAPACITY = 1024;
+
+    private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(
+        resolveThreadCount(THREAD_COUNT_KEY, DEFAULT_THREAD_COUNT),
+        new NamedThreadFactory("sentinel-datasource-runtime", true));
+
+    /**
+     * Polls may block on remote backends, so they run on their own threads. The pool and its queue are bounded:
+     * if both are full, the poll of the tick is skipped (see {@link SkipPollPolicy}). At most one poll of each
+     * poller is pending or running at a time, and idle threads exit after a while.
+     */
+    private static final ThreadPoolExecutor POLL_EXECUTOR;
+
+    static {
+        int pollerThreads = resolveThreadCount(POLLER_THREAD_COUNT_KEY,
+            Math.max(DEFAULT_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
+        POLL_EXECUTOR = new ThreadPoolExecutor(pollerThreads, pollerThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<Runnable>(POLL_QUEUE_CAPACITY),
+            new NamedThreadFactory("sentinel-datasource-poller", true), new SkipPollPolicy());
+        POLL_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private static final Map<Long, PollGroup> POLL_GROUPS = new ConcurrentHashMap<>();
+
+    private static final FileWatcher FILE_WATCHER = new FileWatcher();
+
+    static {
+        SCHEDULER.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Registration of a task on the runtime.
+     */
+    public interface Registration {
+
+        /**
+         * Cancel the registration. The task will not be triggered afterwards, but a running task is not interrupted.
+         */
+        void cancel();
+    }
+
+    /**
+     * Executor that runs the latest task on the shared scheduler. Cancelling the executor drops the pending task,
+     * and the tasks submitted afterwards are ignored.
+     */
+    public interface LatestTaskExecutor extends Executor, Registration {}
+
+    /**
+     * Poll periodically. Pollers of the same period share the same timer tick, and a poll is skipped
+     * if the previous poll of the same poller is still running. The poller runs on a poller thread
+     * rather than the shared scheduler, so it may block.
+     *
+     * @param poller   the poll task
+     * @param periodMs poll period in milliseconds
+     * @return the registration of the poller
+     */
+    public static Registration schedulePolling(Runnable poller, long periodMs) {
+        if (poller == null) {
+            throw new IllegalArgumentException("poller can't be null");
+        }
+        if (periodMs <= 0) {
+            throw new IllegalArgumentException("periodMs must > 0, but " + periodMs + " get");
+        }
+        synchronized (POLL_GROUPS) {
+            PollGroup group = POLL_GROUPS.get(periodMs);
+            if (group == null) {
+                group = new PollGroup(periodMs);
+                POLL_GROUPS.put(periodMs, group);
+            }
+            PollTask task = new PollTask(group, poller);
+            group.tasks.add(task);
+            task.start();
+            return task;
+        }
+    }
+
+    /**
+     * Watch the changes (creation, modification and deletion) of a file. The callback runs on the shared scheduler.
+     *
+     * @param file     the file to watch
+     * @param onChange the callback
+     * @return the registration of the watch, or null if the file cannot be watched
+     * (e.g. the parent directory does not exist or the file system does not support watching)
+     */
+    public static Registration watchFile(File file, Runnable onChange) {
+        if (file == null || onChange == null) {
+            throw new IllegalArgumentException("file and onChange can't be null");
+        }
+        return FILE_WATCHER.watch(file, onChange);
+    }
+
+    /**
+     * Create an executor that runs tasks one at a time on the shared scheduler. If tasks are submitted while
+     * a task is running, only the latest one is kept, which suits the data sources where only the latest update
+     * matters. The executor should be cancelled when the data source is closed.
+     *
+     * @return a new executor
+     */
+    public static LatestTaskExecutor newLatestTaskExecutor() {
+        return new DefaultLatestTaskExecutor();
+    }
+
+    /**
+     * Run the task on the shared scheduler. Errors thrown by the task are logged.
+     *
+     * @param task the task
+     */
+    public static void execute(final Runnable task) {
+        SCHEDULER.execute(new Runnable() {
+            @Override
+            public void run() {
+                runSafely(task);
+            }
+        });
+    }
+
+    /**
+     * Run the task on the shared scheduler after the given delay. Errors thrown by the task are logged.
+     */
+    static void schedule(final Runnable task, long delayMs) {
+        SCHEDULER.schedule(new Runnable() {
+            @Override
+            public void run() {
+                runSafely(task);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    static int getPollGroupCount() {
+        return POLL_GROUPS.size();
+    }
+
+    static int getPollerThreadCount() {
+        return POLL_EXECUTOR.getMaximumPoolSize();
+    }
+
+    static int getPollerPoolSize() {
+        return POLL_EXECUTOR.getPoolSize();
+    }
+
+    private static int resolveThreadCount(String key, int defaultCount) {
+        String value = SentinelConfig.getConfig(key);
+        if (value != null) {
+            try {
+                int count = Integer.parseInt(value.trim());
+                if (count > 0) {
+                    return count;
+                }
+            } catch (NumberFormatException ignore) {
+            }
+            RecordLog.warn("[DataSourceRuntime] Invalid thread count of {}: {}, using default {}", key, value,
+                defaultCount);
+        }
+        return defaultCount;
+    }
+
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            RecordLog.warn("[DataSourceRuntime] Error when running data source task", e);
+        }
+    }
+
+    private static final class PollGroup implements Runnable {
+
+        private final long periodMs;
+        private final List<PollTask> tasks = new CopyOnWriteArrayList<>();
+        private final ScheduledFuture<?> future;
+
+        PollGroup(long periodMs) {
+            this.periodMs = periodMs;
+            this.future = SCHEDULER.scheduleAtFixedRate(this, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            for (PollTask task : tasks) {
+                task.trigger();
+            }
+        }
+    }
+
+    private static final class PollTask implements Runnable, Registration {
+
+        private final PollGroup group;
+        private final Runnable poller;
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private volatile boolean started = false;
+        private volatile boolean cancelled = false;
+
+        PollTask(PollGroup group, Runnable poller) {
+            this.group = group;
+            this.poller = poller;
+        }
+
+        /**
+         * The first poll runs one period after the registration like a poller scheduled on its own,
+         * then the poller follows the ticks of the group.
+         */
+        void start() {
+            SCHEDULER.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    started = true;
+                    trigger();
+                }
+            }, group.periodMs, TimeUnit.MILLISECONDS);
+        }
+
+        void trigger() {
+            if (started && !cancelled && running.compareAndSet(false, true)) {
+                // Rejected polls are skipped by the rejection policy.
+                POLL_EXECUTOR.execute(this);
+            }
+        }
+
+        void skip() {
+            running.set(false);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!cancelled) {
+                    runSafely(poller);
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (POLL_GROUPS) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                group.tasks.remove(this);
+                if (group.tasks.isEmpty()) {
+                    group.future.cancel(false);
+                    POLL_GROUPS.remove(group.periodMs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Skip the poll of the current tick if the poller threads and the queue are all busy, rather than
+     * blocking the tick or starting more threads. The poller will be triggered again on the next tick.
+     */
+    private static final class SkipPollPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            ((PollTask)r).skip();
+            RecordLog.warn("[DataSourceRuntime] Poller threads are saturated, skipping a poll of {}",
+                ((PollTask)r).poller);
+        }
+    }
+
+    private static final class DefaultLatestTaskExecutor implements LatestTaskExecutor, Runnable {
+
+        private final AtomicReference<Runnable> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile boolean cancelled = false;
+
+        @Override
+        public void execute(Runnable command) {
+            if (command == null) {
+                throw new NullPointerException();
+            }
+            if (cancelled) {
+                return;
+            }
+            pending.set(command);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            pending.set(null);
+        }
+
+        private void schedule() {
+            if (pending.get() != null && scheduled.compareAndSet(false, true)) {
+                SCHEDULER.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task = pending.getAndSet(null);
+                if (task != null && !cancelled) {
+                    runSafely(task);
+                }
+            } finally {
+                scheduled.set(false);
+                // Run the task that arrived while the previous one was running.
+                schedule();
+            }
+        }
+    }
+
+    private DataSourceRuntime() {}
+}
@@ -29,6 +29,10 @@ import com.alibaba.csp.sentinel.log.RecordLog;
  * fetches the backend file every isModified period.
  * </p>
  * <p>
+ * Since 1.8.2, the file is also watched via {@link DataSourceRuntime#watchFile(File, Runnable)} if supported,
+ * so changes are loaded immediately, while the periodic check remains as a fallback.
+ * </p>
+ * <p>
  * Limitations: Default read buffer size is 1 MB. If file size is greater than
  * buffer size, exceeding bytes will be ignored. Default charset is UTF-8.
  * </p>
@@ -47,7 +51,9 @@ public class FileRefreshableDataSource<T> extends AutoRefreshDataSource<String,
     private final Charset charset;
     private final File file;
 
-    private long lastModified = 0L;
+    private volatile long lastModified = 0L;
+
+    private DataSourceRuntime.Registration watchRegistration;
 
     /**
      * Create a file based {@link ReadableDataSource} whose read buffer size is
@@ -92,12 +98,17 @@ public class FileRefreshableDataSource<T> extends AutoRefreshDataSource<String,
         // If the file does not exist, the last modified will be 0.
         this.lastModified = file.lastModified();
         firstLoad();
+        this.watchRegistration = DataSourceRuntime.watchFile(file, new Runnable() {
+            @Override
+            public void run() {
+                refreshIfModified();
+            }
+        });
     }
 
     private void firstLoad() {
         try {
-            T newValue = loadConfig();
-            getProperty().updateValue(newValue);
+            refreshSource(readSource());
         } catch (Throwable e) {
             RecordLog.info("loadConfig exception", e);
         }
@@ -111,13 +122,23 @@ public class FileRefreshableDataSource<T> extends AutoRefreshDataSource<String,
         }
         FileInputStream inputStream = null;
         try {
+            long modified = file.lastModified();
             inputStream = new FileInputStream(file);
             FileChannel channel = inputStream.getChannel();
             if (channel.size() > buf.length) {
                 throw new IllegalStateException(file.getAbsolutePath() + " file size=" + channel.size()
                     + ", is bigger than bufSize=" + buf.length + ". Can't read");
             }
-            int len = inputStream.read(buf);
+            int len = 0;
+            int n;
+            while (len < buf.length && (n = inputStream.read(buf, len, buf.length - len)) > 0) {
+                len += n;
+            }
+            if (len != channel.size() || modified != file.lastModified()) {
+                // The file is being written, so it is read again on the next change or poll.
+                throw new IllegalStateException(file.getAbsolutePath() + " is modified while reading");
+            }
+            this.lastModified = modified;
             return new String(buf, 0, len, charset);
         } finally {
             if (inputStream != null) {
@@ -129,19 +150,24 @@ public class FileRefreshableDataSource<T> extends AutoRefreshDataSource<String,
         }
     }
 
+    /**
+     * The last modified time is recorded when the file is read completely, so a file read while
+     * being written is read again.
+     */
     @Override
     protected boolean isModified() {
-        long curLastModified = file.lastModified();
-        if (curLastModified != this.lastModified) {
-            this.lastModified = curLastModified;
-            return true;
-        }
-        return false;
+        return file.lastModified() != this.lastModified;
     }
 
     @Override
     public void close() throws Exception {
+        if (watchRegistration != null) {
+            watchRegistration.cancel();
+            watchRegistration = null;
+        }
         super.close();
-        buf = null;
+        synchronized (this) {
+            buf = null;
+        }
     }
 }
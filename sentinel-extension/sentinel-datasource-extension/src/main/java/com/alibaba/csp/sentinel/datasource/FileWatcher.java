@@ -0,0 +1,178 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * Watches files with a single {@link WatchService} and a single thread, which is started on the first watch.
+ * The callbacks are dispatched to the shared scheduler of {@link DataSourceRuntime}.
+ * <p>
+ * Writing a file usually fires several modification events, so the callback of a file runs once
+ * {@link #DEBOUNCE_MS} after the first event, and covers all the events in the meantime.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+final class FileWatcher {
+
+    static final long DEBOUNCE_MS = 100;
+
+    private final Map<Path, WatchKey> dirKeys = new HashMap<>();
+    private final Map<WatchKey, List<FileWatch>> watches = new HashMap<>();
+
+    private WatchService watchService;
+    private boolean unsupported = false;
+
+    synchronized DataSourceRuntime.Registration watch(File file, Runnable onChange) {
+        if (unsupported) {
+            return null;
+        }
+        Path path = file.getAbsoluteFile().toPath().normalize();
+        Path dir = path.getParent();
+        if (dir == null || !dir.toFile().isDirectory()) {
+            return null;
+        }
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                Thread thread = new NamedThreadFactory("sentinel-datasource-file-watcher", true)
+                    .newThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            pollEvents();
+                        }
+                    });
+                thread.start();
+            }
+            WatchKey key = dirKeys.get(dir);
+            if (key == null || !key.isValid()) {
+                key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                dirKeys.put(dir, key);
+            }
+            List<FileWatch> list = watches.get(key);
+            if (list == null) {
+                list = new ArrayList<>();
+                watches.put(key, list);
+            }
+            FileWatch watch = new FileWatch(dir, path.getFileName(), onChange);
+            list.add(watch);
+            return watch;
+        } catch (IOException | UnsupportedOperationException e) {
+            RecordLog.warn("[FileWatcher] Cannot watch file: " + path + ", falling back to polling", e);
+            if (watchService == null) {
+                unsupported = true;
+            }
+            return null;
+        }
+    }
+
+    private synchronized void unwatch(FileWatch watch) {
+        WatchKey key = dirKeys.get(watch.dir);
+        if (key == null) {
+            return;
+        }
+        List<FileWatch> list = watches.get(key);
+        if (list != null && list.remove(watch) && list.isEmpty()) {
+            watches.remove(key);
+            dirKeys.remove(watch.dir);
+            key.cancel();
+        }
+    }
+
+    private synchronized List<FileWatch> getWatches(WatchKey key) {
+        List<FileWatch> list = watches.get(key);
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private void pollEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            List<FileWatch> list = getWatches(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (list == null) {
+                    continue;
+                }
+                Object context = event.context();
+                for (FileWatch watch : list) {
+                    // On overflow, notify all the watches of the directory as events may be lost.
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || watch.fileName.equals(context)) {
+                        watch.trigger();
+                    }
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private final class FileWatch implements DataSourceRuntime.Registration, Runnable {
+
+        private final Path dir;
+        private final Path fileName;
+        private final Runnable onChange;
+        private final AtomicBoolean pending = new AtomicBoolean(false);
+        private volatile boolean cancelled = false;
+
+        FileWatch(Path dir, Path fileName, Runnable onChange) {
+            this.dir = dir;
+            this.fileName = fileName;
+            this.onChange = onChange;
+        }
+
+        void trigger() {
+            if (!cancelled && pending.compareAndSet(false, true)) {
+                DataSourceRuntime.schedule(this, DEBOUNCE_MS);
+            }
+        }
+
+        @Override
+        public void run() {
+            // Events arriving from now on trigger another run.
+            pending.set(false);
+            if (!cancelled) {
+                onChange.run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            unwatch(this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.util.List;
+
+import com.alibaba.csp.sentinel.property.PatchableSentinelProperty;
+
+/**
+ * <p>A {@link ReadableDataSource} of list values (e.g. rules) that receives versioned patches
+ * (upserts and deletes by id, see {@link com.alibaba.csp.sentinel.property.PropertyPatch}) instead of the whole value on each change.</p>
+ * <p>
+ * {@link #readSource()} should read the full snapshot, which is used for the initial load
+ * and as the fallback after a version gap.
+ * </p>
+ *
+ * @param <S> source data type
+ * @param <V> type of the entries
+ * @since 1.8.2
+ */
+public interface PatchableDataSource<S, V> extends ReadableDataSource<S, List<V>> {
+
+    /**
+     * Apply an update received from the backend, which is either a delta patch or a snapshot.
+     * If the delta patch is not based on the current version, the full snapshot is reloaded.
+     *
+     * @param source the original data of the update
+     * @throws Exception IO or other error occurs
+     */
+    void applyUpdate(S source) throws Exception;
+
+    /**
+     * Load the full snapshot from the backend and apply it.
+     *
+     * @throws Exception IO or other error occurs
+     */
+    void reloadSnapshot() throws Exception;
+
+    /**
+     * Get {@link PatchableSentinelProperty} of the data source, which can be registered to rule managers.
+     *
+     * @return the property.
+     */
+    @Override
+    PatchableSentinelProperty<V> getProperty();
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.datasource.Converter;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * <p>The abstract {@link Converter} that parses a JSON array of rules straight into the rule objects
+ * with a {@link JsonReader}, and validates the rules in the same pass.</p>
+ * <p>
+ * Unknown fields are skipped, {@code null} values keep the defaults of the rule, and invalid rules are
+ * dropped with a warning. A blank source is converted to {@code null}, like the common JSON libraries do.
+ * </p>
+ * <p>
+ * Compared with the generic JSON-to-POJO parsing of fastjson, the converters allocate much less per push
+ * (about 1.5x to 3.7x less, see {@code RuleJsonConverterBenchmark}), but they are not faster: the conversion
+ * takes about 1.2x to 3x the time of fastjson. They suit large rule sets where the allocation of a push
+ * matters more than the conversion time.
+ * </p>
+ *
+ * @param <R> type of the rules
+ * @since 1.8.2
+ */
+public abstract class AbstractJsonRuleConverter<R> implements Converter<String, List<R>> {
+
+    @Override
+    public List<R> convert(String source) {
+        if (StringUtil.isBlank(source)) {
+            return null;
+        }
+        JsonReader reader = new JsonReader(source);
+        if (reader.nextNull()) {
+            reader.endDocument();
+            return null;
+        }
+        List<R> rules = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.nextNull()) {
+                continue;
+            }
+            R rule = readRule(reader);
+            if (isValid(rule)) {
+                rules.add(rule);
+            } else {
+                RecordLog.warn("[{}] Ignoring invalid rule: {}", getClass().getSimpleName(), rule);
+            }
+        }
+        reader.endArray();
+        reader.endDocument();
+        return rules;
+    }
+
+    /**
+     * Read a rule object.
+     *
+     * @param reader the reader, of which the next value is the rule object
+     * @return the rule
+     */
+    protected R readRule(JsonReader reader) {
+        R rule = newRule();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (!reader.nextNull() && !readField(reader, name, rule)) {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return rule;
+    }
+
+    /**
+     * @return a new rule with the default values
+     */
+    protected abstract R newRule();
+
+    /**
+     * Read the value of a field into the rule. The value is not {@code null}.
+     *
+     * @param reader the reader, of which the next value is the value of the field
+     * @param name   name of the field
+     * @param rule   the rule
+     * @return true if the value has been read, or false if the field is unknown
+     */
+    protected abstract boolean readField(JsonReader reader, String name, R rule);
+
+    /**
+     * @param rule the rule that has been read
+     * @return true if the rule is valid
+     */
+    protected boolean isValid(R rule) {
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRuleManager;
+
+/**
+ * Streaming JSON converter of {@link AuthorityRule} lists.
+ *
+ * @since 1.8.2
+ */
+public class AuthorityRuleJsonConverter extends AbstractJsonRuleConverter<AuthorityRule> {
+
+    @Override
+    protected AuthorityRule newRule() {
+        return new AuthorityRule();
+    }
+
+    @Override
+    protected boolean readField(JsonReader reader, String name, AuthorityRule rule) {
+        switch (name) {
+            case "resource":
+                rule.setResource(reader.nextString());
+                return true;
+            case "limitApp":
+                rule.setLimitApp(reader.nextString());
+                return true;
+            case "strategy":
+                rule.setStrategy(reader.nextInt());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected boolean isValid(AuthorityRule rule) {
+        return AuthorityRuleManager.isValidRule(rule);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRuleManager;
+
+/**
+ * Streaming JSON converter of {@link DegradeRule} lists.
+ *
+ * @since 1.8.2
+ */
+public class DegradeRuleJsonConverter extends AbstractJsonRuleConverter<DegradeRule> {
+
+    @Override
+    protected DegradeRule newRule() {
+        return new DegradeRule();
+    }
+
+    @Override
+    protected boolean readField(JsonReader reader, String name, DegradeRule rule) {
+        switch (name) {
+            case "resource":
+                rule.setResource(reader.nextString());
+                return true;
+            case "limitApp":
+                rule.setLimitApp(reader.nextString());
+                return true;
+            case "grade":
+                rule.setGrade(reader.nextInt());
+                return true;
+            case "count":
+                rule.setCount(reader.nextDouble());
+                return true;
+            case "timeWindow":
+                rule.setTimeWindow(reader.nextInt());
+                return true;
+            case "minRequestAmount":
+                rule.setMinRequestAmount(reader.nextInt());
+                return true;
+            case "slowRatioThreshold":
+                rule.setSlowRatioThreshold(reader.nextDouble());
+                return true;
+            case "statIntervalMs":
+                rule.setStatIntervalMs(reader.nextInt());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected boolean isValid(DegradeRule rule) {
+        return DegradeRuleManager.isValidRule(rule);
+    }
+}
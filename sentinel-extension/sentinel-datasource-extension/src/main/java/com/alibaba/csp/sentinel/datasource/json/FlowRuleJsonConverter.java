@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRuleUtil;
+
+/**
+ * Streaming JSON converter of {@link FlowRule} lists.
+ *
+ * @since 1.8.2
+ */
+public class FlowRuleJsonConverter extends AbstractJsonRuleConverter<FlowRule> {
+
+    @Override
+    protected FlowRule newRule() {
+        return new FlowRule();
+    }
+
+    @Override
+    protected boolean readField(JsonReader reader, String name, FlowRule rule) {
+        switch (name) {
+            case "resource":
+                rule.setResource(reader.nextString());
+                return true;
+            case "limitApp":
+                rule.setLimitApp(reader.nextString());
+                return true;
+            case "grade":
+                rule.setGrade(reader.nextInt());
+                return true;
+            case "count":
+                rule.setCount(reader.nextDouble());
+                return true;
+            case "strategy":
+                rule.setStrategy(reader.nextInt());
+                return true;
+            case "refResource":
+                rule.setRefResource(reader.nextString());
+                return true;
+            case "controlBehavior":
+                rule.setControlBehavior(reader.nextInt());
+                return true;
+            case "warmUpPeriodSec":
+                rule.setWarmUpPeriodSec(reader.nextInt());
+                return true;
+            case "maxQueueingTimeMs":
+                rule.setMaxQueueingTimeMs(reader.nextInt());
+                return true;
+            case "clusterMode":
+                rule.setClusterMode(reader.nextBoolean());
+                return true;
+            case "clusterConfig":
+                rule.setClusterConfig(readClusterConfig(reader));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static ClusterFlowConfig readClusterConfig(JsonReader reader) {
+        ClusterFlowConfig config = new ClusterFlowConfig();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.nextNull()) {
+                continue;
+            }
+            switch (name) {
+                case "flowId":
+                    config.setFlowId(reader.nextLong());
+                    break;
+                case "thresholdType":
+                    config.setThresholdType(reader.nextInt());
+                    break;
+                case "fallbackToLocalWhenFail":
+                    config.setFallbackToLocalWhenFail(reader.nextBoolean());
+                    break;
+                case "strategy":
+                    config.setStrategy(reader.nextInt());
+                    break;
+                case "sampleCount":
+                    config.setSampleCount(reader.nextInt());
+                    break;
+                case "windowIntervalMs":
+                    config.setWindowIntervalMs(reader.nextInt());
+                    break;
+                case "resourceTimeout":
+                    config.setResourceTimeout(reader.nextLong());
+                    break;
+                case "resourceTimeoutStrategy":
+                    config.setResourceTimeoutStrategy(reader.nextInt());
+                    break;
+                case "acquireRefuseStrategy":
+                    config.setAcquireRefuseStrategy(reader.nextInt());
+                    break;
+                case "clientOfflineTime":
+                    config.setClientOfflineTime(reader.nextLong());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return config;
+    }
+
+    @Override
+    protected boolean isValid(FlowRule rule) {
+        return FlowRuleUtil.isValidRule(rule);
+    }
+}
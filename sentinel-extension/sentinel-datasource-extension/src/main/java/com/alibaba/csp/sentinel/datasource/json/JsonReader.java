@@ -0,0 +1,625 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+/**
+ * <p>A streaming (pull) JSON reader over a string, which reads values straight from the source
+ * without building an intermediate object tree.</p>
+ * <p>
+ * Strings (including names) of the same content are interned within a reader, so repeated values such as
+ * resource names and {@code limitApp} share the same instance, and repeated unescaped strings are not
+ * copied out of the source again. Numbers are parsed in place. For compatibility with the common JSON
+ * libraries, numbers may also be quoted.
+ * </p>
+ * <p>
+ * The reader is not thread-safe. Malformed input results in an {@link IllegalArgumentException}.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class JsonReader {
+
+    private static final int MAX_INTERN_LENGTH = 128;
+    private static final int MAX_INTERN_COUNT = 1 << 14;
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final int MAX_PREDICTED_DEPTH = 8;
+    private static final int MAX_PREDICTED_NAMES = 32;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final String source;
+    private final int length;
+    private int pos;
+    private boolean needComma;
+
+    private int numberStart;
+    private int numberEnd;
+    private boolean numberQuoted;
+
+    private String[] internTable = new String[64];
+    private int internCount;
+
+    /**
+     * Names of the last object of each depth in order. Objects of the same depth (e.g. the rules) usually have
+     * the same names in the same order, so the next name is first checked against the name at the same position.
+     */
+    private final String[][] predictedNames = new String[MAX_PREDICTED_DEPTH][];
+    private final int[] nameCursors = new int[MAX_PREDICTED_DEPTH];
+    private int objectDepth;
+
+    public JsonReader(String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source can't be null");
+        }
+        this.source = source;
+        this.length = source.length();
+    }
+
+    public void beginArray() {
+        beginValue();
+        expect('[');
+        needComma = false;
+    }
+
+    public void endArray() {
+        skipWhitespace();
+        expect(']');
+        needComma = true;
+    }
+
+    public void beginObject() {
+        beginValue();
+        expect('{');
+        needComma = false;
+        if (objectDepth < MAX_PREDICTED_DEPTH) {
+            nameCursors[objectDepth] = 0;
+        }
+        objectDepth++;
+    }
+
+    public void endObject() {
+        skipWhitespace();
+        expect('}');
+        needComma = true;
+        objectDepth--;
+    }
+
+    /**
+     * @return true if the current array or object has more elements
+     */
+    public boolean hasNext() {
+        skipWhitespace();
+        if (pos >= length) {
+            throw syntaxError("Unexpected end of input");
+        }
+        char c = source.charAt(pos);
+        if (c == ']' || c == '}') {
+            return false;
+        }
+        if (needComma) {
+            if (c != ',') {
+                throw syntaxError("Expected ','");
+            }
+            pos++;
+            needComma = false;
+        }
+        return true;
+    }
+
+    /**
+     * Read the name of the next object member, including the following colon.
+     *
+     * @return the name
+     */
+    public String nextName() {
+        skipWhitespace();
+        String name;
+        int depth = objectDepth - 1;
+        if (depth >= 0 && depth < MAX_PREDICTED_DEPTH && nameCursors[depth] < MAX_PREDICTED_NAMES) {
+            String[] names = predictedNames[depth];
+            if (names == null) {
+                names = predictedNames[depth] = new String[MAX_PREDICTED_NAMES];
+            }
+            int cursor = nameCursors[depth]++;
+            name = names[cursor];
+            if (name != null && isNextString(name)) {
+                pos += name.length() + 2;
+            } else {
+                // Use the canonical instance, so matching the name against the literals is an identity check.
+                name = readString().intern();
+                names[cursor] = name;
+            }
+        } else {
+            name = readString();
+        }
+        skipWhitespace();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Consume the next value if it is {@code null}.
+     *
+     * @return true if the next value is {@code null} and has been consumed
+     */
+    public boolean nextNull() {
+        skipWhitespace();
+        if (source.startsWith("null", pos)) {
+            beginValue();
+            pos += 4;
+            needComma = true;
+            return true;
+        }
+        return false;
+    }
+
+    public String nextString() {
+        beginValue();
+        char c = current();
+        String value;
+        if (c == '"') {
+            value = readString();
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            int start = pos;
+            pos = scanNumber();
+            value = intern(start, pos);
+        } else if (source.startsWith("true", pos) || source.startsWith("false", pos)) {
+            value = nextBooleanLiteral() ? "true" : "false";
+        } else {
+            throw syntaxError("Expected a string");
+        }
+        needComma = true;
+        return value;
+    }
+
+    public boolean nextBoolean() {
+        beginValue();
+        boolean value;
+        if (current() == '"') {
+            int start = pos + 1;
+            String s = readString();
+            if ("true".equals(s)) {
+                value = true;
+            } else if ("false".equals(s)) {
+                value = false;
+            } else {
+                pos = start;
+                throw syntaxError("Expected a boolean");
+            }
+        } else {
+            value = nextBooleanLiteral();
+        }
+        needComma = true;
+        return value;
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw syntaxError("Integer out of range: " + value);
+        }
+        return (int)value;
+    }
+
+    public long nextLong() {
+        beginNumber();
+        int i = numberStart;
+        boolean negative = source.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        boolean exact = i < numberEnd;
+        // Accumulate negatively, so that Long.MIN_VALUE can be parsed as well.
+        for (; i < numberEnd; i++) {
+            char c = source.charAt(i);
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || value < (limit + digit) / 10) {
+                exact = false;
+                break;
+            }
+            value = value * 10 - digit;
+        }
+        long result;
+        if (exact) {
+            result = negative ? value : -value;
+        } else {
+            // Fraction, exponent or overflow.
+            double d = parseDouble();
+            if (d != Math.rint(d) || d < Long.MIN_VALUE || d >= (double)Long.MAX_VALUE) {
+                throw syntaxError("Expected a long: " + source.substring(numberStart, numberEnd));
+            }
+            result = (long)d;
+        }
+        endNumber();
+        return result;
+    }
+
+    public double nextDouble() {
+        beginNumber();
+        int i = numberStart;
+        boolean negative = source.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        boolean fast = i < numberEnd;
+        for (; i < numberEnd; i++) {
+            char c = source.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (fraction) {
+                    fractionDigits++;
+                }
+                if (digits > MAX_FAST_DIGITS || fractionDigits > MAX_FAST_DIGITS) {
+                    fast = false;
+                    break;
+                }
+            } else if (c == '.' && !fraction && i > numberStart && i < numberEnd - 1) {
+                fraction = true;
+            } else {
+                fast = false;
+                break;
+            }
+        }
+        double result;
+        if (fast) {
+            // Both the mantissa and the power of ten are exact, so the division is correctly rounded.
+            result = mantissa / POWERS_OF_TEN[fractionDigits];
+            if (negative) {
+                result = -result;
+            }
+        } else {
+            result = parseDouble();
+        }
+        endNumber();
+        return result;
+    }
+
+    /**
+     * Skip the next value, including nested arrays and objects.
+     */
+    public void skipValue() {
+        beginValue();
+        int depth = 0;
+        do {
+            skipWhitespace();
+            char c = current();
+            switch (c) {
+                case '[':
+                case '{':
+                    depth++;
+                    pos++;
+                    break;
+                case ']':
+                case '}':
+                    depth--;
+                    pos++;
+                    break;
+                case '"':
+                    skipString();
+                    break;
+                case ',':
+                case ':':
+                    if (depth == 0) {
+                        throw syntaxError("Unexpected '" + c + "'");
+                    }
+                    pos++;
+                    break;
+                default:
+                    int start = pos;
+                    while (pos < length && isLiteralChar(source.charAt(pos))) {
+                        pos++;
+                    }
+                    if (pos == start) {
+                        throw syntaxError("Unexpected '" + c + "'");
+                    }
+            }
+        } while (depth > 0);
+        needComma = true;
+    }
+
+    /**
+     * Verify that there is nothing but whitespace after the value.
+     */
+    public void endDocument() {
+        skipWhitespace();
+        if (pos < length) {
+            throw syntaxError("Unexpected content after the document");
+        }
+    }
+
+    private void beginNumber() {
+        beginValue();
+        numberQuoted = current() == '"';
+        if (numberQuoted) {
+            pos++;
+        }
+        numberStart = pos;
+        numberEnd = scanNumber();
+        if (numberEnd == numberStart) {
+            throw syntaxError("Expected a number");
+        }
+        if (numberQuoted && (numberEnd >= length || source.charAt(numberEnd) != '"')) {
+            pos = numberEnd;
+            throw syntaxError("Expected '\"'");
+        }
+    }
+
+    private void endNumber() {
+        pos = numberQuoted ? numberEnd + 1 : numberEnd;
+        needComma = true;
+    }
+
+    private double parseDouble() {
+        try {
+            return Double.parseDouble(source.substring(numberStart, numberEnd));
+        } catch (NumberFormatException ex) {
+            throw syntaxError("Invalid number: " + source.substring(numberStart, numberEnd));
+        }
+    }
+
+    private int scanNumber() {
+        int i = pos;
+        while (i < length) {
+            char c = source.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private boolean nextBooleanLiteral() {
+        if (source.startsWith("true", pos)) {
+            pos += 4;
+            return true;
+        }
+        if (source.startsWith("false", pos)) {
+            pos += 5;
+            return false;
+        }
+        throw syntaxError("Expected a boolean");
+    }
+
+    private String readString() {
+        expect('"');
+        int start = pos;
+        int h = 0;
+        // Scan with a local index and hash the content on the way, so that each char is only read once.
+        for (int i = start; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '"') {
+                pos = i + 1;
+                return intern(start, i, h);
+            }
+            if (c == '\\') {
+                pos = i;
+                return readEscapedString(start);
+            }
+            h = 31 * h + c;
+        }
+        pos = length;
+        throw syntaxError("Unterminated string");
+    }
+
+    private String readEscapedString(int start) {
+        StringBuilder sb = new StringBuilder(pos - start + 16);
+        sb.append(source, start, pos);
+        while (pos < length) {
+            char c = source.charAt(pos++);
+            if (c == '"') {
+                return internString(sb.toString());
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos >= length) {
+                break;
+            }
+            char escaped = source.charAt(pos++);
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append(escaped);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > length) {
+                        throw syntaxError("Unterminated escape sequence");
+                    }
+                    try {
+                        sb.append((char)Integer.parseInt(source.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw syntaxError("Invalid escape sequence");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw syntaxError("Invalid escape sequence");
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    /**
+     * @return true if the next value is a string of the same content without escape sequences
+     */
+    private boolean isNextString(String value) {
+        int end = pos + value.length() + 1;
+        return end < length && source.charAt(pos) == '"' && source.charAt(end) == '"'
+            && source.regionMatches(pos + 1, value, 0, value.length());
+    }
+
+    private void skipString() {
+        int i = pos + 1;
+        while (i < length) {
+            char c = source.charAt(i++);
+            if (c == '"') {
+                pos = i;
+                return;
+            }
+            if (c == '\\') {
+                i++;
+            }
+        }
+        pos = length;
+        throw syntaxError("Unterminated string");
+    }
+
+    private String intern(int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return intern(start, end, h);
+    }
+
+    /**
+     * @param h hash code of the content, which is the same as that of {@link String#hashCode()}
+     */
+    private String intern(int start, int end, int h) {
+        int len = end - start;
+        if (len > MAX_INTERN_LENGTH) {
+            return source.substring(start, end);
+        }
+        int mask = internTable.length - 1;
+        int index = spread(h) & mask;
+        String s;
+        while ((s = internTable[index]) != null) {
+            if (s.length() == len && s.hashCode() == h && source.regionMatches(start, s, 0, len)) {
+                return s;
+            }
+            index = (index + 1) & mask;
+        }
+        return addInterned(source.substring(start, end), index);
+    }
+
+    private String internString(String value) {
+        if (value.length() > MAX_INTERN_LENGTH) {
+            return value;
+        }
+        int mask = internTable.length - 1;
+        int index = spread(value.hashCode()) & mask;
+        String s;
+        while ((s = internTable[index]) != null) {
+            if (s.equals(value)) {
+                return s;
+            }
+            index = (index + 1) & mask;
+        }
+        return addInterned(value, index);
+    }
+
+    private String addInterned(String value, int index) {
+        if (internCount >= MAX_INTERN_COUNT) {
+            return value;
+        }
+        internTable[index] = value;
+        internCount++;
+        if (internCount * 2 > internTable.length) {
+            String[] old = internTable;
+            internTable = new String[old.length * 2];
+            int mask = internTable.length - 1;
+            for (String s : old) {
+                if (s != null) {
+                    int i = spread(s.hashCode()) & mask;
+                    while (internTable[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    internTable[i] = s;
+                }
+            }
+        }
+        return value;
+    }
+
+    private static int spread(int h) {
+        // Hash codes of similar strings (e.g. resource names of the same prefix) are often consecutive,
+        // which would form long probe sequences without mixing.
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isLiteralChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+            || c == '-' || c == '+' || c == '.';
+    }
+
+    private void beginValue() {
+        skipWhitespace();
+        if (pos >= length) {
+            throw syntaxError("Unexpected end of input");
+        }
+    }
+
+    private char current() {
+        if (pos >= length) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return source.charAt(pos);
+    }
+
+    private void expect(char c) {
+        if (pos >= length || source.charAt(pos) != c) {
+            throw syntaxError("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private void skipWhitespace() {
+        int i = pos;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        pos = i;
+    }
+
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+
+/**
+ * Streaming JSON converter of {@link SystemRule} lists.
+ *
+ * @since 1.8.2
+ */
+public class SystemRuleJsonConverter extends AbstractJsonRuleConverter<SystemRule> {
+
+    @Override
+    protected SystemRule newRule() {
+        return new SystemRule();
+    }
+
+    @Override
+    protected boolean readField(JsonReader reader, String name, SystemRule rule) {
+        switch (name) {
+            case "resource":
+                rule.setResource(reader.nextString());
+                return true;
+            case "limitApp":
+                rule.setLimitApp(reader.nextString());
+                return true;
+            case "highestSystemLoad":
+                rule.setHighestSystemLoad(reader.nextDouble());
+                return true;
+            case "highestCpuUsage":
+                rule.setHighestCpuUsage(reader.nextDouble());
+                return true;
+            case "qps":
+                rule.setQps(reader.nextDouble());
+                return true;
+            case "avgRt":
+                rule.setAvgRt(reader.nextLong());
+                return true;
+            case "maxThread":
+                rule.setMaxThread(reader.nextLong());
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.util.List;
+
+/**
+ * The rules of a rule snapshot, with the version of the source they came from.
+ *
+ * @param <R> type of the rules
+ * @since 1.8.2
+ */
+public final class RuleSnapshot<R> {
+
+    private final long version;
+    private final long timestamp;
+    private final List<R> rules;
+
+    public RuleSnapshot(long version, long timestamp, List<R> rules) {
+        this.version = version;
+        this.timestamp = timestamp;
+        this.rules = rules;
+    }
+
+    /**
+     * @return version of the rules, or {@link com.alibaba.csp.sentinel.property.PatchableSentinelProperty#UNKNOWN_VERSION}
+     * if the source is not versioned
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the time when the snapshot was written, in milliseconds
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public List<R> getRules() {
+        return rules;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSnapshot{" +
+            "version=" + version +
+            ", timestamp=" + timestamp +
+            ", ruleCount=" + (rules == null ? 0 : rules.size()) +
+            '}';
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+/**
+ * Encodes and decodes rules of a type in the compact binary rule snapshot.
+ * The built-in rule types are provided in {@link RuleSnapshotCodecs}.
+ *
+ * @param <R> type of the rules
+ * @since 1.8.2
+ */
+public interface RuleSnapshotCodec<R> {
+
+    /**
+     * Get the name of the rule type, which is recorded in the snapshot, so that the snapshot of
+     * another rule type is never loaded by mistake. The layout of the rules should not change
+     * under the same name.
+     *
+     * @return name of the rule type
+     */
+    String getRuleType();
+
+    /**
+     * Write the fields of the rule.
+     *
+     * @param output the output
+     * @param rule   the rule, which is not null
+     */
+    void writeRule(RuleSnapshotOutput output, R rule);
+
+    /**
+     * Read the fields of a rule in the same order as they are written.
+     *
+     * @param input the input
+     * @return the rule
+     */
+    R readRule(RuleSnapshotInput input);
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+
+/**
+ * {@link RuleSnapshotCodec}s of the built-in rule types.
+ *
+ * @since 1.8.2
+ */
+public final class RuleSnapshotCodecs {
+
+    public static final RuleSnapshotCodec<FlowRule> FLOW = new RuleSnapshotCodec<FlowRule>() {
+        @Override
+        public String getRuleType() {
+            return "flow";
+        }
+
+        @Override
+        public void writeRule(RuleSnapshotOutput output, FlowRule rule) {
+            output.writeString(rule.getResource());
+            output.writeString(rule.getLimitApp());
+            output.writeInt(rule.getGrade());
+            output.writeDouble(rule.getCount());
+            output.writeInt(rule.getStrategy());
+            output.writeString(rule.getRefResource());
+            output.writeInt(rule.getControlBehavior());
+            output.writeInt(rule.getWarmUpPeriodSec());
+            output.writeInt(rule.getMaxQueueingTimeMs());
+            output.writeBoolean(rule.isClusterMode());
+            ClusterFlowConfig config = rule.getClusterConfig();
+            output.writeBoolean(config != null);
+            if (config != null) {
+                output.writeBoolean(config.getFlowId() != null);
+                if (config.getFlowId() != null) {
+                    output.writeLong(config.getFlowId());
+                }
+                output.writeInt(config.getThresholdType());
+                output.writeBoolean(config.isFallbackToLocalWhenFail());
+                output.writeInt(config.getStrategy());
+                output.writeInt(config.getSampleCount());
+                output.writeInt(config.getWindowIntervalMs());
+                output.writeLong(config.getResourceTimeout());
+                output.writeInt(config.getResourceTimeoutStrategy());
+                output.writeInt(config.getAcquireRefuseStrategy());
+                output.writeLong(config.getClientOfflineTime());
+            }
+        }
+
+        @Override
+        public FlowRule readRule(RuleSnapshotInput input) {
+            FlowRule rule = new FlowRule();
+            rule.setResource(input.readString());
+            rule.setLimitApp(input.readString());
+            rule.setGrade(input.readInt());
+            rule.setCount(input.readDouble());
+            rule.setStrategy(input.readInt());
+            rule.setRefResource(input.readString());
+            rule.setControlBehavior(input.readInt());
+            rule.setWarmUpPeriodSec(input.readInt());
+            rule.setMaxQueueingTimeMs(input.readInt());
+            rule.setClusterMode(input.readBoolean());
+            if (input.readBoolean()) {
+                ClusterFlowConfig config = new ClusterFlowConfig();
+                if (input.readBoolean()) {
+                    config.setFlowId(input.readLong());
+                }
+                config.setThresholdType(input.readInt());
+                config.setFallbackToLocalWhenFail(input.readBoolean());
+                config.setStrategy(input.readInt());
+                config.setSampleCount(input.readInt());
+                config.setWindowIntervalMs(input.readInt());
+                config.setResourceTimeout(input.readLong());
+                config.setResourceTimeoutStrategy(input.readInt());
+                config.setAcquireRefuseStrategy(input.readInt());
+                config.setClientOfflineTime(input.readLong());
+                rule.setClusterConfig(config);
+            }
+            return rule;
+        }
+    };
+
+    public static final RuleSnapshotCodec<DegradeRule> DEGRADE = new RuleSnapshotCodec<DegradeRule>() {
+        @Override
+        public String getRuleType() {
+            return "degrade";
+        }
+
+        @Override
+        public void writeRule(RuleSnapshotOutput output, DegradeRule rule) {
+            output.writeString(rule.getResource());
+            output.writeString(rule.getLimitApp());
+            output.writeInt(rule.getGrade());
+            output.writeDouble(rule.getCount());
+            output.writeInt(rule.getTimeWindow());
+            output.writeInt(rule.getMinRequestAmount());
+            output.writeDouble(rule.getSlowRatioThreshold());
+            output.writeInt(rule.getStatIntervalMs());
+        }
+
+        @Override
+        public DegradeRule readRule(RuleSnapshotInput input) {
+            DegradeRule rule = new DegradeRule();
+            rule.setResource(input.readString());
+            rule.setLimitApp(input.readString());
+            rule.setGrade(input.readInt());
+            rule.setCount(input.readDouble());
+            rule.setTimeWindow(input.readInt());
+            rule.setMinRequestAmount(input.readInt());
+            rule.setSlowRatioThreshold(input.readDouble());
+            rule.setStatIntervalMs(input.readInt());
+            return rule;
+        }
+    };
+
+    public static final RuleSnapshotCodec<SystemRule> SYSTEM = new RuleSnapshotCodec<SystemRule>() {
+        @Override
+        public String getRuleType() {
+            return "system";
+        }
+
+        @Override
+        public void writeRule(RuleSnapshotOutput output, SystemRule rule) {
+            output.writeString(rule.getResource());
+            output.writeString(rule.getLimitApp());
+            output.writeDouble(rule.getHighestSystemLoad());
+            output.writeDouble(rule.getHighestCpuUsage());
+            output.writeDouble(rule.getQps());
+            output.writeLong(rule.getAvgRt());
+            output.writeLong(rule.getMaxThread());
+        }
+
+        @Override
+        public SystemRule readRule(RuleSnapshotInput input) {
+            SystemRule rule = new SystemRule();
+            rule.setResource(input.readString());
+            rule.setLimitApp(input.readString());
+            rule.setHighestSystemLoad(input.readDouble());
+            rule.setHighestCpuUsage(input.readDouble());
+            rule.setQps(input.readDouble());
+            rule.setAvgRt(input.readLong());
+            rule.setMaxThread(input.readLong());
+            return rule;
+        }
+    };
+
+    public static final RuleSnapshotCodec<AuthorityRule> AUTHORITY = new RuleSnapshotCodec<AuthorityRule>() {
+        @Override
+        public String getRuleType() {
+            return "authority";
+        }
+
+        @Override
+        public void writeRule(RuleSnapshotOutput output, AuthorityRule rule) {
+            output.writeString(rule.getResource());
+            output.writeString(rule.getLimitApp());
+            output.writeInt(rule.getStrategy());
+        }
+
+        @Override
+        public AuthorityRule readRule(RuleSnapshotInput input) {
+            AuthorityRule rule = new AuthorityRule();
+            rule.setResource(input.readString());
+            rule.setLimitApp(input.readString());
+            rule.setStrategy(input.readInt());
+            return rule;
+        }
+    };
+
+    private RuleSnapshotCodecs() {}
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.alibaba.csp.sentinel.datasource.DataSourceRuntime;
+import com.alibaba.csp.sentinel.datasource.ReadableDataSource;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
+import com.alibaba.csp.sentinel.property.PatchableSentinelProperty;
+import com.alibaba.csp.sentinel.property.PropertyListener;
+import com.alibaba.csp.sentinel.property.SentinelProperty;
+
+/**
+ * <p>A {@link ReadableDataSource} backed by the local rule snapshot, which keeps a node running with
+ * the last known rules before the remote data source (e.g. Nacos, Apollo or ZooKeeper) is reachable.</p>
+ * <p>
+ * The snapshot is loaded when the data source is created, so the property should be registered to the rule
+ * manager before creating the remote data source, which may block until the remote server answers.
+ * The remote data source is then followed via {@link #follow(ReadableDataSource)}: rules from the remote
+ * data source replace the snapshot rules, and are written back to the snapshot in the background.
+ * </p>
+ * <pre>
+ * RuleSnapshotDataSource&lt;FlowRule&gt; snapshotDataSource = new RuleSnapshotDataSource&lt;&gt;(
+ *     new File(dir, "flow-rules.snapshot"), RuleSnapshotCodecs.FLOW);
+ * FlowRuleManager.register2Property(snapshotDataSource.getProperty());
+ * ReadableDataSource&lt;String, List&lt;FlowRule&gt;&gt; nacosDataSource = new NacosDataSource&lt;&gt;(...);
+ * snapshotDataSource.follow(nacosDataSource);
+ * </pre>
+ * <p>
+ * The remote data source reconciles by version: if both the remote rules and the snapshot are versioned
+ * (i.e. the remote data source is a {@link com.alibaba.csp.sentinel.datasource.PatchableDataSource}),
+ * remote rules older than the snapshot are ignored. A {@code null} value from the remote data source
+ * (e.g. the initial load failed) never clears the snapshot rules.
+ * </p>
+ *
+ * @param <R> type of the rules
+ * @since 1.8.2
+ */
+public class RuleSnapshotDataSource<R> implements ReadableDataSource<RuleSnapshot<R>, List<R>> {
+
+    private final RuleSnapshotFile<R> snapshotFile;
+    private final SentinelProperty<List<R>> property = new DynamicSentinelProperty<>();
+    private final Executor writer = DataSourceRuntime.newLatestTaskExecutor();
+
+    private long version = PatchableSentinelProperty.UNKNOWN_VERSION;
+    private SentinelProperty<List<R>> remoteProperty;
+    private PropertyListener<List<R>> remoteListener;
+
+    public RuleSnapshotDataSource(File file, RuleSnapshotCodec<R> codec) {
+        this(new RuleSnapshotFile<>(file, codec));
+    }
+
+    public RuleSnapshotDataSource(RuleSnapshotFile<R> snapshotFile) {
+        if (snapshotFile == null) {
+            throw new IllegalArgumentException("snapshotFile can't be null");
+        }
+        this.snapshotFile = snapshotFile;
+        loadSnapshot();
+    }
+
+    private void loadSnapshot() {
+        try {
+            RuleSnapshot<R> snapshot = readSource();
+            if (snapshot != null) {
+                synchronized (this) {
+                    version = snapshot.getVersion();
+                }
+                property.updateValue(snapshot.getRules());
+            }
+        } catch (Exception ex) {
+            // Start without rules like before, the remote data source will take over.
+            RecordLog.warn("[RuleSnapshotDataSource] Failed to load the rule snapshot", ex);
+        }
+    }
+
+    /**
+     * Follow the rules of the remote data source. The data source can only follow one remote data source.
+     *
+     * @param remote the remote data source
+     * @return the data source itself
+     */
+    public synchronized RuleSnapshotDataSource<R> follow(ReadableDataSource<?, List<R>> remote) {
+        if (remote == null) {
+            throw new IllegalArgumentException("remote data source can't be null");
+        }
+        if (remoteProperty != null) {
+            throw new IllegalStateException("Already following a remote data source");
+        }
+        final SentinelProperty<List<R>> followed = remote.getProperty();
+        remoteProperty = followed;
+        remoteListener = new PropertyListener<List<R>>() {
+            @Override
+            public void configUpdate(List<R> value) {
+                onRemoteValue(followed, value);
+            }
+
+            @Override
+            public void configLoad(List<R> value) {
+                onRemoteValue(followed, value);
+            }
+        };
+        followed.addListener(remoteListener);
+        return this;
+    }
+
+    private void onRemoteValue(SentinelProperty<List<R>> followed, final List<R> rules) {
+        if (rules == null) {
+            return;
+        }
+        // The listener is invoked while the remote property is locked, so the version is of the rules.
+        final long remoteVersion = followed instanceof PatchableSentinelProperty
+            ? ((PatchableSentinelProperty<R>)followed).getVersion() : PatchableSentinelProperty.UNKNOWN_VERSION;
+        synchronized (this) {
+            if (remoteVersion != PatchableSentinelProperty.UNKNOWN_VERSION
+                && version != PatchableSentinelProperty.UNKNOWN_VERSION && remoteVersion < version) {
+                RecordLog.info("[RuleSnapshotDataSource] Ignoring remote rules of version {}, "
+                    + "which is older than the snapshot version {}", remoteVersion, version);
+                return;
+            }
+            boolean versionChanged = remoteVersion != version;
+            version = remoteVersion;
+            if (!property.updateValue(rules) && !versionChanged) {
+                return;
+            }
+        }
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    snapshotFile.write(remoteVersion, rules);
+                } catch (Exception ex) {
+                    RecordLog.warn("[RuleSnapshotDataSource] Failed to write the rule snapshot", ex);
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<R> loadConfig() throws Exception {
+        RuleSnapshot<R> snapshot = readSource();
+        return snapshot == null ? null : snapshot.getRules();
+    }
+
+    @Override
+    public RuleSnapshot<R> readSource() throws Exception {
+        return snapshotFile.read();
+    }
+
+    @Override
+    public SentinelProperty<List<R>> getProperty() {
+        return property;
+    }
+
+    /**
+     * @return version of the current rules
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (remoteProperty != null) {
+            remoteProperty.removeListener(remoteListener);
+            remoteProperty = null;
+            remoteListener = null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+
+/**
+ * <p>A local file of the compact binary rule snapshot.</p>
+ * <p>
+ * The snapshot is written to a temporary file in the same directory, which is then renamed to the snapshot file,
+ * so readers never see a partially written snapshot, even if the process crashes while writing. The snapshot
+ * is read through a memory-mapped buffer without copying the file, and is verified by the checksum.
+ * </p>
+ * <p>
+ * Layout: magic, format version, rule type, version of the rules, timestamp, rule count, rules, and the CRC32
+ * of all the preceding bytes.
+ * </p>
+ *
+ * @param <R> type of the rules
+ * @since 1.8.2
+ */
+public class RuleSnapshotFile<R> {
+
+    static final int MAGIC = 0x534E5053;
+    static final int FORMAT_VERSION = 1;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File file;
+    private final RuleSnapshotCodec<R> codec;
+
+    private final Lock lock = new ReentrantLock();
+
+    public RuleSnapshotFile(File file, RuleSnapshotCodec<R> codec) {
+        if (file == null || file.isDirectory()) {
+            throw new IllegalArgumentException("Bad file");
+        }
+        if (codec == null) {
+            throw new IllegalArgumentException("codec can't be null");
+        }
+        this.file = file;
+        this.codec = codec;
+    }
+
+    /**
+     * Write the rules as the snapshot atomically.
+     *
+     * @param version version of the rules
+     * @param rules   the rules
+     * @throws IOException if failed to write the file
+     */
+    public void write(long version, List<R> rules) throws IOException {
+        byte[] bytes = encode(version, System.currentTimeMillis(), rules);
+        lock.lock();
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists() && !dir.mkdirs() && !dir.isDirectory()) {
+                throw new IOException("Failed to create the directory: " + dir);
+            }
+            File tempFile = new File(dir, file.getName() + TEMP_SUFFIX);
+            FileOutputStream out = new FileOutputStream(tempFile);
+            try {
+                out.write(bytes);
+                out.getFD().sync();
+            } finally {
+                out.close();
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the snapshot.
+     *
+     * @return the snapshot, or null if the file does not exist
+     * @throws IOException if failed to read the file, or the file is not a valid snapshot of the rule type
+     */
+    public RuleSnapshot<R> read() throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } finally {
+            raf.close();
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    byte[] encode(long version, long timestamp, List<R> rules) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(rules == null ? 64 : 64 + rules.size() * 32);
+        RuleSnapshotOutput output = new RuleSnapshotOutput(bytes);
+        output.writeFixedInt(MAGIC);
+        output.writeVarLong(FORMAT_VERSION);
+        output.writeString(codec.getRuleType());
+        output.writeLong(version);
+        output.writeLong(timestamp);
+        int count = 0;
+        if (rules != null) {
+            for (R rule : rules) {
+                if (rule != null) {
+                    count++;
+                }
+            }
+        }
+        output.writeVarLong(count);
+        if (rules != null) {
+            for (R rule : rules) {
+                if (rule != null) {
+                    codec.writeRule(output, rule);
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        output.writeFixedInt((int)crc.getValue());
+        return bytes.toByteArray();
+    }
+
+    RuleSnapshot<R> decode(ByteBuffer buffer) throws IOException {
+        int size = buffer.remaining();
+        if (size < 8) {
+            throw new IOException("Truncated rule snapshot: " + file);
+        }
+        ByteBuffer body = buffer.duplicate();
+        body.limit(body.position() + size - 4);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int)crc.getValue() != buffer.getInt(buffer.position() + size - 4)) {
+            throw new IOException("Checksum mismatch of rule snapshot: " + file);
+        }
+        try {
+            RuleSnapshotInput input = new RuleSnapshotInput(body);
+            if (input.readFixedInt() != MAGIC) {
+                throw new IOException("Not a rule snapshot: " + file);
+            }
+            long formatVersion = input.readVarLong();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported rule snapshot format " + formatVersion + ": " + file);
+            }
+            String ruleType = input.readString();
+            if (!codec.getRuleType().equals(ruleType)) {
+                throw new IOException("Rule type mismatch of rule snapshot, expected: " + codec.getRuleType()
+                    + ", actual: " + ruleType);
+            }
+            long version = input.readLong();
+            long timestamp = input.readLong();
+            long count = input.readVarLong();
+            if (count > body.remaining()) {
+                throw new IOException("Bad rule count of rule snapshot: " + count);
+            }
+            List<R> rules = new ArrayList<>((int)count);
+            for (long i = 0; i < count; i++) {
+                rules.add(codec.readRule(input));
+            }
+            if (body.hasRemaining()) {
+                throw new IOException("Unexpected trailing bytes of rule snapshot: " + file);
+            }
+            RecordLog.info("[RuleSnapshotFile] Rule snapshot read from {}, type: {}, version: {}, rule count: {}",
+                file, ruleType, version, count);
+            return new RuleSnapshot<>(version, timestamp, rules);
+        } catch (RuntimeException ex) {
+            // BufferUnderflowException or malformed values, which the checksum should have caught.
+            throw new IOException("Malformed rule snapshot: " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.alibaba.csp.sentinel.datasource.snapshot.RuleSnapshotOutput.NEW_STRING;
+import static com.alibaba.csp.sentinel.datasource.snapshot.RuleSnapshotOutput.NULL_STRING;
+import static com.alibaba.csp.sentinel.datasource.snapshot.RuleSnapshotOutput.STRING_REF_OFFSET;
+import static com.alibaba.csp.sentinel.datasource.snapshot.RuleSnapshotOutput.UTF_8;
+
+/**
+ * The input of the compact binary rule snapshot, which reads the values written by {@link RuleSnapshotOutput}
+ * from a buffer (e.g. the memory-mapped snapshot file). Repeated strings are read as the same instance.
+ *
+ * @since 1.8.2
+ */
+public final class RuleSnapshotInput {
+
+    private final ByteBuffer buffer;
+    private final List<String> strings = new ArrayList<>();
+
+    RuleSnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public int readInt() {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new IllegalStateException("Integer out of range at position " + buffer.position());
+        }
+        int zigzag = (int)value;
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public long readLong() {
+        long zigzag = readVarLong();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(buffer.getLong());
+    }
+
+    public String readString() {
+        long tag = readVarLong();
+        if (tag == NULL_STRING) {
+            return null;
+        }
+        if (tag == NEW_STRING) {
+            int length = (int)readVarLong();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalStateException("Bad string length at position " + buffer.position());
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            String value = new String(bytes, UTF_8);
+            strings.add(value);
+            return value;
+        }
+        long index = tag - STRING_REF_OFFSET;
+        if (index >= strings.size()) {
+            throw new IllegalStateException("Bad string reference at position " + buffer.position());
+        }
+        return strings.get((int)index);
+    }
+
+    int readFixedInt() {
+        return buffer.getInt();
+    }
+
+    long readFixedLong() {
+        return buffer.getLong();
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable-length integer at position " + buffer.position());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>The output of the compact binary rule snapshot.</p>
+ * <p>
+ * Integers are written as zigzag variable-length integers, so small values (which most of the rule fields are)
+ * take one byte. Repeated strings such as resource names and {@code limitApp} are written once, and referred to
+ * by index afterwards.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public final class RuleSnapshotOutput {
+
+    static final int NULL_STRING = 0;
+    static final int NEW_STRING = 1;
+    static final int STRING_REF_OFFSET = 2;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final ByteArrayOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    RuleSnapshotOutput(ByteArrayOutputStream out) {
+        this.out = out;
+    }
+
+    public void writeBoolean(boolean value) {
+        out.write(value ? 1 : 0);
+    }
+
+    public void writeInt(int value) {
+        writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    public void writeLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeDouble(double value) {
+        writeFixedLong(Double.doubleToLongBits(value));
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(NULL_STRING);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarLong(index + STRING_REF_OFFSET);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(UTF_8);
+        writeVarLong(NEW_STRING);
+        writeVarLong(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    void writeFixedInt(int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    void writeFixedLong(long value) {
+        writeFixedInt((int)(value >>> 32));
+        writeFixedInt((int)value);
+    }
+
+    /**
+     * Write the value as an unsigned variable-length integer, 7 bits per byte.
+     */
+    void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int)value);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.util.Arrays;
+
+import com.alibaba.csp.sentinel.property.PropertyPatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AbstractPatchableDataSourceTest {
+
+    /**
+     * Parses delta patches like {@code "1->2:+a=x,-b"} and snapshots like {@code "1:a=x,b=y"}.
+     */
+    private static final Converter<String, PropertyPatch<String>> PARSER
+        = new Converter<String, PropertyPatch<String>>() {
+        @Override
+        public PropertyPatch<String> convert(String source) {
+            String[] parts = source.split(":", 2);
+            String[] versions = parts[0].split("->");
+            boolean snapshot = versions.length == 1;
+            PropertyPatch<String> patch = snapshot ? PropertyPatch.<String>snapshot(Long.parseLong(versions[0]))
+                : PropertyPatch.<String>delta(Long.parseLong(versions[0]), Long.parseLong(versions[1]));
+            for (String item : parts[1].split(",")) {
+                if (item.startsWith("-")) {
+                    patch.delete(item.substring(1));
+                } else {
+                    String[] kv = (item.startsWith("+") ? item.substring(1) : item).split("=");
+                    patch.upsert(kv[0], kv[1]);
+                }
+            }
+            return patch;
+        }
+    };
+
+    @Test
+    public void testApplyUpdateAndResync() throws Exception {
+        TestDataSource dataSource = new TestDataSource();
+        dataSource.snapshot = "1:a=x,b=y";
+        dataSource.reloadSnapshot();
+        assertEquals(Arrays.asList("x", "y"), dataSource.getProperty().getValue());
+
+        dataSource.applyUpdate("1->2:+a=z,-b");
+        assertEquals(Arrays.asList("z"), dataSource.getProperty().getValue());
+        assertEquals(1, dataSource.reads);
+
+        // The update of version 3 is lost, so the snapshot is reloaded.
+        dataSource.snapshot = "4:a=z,c=w,d=v";
+        dataSource.applyUpdate("3->4:+d=v");
+        assertEquals(Arrays.asList("z", "w", "v"), dataSource.getProperty().getValue());
+        assertEquals(4, dataSource.getProperty().getVersion());
+        assertEquals(2, dataSource.reads);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSourceNotSnapshot() throws Exception {
+        TestDataSource dataSource = new TestDataSource();
+        dataSource.snapshot = "1->2:+a=x";
+        dataSource.loadConfig();
+    }
+
+    private static class TestDataSource extends AbstractPatchableDataSource<String, String> {
+
+        private String snapshot;
+        private int reads;
+
+        TestDataSource() {
+            super(PARSER);
+        }
+
+        @Override
+        public String readSource() {
+            reads++;
+            return snapshot;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.alibaba.csp.sentinel.property.SimplePropertyListener;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AutoRefreshDataSourceTest {
+
+    @Test
+    public void testSkipConversionOfUnchangedSource() throws Exception {
+        final AtomicInteger conversions = new AtomicInteger();
+        StubDataSource dataSource = new StubDataSource(new Converter<String, String>() {
+            @Override
+            public String convert(String source) {
+                conversions.incrementAndGet();
+                return source;
+            }
+        });
+        try {
+            dataSource.source = "a";
+            dataSource.refreshIfModified();
+            assertEquals(1, conversions.get());
+
+            // Same content in another instance.
+            dataSource.source = new String(new char[] {'a'});
+            dataSource.refreshIfModified();
+            assertEquals(1, conversions.get());
+
+            dataSource.source = "b";
+            dataSource.refreshIfModified();
+            assertEquals(2, conversions.get());
+            dataSource.source = null;
+            dataSource.refreshIfModified();
+            dataSource.refreshIfModified();
+            assertEquals(3, conversions.get());
+            dataSource.source = "a";
+            dataSource.refreshIfModified();
+            assertEquals(4, conversions.get());
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    public void testReassertSourceAfterPropertyUpdatedElsewhere() throws Exception {
+        final AtomicInteger conversions = new AtomicInteger();
+        StubDataSource dataSource = new StubDataSource(new Converter<String, String>() {
+            @Override
+            public String convert(String source) {
+                conversions.incrementAndGet();
+                return source;
+            }
+        });
+        final AtomicReference<String> value = new AtomicReference<>();
+        dataSource.getProperty().addListener(new SimplePropertyListener<String>() {
+            @Override
+            public void configUpdate(String newValue) {
+                value.set(newValue);
+            }
+        });
+        try {
+            dataSource.source = "a";
+            dataSource.refreshIfModified();
+            assertEquals("a", value.get());
+
+            // e.g. rules loaded locally via the rule manager
+            dataSource.getProperty().updateValue("local");
+            assertEquals("local", value.get());
+
+            dataSource.refreshIfModified();
+            assertEquals(2, conversions.get());
+            assertEquals("a", value.get());
+            dataSource.refreshIfModified();
+            assertEquals(2, conversions.get());
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    public void testRetryFailedConversion() throws Exception {
+        final AtomicInteger conversions = new AtomicInteger();
+        StubDataSource dataSource = new StubDataSource(new Converter<String, String>() {
+            @Override
+            public String convert(String source) {
+                if (conversions.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Fail the first conversion");
+                }
+                return source;
+            }
+        });
+        try {
+            dataSource.source = "a";
+            dataSource.refreshIfModified();
+            dataSource.refreshIfModified();
+            assertEquals(2, conversions.get());
+            dataSource.refreshIfModified();
+            assertEquals(2, conversions.get());
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    public void testContentHash() {
+        assertEquals(ContentHash.of("abc"), ContentHash.of(new String("abc")));
+        assertNotEquals(ContentHash.of("abc"), ContentHash.of("abd"));
+        assertNotEquals(ContentHash.of(""), ContentHash.of(null));
+        assertEquals(ContentHash.of(new byte[] {1, 2}), ContentHash.of(new byte[] {1, 2}));
+        assertNotEquals(ContentHash.of(new byte[] {1, 2}), ContentHash.of(new byte[] {2, 1}));
+        assertFalse(ContentHash.isSupported(1));
+    }
+
+    private static class StubDataSource extends AutoRefreshDataSource<String, String> {
+
+        private volatile String source;
+
+        StubDataSource(Converter<String, String> converter) {
+            // Never polls during the test.
+            super(converter, 3600 * 1000);
+        }
+
+        @Override
+        public String readSource() {
+            return source;
+        }
+    }
+}
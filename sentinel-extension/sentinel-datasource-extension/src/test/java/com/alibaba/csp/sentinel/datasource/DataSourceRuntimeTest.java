@@ -0,0 +1,195 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DataSourceRuntimeTest {
+
+    @Test
+    public void testPollersOfSamePeriodShareGroup() throws Exception {
+        int groupCount = DataSourceRuntime.getPollGroupCount();
+        final CountDownLatch latch = new CountDownLatch(10);
+        List<DataSourceRuntime.Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            registrations.add(DataSourceRuntime.schedulePolling(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            }, 37));
+        }
+        assertEquals(groupCount + 1, DataSourceRuntime.getPollGroupCount());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        for (DataSourceRuntime.Registration registration : registrations) {
+            registration.cancel();
+        }
+        assertEquals(groupCount, DataSourceRuntime.getPollGroupCount());
+    }
+
+    @Test
+    public void testSlowPollerIsSkippedWhileRunning() throws Exception {
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicInteger polls = new AtomicInteger();
+        DataSourceRuntime.Registration registration = DataSourceRuntime.schedulePolling(new Runnable() {
+            @Override
+            public void run() {
+                int current = concurrent.incrementAndGet();
+                maxConcurrent.set(Math.max(maxConcurrent.get(), current));
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ignore) {
+                }
+                polls.incrementAndGet();
+                concurrent.decrementAndGet();
+            }
+        }, 5);
+        Thread.sleep(400);
+        registration.cancel();
+
+        assertTrue(polls.get() > 0);
+        assertEquals(1, maxConcurrent.get());
+    }
+
+    @Test
+    public void testBlockingPollersDoNotStallScheduler() throws Exception {
+        int pollerThreads = DataSourceRuntime.getPollerThreadCount();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch blockedPolls = new CountDownLatch(pollerThreads);
+        List<DataSourceRuntime.Registration> registrations = new ArrayList<>();
+        // As many blocking pollers as poller threads, which are more than scheduler threads.
+        for (int i = 0; i < Math.max(pollerThreads, DataSourceRuntime.DEFAULT_THREAD_COUNT + 1); i++) {
+            registrations.add(DataSourceRuntime.schedulePolling(new Runnable() {
+                @Override
+                public void run() {
+                    blockedPolls.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignore) {
+                    }
+                }
+            }, 10));
+        }
+        try {
+            assertTrue(blockedPolls.await(5, TimeUnit.SECONDS));
+
+            final CountDownLatch polled = new CountDownLatch(3);
+            registrations.add(DataSourceRuntime.schedulePolling(new Runnable() {
+                @Override
+                public void run() {
+                    polled.countDown();
+                }
+            }, 10));
+            final CountDownLatch executed = new CountDownLatch(1);
+            DataSourceRuntime.execute(new Runnable() {
+                @Override
+                public void run() {
+                    executed.countDown();
+                }
+            });
+            assertTrue(executed.await(5, TimeUnit.SECONDS));
+            // The poller threads are bounded, so the other poller waits until they are released.
+            Thread.sleep(100);
+            assertTrue(DataSourceRuntime.getPollerPoolSize() <= pollerThreads);
+            release.countDown();
+            assertTrue(polled.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            for (DataSourceRuntime.Registration registration : registrations) {
+                registration.cancel();
+            }
+        }
+    }
+
+    @Test
+    public void testLatestTaskExecutor() throws Exception {
+        Executor executor = DataSourceRuntime.newLatestTaskExecutor();
+        final CountDownLatch blocking = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final List<Integer> executed = new ArrayList<>();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocking.await();
+                } catch (InterruptedException ignore) {
+                }
+            }
+        });
+        // Give the first task a chance to start.
+        Thread.sleep(50);
+        for (int i = 0; i < 3; i++) {
+            final int value = i;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (executed) {
+                        executed.add(value);
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        blocking.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        synchronized (executed) {
+            assertEquals(1, executed.size());
+            assertEquals(2, (int) executed.get(0));
+        }
+    }
+
+    @Test
+    public void testCancelLatestTaskExecutor() throws Exception {
+        DataSourceRuntime.LatestTaskExecutor executor = DataSourceRuntime.newLatestTaskExecutor();
+        final CountDownLatch blocking = new CountDownLatch(1);
+        final AtomicInteger executed = new AtomicInteger();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocking.await();
+                } catch (InterruptedException ignore) {
+                }
+            }
+        });
+        Thread.sleep(50);
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                executed.incrementAndGet();
+            }
+        };
+        // The pending task is dropped, and the tasks submitted after cancelling are ignored.
+        executor.execute(task);
+        executor.cancel();
+        executor.execute(task);
+        blocking.countDown();
+        Thread.sleep(100);
+        assertEquals(0, executed.get());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.property.SimplePropertyListener;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FileRefreshableDataSourceTest {
+
+    private static final Charset UTF_8 = Charset.forName("utf-8");
+
+    @Test
+    public void testReloadOnFileChange() throws Exception {
+        File file = File.createTempFile("sentinel-rule", ".json");
+        file.deleteOnExit();
+        write(file, "a");
+        // Use a long refresh interval, so the change can only be picked up by the file watcher in time.
+        FileRefreshableDataSource<String> dataSource = new FileRefreshableDataSource<>(file,
+            new Converter<String, String>() {
+                @Override
+                public String convert(String source) {
+                    return source;
+                }
+            }, 60000, 1024, UTF_8);
+        final String[] value = new String[1];
+        dataSource.getProperty().addListener(new SimplePropertyListener<String>() {
+            @Override
+            public void configUpdate(String newValue) {
+                synchronized (value) {
+                    value[0] = newValue;
+                }
+            }
+        });
+        try {
+            assertEquals("a", dataSource.loadConfig());
+            // Make sure the last modified time changes on file systems of a coarse time resolution.
+            Thread.sleep(1100);
+            write(file, "b");
+
+            // The watch service may poll on some platforms (e.g. every 10 seconds on macOS).
+            long deadline = System.currentTimeMillis() + 15000;
+            while (System.currentTimeMillis() < deadline) {
+                synchronized (value) {
+                    if ("b".equals(value[0])) {
+                        break;
+                    }
+                }
+                Thread.sleep(20);
+            }
+            synchronized (value) {
+                assertEquals("b", value[0]);
+            }
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    private static void write(File file, String content) throws Exception {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content.getBytes(UTF_8));
+        }
+    }
+}
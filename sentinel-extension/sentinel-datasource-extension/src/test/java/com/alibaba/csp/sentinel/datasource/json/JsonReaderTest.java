@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JsonReaderTest {
+
+    @Test
+    public void testReadValues() {
+        JsonReader reader = new JsonReader(" {\"s\": \"a\\\"b\\u0041\", \"i\": -12, \"l\": 9223372036854775807,"
+            + " \"d\": 0.25, \"e\": 1.5e3, \"q\": \"7\", \"b\": true, \"n\": null,"
+            + " \"skip\": [1, {\"x\": [\"]\"]}, \"y\"], \"last\": \"end\"} ");
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertEquals("s", reader.nextName());
+        assertEquals("a\"bA", reader.nextString());
+        assertTrue(reader.hasNext());
+        assertEquals("i", reader.nextName());
+        assertEquals(-12, reader.nextInt());
+        assertTrue(reader.hasNext());
+        assertEquals("l", reader.nextName());
+        assertEquals(Long.MAX_VALUE, reader.nextLong());
+        assertTrue(reader.hasNext());
+        assertEquals("d", reader.nextName());
+        assertEquals(0.25, reader.nextDouble(), 0);
+        assertTrue(reader.hasNext());
+        assertEquals("e", reader.nextName());
+        assertEquals(1500, reader.nextDouble(), 0);
+        assertTrue(reader.hasNext());
+        assertEquals("q", reader.nextName());
+        assertEquals(7, reader.nextInt());
+        assertTrue(reader.hasNext());
+        assertEquals("b", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertTrue(reader.hasNext());
+        assertEquals("n", reader.nextName());
+        assertTrue(reader.nextNull());
+        assertTrue(reader.hasNext());
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertTrue(reader.hasNext());
+        assertEquals("last", reader.nextName());
+        assertFalse(reader.nextNull());
+        assertEquals("end", reader.nextString());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        reader.endDocument();
+    }
+
+    @Test
+    public void testParseDoubleSameAsJdk() {
+        String[] values = {"0", "-0.5", "3.14159", "100", "0.1", "123456789.123456", "1e-7", "0.30000000000000004",
+            "12345678901234567890", "-2.5E+2"};
+        for (String value : values) {
+            assertEquals(value, Double.parseDouble(value), new JsonReader(value).nextDouble(), 0);
+        }
+        assertEquals(Long.MIN_VALUE, new JsonReader("-9223372036854775808").nextLong());
+        assertEquals(100L, new JsonReader("1e2").nextLong());
+    }
+
+    @Test
+    public void testInternRepeatedStrings() {
+        JsonReader reader = new JsonReader("[\"default\", \"default\", \"def\\u0061ult\"]");
+        reader.beginArray();
+        reader.hasNext();
+        String first = reader.nextString();
+        reader.hasNext();
+        String second = reader.nextString();
+        reader.hasNext();
+        String third = reader.nextString();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertSame(first, second);
+        assertSame(first, third);
+    }
+
+    @Test
+    public void testNamesInDifferentOrder() {
+        JsonReader reader = new JsonReader("[{\"a\": 1, \"bb\": 2}, {\"bb\": 3, \"a\": 4, \"c\": {\"a\": 5}},"
+            + " {\"a\\u0062\": 6, \"a\": 7}, {\"a\": 8}]");
+        StringBuilder sb = new StringBuilder();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            readObject(reader, sb);
+        }
+        reader.endArray();
+        reader.endDocument();
+        assertEquals("a=1 bb=2 ; bb=3 a=4 c=a=5 ; ; ab=6 a=7 ; a=8 ; ", sb.toString());
+    }
+
+    private static void readObject(JsonReader reader, StringBuilder sb) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            sb.append(reader.nextName()).append('=');
+            if ("c".equals(sb.substring(sb.length() - 2, sb.length() - 1))) {
+                readObject(reader, sb);
+            } else {
+                sb.append(reader.nextInt()).append(' ');
+            }
+        }
+        reader.endObject();
+        sb.append("; ");
+    }
+
+    @Test
+    public void testMalformed() {
+        String[] sources = {"[1,]", "[1 2]", "[,1]", "{\"a\" 1}", "[\"abc]", "[1] x", "[1.2.3]", "[-]"};
+        for (String source : sources) {
+            try {
+                JsonReader reader = new JsonReader(source);
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    reader.nextDouble();
+                }
+                reader.endArray();
+                reader.endDocument();
+                fail("Should fail: " + source);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        try {
+            JsonReader reader = new JsonReader("[2147483648]");
+            reader.beginArray();
+            reader.hasNext();
+            reader.nextInt();
+            fail("Should fail on overflow");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+import com.alibaba.fastjson.JSON;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RuleJsonConverterTest {
+
+    @Test
+    public void testFlowRules() {
+        List<FlowRule> rules = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            FlowRule rule = new FlowRule("resource-" + (i % 5)).setCount(i * 1.5).setGrade(i % 2)
+                .setControlBehavior(i % 4).setWarmUpPeriodSec(i).setMaxQueueingTimeMs(i * 10);
+            rule.setLimitApp(i % 3 == 0 ? "default" : "app-" + i);
+            if (i % 7 == 0) {
+                rule.setClusterMode(true);
+                rule.setClusterConfig(new ClusterFlowConfig().setFlowId((long)i).setFallbackToLocalWhenFail(false)
+                    .setThresholdType(1));
+            }
+            rules.add(rule);
+        }
+        String json = JSON.toJSONString(rules);
+
+        List<FlowRule> converted = new FlowRuleJsonConverter().convert(json);
+        assertEquals(JSON.parseArray(json, FlowRule.class), converted);
+        assertEquals(rules.get(6).getClusterConfig(), converted.get(6).getClusterConfig());
+        // Repeated strings share the same instance.
+        assertSame(converted.get(2).getLimitApp(), converted.get(5).getLimitApp());
+        assertSame(converted.get(0).getResource(), converted.get(5).getResource());
+    }
+
+    @Test
+    public void testInvalidAndUnknown() {
+        String json = "[{\"resource\":\"a\",\"count\":1,\"unknown\":{\"x\":[1,2]},\"limitApp\":null},"
+            + "null, {\"resource\":\"\",\"count\":1}, {\"resource\":\"b\",\"count\":-1}]";
+        List<FlowRule> converted = new FlowRuleJsonConverter().convert(json);
+        assertEquals(1, converted.size());
+        assertEquals("a", converted.get(0).getResource());
+        assertEquals(1, converted.get(0).getCount(), 0);
+
+        assertNull(new FlowRuleJsonConverter().convert(" "));
+        assertNull(new FlowRuleJsonConverter().convert("null"));
+        assertTrue(new FlowRuleJsonConverter().convert("[]").isEmpty());
+    }
+
+    @Test
+    public void testOtherRules() {
+        List<DegradeRule> degradeRules = new ArrayList<>();
+        degradeRules.add(new DegradeRule("a").setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO).setCount(0.5)
+            .setTimeWindow(10).setMinRequestAmount(3).setStatIntervalMs(2000));
+        String json = JSON.toJSONString(degradeRules);
+        assertEquals(JSON.parseArray(json, DegradeRule.class), new DegradeRuleJsonConverter().convert(json));
+
+        SystemRule systemRule = new SystemRule();
+        systemRule.setHighestCpuUsage(0.8);
+        systemRule.setAvgRt(100);
+        systemRule.setQps(1000.5);
+        List<SystemRule> systemRules = new ArrayList<>();
+        systemRules.add(systemRule);
+        json = JSON.toJSONString(systemRules);
+        assertEquals(JSON.parseArray(json, SystemRule.class), new SystemRuleJsonConverter().convert(json));
+
+        AuthorityRule authorityRule = new AuthorityRule();
+        authorityRule.setStrategy(RuleConstant.AUTHORITY_BLACK);
+        authorityRule.setResource("a");
+        authorityRule.setLimitApp("app1,app2");
+        List<AuthorityRule> authorityRules = new ArrayList<>();
+        authorityRules.add(authorityRule);
+        json = JSON.toJSONString(authorityRules);
+        assertEquals(JSON.parseArray(json, AuthorityRule.class), new AuthorityRuleJsonConverter().convert(json));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.datasource.ReadableDataSource;
+import com.alibaba.csp.sentinel.property.DynamicSentinelProperty;
+import com.alibaba.csp.sentinel.property.PatchableSentinelProperty;
+import com.alibaba.csp.sentinel.property.PropertyPatch;
+import com.alibaba.csp.sentinel.property.SentinelProperty;
+import com.alibaba.csp.sentinel.property.SimplePropertyListener;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RuleSnapshotDataSourceTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("sentinel-rule", ".snapshot");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testWarmStartAndFollowRemote() throws Exception {
+        List<FlowRule> snapshotRules = Arrays.asList(new FlowRule("a").setCount(1));
+        new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW).write(5, snapshotRules);
+
+        RuleSnapshotDataSource<FlowRule> dataSource = new RuleSnapshotDataSource<>(file, RuleSnapshotCodecs.FLOW);
+        assertEquals(snapshotRules, getValue(dataSource.getProperty()));
+        assertEquals(5, dataSource.getVersion());
+
+        // The remote data source has not loaded anything yet.
+        DynamicSentinelProperty<List<FlowRule>> remoteProperty = new DynamicSentinelProperty<>();
+        dataSource.follow(new StubDataSource(remoteProperty));
+        assertEquals(snapshotRules, getValue(dataSource.getProperty()));
+
+        List<FlowRule> remoteRules = Arrays.asList(new FlowRule("b").setCount(2));
+        remoteProperty.updateValue(remoteRules);
+        assertEquals(remoteRules, getValue(dataSource.getProperty()));
+        assertEquals(PatchableSentinelProperty.UNKNOWN_VERSION, dataSource.getVersion());
+        assertEquals(remoteRules, awaitSnapshot(PatchableSentinelProperty.UNKNOWN_VERSION).getRules());
+
+        dataSource.close();
+        remoteProperty.updateValue(snapshotRules);
+        assertEquals(remoteRules, getValue(dataSource.getProperty()));
+    }
+
+    @Test
+    public void testReconcileByVersion() throws Exception {
+        List<FlowRule> snapshotRules = Arrays.asList(new FlowRule("a").setCount(1));
+        new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW).write(5, snapshotRules);
+        RuleSnapshotDataSource<FlowRule> dataSource = new RuleSnapshotDataSource<>(file, RuleSnapshotCodecs.FLOW);
+
+        PatchableSentinelProperty<FlowRule> remoteProperty = new PatchableSentinelProperty<>();
+        dataSource.follow(new StubDataSource(remoteProperty));
+        // A stale replica of the remote source.
+        remoteProperty.applyPatch(PropertyPatch.<FlowRule>snapshot(4).upsert("b", new FlowRule("b")));
+        assertEquals(snapshotRules, getValue(dataSource.getProperty()));
+        assertEquals(5, dataSource.getVersion());
+
+        FlowRule newRule = new FlowRule("c").setCount(3);
+        remoteProperty.applyPatch(PropertyPatch.<FlowRule>snapshot(6).upsert("c", newRule));
+        assertEquals(Arrays.asList(newRule), getValue(dataSource.getProperty()));
+        assertEquals(Arrays.asList(newRule), awaitSnapshot(6).getRules());
+        dataSource.close();
+    }
+
+    @Test
+    public void testStartWithoutSnapshot() throws Exception {
+        RuleSnapshotDataSource<FlowRule> dataSource = new RuleSnapshotDataSource<>(file, RuleSnapshotCodecs.FLOW);
+        assertNull(getValue(dataSource.getProperty()));
+        assertNull(dataSource.loadConfig());
+        dataSource.close();
+    }
+
+    private RuleSnapshot<FlowRule> awaitSnapshot(long version) throws Exception {
+        RuleSnapshotFile<FlowRule> snapshotFile = new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            RuleSnapshot<FlowRule> snapshot = snapshotFile.read();
+            if (snapshot != null && snapshot.getVersion() == version || System.currentTimeMillis() > deadline) {
+                return snapshot;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<FlowRule> getValue(SentinelProperty<List<FlowRule>> property) {
+        final Object[] value = new Object[1];
+        property.addListener(new SimplePropertyListener<List<FlowRule>>() {
+            @Override
+            public void configUpdate(List<FlowRule> newValue) {
+                value[0] = newValue;
+            }
+        });
+        return (List<FlowRule>)value[0];
+    }
+
+    private static class StubDataSource implements ReadableDataSource<String, List<FlowRule>> {
+
+        private final SentinelProperty<List<FlowRule>> property;
+
+        StubDataSource(SentinelProperty<List<FlowRule>> property) {
+            this.property = property;
+        }
+
+        @Override
+        public List<FlowRule> loadConfig() {
+            return null;
+        }
+
+        @Override
+        public String readSource() {
+            return null;
+        }
+
+        @Override
+        public SentinelProperty<List<FlowRule>> getProperty() {
+            return property;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.datasource.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.slots.block.RuleConstant;
+import com.alibaba.csp.sentinel.slots.block.authority.AuthorityRule;
+import com.alibaba.csp.sentinel.slots.block.degrade.DegradeRule;
+import com.alibaba.csp.sentinel.slots.block.flow.ClusterFlowConfig;
+import com.alibaba.csp.sentinel.slots.block.flow.FlowRule;
+import com.alibaba.csp.sentinel.slots.system.SystemRule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RuleSnapshotFileTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("sentinel-rule", ".snapshot");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testWriteAndReadFlowRules() throws Exception {
+        List<FlowRule> rules = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            FlowRule rule = new FlowRule("resource-" + (i % 10)).setCount(i + 0.5);
+            rule.setLimitApp(i % 2 == 0 ? "default" : "app-" + i);
+            if (i % 7 == 0) {
+                rule.setClusterMode(true).setClusterConfig(new ClusterFlowConfig().setFlowId((long)i)
+                    .setThresholdType(1).setFallbackToLocalWhenFail(false));
+            }
+            if (i % 5 == 0) {
+                rule.setStrategy(RuleConstant.STRATEGY_RELATE).setRefResource("ref-资源");
+            }
+            rules.add(rule);
+        }
+        RuleSnapshotFile<FlowRule> snapshotFile = new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW);
+        assertNull(snapshotFile.read());
+
+        snapshotFile.write(42, rules);
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        RuleSnapshot<FlowRule> snapshot = snapshotFile.read();
+        assertEquals(42, snapshot.getVersion());
+        assertEquals(rules, snapshot.getRules());
+        // Repeated strings are read as the same instance.
+        assertSame(snapshot.getRules().get(0).getResource(), snapshot.getRules().get(10).getResource());
+
+        snapshotFile.write(43, rules.subList(0, 1));
+        snapshot = snapshotFile.read();
+        assertEquals(43, snapshot.getVersion());
+        assertEquals(rules.subList(0, 1), snapshot.getRules());
+    }
+
+    @Test
+    public void testWriteAndReadOtherRules() throws Exception {
+        DegradeRule degradeRule = new DegradeRule("degrade").setGrade(RuleConstant.DEGRADE_GRADE_EXCEPTION_RATIO)
+            .setCount(0.5).setTimeWindow(10).setSlowRatioThreshold(0.8).setStatIntervalMs(2000);
+        RuleSnapshotFile<DegradeRule> degradeFile = new RuleSnapshotFile<>(file, RuleSnapshotCodecs.DEGRADE);
+        degradeFile.write(-1, Arrays.asList(degradeRule));
+        assertEquals(Arrays.asList(degradeRule), degradeFile.read().getRules());
+
+        SystemRule systemRule = new SystemRule();
+        systemRule.setHighestCpuUsage(0.9);
+        systemRule.setAvgRt(-1);
+        systemRule.setQps(1000);
+        RuleSnapshotFile<SystemRule> systemFile = new RuleSnapshotFile<>(file, RuleSnapshotCodecs.SYSTEM);
+        systemFile.write(1, Arrays.asList(systemRule));
+        assertEquals(Arrays.asList(systemRule), systemFile.read().getRules());
+
+        AuthorityRule authorityRule = new AuthorityRule();
+        authorityRule.setStrategy(RuleConstant.AUTHORITY_BLACK);
+        authorityRule.setResource("authority");
+        authorityRule.setLimitApp("a,b");
+        RuleSnapshotFile<AuthorityRule> authorityFile = new RuleSnapshotFile<>(file, RuleSnapshotCodecs.AUTHORITY);
+        authorityFile.write(Long.MAX_VALUE, Arrays.asList(authorityRule));
+        assertEquals(Long.MAX_VALUE, authorityFile.read().getVersion());
+        assertEquals(Arrays.asList(authorityRule), authorityFile.read().getRules());
+    }
+
+    @Test
+    public void testRejectBadSnapshot() throws Exception {
+        new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW).write(1, Arrays.asList(new FlowRule("a")));
+        try {
+            new RuleSnapshotFile<>(file, RuleSnapshotCodecs.DEGRADE).read();
+            fail("Snapshot of another rule type should be rejected");
+        } catch (IOException expected) {
+        }
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(raf.length() / 2);
+            int b = raf.read();
+            raf.seek(raf.length() / 2);
+            raf.write(b ^ 0xFF);
+        } finally {
+            raf.close();
+        }
+        try {
+            new RuleSnapshotFile<>(file, RuleSnapshotCodecs.FLOW).read();
+            fail("Corrupted snapshot should be rejected");
+        } catch (IOException expected) {
+        }
+    }
+}
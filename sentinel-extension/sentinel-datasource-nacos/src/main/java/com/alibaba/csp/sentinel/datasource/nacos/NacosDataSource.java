@@ -16,15 +16,11 @@
 package com.alibaba.csp.sentinel.datasource.nacos;
 
 import java.util.Properties;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
-import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.datasource.AbstractDataSource;
 import com.alibaba.csp.sentinel.datasource.Converter;
+import com.alibaba.csp.sentinel.datasource.DataSourceRuntime;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.AssertUtil;
 import com.alibaba.csp.sentinel.util.StringUtil;
@@ -44,11 +40,10 @@ public class NacosDataSource<T> extends AbstractDataSource<String, T> {
     private static final int DEFAULT_TIMEOUT = 3000;
 
     /**
-     * Single-thread pool. Once the thread pool is blocked, we throw up the old task.
+     * Runs the latest update on the shared data source runtime. Once an update is running, we throw up
+     * the old pending task.
      */
-    private final ExecutorService pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
-        new ArrayBlockingQueue<Runnable>(1), new NamedThreadFactory("sentinel-nacos-ds-update", true),
-        new ThreadPoolExecutor.DiscardOldestPolicy());
+    private final DataSourceRuntime.LatestTaskExecutor pool = DataSourceRuntime.newLatestTaskExecutor();
 
     private final Listener configListener;
     private final String groupId;
@@ -146,7 +141,7 @@ public class NacosDataSource<T> extends AbstractDataSource<String, T> {
         if (configService != null) {
             configService.removeListener(dataId, groupId, configListener);
         }
-        pool.shutdownNow();
+        pool.cancel();
     }
 
     private static Properties buildProperties(String serverAddr) {
@@ -1,8 +1,8 @@
 package com.alibaba.csp.sentinel.datasource.zookeeper;
 
-import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.datasource.AbstractDataSource;
 import com.alibaba.csp.sentinel.datasource.Converter;
+import com.alibaba.csp.sentinel.datasource.DataSourceRuntime;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.util.StringUtil;
 import org.apache.curator.framework.AuthInfo;
@@ -17,10 +17,6 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 /**
  * A read-only {@code DataSource} with ZooKeeper backend.
@@ -36,9 +32,11 @@ public class ZookeeperDataSource<T> extends AbstractDataSource<String, T> {
     private static final Object lock = new Object();
 
 
-    private final ExecutorService pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
-            new ArrayBlockingQueue<Runnable>(1), new NamedThreadFactory("sentinel-zookeeper-ds-update", true),
-            new ThreadPoolExecutor.DiscardOldestPolicy());
+    /**
+     * Runs the latest update on the shared data source runtime. Once an update is running, older pending
+     * updates are dropped.
+     */
+    private final DataSourceRuntime.LatestTaskExecutor pool = DataSourceRuntime.newLatestTaskExecutor();
 
     private NodeCacheListener listener;
     private final String path;
@@ -180,7 +178,7 @@ public class ZookeeperDataSource<T> extends AbstractDataSource<String, T> {
         if (this.zkClient != null) {
             this.zkClient.close();
         }
-        pool.shutdown();
+        pool.cancel();
     }
 
     private String getPath(String groupId, String dataId) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.datasource.json.AbstractJsonRuleConverter;
+import com.alibaba.csp.sentinel.datasource.json.JsonReader;
+
+/**
+ * <p>Streaming JSON converter of {@link ParamFlowRule} lists.</p>
+ * <p>
+ * Note that the converter requires {@code sentinel-datasource-extension}.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class ParamFlowRuleJsonConverter extends AbstractJsonRuleConverter<ParamFlowRule> {
+
+    @Override
+    protected ParamFlowRule newRule() {
+        return new ParamFlowRule();
+    }
+
+    @Override
+    protected boolean readField(JsonReader reader, String name, ParamFlowRule rule) {
+        switch (name) {
+            case "resource":
+                rule.setResource(reader.nextString());
+                return true;
+            case "limitApp":
+                rule.setLimitApp(reader.nextString());
+                return true;
+            case "grade":
+                rule.setGrade(reader.nextInt());
+                return true;
+            case "paramIdx":
+                rule.setParamIdx(reader.nextInt());
+                return true;
+            case "count":
+                rule.setCount(reader.nextDouble());
+                return true;
+            case "controlBehavior":
+                rule.setControlBehavior(reader.nextInt());
+                return true;
+            case "maxQueueingTimeMs":
+                rule.setMaxQueueingTimeMs(reader.nextInt());
+                return true;
+            case "burstCount":
+                rule.setBurstCount(reader.nextInt());
+                return true;
+            case "durationInSec":
+                rule.setDurationInSec(reader.nextLong());
+                return true;
+            case "paramFlowItemList":
+                rule.setParamFlowItemList(readItems(reader));
+                return true;
+            case "clusterMode":
+                rule.setClusterMode(reader.nextBoolean());
+                return true;
+            case "clusterConfig":
+                rule.setClusterConfig(readClusterConfig(reader));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static List<ParamFlowItem> readItems(JsonReader reader) {
+        List<ParamFlowItem> items = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.nextNull()) {
+                continue;
+            }
+            ParamFlowItem item = new ParamFlowItem();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.nextNull()) {
+                    continue;
+                }
+                switch (name) {
+                    case "object":
+                        item.setObject(reader.nextString());
+                        break;
+                    case "count":
+                        item.setCount(reader.nextInt());
+                        break;
+                    case "classType":
+                        item.setClassType(reader.nextString());
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            items.add(item);
+        }
+        reader.endArray();
+        return items;
+    }
+
+    private static ParamFlowClusterConfig readClusterConfig(JsonReader reader) {
+        ParamFlowClusterConfig config = new ParamFlowClusterConfig();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.nextNull()) {
+                continue;
+            }
+            switch (name) {
+                case "flowId":
+                    config.setFlowId(reader.nextLong());
+                    break;
+                case "thresholdType":
+                    config.setThresholdType(reader.nextInt());
+                    break;
+                case "fallbackToLocalWhenFail":
+                    config.setFallbackToLocalWhenFail(reader.nextBoolean());
+                    break;
+                case "sampleCount":
+                    config.setSampleCount(reader.nextInt());
+                    break;
+                case "windowIntervalMs":
+                    config.setWindowIntervalMs(reader.nextInt());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return config;
+    }
+
+    @Override
+    protected boolean isValid(ParamFlowRule rule) {
+        return ParamFlowRuleUtil.isValidRule(rule);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.slots.block.flow.param;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.alibaba.fastjson.JSON;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParamFlowRuleJsonConverterTest {
+
+    @Test
+    public void testConvert() {
+        List<ParamFlowRule> rules = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            ParamFlowRule rule = new ParamFlowRule("resource-" + (i % 3)).setParamIdx(i % 2).setCount(i)
+                .setDurationInSec(i).setBurstCount(i % 4)
+                .setParamFlowItemList(Arrays.asList(
+                    new ParamFlowItem().setObject(String.valueOf(i)).setClassType(int.class.getName()).setCount(1),
+                    new ParamFlowItem().setObject("a" + i).setClassType(String.class.getName()).setCount(2)));
+            if (i % 5 == 0) {
+                rule.setClusterMode(true);
+                rule.setClusterConfig(new ParamFlowClusterConfig().setFlowId((long)i).setSampleCount(5));
+            }
+            rules.add(rule);
+        }
+        // Invalid rule.
+        rules.add(new ParamFlowRule("invalid").setCount(-1));
+        String json = JSON.toJSONString(rules);
+
+        List<ParamFlowRule> converted = new ParamFlowRuleJsonConverter().convert(json);
+        assertEquals(JSON.parseArray(json, ParamFlowRule.class).subList(0, 10), converted);
+        assertEquals(2, converted.get(0).getParamFlowItemList().size());
+        assertEquals(5L, (long)converted.get(4).getClusterConfig().getFlowId());
+        assertSame(converted.get(0).getParamFlowItemList().get(1).getClassType(),
+            converted.get(1).getParamFlowItemList().get(1).getClassType());
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.spi.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * <p>Annotation processor that generates the SPI index ({@value #INDEX_FILE}) of the compiled module,
+ * so that {@code SpiLoader} can find the Providers without reading the SPI configuration files
+ * or loading the Provider classes (unless {@code csp.sentinel.spi.index.enabled} is false).</p>
+ *
+ * <p>
+ * The SPI configuration files ({@code META-INF/services/*}) should have been copied to the class output
+ * before compiling, which is the default behaviour of Maven. For each compiled class which is listed in
+ * the SPI configuration file of any of its super types, the attributes of its {@code @Spi} annotation
+ * are written to the index. A Service is only indexed if all Providers in its SPI configuration file
+ * are compiled in the module, otherwise {@code SpiLoader} will fall back to the SPI configuration file.
+ * </p>
+ *
+ * <p>
+ * Each line of the index is a Provider with tab-separated fields: Service class name, Provider class name,
+ * alias name (empty if absent), isSingleton, isDefault and order. Providers of the same Service are
+ * in the order of the SPI configuration file.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+@SupportedAnnotationTypes("*")
+public class SpiIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX_FILE = "META-INF/sentinel/spi.index";
+
+    private static final String SERVICES_PREFIX = "META-INF/services/";
+    private static final String SPI_ANNOTATION = "com.alibaba.csp.sentinel.spi.Spi";
+
+    /**
+     * Providers listed in the SPI configuration files, key: Service class name.
+     */
+    private final Map<String, List<String>> serviceFiles = new HashMap<>();
+    /**
+     * Indexed Providers, key: Service class name, value: index lines keyed by Provider class name.
+     */
+    private final Map<String, Map<String, String>> indexedProviders = new LinkedHashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            processElement(element);
+        }
+        // Do not claim any annotation.
+        return false;
+    }
+
+    private void processElement(Element element) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            return;
+        }
+        TypeElement type = (TypeElement)element;
+        if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+            String providerName = processingEnv.getElementUtils().getBinaryName(type).toString();
+            for (String service : collectSuperTypes(type.asType(), new LinkedHashSet<String>())) {
+                List<String> providers = readServiceFile(service);
+                if (providers.contains(providerName)) {
+                    Map<String, String> lines = indexedProviders.get(service);
+                    if (lines == null) {
+                        lines = new HashMap<>();
+                        indexedProviders.put(service, lines);
+                    }
+                    lines.put(providerName, toIndexLine(service, providerName, type));
+                }
+            }
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            processElement(enclosed);
+        }
+    }
+
+    private Set<String> collectSuperTypes(TypeMirror type, Set<String> names) {
+        for (TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (superType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            TypeElement element = (TypeElement)((DeclaredType)superType).asElement();
+            String name = processingEnv.getElementUtils().getBinaryName(element).toString();
+            if (!"java.lang.Object".equals(name) && names.add(name)) {
+                collectSuperTypes(superType, names);
+            }
+        }
+        return names;
+    }
+
+    private List<String> readServiceFile(String service) {
+        List<String> providers = serviceFiles.get(service);
+        if (providers != null) {
+            return providers;
+        }
+        providers = new ArrayList<>();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                SERVICES_PREFIX + service);
+            try (Reader reader = file.openReader(true);
+                 BufferedReader br = new BufferedReader(reader)) {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    int commentIndex = line.indexOf('#');
+                    if (commentIndex >= 0) {
+                        line = line.substring(0, commentIndex);
+                    }
+                    line = line.trim();
+                    if (!line.isEmpty() && !providers.contains(line)) {
+                        providers.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No SPI configuration file for the type.
+            providers = Collections.emptyList();
+        }
+        serviceFiles.put(service, providers);
+        return providers;
+    }
+
+    private String toIndexLine(String service, String providerName, TypeElement type) {
+        String aliasName = "";
+        boolean singleton = true;
+        boolean isDefault = false;
+        int order = 0;
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement)mirror.getAnnotationType().asElement();
+            if (!SPI_ANNOTATION.contentEquals(annotationType.getQualifiedName())) {
+                continue;
+            }
+            Map<? extends ExecutableElement, ? extends AnnotationValue> values
+                = processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : values.entrySet()) {
+                String name = e.getKey().getSimpleName().toString();
+                Object value = e.getValue().getValue();
+                if ("value".equals(name)) {
+                    aliasName = (String)value;
+                } else if ("isSingleton".equals(name)) {
+                    singleton = (Boolean)value;
+                } else if ("isDefault".equals(name)) {
+                    isDefault = (Boolean)value;
+                } else if ("order".equals(name)) {
+                    order = (Integer)value;
+                }
+            }
+        }
+        if (aliasName.indexOf('\t') >= 0 || aliasName.indexOf('\n') >= 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Alias name of SPI provider contains tab or line break, won't be indexed", type);
+            return null;
+        }
+        return service + '\t' + providerName + '\t' + aliasName + '\t' + singleton + '\t' + isDefault + '\t' + order;
+    }
+
+    private void writeIndex() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Map<String, String>> e : indexedProviders.entrySet()) {
+            String service = e.getKey();
+            Map<String, String> lines = e.getValue();
+            List<String> providers = serviceFiles.get(service);
+            if (!lines.keySet().containsAll(providers) || lines.containsValue(null)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Service " + service
+                    + " is not indexed, as not all of its SPI providers are compiled in this module");
+                continue;
+            }
+            for (String provider : providers) {
+                sb.append(lines.get(provider)).append('\n');
+            }
+        }
+        if (sb.length() == 0) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_FILE);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by " + SpiIndexProcessor.class.getName() + ", do not edit.\n");
+                writer.write(sb.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Failed to write SPI index: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.spi.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases for {@link SpiIndexProcessor}.
+ */
+public class SpiIndexProcessorTest {
+
+    private static final String SPI_SOURCE = "package com.alibaba.csp.sentinel.spi;\n"
+        + "import java.lang.annotation.*;\n"
+        + "@Retention(RetentionPolicy.RUNTIME) @Target({ElementType.TYPE})\n"
+        + "public @interface Spi {\n"
+        + "    String value() default \"\";\n"
+        + "    boolean isSingleton() default true;\n"
+        + "    boolean isDefault() default false;\n"
+        + "    int order() default 0;\n"
+        + "    int ORDER_HIGHEST = Integer.MIN_VALUE;\n"
+        + "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGenerateIndex() throws Exception {
+        File out = folder.newFolder("classes");
+        writeFile(new File(out, "META-INF/services/demo.Service"),
+            "# comment\ndemo.PlainProvider\ndemo.Outer$NestedProvider # nested\ndemo.AnnotatedProvider\n");
+        compile(out,
+            source("com/alibaba/csp/sentinel/spi/Spi.java", SPI_SOURCE),
+            source("demo/Service.java", "package demo; public interface Service {}"),
+            source("demo/BaseProvider.java", "package demo; public abstract class BaseProvider implements Service {}"),
+            source("demo/PlainProvider.java", "package demo; public class PlainProvider implements Service {}"),
+            source("demo/Outer.java", "package demo; public class Outer {"
+                + " public static class NestedProvider extends BaseProvider {} }"),
+            source("demo/AnnotatedProvider.java", "package demo; import com.alibaba.csp.sentinel.spi.Spi;"
+                + " @Spi(value = \"annotated\", isSingleton = false, isDefault = true, order = Spi.ORDER_HIGHEST)"
+                + " public class AnnotatedProvider implements Service {}"));
+
+        List<String> lines = readIndex(out);
+        assertEquals(Arrays.asList(
+            "demo.Service\tdemo.PlainProvider\t\ttrue\tfalse\t0",
+            "demo.Service\tdemo.Outer$NestedProvider\t\ttrue\tfalse\t0",
+            "demo.Service\tdemo.AnnotatedProvider\tannotated\tfalse\ttrue\t" + Integer.MIN_VALUE), lines);
+    }
+
+    @Test
+    public void testSkipServiceWithExternalProviders() throws Exception {
+        File out = folder.newFolder("classes");
+        writeFile(new File(out, "META-INF/services/demo.Service"), "demo.PlainProvider\nother.ExternalProvider\n");
+        compile(out,
+            source("demo/Service.java", "package demo; public interface Service {}"),
+            source("demo/PlainProvider.java", "package demo; public class PlainProvider implements Service {}"));
+
+        assertFalse(new File(out, SpiIndexProcessor.INDEX_FILE).exists());
+    }
+
+    private File source(String path, String content) throws IOException {
+        File file = new File(folder.getRoot(), "src/" + path);
+        writeFile(file, content);
+        return file;
+    }
+
+    private void compile(File out, File... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sources);
+            List<String> options = new ArrayList<>(Arrays.asList("-d", out.getPath()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(Collections.singletonList(new SpiIndexProcessor()));
+            assertTrue(task.call());
+        }
+    }
+
+    private static List<String> readIndex(File out) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(new File(out, SpiIndexProcessor.INDEX_FILE).toPath(),
+            StandardCharsets.UTF_8)) {
+            if (!line.startsWith("#")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static void writeFile(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.command.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
+import com.alibaba.csp.sentinel.node.StatisticFootprint;
+import com.alibaba.csp.sentinel.util.StringUtil;
+import com.alibaba.fastjson.JSON;
+
+/**
+ * Get the estimated heap footprint of the statistics per resource, with the largest one first.
+ *
+ * @since 1.8.2
+ */
+@CommandMapping(name = "footprint", desc = "get estimated heap footprint of statistics per resource, "
+    + "request param: id={resourceName} (optional)")
+public class FetchStatisticFootprintCommandHandler implements CommandHandler<String> {
+
+    @Override
+    public CommandResponse<String> handle(CommandRequest request) {
+        String id = request.getParam("id");
+        List<StatisticFootprint> footprints = StatisticFootprint.collect();
+        if (StringUtil.isNotEmpty(id)) {
+            List<StatisticFootprint> matched = new ArrayList<>();
+            for (StatisticFootprint footprint : footprints) {
+                if (id.equals(footprint.getResource())) {
+                    matched.add(footprint);
+                }
+            }
+            footprints = matched;
+        }
+        return CommandResponse.ofSuccess(JSON.toJSONString(footprints));
+    }
+}
@@ -24,6 +24,7 @@ import com.alibaba.csp.sentinel.command.CommandRequest;
 import com.alibaba.csp.sentinel.command.CommandResponse;
 import com.alibaba.csp.sentinel.command.annotation.CommandMapping;
 import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.node.metric.MetricCursorResult;
 import com.alibaba.csp.sentinel.node.metric.MetricNode;
 import com.alibaba.csp.sentinel.node.metric.MetricSearcher;
 import com.alibaba.csp.sentinel.node.metric.MetricWriter;
@@ -39,9 +40,15 @@ import com.alibaba.csp.sentinel.util.TimeUtil;
  * @author Eric Zhao
  */
 @CommandMapping(name = "metric", desc = "get and aggregate metrics, accept param: "
-    + "startTime={startTime}&endTime={endTime}&maxLines={maxLines}&identify={resourceName}")
+    + "startTime={startTime}&endTime={endTime}&maxLines={maxLines}&identify={resourceName}&cursor={cursor}")
 public class SendMetricCommandHandler implements CommandHandler<String> {
 
+    /**
+     * Prefix of the first line in the response when metrics are fetched by cursor, which carries the
+     * cursor for the next incremental fetch.
+     */
+    public static final String CURSOR_LINE_PREFIX = "#cursor=";
+
     private volatile MetricSearcher searcher;
 
     private final Object lock = new Object();
@@ -65,6 +72,7 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
         String endTimeStr = request.getParam("endTime");
         String maxLinesStr = request.getParam("maxLines");
         String identity = request.getParam("identity");
+        String cursor = request.getParam("cursor");
         long startTime = -1;
         int maxLines = 6000;
         if (StringUtil.isNotBlank(startTimeStr)) {
@@ -73,9 +81,17 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
             return CommandResponse.ofSuccess("");
         }
         List<MetricNode> list;
+        String nextCursor = null;
         try {
-            // Find by end time if set.
-            if (StringUtil.isNotBlank(endTimeStr)) {
+            // Incrementally find from the cursor if requested, any invalid cursor (e.g. for the first fetch)
+            // will be located by the start time.
+            if (cursor != null && StringUtil.isNotBlank(endTimeStr)) {
+                MetricCursorResult result = searcher.findByCursor(cursor, startTime, Long.parseLong(endTimeStr),
+                    identity);
+                list = result.getNodes();
+                nextCursor = result.getNextCursor();
+            } else if (StringUtil.isNotBlank(endTimeStr)) {
+                // Find by end time if set.
                 long endTime = Long.parseLong(endTimeStr);
                 list = searcher.findByTimeAndResource(startTime, endTime, identity);
             } else {
@@ -95,6 +111,9 @@ public class SendMetricCommandHandler implements CommandHandler<String> {
             addCpuUsageAndLoad(list);
         }
         StringBuilder sb = new StringBuilder();
+        if (nextCursor != null) {
+            sb.append(CURSOR_LINE_PREFIX).append(nextCursor).append("\n");
+        }
         for (MetricNode node : list) {
             sb.append(node.toThinString()).append("\n");
         }
@@ -38,7 +38,22 @@ public class TransportConfig {
     public static final String HEARTBEAT_CLIENT_IP = "csp.sentinel.heartbeat.client.ip";
     public static final String HEARTBEAT_API_PATH = "csp.sentinel.heartbeat.api.path";
 
+    public static final String METRIC_PUSH_ENABLED = "csp.sentinel.metric.push.enabled";
+    public static final String METRIC_PUSH_API_PATH = "csp.sentinel.metric.push.api.path";
+    public static final String METRIC_PUSH_QUEUE_SIZE = "csp.sentinel.metric.push.queue.size";
+    public static final String COMMAND_CENTER_THREADS = "csp.sentinel.command.center.threads";
+    public static final String COMMAND_CENTER_QUEUE_SIZE = "csp.sentinel.command.center.queue.size";
+
     public static final String HEARTBEAT_DEFAULT_PATH = "/registry/machine";
+    /**
+     * Path of the batched heartbeat API of the dashboard, which accepts heartbeats of many machines at once.
+     *
+     * @since 1.8.2
+     */
+    public static final String HEARTBEAT_BATCH_DEFAULT_PATH = "/registry/machines";
+    public static final String METRIC_PUSH_DEFAULT_PATH = "/metric/push";
+    public static final int DEFAULT_METRIC_PUSH_QUEUE_SIZE = 60;
+    public static final int DEFAULT_COMMAND_CENTER_QUEUE_SIZE = 128;
 
     private static int runtimePort = -1;
 
@@ -183,4 +198,85 @@ public class TransportConfig {
         }
         return apiPath;
     }
+
+    /**
+     * Whether metrics of each second should be pushed to the dashboard, instead of being polled by the dashboard.
+     *
+     * @return true if metric push is enabled
+     * @since 1.8.2
+     */
+    public static boolean isMetricPushEnabled() {
+        return Boolean.parseBoolean(SentinelConfig.getConfig(METRIC_PUSH_ENABLED));
+    }
+
+    /**
+     * Get the metric push api path of the dashboard.
+     *
+     * @return the metric push api path
+     * @since 1.8.2
+     */
+    public static String getMetricPushApiPath() {
+        String apiPath = SentinelConfig.getConfig(METRIC_PUSH_API_PATH);
+        if (StringUtil.isBlank(apiPath)) {
+            return METRIC_PUSH_DEFAULT_PATH;
+        }
+        if (!apiPath.startsWith("/")) {
+            apiPath = "/" + apiPath;
+        }
+        return apiPath;
+    }
+
+    /**
+     * Get the max count of metric batches waiting to be pushed. Batches beyond it will be dropped.
+     *
+     * @return the max count of pending metric batches
+     * @since 1.8.2
+     */
+    public static int getMetricPushQueueSize() {
+        String size = SentinelConfig.getConfig(METRIC_PUSH_QUEUE_SIZE);
+        try {
+            int value = size == null ? DEFAULT_METRIC_PUSH_QUEUE_SIZE : Integer.parseInt(size);
+            return value > 0 ? value : DEFAULT_METRIC_PUSH_QUEUE_SIZE;
+        } catch (Exception ex) {
+            RecordLog.warn("[TransportConfig] Failed to parse metric push queue size: " + size);
+            return DEFAULT_METRIC_PUSH_QUEUE_SIZE;
+        }
+    }
+
+    /**
+     * Get the number of threads handling the commands of the command center,
+     * which is the number of processors by default.
+     *
+     * @return the number of command handler threads
+     * @since 1.8.2
+     */
+    public static int getCommandCenterThreads() {
+        int defaultValue = Runtime.getRuntime().availableProcessors();
+        String threads = SentinelConfig.getConfig(COMMAND_CENTER_THREADS);
+        try {
+            int value = threads == null ? defaultValue : Integer.parseInt(threads);
+            return value > 0 ? value : defaultValue;
+        } catch (Exception ex) {
+            RecordLog.warn("[TransportConfig] Failed to parse command center threads: " + threads);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the max number of commands waiting to be handled. Commands beyond the limit
+     * are rejected with {@code 503 Service Unavailable}.
+     *
+     * @return the queue size of the command handlers
+     * @since 1.8.2
+     */
+    public static int getCommandCenterQueueSize() {
+        String size = SentinelConfig.getConfig(COMMAND_CENTER_QUEUE_SIZE);
+        try {
+            int value = size == null ? DEFAULT_COMMAND_CENTER_QUEUE_SIZE : Integer.parseInt(size);
+            return value > 0 ? value : DEFAULT_COMMAND_CENTER_QUEUE_SIZE;
+        } catch (Exception ex) {
+            RecordLog.warn("[TransportConfig] Failed to parse command center queue size: " + size);
+            return DEFAULT_COMMAND_CENTER_QUEUE_SIZE;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.init;
+
+import com.alibaba.csp.sentinel.init.InitFunc;
+import com.alibaba.csp.sentinel.init.InitOrder;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.metric.MetricBatchCallbackRegistry;
+import com.alibaba.csp.sentinel.transport.config.TransportConfig;
+import com.alibaba.csp.sentinel.transport.metric.MetricPushSender;
+
+/**
+ * Init function for pushing metrics to the dashboard, enabled by {@code csp.sentinel.metric.push.enabled=true}.
+ *
+ * @since 1.8.2
+ */
+@InitOrder(-1)
+public class MetricPushInitFunc implements InitFunc {
+
+    private static final String CALLBACK_KEY = MetricPushSender.class.getCanonicalName();
+
+    @Override
+    public void init() {
+        if (!TransportConfig.isMetricPushEnabled()) {
+            return;
+        }
+        MetricPushSender sender = new MetricPushSender();
+        sender.start();
+        MetricBatchCallbackRegistry.addCallback(CALLBACK_KEY, sender);
+        RecordLog.info("[MetricPushInitFunc] Metric push sender registered");
+    }
+}
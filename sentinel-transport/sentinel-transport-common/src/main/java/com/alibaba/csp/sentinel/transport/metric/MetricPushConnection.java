@@ -0,0 +1,216 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.metric;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.transport.endpoint.Endpoint;
+import com.alibaba.csp.sentinel.transport.endpoint.Protocol;
+import com.alibaba.csp.sentinel.transport.ssl.SslFactory;
+
+/**
+ * <p>
+ * A persistent (keep-alive) HTTP/1.1 connection to a single dashboard endpoint, which only supports
+ * POST requests with a gzip-encoded body. The connection is established lazily and closed
+ * on any I/O failure, so the next request will reconnect.
+ * </p>
+ * <p>
+ * The response body is read (either by {@code Content-Length} or chunked) and discarded,
+ * only the status code is returned.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class MetricPushConnection {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+    private static final int MAX_LINE_LENGTH = 8192;
+
+    private final Endpoint endpoint;
+    private final int soTimeout;
+
+    private Socket socket;
+    private InputStream in;
+    private OutputStream out;
+
+    public MetricPushConnection(Endpoint endpoint, int soTimeout) {
+        this.endpoint = endpoint;
+        this.soTimeout = soTimeout;
+    }
+
+    /**
+     * Post the gzip-encoded body to given path.
+     *
+     * @param pathAndQuery request path with query string
+     * @param gzippedBody  gzip-encoded request body
+     * @return HTTP status code of the response
+     * @throws IOException if the request fails, in which case the connection has been closed
+     */
+    public int post(String pathAndQuery, byte[] gzippedBody) throws IOException {
+        try {
+            ensureConnected();
+            String header = "POST " + pathAndQuery + " HTTP/1.1\r\n"
+                + "Host: " + endpoint.getHost() + ":" + endpoint.getPort() + "\r\n"
+                + "Content-Type: text/plain; charset=UTF-8\r\n"
+                + "Content-Encoding: gzip\r\n"
+                + "Content-Length: " + gzippedBody.length + "\r\n"
+                + "Connection: keep-alive\r\n\r\n";
+            out.write(header.getBytes(ASCII));
+            out.write(gzippedBody);
+            out.flush();
+            return readResponse();
+        } catch (IOException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    private void ensureConnected() throws IOException {
+        if (socket != null && !socket.isClosed()) {
+            return;
+        }
+        Socket newSocket = endpoint.getProtocol() == Protocol.HTTPS
+            ? SslFactory.getSslConnectionSocketFactory().getSocketFactory().createSocket() : new Socket();
+        try {
+            newSocket.setSoTimeout(soTimeout);
+            newSocket.setTcpNoDelay(true);
+            newSocket.setKeepAlive(true);
+            newSocket.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), soTimeout);
+            this.in = new BufferedInputStream(newSocket.getInputStream());
+            this.out = new BufferedOutputStream(newSocket.getOutputStream());
+            this.socket = newSocket;
+        } catch (IOException ex) {
+            newSocket.close();
+            throw ex;
+        }
+    }
+
+    private int readResponse() throws IOException {
+        String statusLine = readLine();
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Invalid HTTP status line: " + statusLine);
+        }
+        int statusCode;
+        try {
+            statusCode = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException ex) {
+            throw new IOException("Invalid HTTP status line: " + statusLine);
+        }
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean keepAlive = !"HTTP/1.0".equals(parts[0]);
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            int idx = line.indexOf(':');
+            if (idx <= 0) {
+                continue;
+            }
+            String name = line.substring(0, idx).trim();
+            String value = line.substring(idx + 1).trim();
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                contentLength = Long.parseLong(value);
+            } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+                chunked = value.toLowerCase().contains("chunked");
+            } else if ("Connection".equalsIgnoreCase(name)) {
+                keepAlive = !"close".equalsIgnoreCase(value);
+            }
+        }
+        if (chunked) {
+            skipChunkedBody();
+        } else if (contentLength >= 0) {
+            skipFully(contentLength);
+        } else {
+            // Body is delimited by connection close.
+            keepAlive = false;
+        }
+        if (!keepAlive) {
+            close();
+        }
+        return statusCode;
+    }
+
+    private void skipChunkedBody() throws IOException {
+        while (true) {
+            String sizeLine = readLine();
+            int ext = sizeLine.indexOf(';');
+            long size = Long.parseLong((ext >= 0 ? sizeLine.substring(0, ext) : sizeLine).trim(), 16);
+            if (size == 0) {
+                // Skip trailers.
+                while (!readLine().isEmpty()) {
+                }
+                return;
+            }
+            skipFully(size);
+            readLine();
+        }
+    }
+
+    private void skipFully(long n) throws IOException {
+        while (n > 0) {
+            long skipped = in.skip(n);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new IOException("Unexpected end of stream");
+                }
+                skipped = 1;
+            }
+            n -= skipped;
+        }
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int b;
+        while ((b = in.read()) >= 0) {
+            if (b == '\n') {
+                int len = sb.length();
+                if (len > 0 && sb.charAt(len - 1) == '\r') {
+                    sb.setLength(len - 1);
+                }
+                return sb.toString();
+            }
+            if (sb.length() >= MAX_LINE_LENGTH) {
+                throw new IOException("HTTP response line too long");
+            }
+            sb.append((char)b);
+        }
+        throw new IOException("Unexpected end of stream");
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignore) {
+            }
+        }
+        socket = null;
+        in = null;
+        out = null;
+    }
+}
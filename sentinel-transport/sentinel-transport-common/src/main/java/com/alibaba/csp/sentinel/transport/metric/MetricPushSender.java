@@ -0,0 +1,257 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.metric;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.node.metric.MetricBatchCallback;
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.transport.config.TransportConfig;
+import com.alibaba.csp.sentinel.transport.endpoint.Endpoint;
+import com.alibaba.csp.sentinel.util.AppNameUtil;
+
+/**
+ * <p>
+ * Pushes the aggregated metrics of each second to the dashboard over a persistent connection,
+ * as an alternative of the dashboard polling the {@code metric} command.
+ * </p>
+ * <p>
+ * Batches are handed over from the metric timer thread through a bounded queue. When the queue is full
+ * (e.g. the dashboard is slow or unavailable), new batches are dropped and counted rather than blocking
+ * the metric timer. Several pending batches are merged into a single gzip-encoded request.
+ * </p>
+ * <p>
+ * The connection is confined to the push thread (see {@link Pusher}), which closes it when the thread exits.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class MetricPushSender implements MetricBatchCallback {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int OK_STATUS = 200;
+    private static final int MAX_BATCHES_PER_REQUEST = 10;
+    private static final int SO_TIMEOUT_MS = 3000;
+    private static final long RETRY_BACKOFF_MS = 1000;
+
+    private final List<Endpoint> addressList;
+    private final BlockingQueue<Batch> queue;
+    private final String pathAndQuery;
+
+    private final AtomicLong pushedBatches = new AtomicLong();
+    private final AtomicLong droppedBatches = new AtomicLong();
+
+    private volatile Thread pushThread;
+    private volatile boolean running = false;
+
+    public MetricPushSender() {
+        this(TransportConfig.getConsoleServerList(), TransportConfig.getMetricPushQueueSize());
+    }
+
+    MetricPushSender(List<Endpoint> addressList, int queueSize) {
+        this.addressList = addressList;
+        this.queue = new ArrayBlockingQueue<Batch>(queueSize);
+        this.pathAndQuery = TransportConfig.getMetricPushApiPath()
+            + "?app=" + encode(AppNameUtil.getAppName())
+            + "&ip=" + encode(TransportConfig.getHeartbeatClientIp())
+            + "&port=";
+    }
+
+    @Override
+    public void onBatch(long timestamp, List<MetricNode> nodes) {
+        if (!running || nodes == null || nodes.isEmpty()) {
+            return;
+        }
+        if (!queue.offer(new Batch(timestamp, nodes))) {
+            long dropped = droppedBatches.incrementAndGet();
+            if (dropped == 1 || dropped % 100 == 0) {
+                RecordLog.warn("[MetricPushSender] Push queue is full, {} metric batches dropped in total", dropped);
+            }
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        if (addressList == null || addressList.isEmpty()) {
+            RecordLog.warn("[MetricPushSender] Dashboard server address not configured, metric push won't start");
+            return;
+        }
+        running = true;
+        pushThread = new NamedThreadFactory("sentinel-metric-push-task", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                pushLoop();
+            }
+        });
+        pushThread.start();
+        RecordLog.info("[MetricPushSender] Metric push started, dashboard address: {}", addressList);
+    }
+
+    /**
+     * Stop pushing. The push thread closes its connection when it exits, which may take up to the socket timeout
+     * if a request is in progress.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (pushThread != null) {
+            pushThread.interrupt();
+            pushThread = null;
+        }
+    }
+
+    private void pushLoop() {
+        Pusher pusher = new Pusher();
+        try {
+            pushLoop(pusher);
+        } finally {
+            pusher.close();
+        }
+    }
+
+    private void pushLoop(Pusher pusher) {
+        List<Batch> batches = new ArrayList<Batch>(MAX_BATCHES_PER_REQUEST);
+        // A thread of the former start exits even if the sender has been started again.
+        while (running && pushThread == Thread.currentThread()) {
+            try {
+                Batch first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batches.add(first);
+                queue.drainTo(batches, MAX_BATCHES_PER_REQUEST - 1);
+                if (!pusher.push(batches)) {
+                    droppedBatches.addAndGet(batches.size());
+                    Thread.sleep(RETRY_BACKOFF_MS);
+                } else {
+                    pushedBatches.addAndGet(batches.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                RecordLog.warn("[MetricPushSender] Unexpected error when pushing metrics", e);
+            } finally {
+                batches.clear();
+            }
+        }
+    }
+
+    /**
+     * Pushes batches over a connection owned by a single thread, so the connection needs no synchronization.
+     */
+    final class Pusher {
+
+        private int currentAddressIdx = 0;
+        private MetricPushConnection connection;
+
+        boolean push(List<Batch> batches) throws IOException {
+            byte[] body = encodeBody(batches);
+            MetricPushConnection conn = currentConnection();
+            try {
+                int status = conn.post(pathAndQuery + TransportConfig.getPort(), body);
+                if (status == OK_STATUS) {
+                    return true;
+                }
+                RecordLog.warn("[MetricPushSender] Failed to push metrics to {}, http status code: {}",
+                    conn.getEndpoint(), status);
+            } catch (IOException ex) {
+                RecordLog.warn("[MetricPushSender] Failed to push metrics to " + conn.getEndpoint(), ex);
+                // The connection has been closed, try the next dashboard address next time.
+                connection = null;
+                currentAddressIdx++;
+            }
+            return false;
+        }
+
+        private MetricPushConnection currentConnection() {
+            if (connection == null) {
+                Endpoint endpoint = addressList.get(Math.abs(currentAddressIdx % addressList.size()));
+                connection = new MetricPushConnection(endpoint, SO_TIMEOUT_MS);
+            }
+            return connection;
+        }
+
+        void close() {
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+        }
+    }
+
+    static byte[] encodeBody(List<Batch> batches) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+        Writer writer = new OutputStreamWriter(new GZIPOutputStream(bos), UTF_8);
+        for (Batch batch : batches) {
+            for (MetricNode node : batch.nodes) {
+                writer.write(node.toThinString());
+                writer.write('\n');
+            }
+        }
+        writer.close();
+        return bos.toByteArray();
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value == null ? "" : value, UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            return value;
+        }
+    }
+
+    /**
+     * @return count of metric batches that have been pushed successfully
+     */
+    public long getPushedBatches() {
+        return pushedBatches.get();
+    }
+
+    /**
+     * @return count of metric batches dropped because of a full queue or push failures
+     */
+    public long getDroppedBatches() {
+        return droppedBatches.get();
+    }
+
+    static class Batch {
+        final long timestamp;
+        final List<MetricNode> nodes;
+
+        Batch(long timestamp, List<MetricNode> nodes) {
+            this.timestamp = timestamp;
+            this.nodes = nodes;
+        }
+    }
+}
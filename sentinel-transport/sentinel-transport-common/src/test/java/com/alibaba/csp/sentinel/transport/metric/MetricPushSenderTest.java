@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.metric;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import com.alibaba.csp.sentinel.node.metric.MetricNode;
+import com.alibaba.csp.sentinel.transport.endpoint.Endpoint;
+import com.alibaba.csp.sentinel.transport.endpoint.Protocol;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricPushSenderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private ServerSocket serverSocket;
+    private final AtomicInteger acceptedConnections = new AtomicInteger();
+    private final AtomicInteger closedConnections = new AtomicInteger();
+    private final List<String> receivedLines = new CopyOnWriteArrayList<String>();
+
+    @Before
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        Thread serverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                serve();
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serverSocket.close();
+    }
+
+    private void serve() {
+        try {
+            while (true) {
+                final Socket socket = serverSocket.accept();
+                acceptedConnections.incrementAndGet();
+                try {
+                    serve(socket);
+                } catch (IllegalStateException closed) {
+                    closedConnections.incrementAndGet();
+                }
+                socket.close();
+            }
+        } catch (Exception ignore) {
+        }
+    }
+
+    private void serve(Socket socket) throws Exception {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        OutputStream out = socket.getOutputStream();
+        while (true) {
+            int contentLength = -1;
+            String line;
+            while (!(line = readLine(in)).isEmpty()) {
+                if (line.startsWith("Content-Length:")) {
+                    contentLength = Integer.parseInt(line.substring(15).trim());
+                }
+            }
+            byte[] body = new byte[contentLength];
+            in.readFully(body);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(body)), UTF_8));
+            while ((line = reader.readLine()) != null) {
+                receivedLines.add(line);
+            }
+            out.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(UTF_8));
+            out.flush();
+        }
+    }
+
+    private String readLine(DataInputStream in) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new IllegalStateException("closed");
+            }
+            if (b != '\r') {
+                sb.append((char)b);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testPushThreadClosesConnection() throws Exception {
+        Endpoint endpoint = new Endpoint(Protocol.HTTP, "127.0.0.1", serverSocket.getLocalPort());
+        MetricPushSender sender = new MetricPushSender(Collections.singletonList(endpoint), 10);
+        sender.start();
+        try {
+            MetricNode node = new MetricNode();
+            node.setTimestamp(1000L);
+            node.setResource("res");
+            sender.onBatch(node.getTimestamp(), Collections.singletonList(node));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (sender.getPushedBatches() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, sender.getPushedBatches());
+        } finally {
+            sender.stop();
+        }
+        // The push thread exits and closes its connection, which ends the connection on the server.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (closedConnections.get() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, closedConnections.get());
+        assertEquals(1, acceptedConnections.get());
+    }
+
+    @Test
+    public void testPushOverPersistentConnection() throws Exception {
+        Endpoint endpoint = new Endpoint(Protocol.HTTP, "127.0.0.1", serverSocket.getLocalPort());
+        MetricPushSender sender = new MetricPushSender(Collections.singletonList(endpoint), 10);
+        MetricPushSender.Pusher pusher = sender.new Pusher();
+
+        for (int i = 0; i < 3; i++) {
+            MetricNode node = new MetricNode();
+            node.setTimestamp(1000L * i);
+            node.setResource("res" + i);
+            node.setPassQps(i);
+            List<MetricPushSender.Batch> batches = new ArrayList<MetricPushSender.Batch>();
+            batches.add(new MetricPushSender.Batch(node.getTimestamp(), Collections.singletonList(node)));
+            assertTrue(pusher.push(batches));
+        }
+        pusher.close();
+
+        assertEquals(1, acceptedConnections.get());
+        assertEquals(3, receivedLines.size());
+        for (int i = 0; i < 3; i++) {
+            MetricNode node = MetricNode.fromThinString(receivedLines.get(i));
+            assertEquals("res" + i, node.getResource());
+            assertEquals(i, node.getPassQps());
+        }
+    }
+}
@@ -18,22 +18,30 @@ package com.alibaba.csp.sentinel.transport.command.netty;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpRequestDecoder;
 import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.timeout.IdleStateHandler;
 
 /**
  * @author Eric Zhao
  */
 public class HttpServerInitializer extends ChannelInitializer<SocketChannel> {
 
+    private static final int IDLE_TIMEOUT_SEC = 60;
+
     @Override
     protected void initChannel(SocketChannel socketChannel) throws Exception {
         ChannelPipeline p = socketChannel.pipeline();
 
+        // Close kept-alive connections that have been idle for a while.
+        p.addLast(new IdleStateHandler(0, 0, IDLE_TIMEOUT_SEC));
         p.addLast(new HttpRequestDecoder());
         p.addLast(new HttpObjectAggregator(1024 * 1024));
         p.addLast(new HttpResponseEncoder());
+        // Compress large responses (e.g. metrics) when the client accepts gzip/deflate.
+        p.addLast(new HttpContentCompressor(6, 15, 8, 512));
 
         p.addLast(new HttpServerHandler());
     }
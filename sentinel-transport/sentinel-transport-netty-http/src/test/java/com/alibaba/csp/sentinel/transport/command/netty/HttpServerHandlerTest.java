@@ -239,7 +239,7 @@ public class HttpServerHandlerTest {
         text.append(HttpVersion.HTTP_1_1.toString()).append(' ').append(status.toString()).append(CRLF);
         text.append("Content-Type: text/plain; charset=").append(SENTINEL_CHARSET_NAME).append(CRLF);
         text.append("content-length: " + expectedBody.length()).append(CRLF);
-        text.append("connection: close").append(CRLF);
+        text.append("connection: keep-alive").append(CRLF);
         text.append(CRLF);
         text.append(expectedBody);
 
@@ -16,9 +16,8 @@
 package com.alibaba.csp.sentinel.transport.command;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -26,8 +25,6 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -36,7 +33,7 @@ import com.alibaba.csp.sentinel.command.CommandHandlerProvider;
 import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
 import com.alibaba.csp.sentinel.transport.log.CommandCenterLog;
 import com.alibaba.csp.sentinel.transport.CommandCenter;
-import com.alibaba.csp.sentinel.transport.command.http.HttpEventTask;
+import com.alibaba.csp.sentinel.transport.command.http.NioHttpServer;
 import com.alibaba.csp.sentinel.transport.config.TransportConfig;
 import com.alibaba.csp.sentinel.util.StringUtil;
 
@@ -49,7 +46,6 @@ public class SimpleHttpCommandCenter implements CommandCenter {
 
     private static final int PORT_UNINITIALIZED = -1;
 
-    private static final int DEFAULT_SERVER_SO_TIMEOUT = 3000;
     private static final int DEFAULT_PORT = 8719;
 
     @SuppressWarnings("rawtypes")
@@ -60,7 +56,7 @@ public class SimpleHttpCommandCenter implements CommandCenter {
         new NamedThreadFactory("sentinel-command-center-executor", true));
     private ExecutorService bizExecutor;
 
-    private ServerSocket socketReference;
+    private NioHttpServer serverReference;
 
     @Override
     @SuppressWarnings("rawtypes")
@@ -72,17 +68,11 @@ public class SimpleHttpCommandCenter implements CommandCenter {
 
     @Override
     public void start() throws Exception {
-        int nThreads = Runtime.getRuntime().availableProcessors();
+        int nThreads = TransportConfig.getCommandCenterThreads();
         this.bizExecutor = new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS,
-            new ArrayBlockingQueue<Runnable>(10),
+            new ArrayBlockingQueue<Runnable>(TransportConfig.getCommandCenterQueueSize()),
             new NamedThreadFactory("sentinel-command-center-service-executor", true),
-            new RejectedExecutionHandler() {
-                @Override
-                public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-                    CommandCenterLog.info("EventTask rejected");
-                    throw new RejectedExecutionException();
-                }
-            });
+            new ThreadPoolExecutor.AbortPolicy());
 
         Runnable serverInitTask = new Runnable() {
             int port;
@@ -98,14 +88,24 @@ public class SimpleHttpCommandCenter implements CommandCenter {
             @Override
             public void run() {
                 boolean success = false;
-                ServerSocket serverSocket = getServerSocketFromBasePort(port);
-
-                if (serverSocket != null) {
-                    CommandCenterLog.info("[CommandCenter] Begin listening at port " + serverSocket.getLocalPort());
-                    socketReference = serverSocket;
-                    executor.submit(new ServerThread(serverSocket));
-                    success = true;
-                    port = serverSocket.getLocalPort();
+                ServerSocketChannel serverChannel = getServerChannelFromBasePort(port);
+
+                if (serverChannel != null) {
+                    try {
+                        NioHttpServer httpServer = new NioHttpServer(serverChannel, bizExecutor);
+                        httpServer.start();
+                        serverReference = httpServer;
+                        port = httpServer.getLocalPort();
+                        CommandCenterLog.info("[CommandCenter] Begin listening at port " + port);
+                        success = true;
+                    } catch (IOException e) {
+                        CommandCenterLog.warn("[CommandCenter] Failed to start the http server", e);
+                        try {
+                            serverChannel.close();
+                        } catch (IOException e1) {
+                            CommandCenterLog.warn("Error when releasing the server socket", e1);
+                        }
+                    }
                 } else {
                     CommandCenterLog.info("[CommandCenter] chooses port fail, http command center will not work");
                 }
@@ -120,24 +120,33 @@ public class SimpleHttpCommandCenter implements CommandCenter {
 
         };
 
-        new Thread(serverInitTask).start();
+        executor.submit(serverInitTask);
     }
 
     /**
-     * Get a server socket from an available port from a base port.<br>
+     * Get a server socket channel from an available port from a base port.<br>
      * Increasing on port number will occur when the port has already been used.
      *
      * @param basePort base port to start
-     * @return new socket with available port
+     * @return new server socket channel with available port
      */
-    private static ServerSocket getServerSocketFromBasePort(int basePort) {
+    private static ServerSocketChannel getServerChannelFromBasePort(int basePort) {
         int tryCount = 0;
         while (true) {
+            ServerSocketChannel channel = null;
             try {
-                ServerSocket server = new ServerSocket(basePort + tryCount / 3, 100);
-                server.setReuseAddress(true);
-                return server;
+                channel = ServerSocketChannel.open();
+                channel.socket().setReuseAddress(true);
+                channel.socket().bind(new InetSocketAddress(basePort + tryCount / 3), 100);
+                return channel;
             } catch (IOException e) {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException e1) {
+                        // Ignore.
+                    }
+                }
                 tryCount++;
                 try {
                     TimeUnit.MILLISECONDS.sleep(30);
@@ -151,14 +160,12 @@ public class SimpleHttpCommandCenter implements CommandCenter {
 
     @Override
     public void stop() throws Exception {
-        if (socketReference != null) {
-            try {
-                socketReference.close();
-            } catch (IOException e) {
-                CommandCenterLog.warn("Error when releasing the server socket", e);
-            }
+        if (serverReference != null) {
+            serverReference.stop();
+        }
+        if (bizExecutor != null) {
+            bizExecutor.shutdownNow();
         }
-        bizExecutor.shutdownNow();
         executor.shutdownNow();
         TransportConfig.setRuntimePort(PORT_UNINITIALIZED);
         handlerMap.clear();
@@ -171,45 +178,6 @@ public class SimpleHttpCommandCenter implements CommandCenter {
         return handlerMap.keySet();
     }
 
-    class ServerThread extends Thread {
-
-        private ServerSocket serverSocket;
-
-        ServerThread(ServerSocket s) {
-            this.serverSocket = s;
-            setName("sentinel-courier-server-accept-thread");
-        }
-
-        @Override
-        public void run() {
-            while (true) {
-                Socket socket = null;
-                try {
-                    socket = this.serverSocket.accept();
-                    setSocketSoTimeout(socket);
-                    HttpEventTask eventTask = new HttpEventTask(socket);
-                    bizExecutor.submit(eventTask);
-                } catch (Exception e) {
-                    CommandCenterLog.info("Server error", e);
-                    if (socket != null) {
-                        try {
-                            socket.close();
-                        } catch (Exception e1) {
-                            CommandCenterLog.info("Error when closing an opened socket", e1);
-                        }
-                    }
-                    try {
-                        // In case of infinite log.
-                        Thread.sleep(10);
-                    } catch (InterruptedException e1) {
-                        // Indicates the task should stop.
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
     @SuppressWarnings("rawtypes")
     public static CommandHandler getHandler(String commandName) {
         return handlerMap.get(commandName);
@@ -237,13 +205,4 @@ public class SimpleHttpCommandCenter implements CommandCenter {
 
         handlerMap.put(commandName, handler);
     }
-
-    /**
-     * Avoid server thread hang, 3 seconds timeout by default.
-     */
-    private void setSocketSoTimeout(Socket socket) throws SocketException {
-        if (socket != null) {
-            socket.setSoTimeout(DEFAULT_SERVER_SO_TIMEOUT);
-        }
-    }
 }
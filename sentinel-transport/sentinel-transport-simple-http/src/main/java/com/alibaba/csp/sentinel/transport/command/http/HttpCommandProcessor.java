@@ -0,0 +1,149 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPOutputStream;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.transport.command.SimpleHttpCommandCenter;
+import com.alibaba.csp.sentinel.transport.command.exception.RequestException;
+import com.alibaba.csp.sentinel.transport.log.CommandCenterLog;
+import com.alibaba.csp.sentinel.transport.util.HttpCommandUtils;
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * Handles a decoded {@link RawHttpRequest} with the matching command handler, and encodes the HTTP response.
+ * The parsing rules of the request are the same as {@link HttpEventTask}.
+ *
+ * @since 1.8.2
+ */
+public final class HttpCommandProcessor {
+
+    /**
+     * Handle the request. If the request is invalid, the connection will not be kept alive.
+     *
+     * @param request       decoded request
+     * @param remoteAddress address of the client, for logging
+     * @return encoded response
+     */
+    public static ByteBuffer process(RawHttpRequest request, Object remoteAddress) {
+        long start = System.currentTimeMillis();
+        String firstLine = request.getRequestLine();
+        CommandCenterLog.info("[SimpleHttpCommandCenter] Socket income: " + firstLine + ", addr: " + remoteAddress);
+        String acceptEncoding = request.getHeader("accept-encoding");
+        boolean gzipAccepted = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        try {
+            CommandRequest commandRequest = HttpEventTask.processQueryString(firstLine);
+            if (request.isPost()) {
+                // Deal with post method
+                HttpEventTask.processPostRequest(request.getHeaders(), new ByteArrayInputStream(request.getBody()),
+                    commandRequest);
+            }
+
+            // Validate the target command.
+            String commandName = HttpCommandUtils.getTarget(commandRequest);
+            if (StringUtil.isBlank(commandName)) {
+                return encodeResponse(request, StatusCode.BAD_REQUEST, HttpEventTask.INVALID_COMMAND_MESSAGE, false);
+            }
+
+            // Find the matching command handler.
+            CommandHandler<?> commandHandler = SimpleHttpCommandCenter.getHandler(commandName);
+            ByteBuffer response;
+            if (commandHandler != null) {
+                response = handleResponse(request, commandHandler.handle(commandRequest), gzipAccepted);
+            } else {
+                // No matching command handler.
+                response = encodeResponse(request, StatusCode.BAD_REQUEST, "Unknown command `" + commandName + '`',
+                    false);
+            }
+            long cost = System.currentTimeMillis() - start;
+            CommandCenterLog.info("[SimpleHttpCommandCenter] Deal a socket task: " + firstLine
+                + ", address: " + remoteAddress + ", time cost: " + cost + " ms");
+            return response;
+        } catch (RequestException e) {
+            // The body of an invalid request may not have been consumed as expected, so close the connection.
+            request.setKeepAlive(false);
+            return encodeResponse(request, e.getStatusCode(), e.getMessage(), false);
+        } catch (Throwable e) {
+            CommandCenterLog.warn("[SimpleHttpCommandCenter] CommandCenter error", e);
+            return encodeResponse(request, StatusCode.INTERNAL_SERVER_ERROR, HttpEventTask.SERVER_ERROR_MESSAGE,
+                false);
+        }
+    }
+
+    private static <T> ByteBuffer handleResponse(RawHttpRequest request, CommandResponse<T> response,
+                                                 boolean gzipAccepted) {
+        if (response.isSuccess()) {
+            if (response.getResult() == null) {
+                return encodeResponse(request, StatusCode.OK, null, false);
+            }
+            // Here we directly use `toString` to encode the result to plain text.
+            return encodeResponse(request, StatusCode.OK, response.getResult().toString(), gzipAccepted);
+        }
+        String msg = HttpEventTask.SERVER_ERROR_MESSAGE;
+        if (response.getException() != null) {
+            msg = response.getException().getMessage();
+        }
+        return encodeResponse(request, StatusCode.BAD_REQUEST, msg, false);
+    }
+
+    /**
+     * Encode a response to the request.
+     *
+     * @param request      the request, which decides whether the connection is kept alive
+     * @param statusCode   status code
+     * @param message      the response body, nullable
+     * @param gzipAccepted whether the body can be compressed
+     * @return encoded response
+     */
+    public static ByteBuffer encodeResponse(RawHttpRequest request, StatusCode statusCode, String message,
+                                            boolean gzipAccepted) {
+        Charset charset = Charset.forName(SentinelConfig.charset());
+        byte[] body = message == null ? new byte[0] : message.getBytes(charset);
+        boolean gzip = false;
+        if (gzipAccepted && message != null && message.length() >= HttpEventTask.GZIP_MIN_LENGTH) {
+            try {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream(body.length / 4);
+                GZIPOutputStream out = new GZIPOutputStream(bos);
+                out.write(body);
+                out.close();
+                body = bos.toByteArray();
+                gzip = true;
+            } catch (IOException e) {
+                CommandCenterLog.warn("[SimpleHttpCommandCenter] Failed to compress response", e);
+            }
+        }
+        String head = "HTTP/1.1 " + statusCode.toString() + "\r\n"
+            + (gzip ? "Content-Encoding: gzip\r\n" : "")
+            + "Content-Length: " + body.length + "\r\n"
+            + "Connection: " + (request != null && request.isKeepAlive() ? "keep-alive" : "close") + "\r\n\r\n";
+        byte[] headBytes = head.getBytes(charset);
+        ByteBuffer buffer = ByteBuffer.allocate(headBytes.length + body.length);
+        buffer.put(headBytes).put(body);
+        buffer.flip();
+        return buffer;
+    }
+
+    private HttpCommandProcessor() {}
+}
@@ -39,6 +39,7 @@ import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * The task handles incoming command request in HTTP protocol.
@@ -52,9 +53,16 @@ public class HttpEventTask implements Runnable {
     public static final String SERVER_ERROR_MESSAGE = "Command server error";
     public static final String INVALID_COMMAND_MESSAGE = "Invalid command";
 
+    /**
+     * Responses shorter than this won't be compressed even if gzip is accepted by the client.
+     */
+    static final int GZIP_MIN_LENGTH = 512;
+
     private final Socket socket;
 
     private boolean writtenHead = false;
+    private boolean gzipAccepted = false;
+    private OutputStream outputStream;
 
     public HttpEventTask(Socket socket) {
         this.socket = socket;
@@ -75,7 +83,7 @@ public class HttpEventTask implements Runnable {
         try {
             long start = System.currentTimeMillis();
             inputStream = new BufferedInputStream(socket.getInputStream());
-            OutputStream outputStream = socket.getOutputStream();
+            outputStream = socket.getOutputStream();
 
             printWriter = new PrintWriter(
                 new OutputStreamWriter(outputStream, Charset.forName(SentinelConfig.charset())));
@@ -84,10 +92,13 @@ public class HttpEventTask implements Runnable {
             CommandCenterLog.info("[SimpleHttpCommandCenter] Socket income: " + firstLine
                 + ", addr: " + socket.getInetAddress());
             CommandRequest request = processQueryString(firstLine);
+            Map<String, String> headerMap = parsePostHeaders(inputStream);
+            String acceptEncoding = headerMap.get("accept-encoding");
+            gzipAccepted = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
 
             if (firstLine.length() > 4 && StringUtil.equalsIgnoreCase("POST", firstLine.substring(0, 4))) {
                 // Deal with post method
-                processPostRequest(inputStream, request);
+                processPostRequest(headerMap, inputStream, request);
             }
 
             // Validate the target command.
@@ -165,8 +176,11 @@ public class HttpEventTask implements Runnable {
      */
     protected static void processPostRequest(InputStream in, CommandRequest request)
         throws RequestException, IOException {
-        Map<String, String> headerMap = parsePostHeaders(in);
+        processPostRequest(parsePostHeaders(in), in, request);
+    }
 
+    static void processPostRequest(Map<String, String> headerMap, InputStream in, CommandRequest request)
+        throws RequestException, IOException {
         if (headerMap == null) {
             // illegal request
             CommandCenterLog.warn("Illegal request read: null headerMap");
@@ -321,6 +335,26 @@ public class HttpEventTask implements Runnable {
     }
 
     private void writeResponse(PrintWriter out, StatusCode statusCode, String message) {
+        if (gzipAccepted && message != null && message.length() >= GZIP_MIN_LENGTH) {
+            try {
+                ByteArrayOutputStream bos = new ByteArrayOutputStream(message.length() / 4);
+                GZIPOutputStream gzip = new GZIPOutputStream(bos);
+                gzip.write(message.getBytes(SentinelConfig.charset()));
+                gzip.close();
+                out.print("HTTP/1.0 " + statusCode.toString() + "\r\n"
+                    + "Content-Encoding: gzip\r\n"
+                    + "Content-Length: " + bos.size() + "\r\n"
+                    + "Connection: close\r\n\r\n");
+                out.flush();
+                writtenHead = true;
+                bos.writeTo(outputStream);
+                outputStream.flush();
+                return;
+            } catch (IOException e) {
+                CommandCenterLog.warn("[SimpleHttpCommandCenter] Failed to write gzip response", e);
+                return;
+            }
+        }
         out.print("HTTP/1.0 " + statusCode.toString() + "\r\n"
             + "Content-Length: " + (message == null ? 0 : message.getBytes().length) + "\r\n"
             + "Connection: close\r\n\r\n");
@@ -0,0 +1,199 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.config.SentinelConfig;
+import com.alibaba.csp.sentinel.transport.command.exception.RequestException;
+
+/**
+ * <p>Incremental decoder of HTTP requests from the bytes received on a connection.</p>
+ * <p>
+ * Bytes are fed as they arrive, and complete requests are decoded one by one, so pipelined
+ * requests in the same read are all decoded. The decoder is not thread-safe.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class HttpRequestDecoder {
+
+    static final int MAX_HEADER_SIZE = 64 * 1024;
+    static final int MAX_BODY_SIZE = 16 * 1024 * 1024;
+
+    private byte[] buf = new byte[1024];
+    private int start;
+    private int end;
+
+    /**
+     * The request whose headers have been decoded, but the body has not been fully received.
+     */
+    private RawHttpRequest current;
+    private int bodyLength;
+    private boolean expectContinue;
+
+    /**
+     * Append the received bytes.
+     *
+     * @param src the received bytes, which will be fully consumed
+     */
+    public void feed(ByteBuffer src) {
+        int len = src.remaining();
+        ensureCapacity(len);
+        src.get(buf, end, len);
+        end += len;
+    }
+
+    /**
+     * Decode the next complete request.
+     *
+     * @return the decoded request, or null if more bytes are needed
+     * @throws RequestException if the request is malformed or too large
+     */
+    public RawHttpRequest decode() throws RequestException {
+        if (current == null && !decodeHeaders()) {
+            return null;
+        }
+        if (end - start < bodyLength) {
+            return null;
+        }
+        RawHttpRequest request = current;
+        if (bodyLength > 0) {
+            byte[] body = new byte[bodyLength];
+            System.arraycopy(buf, start, body, 0, bodyLength);
+            request.setBody(body);
+            start += bodyLength;
+        }
+        current = null;
+        bodyLength = 0;
+        compact();
+        return request;
+    }
+
+    /**
+     * Check whether the client is waiting for {@code 100 Continue} before sending the body.
+     * The flag is reset once checked.
+     *
+     * @return true if an interim {@code 100 Continue} response should be sent
+     */
+    public boolean pollExpectContinue() {
+        boolean expect = expectContinue;
+        expectContinue = false;
+        return expect;
+    }
+
+    private boolean decodeHeaders() throws RequestException {
+        Charset charset = Charset.forName(SentinelConfig.charset());
+        RawHttpRequest request = null;
+        int pos = start;
+        while (true) {
+            int nl = indexOf('\n', pos);
+            if (nl < 0) {
+                if (end - start > MAX_HEADER_SIZE) {
+                    throw new RequestException(StatusCode.BAD_REQUEST, "Request header too large");
+                }
+                // Headers will be decoded again from the start when more bytes arrive.
+                return false;
+            }
+            int lineEnd = nl > pos && buf[nl - 1] == '\r' ? nl - 1 : nl;
+            String line = new String(buf, pos, lineEnd - pos, charset);
+            pos = nl + 1;
+            if (request == null) {
+                if (line.length() == 0) {
+                    // Skip blank lines before the request line.
+                    start = pos;
+                    continue;
+                }
+                request = new RawHttpRequest(line);
+            } else if (line.length() == 0) {
+                break;
+            } else {
+                int index = line.indexOf(':');
+                if (index > 0) {
+                    String value = line.substring(index + 1).trim();
+                    if (value.length() > 0) {
+                        request.addHeader(line.substring(0, index).trim().toLowerCase(), value);
+                    }
+                }
+            }
+        }
+        start = pos;
+        bodyLength = parseContentLength(request);
+        String connection = request.getHeader("connection");
+        request.setKeepAlive(request.isHttp11() ? !"close".equalsIgnoreCase(connection)
+            : "keep-alive".equalsIgnoreCase(connection));
+        expectContinue = bodyLength > end - start && "100-continue".equalsIgnoreCase(request.getHeader("expect"));
+        current = request;
+        return true;
+    }
+
+    private static int parseContentLength(RawHttpRequest request) throws RequestException {
+        String value = request.getHeader("content-length");
+        if (value == null) {
+            return 0;
+        }
+        long length;
+        try {
+            length = Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            // The handler will reject the request if the body is required.
+            return 0;
+        }
+        if (length > MAX_BODY_SIZE) {
+            throw new RequestException(StatusCode.REQUEST_ENTITY_TOO_LARGE, "Request body too large");
+        }
+        return length < 0 ? 0 : (int)length;
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < end; i++) {
+            if (buf[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void compact() {
+        if (start == end) {
+            start = end = 0;
+        }
+    }
+
+    private void ensureCapacity(int len) {
+        if (end + len <= buf.length) {
+            return;
+        }
+        int used = end - start;
+        if (used + len <= buf.length && start > 0) {
+            System.arraycopy(buf, start, buf, 0, used);
+        } else {
+            byte[] newBuf = new byte[Math.max(buf.length * 2, used + len)];
+            System.arraycopy(buf, start, newBuf, 0, used);
+            buf = newBuf;
+        }
+        end = used;
+        start = 0;
+    }
+
+    /**
+     * @return count of the received bytes that have not been decoded yet
+     */
+    public int pendingBytes() {
+        return end - start;
+    }
+}
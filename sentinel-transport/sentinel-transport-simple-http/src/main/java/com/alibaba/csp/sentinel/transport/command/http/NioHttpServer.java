@@ -0,0 +1,402 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.alibaba.csp.sentinel.concurrent.NamedThreadFactory;
+import com.alibaba.csp.sentinel.transport.command.exception.RequestException;
+import com.alibaba.csp.sentinel.transport.log.CommandCenterLog;
+
+/**
+ * <p>A non-blocking HTTP server of the command center based on {@link Selector}.</p>
+ * <p>
+ * One selector thread accepts connections, reads and decodes requests, and writes responses.
+ * Command handlers run in the bounded handler executor. Connections are kept alive as HTTP/1.1 requires,
+ * and pipelined requests on the same connection are handled one after another, so the responses
+ * are written in the order of the requests. When the handler executor is saturated, requests are
+ * responded with {@code 503 Service Unavailable} rather than dropping the connection.
+ * </p>
+ * <p>All connection states are only accessed by the selector thread.</p>
+ *
+ * @since 1.8.2
+ */
+public class NioHttpServer {
+
+    private static final long IDLE_TIMEOUT_MS = 60 * 1000;
+    private static final long SELECT_TIMEOUT_MS = 1000;
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    /**
+     * Stop reading from a connection when this many pipelined requests are waiting.
+     */
+    private static final int MAX_PENDING_REQUESTS = 16;
+
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService handlerExecutor;
+    private final Selector selector;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<Completion>();
+    private final List<Connection> connections = new ArrayList<Connection>();
+
+    private volatile boolean running;
+    private Thread selectorThread;
+
+    public NioHttpServer(ServerSocketChannel serverChannel, ExecutorService handlerExecutor) throws IOException {
+        this.serverChannel = serverChannel;
+        this.handlerExecutor = handlerExecutor;
+        this.selector = Selector.open();
+    }
+
+    public void start() throws IOException {
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        selectorThread = new NamedThreadFactory("sentinel-command-center-selector", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                loop();
+            }
+        });
+        selectorThread.start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            selector.wakeup();
+            serverChannel.close();
+        } catch (Exception e) {
+            CommandCenterLog.warn("[NioHttpServer] Error when closing the server channel", e);
+        }
+    }
+
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void loop() {
+        long lastIdleCheck = System.currentTimeMillis();
+        while (running) {
+            try {
+                selector.select(SELECT_TIMEOUT_MS);
+                processCompletions();
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection)key.attachment();
+                    if (key.isWritable()) {
+                        write(connection);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        read(connection);
+                    }
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastIdleCheck >= SELECT_TIMEOUT_MS) {
+                    closeIdleConnections(now);
+                    lastIdleCheck = now;
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (Throwable e) {
+                CommandCenterLog.warn("[NioHttpServer] Unexpected error in selector loop", e);
+            }
+        }
+        for (Connection connection : new ArrayList<Connection>(connections)) {
+            close(connection);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            CommandCenterLog.warn("[NioHttpServer] Error when closing the selector", e);
+        }
+    }
+
+    private void accept() {
+        SocketChannel channel;
+        while (true) {
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                CommandCenterLog.info("Server error", e);
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                Connection connection = new Connection(channel, channel.socket().getRemoteSocketAddress());
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connections.add(connection);
+            } catch (IOException e) {
+                CommandCenterLog.info("Error when registering an accepted socket", e);
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void read(Connection connection) {
+        int n;
+        try {
+            readBuffer.clear();
+            n = connection.channel.read(readBuffer);
+        } catch (IOException e) {
+            close(connection);
+            return;
+        }
+        if (n < 0) {
+            connection.inputClosed = true;
+            connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_READ);
+            closeIfDone(connection);
+            return;
+        }
+        if (n == 0) {
+            return;
+        }
+        connection.lastActiveTime = System.currentTimeMillis();
+        readBuffer.flip();
+        connection.decoder.feed(readBuffer);
+        try {
+            RawHttpRequest request;
+            while ((request = connection.decoder.decode()) != null) {
+                connection.pending.add(request);
+            }
+            if (connection.decoder.pollExpectContinue()) {
+                enqueueOutput(connection, ByteBuffer.wrap("HTTP/1.1 100 Continue\r\n\r\n".getBytes("US-ASCII")));
+            }
+        } catch (RequestException e) {
+            // Respond after the responses of the previous requests, then close the connection.
+            RawHttpRequest invalid = new RawHttpRequest("");
+            invalid.setKeepAlive(false);
+            connection.pending.add(new InvalidRequest(invalid, e));
+            connection.inputClosed = true;
+        } catch (IOException e) {
+            close(connection);
+            return;
+        }
+        updateReadInterest(connection);
+        dispatch(connection);
+    }
+
+    private void dispatch(Connection connection) {
+        // Writing a response may close the connection, after which the pending requests are dropped.
+        while (!connection.closed && !connection.processing && !connection.closeAfterWrite
+            && !connection.pending.isEmpty()) {
+            Object next = connection.pending.poll();
+            if (next instanceof InvalidRequest) {
+                InvalidRequest invalid = (InvalidRequest)next;
+                connection.closeAfterWrite = true;
+                connection.pending.clear();
+                enqueueOutput(connection, HttpCommandProcessor.encodeResponse(invalid.request,
+                    invalid.exception.getStatusCode(), invalid.exception.getMessage(), false));
+                break;
+            }
+            final RawHttpRequest request = (RawHttpRequest)next;
+            final Connection target = connection;
+            connection.processing = true;
+            try {
+                handlerExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        ByteBuffer response = HttpCommandProcessor.process(request, target.remoteAddress);
+                        completions.add(new Completion(target, response, request.isKeepAlive()));
+                        selector.wakeup();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                CommandCenterLog.info("EventTask rejected");
+                connection.processing = false;
+                if (!request.isKeepAlive()) {
+                    connection.closeAfterWrite = true;
+                }
+                enqueueOutput(connection, HttpCommandProcessor.encodeResponse(request,
+                    StatusCode.SERVICE_UNAVAILABLE, "Command center is busy", false));
+            }
+        }
+        updateReadInterest(connection);
+    }
+
+    private void processCompletions() {
+        Completion completion;
+        while ((completion = completions.poll()) != null) {
+            Connection connection = completion.connection;
+            connection.processing = false;
+            if (connection.closed) {
+                continue;
+            }
+            if (!completion.keepAlive) {
+                connection.closeAfterWrite = true;
+                connection.pending.clear();
+            }
+            enqueueOutput(connection, completion.response);
+            dispatch(connection);
+        }
+    }
+
+    private void enqueueOutput(Connection connection, ByteBuffer buffer) {
+        if (connection.closed) {
+            return;
+        }
+        connection.output.add(buffer);
+        write(connection);
+    }
+
+    private void write(Connection connection) {
+        try {
+            while (!connection.output.isEmpty()) {
+                ByteBuffer buffer = connection.output.peek();
+                connection.channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    // The socket buffer is full, wait until it's writable.
+                    connection.key.interestOps(connection.key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                connection.output.poll();
+            }
+        } catch (IOException e) {
+            close(connection);
+            return;
+        }
+        connection.lastActiveTime = System.currentTimeMillis();
+        if (connection.key.isValid()) {
+            connection.key.interestOps(connection.key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+        closeIfDone(connection);
+    }
+
+    private void updateReadInterest(Connection connection) {
+        if (connection.closed || !connection.key.isValid()) {
+            return;
+        }
+        boolean readable = !connection.inputClosed && !connection.closeAfterWrite
+            && connection.pending.size() < MAX_PENDING_REQUESTS;
+        int ops = connection.key.interestOps();
+        connection.key.interestOps(readable ? ops | SelectionKey.OP_READ : ops & ~SelectionKey.OP_READ);
+    }
+
+    private void closeIfDone(Connection connection) {
+        if (connection.processing || !connection.output.isEmpty()) {
+            return;
+        }
+        if (connection.closeAfterWrite || connection.inputClosed && connection.pending.isEmpty()) {
+            close(connection);
+        }
+    }
+
+    private void closeIdleConnections(long now) {
+        for (Connection connection : new ArrayList<Connection>(connections)) {
+            if (!connection.processing && connection.output.isEmpty() && connection.pending.isEmpty()
+                && now - connection.lastActiveTime > IDLE_TIMEOUT_MS) {
+                close(connection);
+            }
+        }
+    }
+
+    private void close(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        connection.pending.clear();
+        connection.output.clear();
+        connections.remove(connection);
+        if (connection.key != null) {
+            connection.key.cancel();
+        }
+        closeQuietly(connection.channel);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            CommandCenterLog.info("Error when closing an opened socket", e);
+        }
+    }
+
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final SocketAddress remoteAddress;
+        final HttpRequestDecoder decoder = new HttpRequestDecoder();
+        /**
+         * Decoded requests ({@link RawHttpRequest} or {@link InvalidRequest}) waiting to be handled.
+         */
+        final Queue<Object> pending = new ArrayDeque<Object>();
+        final Queue<ByteBuffer> output = new ArrayDeque<ByteBuffer>();
+        SelectionKey key;
+        boolean processing;
+        boolean inputClosed;
+        boolean closeAfterWrite;
+        boolean closed;
+        long lastActiveTime = System.currentTimeMillis();
+
+        Connection(SocketChannel channel, SocketAddress remoteAddress) {
+            this.channel = channel;
+            this.remoteAddress = remoteAddress;
+        }
+    }
+
+    private static final class InvalidRequest {
+        final RawHttpRequest request;
+        final RequestException exception;
+
+        InvalidRequest(RawHttpRequest request, RequestException exception) {
+            this.request = request;
+            this.exception = exception;
+        }
+    }
+
+    private static final class Completion {
+        final Connection connection;
+        final ByteBuffer response;
+        final boolean keepAlive;
+
+        Completion(Connection connection, ByteBuffer response, boolean keepAlive) {
+            this.connection = connection;
+            this.response = response;
+            this.keepAlive = keepAlive;
+        }
+    }
+}
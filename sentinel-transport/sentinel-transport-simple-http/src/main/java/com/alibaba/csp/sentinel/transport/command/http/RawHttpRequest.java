@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.csp.sentinel.util.StringUtil;
+
+/**
+ * A decoded HTTP request of the command center.
+ *
+ * @since 1.8.2
+ */
+public class RawHttpRequest {
+
+    private final String requestLine;
+    private final Map<String, String> headers = new HashMap<String, String>(8);
+    private byte[] body = new byte[0];
+    private boolean keepAlive;
+
+    public RawHttpRequest(String requestLine) {
+        this.requestLine = requestLine;
+    }
+
+    public String getRequestLine() {
+        return requestLine;
+    }
+
+    public boolean isPost() {
+        return requestLine.length() > 4 && StringUtil.equalsIgnoreCase("POST", requestLine.substring(0, 4));
+    }
+
+    /**
+     * @return true if the request line declares HTTP/1.1 or later, which keeps the connection alive by default
+     */
+    boolean isHttp11() {
+        int idx = requestLine.lastIndexOf(' ');
+        return idx > 0 && requestLine.regionMatches(true, idx + 1, "HTTP/1.1", 0, 8);
+    }
+
+    /**
+     * @return headers with lower-case names
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getHeader(String lowerCaseName) {
+        return headers.get(lowerCaseName);
+    }
+
+    void addHeader(String lowerCaseName, String value) {
+        headers.put(lowerCaseName, value);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    /**
+     * @return whether the connection should be kept alive after responding to the request
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+}
@@ -15,6 +15,9 @@
  */
 package com.alibaba.csp.sentinel.transport.heartbeat;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -57,4 +60,45 @@ public class HeartbeatMessage {
         message.put("port", String.valueOf(TransportConfig.getPort()));
         return message;
     }
+
+    /**
+     * Encode heartbeat messages as the body of a batched heartbeat request
+     * (see {@link TransportConfig#HEARTBEAT_BATCH_DEFAULT_PATH}), e.g. for sidecars that send heartbeats
+     * on behalf of many applications. Each message is encoded as a line of URL-encoded form parameters.
+     *
+     * @param messages heartbeat messages
+     * @return the encoded batch
+     * @since 1.8.2
+     */
+    public static String encodeBatch(Collection<HeartbeatMessage> messages) {
+        StringBuilder sb = new StringBuilder();
+        String timestamp = String.valueOf(TimeUtil.currentTimeMillis());
+        for (HeartbeatMessage message : messages) {
+            // Unlike generateCurrentMessage(), the registered port is kept, as the message may not be of this process.
+            Map<String, String> params = new HashMap<String, String>(message.message);
+            params.put("v", Constants.SENTINEL_VERSION);
+            params.put("version", timestamp);
+            boolean first = true;
+            for (Map.Entry<String, String> e : params.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) {
+                    continue;
+                }
+                if (!first) {
+                    sb.append('&');
+                }
+                first = false;
+                sb.append(urlEncode(e.getKey())).append('=').append(urlEncode(e.getValue()));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String urlEncode(String s) {
+        try {
+            return URLEncoder.encode(s, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -18,16 +18,19 @@ package com.alibaba.csp.sentinel.transport.heartbeat;
 import com.alibaba.csp.sentinel.log.RecordLog;
 import com.alibaba.csp.sentinel.transport.HeartbeatSender;
 import com.alibaba.csp.sentinel.transport.config.TransportConfig;
-import com.alibaba.csp.sentinel.transport.heartbeat.client.SimpleHttpClient;
+import com.alibaba.csp.sentinel.transport.heartbeat.client.SimpleHttpConnection;
 import com.alibaba.csp.sentinel.transport.heartbeat.client.SimpleHttpRequest;
 import com.alibaba.csp.sentinel.transport.heartbeat.client.SimpleHttpResponse;
 import com.alibaba.csp.sentinel.transport.endpoint.Endpoint;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The heartbeat sender provides basic API for sending heartbeat request to provided target.
- * This implementation is based on a trivial HTTP client.
+ * This implementation is based on a trivial HTTP client, which keeps a persistent connection
+ * to each dashboard endpoint.
  *
  * @author Eric Zhao
  * @author Carpenter Lee
@@ -40,7 +43,10 @@ public class SimpleHttpHeartbeatSender implements HeartbeatSender {
     private static final long DEFAULT_INTERVAL = 1000 * 10;
 
     private final HeartbeatMessage heartBeat = new HeartbeatMessage();
-    private final SimpleHttpClient httpClient = new SimpleHttpClient();
+    /**
+     * Heartbeats are sent by the single heartbeat thread, so the connections needn't be thread-safe.
+     */
+    private final Map<Endpoint, SimpleHttpConnection> connections = new HashMap<Endpoint, SimpleHttpConnection>();
 
     private final List<Endpoint> addressList;
 
@@ -71,7 +77,7 @@ public class SimpleHttpHeartbeatSender implements HeartbeatSender {
         SimpleHttpRequest request = new SimpleHttpRequest(addrInfo, TransportConfig.getHeartbeatApiPath());
         request.setParams(heartBeat.generateCurrentMessage());
         try {
-            SimpleHttpResponse response = httpClient.post(request);
+            SimpleHttpResponse response = getConnection(addrInfo, request.getSoTimeout()).post(request);
             if (response.getStatusCode() == OK_STATUS) {
                 return true;
             } else if (clientErrorCode(response.getStatusCode()) || serverErrorCode(response.getStatusCode())) {
@@ -100,6 +106,15 @@ public class SimpleHttpHeartbeatSender implements HeartbeatSender {
         return addressList.get(index);
     }
 
+    private SimpleHttpConnection getConnection(Endpoint endpoint, int soTimeout) {
+        SimpleHttpConnection connection = connections.get(endpoint);
+        if (connection == null) {
+            connection = new SimpleHttpConnection(endpoint, soTimeout);
+            connections.put(endpoint, connection);
+        }
+        return connection;
+    }
+
     private boolean clientErrorCode(int code) {
         return code > 399 && code < 500;
     }
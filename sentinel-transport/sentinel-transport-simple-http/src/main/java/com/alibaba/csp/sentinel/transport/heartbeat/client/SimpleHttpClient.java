@@ -158,7 +158,7 @@ public class SimpleHttpClient {
      * @param charset   charset
      * @return encoded request parameters, or empty string ("") if no parameters are provided
      */
-    private String encodeRequestParams(Map<String, String> paramsMap, Charset charset) {
+    static String encodeRequestParams(Map<String, String> paramsMap, Charset charset) {
         if (charset == null) {
             throw new IllegalArgumentException("charset is not allowed to be null");
         }
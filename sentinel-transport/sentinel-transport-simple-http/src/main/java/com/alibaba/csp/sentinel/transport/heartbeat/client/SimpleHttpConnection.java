@@ -0,0 +1,201 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.heartbeat.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.log.RecordLog;
+import com.alibaba.csp.sentinel.transport.endpoint.Endpoint;
+
+/**
+ * <p>
+ * A persistent (keep-alive) HTTP/1.1 connection to a single endpoint, which only supports POST requests.
+ * Compared with {@link SimpleHttpClient}, the socket and the request/response buffers are reused
+ * between requests, so sending heartbeats periodically won't open a new connection every time.
+ * </p>
+ * <p>
+ * The connection is established lazily and closed on any failure, or if the server does not keep
+ * the connection alive. If the server has closed an idle connection, the request will be retried
+ * once on a new connection. The connection is not thread-safe.
+ * </p>
+ *
+ * @since 1.8.2
+ */
+public class SimpleHttpConnection {
+
+    private final Endpoint endpoint;
+    private final int soTimeout;
+
+    private final StringBuilder headerBuilder = new StringBuilder(256);
+    private final RequestBuffer requestBuffer = new RequestBuffer();
+    private final SimpleHttpResponseParser responseParser = new SimpleHttpResponseParser();
+
+    private Socket socket;
+    private InputStream in;
+    private OutputStream out;
+
+    public SimpleHttpConnection(Endpoint endpoint, int soTimeout) {
+        this.endpoint = endpoint;
+        this.soTimeout = soTimeout;
+    }
+
+    /**
+     * Post the parameters of the request as a form.
+     *
+     * @param request HTTP request, whose endpoint is ignored
+     * @return the response
+     * @throws IOException if the request fails, in which case the connection has been closed
+     */
+    public SimpleHttpResponse post(SimpleHttpRequest request) throws IOException {
+        Charset charset = request.getCharset();
+        String params = SimpleHttpClient.encodeRequestParams(request.getParams(), charset);
+        return post(request.getRequestPath(),
+            "application/x-www-form-urlencoded; charset=" + charset.name(), params.getBytes(charset));
+    }
+
+    /**
+     * Post the body to given path.
+     *
+     * @param requestPath request path with query string
+     * @param contentType content type of the body
+     * @param body        request body
+     * @return the response
+     * @throws IOException if the request fails, in which case the connection has been closed
+     */
+    public SimpleHttpResponse post(String requestPath, String contentType, byte[] body) throws IOException {
+        encodeRequest(requestPath, contentType, body);
+        boolean reused = socket != null;
+        try {
+            return execute();
+        } catch (IOException ex) {
+            close();
+            if (!reused) {
+                throw ex;
+            }
+        }
+        // The server may have closed the idle connection, retry on a new connection.
+        try {
+            return execute();
+        } catch (IOException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    private void encodeRequest(String requestPath, String contentType, byte[] body) {
+        StringBuilder header = headerBuilder;
+        header.setLength(0);
+        header.append("POST ").append(requestPath).append(" HTTP/1.1\r\n")
+            .append("Host: ").append(endpoint.getHost()).append(':').append(endpoint.getPort()).append("\r\n")
+            .append("Content-Type: ").append(contentType).append("\r\n")
+            .append("Content-Length: ").append(body.length).append("\r\n")
+            .append("Connection: keep-alive\r\n\r\n");
+        requestBuffer.reset();
+        for (int i = 0; i < header.length(); i++) {
+            requestBuffer.write(header.charAt(i));
+        }
+        requestBuffer.write(body);
+    }
+
+    private SimpleHttpResponse execute() throws IOException {
+        ensureConnected();
+        requestBuffer.writeTo(out);
+        out.flush();
+        SimpleHttpResponse response;
+        try {
+            response = responseParser.parse(in);
+        } catch (RuntimeException ex) {
+            throw new IOException("Invalid HTTP response from " + endpoint, ex);
+        }
+        if (response == null) {
+            throw new IOException("Connection closed by " + endpoint);
+        }
+        if (!isKeepAlive(response)) {
+            close();
+        }
+        return response;
+    }
+
+    private boolean isKeepAlive(SimpleHttpResponse response) {
+        String connection = response.getHeader("Connection");
+        if (connection != null) {
+            return !"close".equalsIgnoreCase(connection);
+        }
+        // The parser only supports bodies with Content-Length, otherwise the rest of the body is unknown.
+        return response.getHeader("Content-Length") != null && response.getStatusLine().startsWith("HTTP/1.1");
+    }
+
+    private void ensureConnected() throws IOException {
+        if (socket != null && !socket.isClosed()) {
+            return;
+        }
+        Socket newSocket = SocketFactory.getSocket(endpoint.getProtocol());
+        try {
+            newSocket.setSoTimeout(soTimeout);
+            newSocket.setTcpNoDelay(true);
+            newSocket.setKeepAlive(true);
+            newSocket.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), soTimeout);
+            this.in = newSocket.getInputStream();
+            this.out = newSocket.getOutputStream();
+            this.socket = newSocket;
+        } catch (IOException ex) {
+            newSocket.close();
+            throw ex;
+        }
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isConnected() {
+        return socket != null && !socket.isClosed();
+    }
+
+    public void close() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ex) {
+                RecordLog.warn("Error when closing the connection to {} in SimpleHttpConnection", endpoint, ex);
+            }
+        }
+        socket = null;
+        in = null;
+        out = null;
+    }
+
+    /**
+     * Request buffer that is reused, writing the whole request to the socket at once.
+     */
+    private static final class RequestBuffer extends ByteArrayOutputStream {
+
+        RequestBuffer() {
+            super(512);
+        }
+
+        @Override
+        public void write(byte[] b) {
+            write(b, 0, b.length);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import com.alibaba.csp.sentinel.transport.command.exception.RequestException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HttpRequestDecoderTest {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    @Test
+    public void testDecodePipelinedRequests() throws Exception {
+        HttpRequestDecoder decoder = new HttpRequestDecoder();
+        feed(decoder, "GET /version HTTP/1.1\r\nHost: a\r\n\r\n"
+            + "POST /setRules HTTP/1.1\r\nContent-Type: application/x-www-form-urlencoded\r\n"
+            + "Content-Length: 7\r\n\r\ntype=1&"
+            + "GET /close HTTP/1.1\r\nConnection: close\r\n\r\n");
+
+        RawHttpRequest first = decoder.decode();
+        assertEquals("GET /version HTTP/1.1", first.getRequestLine());
+        assertEquals("a", first.getHeader("host"));
+        assertFalse(first.isPost());
+        assertTrue(first.isKeepAlive());
+
+        RawHttpRequest second = decoder.decode();
+        assertTrue(second.isPost());
+        assertEquals("type=1&", new String(second.getBody(), ASCII));
+
+        RawHttpRequest third = decoder.decode();
+        assertFalse(third.isKeepAlive());
+        assertNull(decoder.decode());
+        assertEquals(0, decoder.pendingBytes());
+    }
+
+    @Test
+    public void testDecodePartialRequest() throws Exception {
+        HttpRequestDecoder decoder = new HttpRequestDecoder();
+        feed(decoder, "POST /setRules HTTP/1.0\r\nConnection: keep-alive\r\nContent-Len");
+        assertNull(decoder.decode());
+        feed(decoder, "gth: 4\r\nExpect: 100-continue\r\n\r\n");
+        assertNull(decoder.decode());
+        assertTrue(decoder.pollExpectContinue());
+        assertFalse(decoder.pollExpectContinue());
+        feed(decoder, "a=12");
+        RawHttpRequest request = decoder.decode();
+        assertNotNull(request);
+        assertTrue(request.isKeepAlive());
+        assertEquals("a=12", new String(request.getBody(), ASCII));
+
+        feed(decoder, "GET /version HTTP/1.0\r\n\r\n");
+        assertFalse(decoder.decode().isKeepAlive());
+    }
+
+    @Test
+    public void testRejectTooLargeBody() {
+        HttpRequestDecoder decoder = new HttpRequestDecoder();
+        feed(decoder, "POST /setRules HTTP/1.1\r\nContent-Length: " + (HttpRequestDecoder.MAX_BODY_SIZE + 1)
+            + "\r\n\r\n");
+        try {
+            decoder.decode();
+            fail("Should reject too large body");
+        } catch (RequestException e) {
+            assertEquals(StatusCode.REQUEST_ENTITY_TOO_LARGE, e.getStatusCode());
+        }
+    }
+
+    private static void feed(HttpRequestDecoder decoder, String s) {
+        decoder.feed(ByteBuffer.wrap(s.getBytes(ASCII)));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.command.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.csp.sentinel.command.CommandHandler;
+import com.alibaba.csp.sentinel.command.CommandRequest;
+import com.alibaba.csp.sentinel.command.CommandResponse;
+import com.alibaba.csp.sentinel.transport.command.SimpleHttpCommandCenter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NioHttpServerTest {
+
+    private ThreadPoolExecutor executor;
+    private NioHttpServer server;
+
+    @Before
+    public void setUp() {
+        SimpleHttpCommandCenter.registerCommand("echo", new CommandHandler<String>() {
+            @Override
+            public CommandResponse<String> handle(CommandRequest request) {
+                return CommandResponse.ofSuccess(request.getParam("v"));
+            }
+        });
+        executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(8));
+    }
+
+    @After
+    public void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPipelinedKeepAliveRequests() throws Exception {
+        startServer();
+        Socket socket = connect();
+        try {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /echo?v=1 HTTP/1.1\r\n\r\n"
+                + "POST /echo HTTP/1.1\r\nContent-Type: application/x-www-form-urlencoded\r\n"
+                + "Content-Length: 3\r\n\r\nv=2").getBytes("US-ASCII"));
+            out.flush();
+            String first = readResponse(socket.getInputStream());
+            String second = readResponse(socket.getInputStream());
+            assertTrue(first.startsWith("HTTP/1.1 200 OK"));
+            assertTrue(first.contains("Connection: keep-alive"));
+            assertTrue(first.endsWith("\r\n\r\n1"));
+            assertTrue(second.endsWith("\r\n\r\n2"));
+
+            // The connection is still usable.
+            out.write("GET /echo?v=3 HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes("US-ASCII"));
+            out.flush();
+            String third = readResponse(socket.getInputStream());
+            assertTrue(third.contains("Connection: close"));
+            assertTrue(third.endsWith("\r\n\r\n3"));
+            assertEquals(-1, socket.getInputStream().read());
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testServiceUnavailableWhenRejected() throws Exception {
+        executor.shutdown();
+        startServer();
+        Socket socket = connect();
+        try {
+            socket.getOutputStream().write("GET /echo?v=1 HTTP/1.1\r\n\r\n".getBytes("US-ASCII"));
+            String response = readResponse(socket.getInputStream());
+            assertTrue(response.startsWith("HTTP/1.1 503"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testPipelinedRequestsRejectedAfterClientGone() throws Exception {
+        executor.shutdown();
+        startServer();
+        Socket socket = connect();
+        StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            requests.append("GET /echo?v=").append(i).append(" HTTP/1.1\r\n\r\n");
+        }
+        socket.getOutputStream().write(requests.toString().getBytes("US-ASCII"));
+        // Reset the connection, so writing the responses of the rejected requests fails.
+        socket.setSoLinger(true, 0);
+        socket.close();
+
+        for (int i = 0; i < 50 && server.getConnectionCount() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, server.getConnectionCount());
+
+        // The server keeps serving other connections.
+        socket = connect();
+        try {
+            socket.getOutputStream().write("GET /echo?v=1 HTTP/1.1\r\n\r\n".getBytes("US-ASCII"));
+            assertTrue(readResponse(socket.getInputStream()).startsWith("HTTP/1.1 503"));
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testTooLargeRequestClosesConnection() throws Exception {
+        startServer();
+        Socket socket = connect();
+        try {
+            socket.getOutputStream().write("POST /echo HTTP/1.1\r\nContent-Length: 999999999\r\n\r\n"
+                .getBytes("US-ASCII"));
+            String response = readResponse(socket.getInputStream());
+            assertTrue(response.startsWith("HTTP/1.1 413"));
+            assertEquals(-1, socket.getInputStream().read());
+        } finally {
+            socket.close();
+        }
+    }
+
+    private void startServer() throws Exception {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.socket().bind(new InetSocketAddress("127.0.0.1", 0));
+        server = new NioHttpServer(channel, executor);
+        server.start();
+    }
+
+    private Socket connect() throws Exception {
+        Socket socket = new Socket("127.0.0.1", server.getLocalPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    /**
+     * Read a response with the Content-Length header.
+     */
+    private static String readResponse(InputStream in) throws Exception {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        while (!head.toString("US-ASCII").endsWith("\r\n\r\n")) {
+            int b = in.read();
+            assertNotEquals(-1, b);
+            head.write(b);
+        }
+        String headString = head.toString("US-ASCII");
+        int idx = headString.indexOf("Content-Length: ") + "Content-Length: ".length();
+        int length = Integer.parseInt(headString.substring(idx, headString.indexOf("\r\n", idx)));
+        byte[] body = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int n = in.read(body, read, length - read);
+            assertNotEquals(-1, n);
+            read += n;
+        }
+        return headString + new String(body, "UTF-8");
+    }
+}
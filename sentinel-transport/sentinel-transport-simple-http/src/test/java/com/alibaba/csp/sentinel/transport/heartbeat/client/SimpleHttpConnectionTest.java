@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.csp.sentinel.transport.heartbeat.client;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.csp.sentinel.transport.endpoint.Endpoint;
+import com.alibaba.csp.sentinel.transport.endpoint.Protocol;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SimpleHttpConnectionTest {
+
+    private ServerSocket serverSocket;
+    private final AtomicInteger acceptedCount = new AtomicInteger();
+    private final CopyOnWriteArrayList<String> bodies = new CopyOnWriteArrayList<String>();
+    /**
+     * Close the connection after responding this many requests on it.
+     */
+    private volatile int requestsPerConnection = Integer.MAX_VALUE;
+
+    @Before
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        acceptedCount.incrementAndGet();
+                        serve(socket);
+                    } catch (Exception ignore) {
+                    }
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serverSocket.close();
+    }
+
+    private void serve(Socket socket) throws Exception {
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+            OutputStream out = socket.getOutputStream();
+            for (int served = 0; served < requestsPerConnection; served++) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return;
+                }
+                int contentLength = 0;
+                while (!(line = reader.readLine()).isEmpty()) {
+                    if (line.startsWith("Content-Length:")) {
+                        contentLength = Integer.parseInt(line.substring("Content-Length:".length()).trim());
+                    }
+                }
+                char[] body = new char[contentLength];
+                int read = 0;
+                while (read < contentLength) {
+                    read += reader.read(body, read, contentLength - read);
+                }
+                bodies.add(new String(body));
+                out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain; charset=UTF-8\r\n"
+                    + "Content-Length: 2\r\n\r\nok").getBytes("UTF-8"));
+                out.flush();
+            }
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testReuseConnection() throws Exception {
+        SimpleHttpConnection connection = new SimpleHttpConnection(
+            new Endpoint(Protocol.HTTP, "127.0.0.1", serverSocket.getLocalPort()), 3000);
+        try {
+            for (int i = 0; i < 3; i++) {
+                SimpleHttpResponse response = connection.post(new SimpleHttpRequest(connection.getEndpoint(),
+                    "/registry/machine").addParam("port", String.valueOf(i)));
+                assertEquals(200, (int)response.getStatusCode());
+                assertEquals("ok", response.getBodyAsString());
+                assertTrue(connection.isConnected());
+            }
+            assertEquals(1, acceptedCount.get());
+            assertEquals("port=2", bodies.get(2));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testRetryWhenConnectionClosedByServer() throws Exception {
+        requestsPerConnection = 1;
+        SimpleHttpConnection connection = new SimpleHttpConnection(
+            new Endpoint(Protocol.HTTP, "127.0.0.1", serverSocket.getLocalPort()), 3000);
+        try {
+            for (int i = 0; i < 2; i++) {
+                SimpleHttpResponse response = connection.post("/registry/machines", "text/plain",
+                    ("app=a" + i).getBytes("UTF-8"));
+                assertEquals(200, (int)response.getStatusCode());
+            }
+            assertEquals(2, acceptedCount.get());
+            assertEquals("app=a1", bodies.get(bodies.size() - 1));
+        } finally {
+            connection.close();
+        }
+    }
+}